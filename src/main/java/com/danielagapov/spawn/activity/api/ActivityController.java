@@ -3,14 +3,18 @@ package com.danielagapov.spawn.activity.api;
 import com.danielagapov.spawn.activity.api.dto.ActivityCreationResponseDTO;
 import com.danielagapov.spawn.activity.api.dto.ActivityDTO;
 import com.danielagapov.spawn.activity.api.dto.ActivityPartialUpdateDTO;
+import com.danielagapov.spawn.activity.api.dto.FeedActivitiesPageDTO;
 import com.danielagapov.spawn.activity.api.dto.FullFeedActivityDTO;
 import com.danielagapov.spawn.shared.util.EntityType;
 import com.danielagapov.spawn.shared.exceptions.ActivityFullException;
 import com.danielagapov.spawn.shared.exceptions.Base.BaseNotFoundException;
 import com.danielagapov.spawn.shared.exceptions.Base.BasesNotFoundException;
 import com.danielagapov.spawn.shared.exceptions.Logger.ILogger;
+import com.danielagapov.spawn.shared.util.JsonArrayStreamer;
 import com.danielagapov.spawn.shared.util.LoggingUtils;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -22,10 +26,12 @@ import java.util.UUID;
 public class ActivityController {
     private final IActivityService activityService;
     private final ILogger logger;
+    private final ObjectMapper objectMapper;
 
-    public ActivityController(IActivityService ActivityService, ILogger logger) {
+    public ActivityController(IActivityService ActivityService, ILogger logger, ObjectMapper objectMapper) {
         this.activityService = ActivityService;
         this.logger = logger;
+        this.objectMapper = objectMapper;
     }
 
     // TL;DR: Don't remove this endpoint; it may become useful.
@@ -57,7 +63,10 @@ public class ActivityController {
         }
         
         try {
-            return new ResponseEntity<>(activityService.getProfileActivities(profileUserId, requestingUserId), HttpStatus.OK);
+            // streamed: activities are hydrated and written out a chunk at a time
+            return ResponseEntity.ok()
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(JsonArrayStreamer.stream(objectMapper, activityService.streamProfileActivities(profileUserId, requestingUserId)));
         } catch (BaseNotFoundException e) {
             // User not found - return 404
             logger.error("User not found for profile activities: " + e.getMessage());
@@ -220,7 +229,10 @@ public class ActivityController {
             return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
         }
         try {
-            return new ResponseEntity<>(activityService.getFeedActivities(requestingUserId), HttpStatus.OK);
+            // streamed: each chunk of activities is read from the feed card cache, hydrating only misses, and written out
+            return ResponseEntity.ok()
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(JsonArrayStreamer.stream(objectMapper, activityService.streamFeedActivities(requestingUserId)));
         } catch (BasesNotFoundException e) {
             // thrown list of activities not found for given user id
             // if entities not found is Activity: return response with empty list and 200 status
@@ -241,6 +253,38 @@ public class ActivityController {
         }
     }
 
+    // full path: /api/v1/activities/feed-activities/{requestingUserId}/page?cursor={cursor}&limit={limit}
+    // cursor-paginated version of `getFeedActivities()`: activities are ordered by start time, and only the
+    // requested page is loaded. Pass the returned `nextCursor` back to get the following page.
+    @GetMapping("feed-activities/{requestingUserId}/page")
+    public ResponseEntity<?> getFeedActivitiesPage(@PathVariable UUID requestingUserId,
+                                                   @RequestParam(required = false) String cursor,
+                                                   @RequestParam(required = false, defaultValue = "20") int limit) {
+        if (requestingUserId == null) {
+            logger.error("Invalid parameter: requestingUserId is null");
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+        try {
+            return new ResponseEntity<>(activityService.getFeedActivitiesPage(requestingUserId, cursor, limit), HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            logger.error("Invalid feed cursor for user: " + LoggingUtils.formatUserIdInfo(requestingUserId) + ": " + e.getMessage());
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        } catch (BasesNotFoundException e) {
+            if (e.entityType == EntityType.Activity) {
+                return new ResponseEntity<>(new FeedActivitiesPageDTO(new ArrayList<>(), null, false), HttpStatus.OK);
+            } else {
+                logger.error("Bad request for feed activities page: " + e.getMessage());
+                return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+            }
+        } catch (BaseNotFoundException e) {
+            logger.error("User not found for feed activities page: " + LoggingUtils.formatUserIdInfo(requestingUserId) + ": " + e.getMessage());
+            return new ResponseEntity<>(e.entityType, HttpStatus.NOT_FOUND);
+        } catch (Exception e) {
+            logger.error("Error getting feed activities page for user: " + LoggingUtils.formatUserIdInfo(requestingUserId) + ": " + e.getMessage());
+            return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
     // full path: /api/v1/activities/{id}
     @GetMapping("{id}")
     public ResponseEntity<?> getFullActivityById(@PathVariable UUID id, 
@@ -304,10 +348,22 @@ public class ActivityController {
         }
     }
 
+    // full path: /api/v1/activities/{activityId}/chats?cursor={cursor}&limit={limit}
+    // without `cursor` or `limit`, returns the whole chat history as before. With either of them, returns one
+    // newest-first page of the history; pass the returned `nextCursor` back to get the next (older) page.
     @GetMapping("{activityId}/chats")
-    public ResponseEntity<?> getChatMessagesForActivity(@PathVariable UUID activityId) {
+    public ResponseEntity<?> getChatMessagesForActivity(@PathVariable UUID activityId,
+                                                        @RequestParam(required = false) String cursor,
+                                                        @RequestParam(required = false) Integer limit) {
         try {
+            if (cursor != null || limit != null) {
+                int pageSize = limit != null ? limit : 50;
+                return new ResponseEntity<>(activityService.getChatMessagesPage(activityId, cursor, pageSize), HttpStatus.OK);
+            }
             return new ResponseEntity<>(activityService.getChatMessagesByActivityId(activityId), HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            logger.error("Invalid chat cursor for activity: " + activityId + ": " + e.getMessage());
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
         } catch (Exception e) {
             logger.error("Error getting chat messages for activity: " + activityId + ": " + e.getMessage());
             return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
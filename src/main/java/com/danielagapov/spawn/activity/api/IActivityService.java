@@ -3,12 +3,15 @@ package com.danielagapov.spawn.activity.api;
 import com.danielagapov.spawn.activity.api.dto.*;
 import com.danielagapov.spawn.chat.api.dto.FullActivityChatMessageDTO;
 import com.danielagapov.spawn.user.api.dto.UserDTO;
+import com.danielagapov.spawn.shared.util.ChunkedResult;
 import com.danielagapov.spawn.shared.util.ParticipationStatus;
 import org.springframework.data.domain.Limit;
 
 import java.time.Instant;
 import java.time.OffsetDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
 
@@ -100,6 +103,17 @@ public interface IActivityService {
      * @return Number of shared activities
      */
     int getSharedActivitiesCount(UUID userId1, UUID userId2, ParticipationStatus status);
+
+    /**
+     * Get the count of activities a user has participated in together with each of several other users,
+     * in one query rather than one per pair.
+     *
+     * @param userId The user ID
+     * @param otherUserIds The other users' IDs
+     * @param status The participation status to filter by
+     * @return Map of other user ID to number of shared activities; users sharing none are absent
+     */
+    Map<UUID, Integer> getSharedActivitiesCounts(UUID userId, Collection<UUID> otherUserIds, ParticipationStatus status);
     
     // ==================== Activity Creator Queries ====================
     
@@ -313,6 +327,29 @@ public interface IActivityService {
      * @return List of FullFeedActivityDTO objects representing the user's personalized feed
      */
     List<FullFeedActivityDTO> getFeedActivities(UUID requestingUserId);
+
+    /**
+     * Same feed as {@link #getFeedActivities(UUID)}, produced in chunks for streaming responses.
+     * The feed's membership and order are resolved when this is called; activities are only read
+     * chunk by chunk as the result is consumed, from the per-activity feed card cache, with misses
+     * loaded and hydrated together.
+     *
+     * @param requestingUserId the unique identifier of the user requesting their feed
+     * @return the user's feed, in feed order
+     */
+    ChunkedResult<FullFeedActivityDTO> streamFeedActivities(UUID requestingUserId);
+
+    /**
+     * Retrieves one page of a user's feed: the activities they created, are invited to, or are participating in,
+     * ordered by start time. Only the requested page is loaded and hydrated.
+     *
+     * @param requestingUserId the unique identifier of the user requesting their feed
+     * @param cursor the nextCursor of the previous page, or null for the first page
+     * @param limit the maximum number of activities to return, capped server-side
+     * @return the page of activities together with the cursor for the next one
+     * @throws IllegalArgumentException if the cursor is malformed
+     */
+    FeedActivitiesPageDTO getFeedActivitiesPage(UUID requestingUserId, String cursor, int limit);
     
     /**
      * Gets feed activities for a profile. If the profile user has no upcoming activities, returns past activities
@@ -323,6 +360,17 @@ public interface IActivityService {
      * @return List of activities with a flag indicating if they are past activities
      */
     List<ProfileActivityDTO> getProfileActivities(UUID profileUserId, UUID requestingUserId);
+
+    /**
+     * Same activities as {@link #getProfileActivities(UUID, UUID)}, produced in chunks for streaming responses.
+     * Which activities are included, and their order, is resolved when this is called; they are only
+     * hydrated chunk by chunk as the result is consumed.
+     *
+     * @param profileUserId The user ID of the profile being viewed
+     * @param requestingUserId The user ID of the user viewing the profile
+     * @return upcoming activities (soonest first) followed by past ones (most recent first)
+     */
+    ChunkedResult<ProfileActivityDTO> streamProfileActivities(UUID profileUserId, UUID requestingUserId);
     
     /**
      * Gets past activities where the specified user invited the requesting user
@@ -376,6 +424,17 @@ public interface IActivityService {
      * @return List of FullActivityChatMessageDTO objects representing the activity's chat messages
      */
     List<FullActivityChatMessageDTO> getChatMessagesByActivityId(UUID activityId);
+
+    /**
+     * Retrieves one page of an activity's chat history, newest first.
+     *
+     * @param activityId the unique identifier of the activity
+     * @param cursor     the nextCursor of the previous page, or null for the newest messages
+     * @param limit      the maximum number of messages to return, capped by the service
+     * @return ChatMessagesPageDTO holding the messages and the cursor for the next (older) page
+     * @throws IllegalArgumentException if the cursor is malformed
+     */
+    ChatMessagesPageDTO getChatMessagesPage(UUID activityId, String cursor, int limit);
     
     // ==================== Auto-Join Operations ====================
     
@@ -0,0 +1,28 @@
+package com.danielagapov.spawn.activity.api.dto;
+
+import com.danielagapov.spawn.chat.api.dto.FullActivityChatMessageDTO;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+/**
+ * One page of an activity's chat history, newest first.
+ *
+ * A page may hold fewer messages than requested, since messages from hidden or deleted senders
+ * are dropped; clients should keep paging while hasMore is true.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChatMessagesPageDTO {
+    private List<FullActivityChatMessageDTO> messages;
+    /**
+     * Opaque cursor to pass back for the next (older) page, or null when there are no more messages.
+     */
+    private String nextCursor;
+    private boolean hasMore;
+}
@@ -0,0 +1,27 @@
+package com.danielagapov.spawn.activity.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+/**
+ * One page of a user's feed, ordered by start time (activities without a start time last).
+ *
+ * A page may hold fewer activities than requested, since activities that expired after being
+ * fetched are dropped; clients should keep paging while hasMore is true.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class FeedActivitiesPageDTO {
+    private List<FullFeedActivityDTO> activities;
+    /**
+     * Opaque cursor to pass back for the next page, or null when there are no more activities.
+     */
+    private String nextCursor;
+    private boolean hasMore;
+}
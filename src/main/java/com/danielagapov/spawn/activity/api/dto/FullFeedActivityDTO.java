@@ -7,6 +7,7 @@ import com.danielagapov.spawn.shared.util.ParticipationStatus;
 import com.fasterxml.jackson.annotation.JsonFormat;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.Getter;
+import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 import java.time.Instant;
@@ -16,13 +17,17 @@ import java.util.UUID;
 
 @Getter
 @Setter
+@NoArgsConstructor // Needed to read cached entries back
 public class FullFeedActivityDTO extends AbstractActivityDTO {
     private LocationDTO location;
     private UUID activityTypeId;
     private BaseUserDTO creatorUser;
     private List<BaseUserDTO> participantUsers;
     private List<BaseUserDTO> invitedUsers;
+    // Feed lists hold only the latest few messages, paged further through api/v1/activities/{activityId}/chats;
+    // a single activity fetched by ID holds its whole chat
     private List<FullActivityChatMessageDTO> chatMessages;
+    private int chatMessageCount;
     
     // ensures string formatting when serialized to JSON; for mobile (client)
     private @JsonFormat(shape = JsonFormat.Shape.STRING) ParticipationStatus participationStatus;
@@ -70,6 +70,18 @@ public class ProfileActivityDTO extends AbstractActivityDTO {
             fullFeedActivityDTO.getChatMessages().stream().map(msg -> msg.getId()).collect(java.util.stream.Collectors.toList()) : 
             null;
             
+        return fromFullFeedActivityDTO(fullFeedActivityDTO, chatMessageIds, isPastActivity);
+    }
+
+    /**
+     * Creates a ProfileActivityDTO from a FullFeedActivityDTO whose chat messages are only a preview
+     * 
+     * @param fullFeedActivityDTO The FullFeedActivityDTO to convert
+     * @param chatMessageIds The IDs of every chat message in the activity
+     * @param isPastActivity Whether this activity is in the past
+     * @return A new ProfileActivityDTO
+     */
+    public static ProfileActivityDTO fromFullFeedActivityDTO(FullFeedActivityDTO fullFeedActivityDTO, List<UUID> chatMessageIds, boolean isPastActivity) {
         return new ProfileActivityDTO(
             fullFeedActivityDTO.getId(),
             fullFeedActivityDTO.getTitle(),
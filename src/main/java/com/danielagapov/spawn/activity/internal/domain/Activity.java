@@ -7,6 +7,7 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.OnDelete;
 import org.hibernate.annotations.OnDeleteAction;
 
@@ -30,7 +31,8 @@ import java.util.UUID;
                 @Index(name = "idx_activity_start_time", columnList = "startTime"),
                 @Index(name = "idx_activity_end_time", columnList = "endTime"),
                 @Index(name = "idx_activity_last_updated", columnList = "last_updated"),
-                @Index(name = "idx_activity_created_at", columnList = "created_at")
+                @Index(name = "idx_activity_created_at", columnList = "created_at"),
+                @Index(name = "idx_activity_expires_at", columnList = "expires_at")
         }
 )
 @NoArgsConstructor
@@ -78,6 +80,19 @@ public class Activity implements Serializable {
     
     @Column(name = "client_timezone")
     private String clientTimezone; // Timezone of the client creating the activity (e.g., "America/New_York")
+
+    @Column(name = "expires_at")
+    private Long expiresAt; // Epoch millis at which the activity expires, ActivityExpiry.NEVER if it never does
+
+    // Denormalized member counts, written only by the atomic updates in IActivityRepository
+    // so that saving an entity loaded before a join or leave can never overwrite them
+    @Column(name = "participant_count", nullable = false, insertable = false, updatable = false)
+    @ColumnDefault("0")
+    private int participantCount;
+
+    @Column(name = "invited_count", nullable = false, insertable = false, updatable = false)
+    @ColumnDefault("0")
+    private int invitedCount;
     
     @PrePersist
     public void prePersist() {
@@ -87,11 +102,42 @@ public class Activity implements Serializable {
         if (this.lastUpdated == null) {
             this.lastUpdated = Instant.now();
         }
+        this.expiresAt = computeExpiresAt();
     }
 
     @PreUpdate
     public void preUpdate() {
         this.lastUpdated = Instant.now();
+        this.expiresAt = computeExpiresAt();
+    }
+
+    /**
+     * Returns the stored expiry, or computes it for rows written before it was persisted
+     * and for entities whose times changed since the last flush.
+     */
+    public long resolveExpiresAt() {
+        return expiresAt != null ? expiresAt : computeExpiresAt();
+    }
+
+    // The setters of the fields expiration depends on drop the stored expiry until it is recomputed on flush
+
+    public void setEndTime(OffsetDateTime endTime) {
+        this.endTime = endTime;
+        this.expiresAt = null;
+    }
+
+    public void setCreatedAt(Instant createdAt) {
+        this.createdAt = createdAt;
+        this.expiresAt = null;
+    }
+
+    public void setClientTimezone(String clientTimezone) {
+        this.clientTimezone = clientTimezone;
+        this.expiresAt = null;
+    }
+
+    private long computeExpiresAt() {
+        return ActivityExpiry.expiresAtMillis(endTime, createdAt, clientTimezone);
     }
     
     public Activity(UUID id, String title, OffsetDateTime startTime, OffsetDateTime endTime, Location location, String note, User creator, String icon) {
@@ -0,0 +1,107 @@
+package com.danielagapov.spawn.activity.internal.domain;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.zone.ZoneRules;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Activity expiration rules expressed as epoch-millisecond instants, so an activity's expiry can be
+ * computed once when it is written and compared against a single "now" per batch afterwards.
+ *
+ * Rules:
+ * 1. Activities with an end time expire at their end time
+ * 2. Activities without an end time expire at midnight after their creation day in the client timezone,
+ *    or in UTC when the timezone is missing or invalid
+ * 3. Activities with neither an end time nor a creation time never expire
+ *
+ * Timezone IDs are resolved through a shared cache, so ZoneId.of is only paid once per distinct ID.
+ */
+public final class ActivityExpiry {
+
+    /**
+     * Expiry of an activity that never expires.
+     */
+    public static final long NEVER = Long.MAX_VALUE;
+
+    private static final long SECONDS_PER_DAY = 86_400L;
+    // Client-supplied IDs are only cached up to this many, so junk values cannot grow the cache without bound
+    private static final int MAX_CACHED_ZONES = 1024;
+    private static final ConcurrentMap<String, ZoneId> ZONES = new ConcurrentHashMap<>();
+
+    private ActivityExpiry() {
+    }
+
+    /**
+     * @return the epoch millis at which the activity expires, or NEVER
+     */
+    public static long expiresAtMillis(OffsetDateTime endTime, Instant createdAt, String clientTimezone) {
+        if (endTime != null) {
+            return toEpochMillis(endTime.toEpochSecond(), endTime.getNano());
+        }
+        if (createdAt != null) {
+            return toEpochMillis(endOfCreationDaySeconds(createdAt, resolveZone(clientTimezone)), 0);
+        }
+        return NEVER;
+    }
+
+    /**
+     * An activity is expired once its expiry instant lies strictly before now.
+     */
+    public static boolean isExpired(long expiresAtMillis, long nowMillis) {
+        return expiresAtMillis < nowMillis;
+    }
+
+    /**
+     * @return the zone for the given ID, or UTC if it is blank or not a valid zone ID
+     */
+    public static ZoneId resolveZone(String clientTimezone) {
+        if (clientTimezone == null) {
+            return ZoneOffset.UTC;
+        }
+        ZoneId cached = ZONES.get(clientTimezone);
+        if (cached != null) {
+            return cached;
+        }
+        ZoneId zone = parseZone(clientTimezone);
+        if (ZONES.size() < MAX_CACHED_ZONES) {
+            ZONES.putIfAbsent(clientTimezone, zone);
+        }
+        return zone;
+    }
+
+    private static ZoneId parseZone(String clientTimezone) {
+        if (clientTimezone.trim().isEmpty()) {
+            return ZoneOffset.UTC;
+        }
+        try {
+            return ZoneId.of(clientTimezone);
+        } catch (Exception e) {
+            // Fall back to UTC so an invalid timezone never prevents expiration
+            return ZoneOffset.UTC;
+        }
+    }
+
+    /**
+     * Epoch second of midnight following the day the activity was created in the given zone.
+     */
+    private static long endOfCreationDaySeconds(Instant createdAt, ZoneId zone) {
+        ZoneRules rules = zone.getRules();
+        int offsetSeconds = rules.getOffset(createdAt).getTotalSeconds();
+        long nextDay = Math.floorDiv(createdAt.getEpochSecond() + offsetSeconds, SECONDS_PER_DAY) + 1;
+        if (rules.isFixedOffset()) {
+            // Pure arithmetic for UTC and fixed-offset zones
+            return nextDay * SECONDS_PER_DAY - offsetSeconds;
+        }
+        // Zones with transitions need java.time to resolve midnights that fall into a DST gap or overlap
+        return LocalDate.ofEpochDay(nextDay).atStartOfDay(zone).toEpochSecond();
+    }
+
+    private static long toEpochMillis(long epochSecond, int nanos) {
+        return epochSecond * 1000L + nanos / 1_000_000;
+    }
+}
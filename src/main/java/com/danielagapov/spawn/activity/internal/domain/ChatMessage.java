@@ -21,6 +21,11 @@ import java.util.UUID;
  * it was sent (e.g. 3 sec ago).
  */
 @Entity
+@Table(
+        indexes = {
+                @Index(name = "idx_chat_message_activity_timestamp", columnList = "activity_id, timestamp")
+        }
+)
 @NoArgsConstructor
 @AllArgsConstructor
 @Getter
@@ -1,12 +1,17 @@
 package com.danielagapov.spawn.activity.internal.repositories;
 
 import com.danielagapov.spawn.activity.internal.domain.Activity;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
 import java.time.OffsetDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -18,9 +23,41 @@ public interface IActivityRepository extends JpaRepository<Activity, UUID> {
     // finds activities that have been created by a user, by their `creator.id`
     // Note: The Activity entity has a 'creator' field (User object), not a 'creatorId' field
     // Spring Data JPA will automatically resolve this to creator.id
-    @Query("SELECT a FROM Activity a WHERE a.creator.id = :creatorId")
+    // The creator and location are fetched in the same statement to avoid a select per activity
+    @Query("SELECT a FROM Activity a JOIN FETCH a.creator JOIN FETCH a.location WHERE a.creator.id = :creatorId")
     List<Activity> findByCreatorId(@Param("creatorId") UUID creatorId);
     
+    // loads the activities listed in a user's feed index, with their creator and location in the same statement
+    @Query("SELECT a FROM Activity a JOIN FETCH a.creator JOIN FETCH a.location WHERE a.id IN :activityIds")
+    List<Activity> findAllWithDetailsByIdIn(@Param("activityIds") Collection<UUID> activityIds);
+    
+    /**
+     * Keyset page of the live activities a user created, ordered by start time then ID
+     * (activities without a start time last).
+     *
+     * The expiry filter is a superset of ActivityExpirationService's rules: activities with an end time
+     * must end at or after :now, and activities without one must have been created after :createdAfter.
+     * Callers re-check the exact, timezone-aware rule on the returned rows.
+     *
+     * Rows come after the cursor (:afterStartTime, :afterId); once the cursor is past all dated
+     * activities (:afterUndated), only undated activities with a greater ID are returned.
+     */
+    @Query("SELECT a FROM Activity a JOIN FETCH a.creator JOIN FETCH a.location " +
+           "WHERE a.creator.id = :creatorId " +
+           "AND (a.endTime >= :now OR (a.endTime IS NULL AND a.createdAt >= :createdAfter)) " +
+           "AND (a.startTime > :afterStartTime " +
+           "OR (a.startTime = :afterStartTime AND a.id > :afterId) " +
+           "OR (a.startTime IS NULL AND (:afterUndated = false OR a.id > :afterId))) " +
+           "ORDER BY a.startTime ASC NULLS LAST, a.id ASC")
+    List<Activity> findLiveByCreatorIdAfterCursor(
+        @Param("creatorId") UUID creatorId,
+        @Param("now") OffsetDateTime now,
+        @Param("createdAfter") Instant createdAfter,
+        @Param("afterStartTime") OffsetDateTime afterStartTime,
+        @Param("afterId") UUID afterId,
+        @Param("afterUndated") boolean afterUndated,
+        Limit limit);
+    
     // finds activities that have been created by any of the users in the list
     // Note: The Activity entity has a 'creator' field (User object), not a 'creatorId' field
     // Spring Data JPA will automatically resolve this to creator.id
@@ -43,6 +80,69 @@ public interface IActivityRepository extends JpaRepository<Activity, UUID> {
         @Param("requestingUserId") UUID requestingUserId,
         @Param("now") OffsetDateTime now);
 
+    /**
+     * Finds activities that may expire between :from and :to, for scheduling cache eviction.
+     * Activities with a stored expiry are matched on it exactly. Older rows without one fall back to their
+     * times: activities without an end time expire within two days of creation, so all recent ones are
+     * included and the caller computes their exact expiry.
+     *
+     * @return List of Object[] containing [id, startTime, endTime, createdAt, clientTimezone, expiresAt]
+     */
+    @Query("SELECT a.id, a.startTime, a.endTime, a.createdAt, a.clientTimezone, a.expiresAt FROM Activity a " +
+           "WHERE (a.expiresAt >= :fromMillis AND a.expiresAt < :toMillis) " +
+           "OR (a.expiresAt IS NULL AND ((a.endTime >= :from AND a.endTime < :to) " +
+           "OR (a.endTime IS NULL AND a.createdAt >= :createdAfter)))")
+    List<Object[]> findExpiryCandidates(
+        @Param("from") OffsetDateTime from,
+        @Param("to") OffsetDateTime to,
+        @Param("fromMillis") long fromMillis,
+        @Param("toMillis") long toMillis,
+        @Param("createdAfter") Instant createdAfter);
+
+    /**
+     * @return List of Object[] containing [activityId, creatorId]
+     */
+    @Query("SELECT a.id, a.creator.id FROM Activity a WHERE a.id IN :activityIds")
+    List<Object[]> findCreatorIdsByActivityIds(@Param("activityIds") Collection<UUID> activityIds);
+
+    // ==================== Member Counts ====================
+
+    /**
+     * Takes a participant spot if one is free. The limit check and the increment are a single-row update,
+     * so concurrent joins cannot overshoot the limit, and only this activity's row is locked.
+     *
+     * @param fromInvited 1 if the joining user was invited and moves out of the invited count, otherwise 0
+     * @return 1 if a spot was taken, 0 if the activity is full or does not exist
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE Activity a SET a.participantCount = a.participantCount + 1, a.invitedCount = a.invitedCount - :fromInvited " +
+           "WHERE a.id = :activityId AND (a.participantLimit IS NULL OR a.participantCount < a.participantLimit)")
+    int tryAddParticipant(@Param("activityId") UUID activityId, @Param("fromInvited") int fromInvited);
+
+    // applies a membership change to an activity's member counts
+    @Modifying
+    @Transactional
+    @Query("UPDATE Activity a SET a.participantCount = a.participantCount + :participantDelta, " +
+           "a.invitedCount = a.invitedCount + :invitedDelta WHERE a.id = :activityId")
+    int adjustMemberCounts(@Param("activityId") UUID activityId,
+                           @Param("participantDelta") int participantDelta,
+                           @Param("invitedDelta") int invitedDelta);
+
+    // overwrites an activity's member counts, for when its memberships are replaced wholesale
+    @Modifying
+    @Transactional
+    @Query("UPDATE Activity a SET a.participantCount = :participantCount, a.invitedCount = :invitedCount WHERE a.id = :activityId")
+    int setMemberCounts(@Param("activityId") UUID activityId,
+                        @Param("participantCount") int participantCount,
+                        @Param("invitedCount") int invitedCount);
+
+    @Query("SELECT a.participantCount FROM Activity a WHERE a.id = :activityId")
+    Optional<Integer> findParticipantCountById(@Param("activityId") UUID activityId);
+
+    @Query("SELECT a.invitedCount FROM Activity a WHERE a.id = :activityId")
+    Optional<Integer> findInvitedCountById(@Param("activityId") UUID activityId);
+
     // finds the most recently updated activity created by a user
     @Query("SELECT a FROM Activity a WHERE a.creator.id = :creatorId ORDER BY a.lastUpdated DESC")
     Optional<Activity> findTopByCreatorIdOrderByLastUpdatedDesc(@Param("creatorId") UUID creatorId, org.springframework.data.domain.Limit limit);
@@ -6,11 +6,15 @@ import com.danielagapov.spawn.activity.internal.domain.ActivityUsersId;
 import com.danielagapov.spawn.activity.internal.domain.ActivityUser;
 import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
 import java.time.OffsetDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -27,6 +31,23 @@ public interface IActivityUserRepository extends JpaRepository<ActivityUser, Act
     // Find activity users by user ID and participation status
     List<ActivityUser> findByUser_IdAndStatus(UUID userId, ParticipationStatus status);
 
+    long countByActivity_IdAndStatus(UUID activityId, ParticipationStatus status);
+
+    /**
+     * Changes a membership's status only if it still has the expected one, so two concurrent changes to the
+     * same membership cannot both apply. Clears the persistence context so later reads see the new status.
+     *
+     * @return 1 if the status was changed, 0 if it had already changed or the membership does not exist
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Transactional
+    @Query("UPDATE ActivityUser au SET au.status = :newStatus " +
+           "WHERE au.id.activityId = :activityId AND au.id.userId = :userId AND au.status = :expectedStatus")
+    int updateStatusIfCurrent(@Param("activityId") UUID activityId,
+                              @Param("userId") UUID userId,
+                              @Param("expectedStatus") ParticipationStatus expectedStatus,
+                              @Param("newStatus") ParticipationStatus newStatus);
+
     List<ActivityUser> findActivitiesByActivity_IdAndStatus(UUID activityId, ParticipationStatus status);
 
     @Query("SELECT au.activity.id FROM ActivityUser au WHERE au.user.id = :userId AND au.status = :status AND au.activity.endTime <= :now")
@@ -47,6 +68,26 @@ public interface IActivityUserRepository extends JpaRepository<ActivityUser, Act
      */
     @Query("SELECT au.activity.id, au.user.id FROM ActivityUser au WHERE au.activity.id IN :activityIds AND au.status = :status")
     List<Object[]> findUserIdsByActivityIdsAndStatus(@Param("activityIds") List<UUID> activityIds, @Param("status") ParticipationStatus status);
+
+    /**
+     * Counts, for each of the other users, the activities they share with the user, both with the given status.
+     * Users who share no activity are left out.
+     *
+     * @return List of Object[] containing [otherUserId, sharedActivityCount]
+     */
+    @Query("SELECT other.user.id, COUNT(other) FROM ActivityUser mine, ActivityUser other " +
+           "WHERE other.activity.id = mine.activity.id AND mine.user.id = :userId AND mine.status = :status " +
+           "AND other.user.id IN :otherUserIds AND other.status = :status GROUP BY other.user.id")
+    List<Object[]> countSharedActivitiesByOtherUserId(@Param("userId") UUID userId, @Param("otherUserIds") Collection<UUID> otherUserIds, @Param("status") ParticipationStatus status);
+    
+    /**
+     * Batch query to get every invited or participating user ID for multiple activities, regardless of status.
+     * 
+     * @param activityIds Collection of activity IDs
+     * @return List of Object[] containing [activityId, userId]
+     */
+    @Query("SELECT au.activity.id, au.user.id FROM ActivityUser au WHERE au.activity.id IN :activityIds")
+    List<Object[]> findUserIdsByActivityIds(@Param("activityIds") Collection<UUID> activityIds);
     
     /**
      * Batch query to get all activity user relationships for multiple activities.
@@ -58,6 +99,50 @@ public interface IActivityUserRepository extends JpaRepository<ActivityUser, Act
     @Query("SELECT au FROM ActivityUser au WHERE au.activity.id IN :activityIds")
     List<ActivityUser> findAllByActivityIds(@Param("activityIds") List<UUID> activityIds);
 
+    /**
+     * Batch query to get every participant/invitee row for multiple activities, with the user
+     * entity joined in the same statement. Used to hydrate a whole feed without per-user lookups.
+     * 
+     * @param activityIds List of activity IDs
+     * @return List of Object[] containing [activityId, User, ParticipationStatus]
+     */
+    @Query("SELECT au.activity.id, au.user, au.status FROM ActivityUser au WHERE au.activity.id IN :activityIds")
+    List<Object[]> findUsersAndStatusesByActivityIds(@Param("activityIds") List<UUID> activityIds);
+
+    /**
+     * Finds a user's activity memberships for the given statuses, fetching each activity together
+     * with its creator and location so the feed can be built from a single query.
+     * 
+     * @param userId The user whose memberships to load
+     * @param statuses The participation statuses to include
+     * @return List of ActivityUser objects with their activities initialized
+     */
+    @Query("SELECT au FROM ActivityUser au JOIN FETCH au.activity a JOIN FETCH a.creator JOIN FETCH a.location " +
+           "WHERE au.user.id = :userId AND au.status IN :statuses")
+    List<ActivityUser> findByUserIdAndStatusInWithActivity(@Param("userId") UUID userId, @Param("statuses") Collection<ParticipationStatus> statuses);
+
+    /**
+     * Keyset page of a user's live memberships for the given statuses, ordered by the activity's
+     * start time then ID, with each activity fetched together with its creator and location.
+     * Uses the same expiry superset and cursor semantics as IActivityRepository.findLiveByCreatorIdAfterCursor.
+     */
+    @Query("SELECT au FROM ActivityUser au JOIN FETCH au.activity a JOIN FETCH a.creator JOIN FETCH a.location " +
+           "WHERE au.user.id = :userId AND au.status IN :statuses " +
+           "AND (a.endTime >= :now OR (a.endTime IS NULL AND a.createdAt >= :createdAfter)) " +
+           "AND (a.startTime > :afterStartTime " +
+           "OR (a.startTime = :afterStartTime AND a.id > :afterId) " +
+           "OR (a.startTime IS NULL AND (:afterUndated = false OR a.id > :afterId))) " +
+           "ORDER BY a.startTime ASC NULLS LAST, a.id ASC")
+    List<ActivityUser> findLiveByUserIdAfterCursor(
+        @Param("userId") UUID userId,
+        @Param("statuses") Collection<ParticipationStatus> statuses,
+        @Param("now") OffsetDateTime now,
+        @Param("createdAfter") Instant createdAfter,
+        @Param("afterStartTime") OffsetDateTime afterStartTime,
+        @Param("afterId") UUID afterId,
+        @Param("afterUndated") boolean afterUndated,
+        Limit limit);
+
     @Query("SELECT au FROM ActivityUser au JOIN au.activity a WHERE au.user.id = :userId AND au.status = :status ORDER BY a.lastUpdated DESC")
     Optional<ActivityUser> findTopByUserIdAndStatusOrderByActivityLastUpdatedDesc(@Param("userId") UUID userId, @Param("status") ParticipationStatus status, org.springframework.data.domain.Limit limit);
 }
@@ -4,6 +4,8 @@ import com.danielagapov.spawn.activity.internal.domain.ChatMessage;
 import com.danielagapov.spawn.activity.internal.domain.ChatMessageLikes;
 import com.danielagapov.spawn.activity.internal.domain.ChatMessageLikesId;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -14,5 +16,14 @@ public interface IChatMessageLikesRepository extends JpaRepository<ChatMessageLi
     boolean existsByChatMessage_IdAndUser_Id(UUID chatMessageId, UUID userId);
     void deleteByChatMessage_IdAndUser_Id(UUID chatMessageId, UUID userId);
     List<ChatMessageLikes> findByChatMessage(ChatMessage chatMessage);
+
+    /**
+     * Batch query to get the liking user IDs for multiple chat messages at once.
+     * 
+     * @param chatMessageIds List of chat message IDs
+     * @return List of Object[] containing [chatMessageId, userId]
+     */
+    @Query("SELECT cml.chatMessage.id, cml.user.id FROM ChatMessageLikes cml WHERE cml.chatMessage.id IN :chatMessageIds")
+    List<Object[]> findUserIdsByChatMessageIds(@Param("chatMessageIds") List<UUID> chatMessageIds);
 }
 
@@ -1,11 +1,13 @@
 package com.danielagapov.spawn.activity.internal.repositories;
 
 import com.danielagapov.spawn.activity.internal.domain.ChatMessage;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.UUID;
 
@@ -33,5 +35,50 @@ public interface IChatMessageRepository extends JpaRepository<ChatMessage, UUID>
      */
     @Query("SELECT cm FROM ChatMessage cm WHERE cm.activity.id IN :activityIds ORDER BY cm.activity.id, cm.timestamp DESC")
     List<ChatMessage> findAllByActivityIds(@Param("activityIds") List<UUID> activityIds);
-}
 
+    /**
+     * Batch query to get the scalar fields of all chat messages for multiple activities.
+     * Avoids loading the sender and activity entities for every message.
+     * 
+     * @param activityIds List of activity IDs
+     * @return List of Object[] containing [messageId, content, timestamp, senderUserId, activityId]
+     */
+    @Query("SELECT cm.id, cm.content, cm.timestamp, cm.userSender.id, cm.activity.id FROM ChatMessage cm " +
+           "WHERE cm.activity.id IN :activityIds ORDER BY cm.activity.id, cm.timestamp DESC")
+    List<Object[]> findChatMessageRowsByActivityIds(@Param("activityIds") List<UUID> activityIds);
+
+    /**
+     * Batch query to get the latest messages of multiple activities in one windowed pass,
+     * together with each activity's total message count.
+     * Activities without messages have no rows.
+     * 
+     * @param activityIds List of activity IDs
+     * @param perActivity Maximum number of messages to return per activity
+     * @return List of Object[] containing [messageId, content, timestamp, senderUserId, activityId, totalMessageCount],
+     *         ordered by activity and then by timestamp descending
+     */
+    @Query("SELECT r.id, r.content, r.timestamp, r.senderId, r.activityId, r.total FROM (" +
+           "SELECT cm.id AS id, cm.content AS content, cm.timestamp AS timestamp, cm.userSender.id AS senderId, " +
+           "cm.activity.id AS activityId, " +
+           "ROW_NUMBER() OVER (PARTITION BY cm.activity.id ORDER BY cm.timestamp DESC, cm.id DESC) AS position, " +
+           "COUNT(*) OVER (PARTITION BY cm.activity.id) AS total " +
+           "FROM ChatMessage cm WHERE cm.activity.id IN :activityIds) r " +
+           "WHERE r.position <= :perActivity ORDER BY r.activityId, r.timestamp DESC, r.id DESC")
+    List<Object[]> findLatestChatMessageRowsByActivityIds(@Param("activityIds") List<UUID> activityIds,
+                                                          @Param("perActivity") long perActivity);
+
+    /**
+     * Keyset query for one page of an activity's chat history, newest first, starting strictly
+     * after the given (timestamp, messageId) position.
+     * 
+     * @return List of Object[] containing [messageId, content, timestamp, senderUserId, activityId]
+     */
+    @Query("SELECT cm.id, cm.content, cm.timestamp, cm.userSender.id, cm.activity.id FROM ChatMessage cm " +
+           "WHERE cm.activity.id = :activityId " +
+           "AND (cm.timestamp < :beforeTimestamp OR (cm.timestamp = :beforeTimestamp AND cm.id < :beforeId)) " +
+           "ORDER BY cm.timestamp DESC, cm.id DESC")
+    List<Object[]> findChatMessageRowsByActivityIdBefore(@Param("activityId") UUID activityId,
+                                                         @Param("beforeTimestamp") Instant beforeTimestamp,
+                                                         @Param("beforeId") UUID beforeId,
+                                                         Limit limit);
+}
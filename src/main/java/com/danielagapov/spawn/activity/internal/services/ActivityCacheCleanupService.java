@@ -1,69 +1,173 @@
 package com.danielagapov.spawn.activity.internal.services;
 
+import com.danielagapov.spawn.activity.internal.domain.Activity;
+import com.danielagapov.spawn.activity.internal.domain.ActivityExpiry;
+import com.danielagapov.spawn.activity.internal.repositories.IActivityRepository;
+import com.danielagapov.spawn.activity.internal.repositories.IActivityUserRepository;
+import com.danielagapov.spawn.shared.cache.CacheTags;
+import com.danielagapov.spawn.shared.util.CacheEvictionHelper;
+import com.danielagapov.spawn.shared.util.CacheNames;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.cache.CacheManager;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.*;
+
 /**
- * Service that periodically cleans up expired activities from cache.
- * This prevents stale activity data from being served to clients when activities
- * have naturally expired over time.
+ * Service that evicts cached activity data when activities expire.
+ * This prevents stale activity data (e.g. the isExpired flag) from being served to clients
+ * when activities have naturally expired over time.
+ *
+ * Rather than clearing every activity cache for every user on a timer, expiry instants are kept in
+ * a time-bucketed index. When an activity's bucket comes due, only the cache entries of that activity
+ * and of the users tied to it (its creator, invitees and participants) are evicted.
+ *
+ * The index is filled from two sources: activity write paths report new expiry instants directly,
+ * and a periodic refill loads every activity expiring within the next REFILL_HORIZON from the database,
+ * so each instance covers activities written by other instances too. Evictions are idempotent, so
+ * several instances acting on the same expiry is harmless.
  */
 @Service
 public class ActivityCacheCleanupService {
-    
+
     private static final Logger logger = LoggerFactory.getLogger(ActivityCacheCleanupService.class);
-    
+
+    private static final Duration BUCKET_WIDTH = Duration.ofMinutes(1);
+    private static final Duration REFILL_HORIZON = Duration.ofHours(1);
+    // Activities without an end time expire by midnight after their creation day in the creator's timezone
+    private static final Duration UNDATED_ACTIVITY_MAX_LIFETIME = Duration.ofDays(2);
+
+    private final IActivityRepository activityRepository;
+    private final IActivityUserRepository activityUserRepository;
+    private final ActivityExpirationService expirationService;
+    private final CacheEvictionHelper cacheEvictionHelper;
+    private final ActivityExpiryIndex expiryIndex = new ActivityExpiryIndex(BUCKET_WIDTH);
+
     @Autowired
-    private CacheManager cacheManager;
-    
+    public ActivityCacheCleanupService(IActivityRepository activityRepository, IActivityUserRepository activityUserRepository,
+                                       ActivityExpirationService expirationService, CacheEvictionHelper cacheEvictionHelper) {
+        this.activityRepository = activityRepository;
+        this.activityUserRepository = activityUserRepository;
+        this.expirationService = expirationService;
+        this.cacheEvictionHelper = cacheEvictionHelper;
+    }
+
+    /**
+     * Schedules cache eviction for when the activity expires, replacing any earlier schedule for it.
+     * Called by activity write paths whenever an activity is created or its times change.
+     */
+    public void trackExpiry(Activity activity) {
+        trackExpiry(activity.getId(), activity.resolveExpiresAt());
+    }
+
+    /**
+     * Stops tracking a deleted activity.
+     */
+    public void untrackExpiry(UUID activityId) {
+        expiryIndex.cancel(activityId);
+    }
+
+    /**
+     * Loads every activity expiring within the refill horizon into the expiry index.
+     * Runs on startup and then more often than the horizon, so consecutive windows overlap.
+     */
+    @Scheduled(initialDelay = 0, fixedRate = 1800000) // 30 minutes
+    public void refillExpiryIndex() {
+        try {
+            OffsetDateTime now = OffsetDateTime.now(ZoneOffset.UTC);
+            OffsetDateTime horizon = now.plus(REFILL_HORIZON);
+            List<Object[]> candidates = activityRepository.findExpiryCandidates(
+                    now, horizon, now.toInstant().toEpochMilli(), horizon.toInstant().toEpochMilli(),
+                    now.toInstant().minus(UNDATED_ACTIVITY_MAX_LIFETIME));
+
+            for (Object[] row : candidates) {
+                // Prefer the stored expiry; rows written before it existed are computed from their times
+                long expiresAtMillis = row[5] != null
+                        ? (Long) row[5]
+                        : expirationService.calculateActivityExpirationMillis(
+                                (OffsetDateTime) row[1], (OffsetDateTime) row[2], (Instant) row[3], (String) row[4]);
+                trackExpiry((UUID) row[0], expiresAtMillis);
+            }
+            logger.info("🗓️ Refilled activity expiry index - {} candidates, {} tracked", candidates.size(), expiryIndex.size());
+        } catch (Exception e) {
+            logger.error("❌ Error refilling activity expiry index: {}", e.getMessage(), e);
+            // Don't throw - this is a best-effort background task
+        }
+    }
+
     /**
-     * Periodically evicts all activity-related caches to ensure fresh expiration data.
-     * Runs every 15 minutes to prevent serving stale activities that have expired.
-     * 
-     * Note: This is a preventive measure in addition to the 5-minute TTL.
-     * Activities can expire at any time, so we proactively clear caches to ensure
-     * the isExpired field is recalculated based on current time.
+     * Evicts the cached data of every activity that has expired since the last run.
+     * Runs every minute, matching the width of the expiry buckets.
      */
-    @Scheduled(fixedRate = 300000) // 5 minutes = 600,000 milliseconds
+    @Scheduled(fixedRate = 60000) // 1 minute
     public void cleanupExpiredActivityCaches() {
         try {
-            logger.info("🧹 Starting scheduled activity cache cleanup");
-            
-            int clearedCaches = 0;
-            
-            // Clear all activity-related caches
-            String[] activityCaches = {
-                "feedActivities",
-                "fullActivityById",
-                "ActivityById",
-                "ActivityInviteById",
-                "ActivitiesByOwnerId",
-                "ActivitiesInvitedTo",
-                "fullActivitiesInvitedTo",
-                "fullActivitiesParticipatingIn",
-                "calendarActivities",
-                "allCalendarActivities",
-                "filteredCalendarActivities"
-            };
-            
-            for (String cacheName : activityCaches) {
-                if (cacheManager.getCache(cacheName) != null) {
-                    cacheManager.getCache(cacheName).clear();
-                    clearedCaches++;
-                    logger.debug("✅ Cleared cache: {}", cacheName);
-                }
+            List<UUID> expiredActivityIds = expiryIndex.drainDue(System.currentTimeMillis());
+            if (expiredActivityIds.isEmpty()) {
+                return;
             }
-            
-            logger.info("✅ Completed activity cache cleanup - cleared {} caches", clearedCaches);
-            
+
+            logger.info("🧹 Evicting caches for {} expired activities", expiredActivityIds.size());
+            int evictedUsers = evictCachesForExpiredActivities(expiredActivityIds);
+            logger.info("✅ Completed activity cache cleanup - evicted entries for {} activities and {} users",
+                    expiredActivityIds.size(), evictedUsers);
+
         } catch (Exception e) {
             logger.error("❌ Error during activity cache cleanup: {}", e.getMessage(), e);
             // Don't throw - this is a best-effort background task
         }
     }
-}
 
+    private void trackExpiry(UUID activityId, long expiresAtMillis) {
+        if (expiresAtMillis == ActivityExpiry.NEVER) {
+            // Never expires, so there is nothing to evict
+            expiryIndex.cancel(activityId);
+            return;
+        }
+        expiryIndex.schedule(activityId, expiresAtMillis);
+    }
+
+    /**
+     * Evicts the per-activity entries of the expired activities and the per-user entries of everyone tied to them.
+     *
+     * @return the number of distinct users whose caches were evicted
+     */
+    private int evictCachesForExpiredActivities(List<UUID> activityIds) {
+        Map<UUID, Set<UUID>> userIdsByActivityId = new HashMap<>();
+        Set<UUID> creatorIds = new HashSet<>();
+        for (Object[] row : activityRepository.findCreatorIdsByActivityIds(activityIds)) {
+            userIdsByActivityId.computeIfAbsent((UUID) row[0], id -> new HashSet<>()).add((UUID) row[1]);
+            creatorIds.add((UUID) row[1]);
+        }
+        for (Object[] row : activityUserRepository.findUserIdsByActivityIds(activityIds)) {
+            userIdsByActivityId.computeIfAbsent((UUID) row[0], id -> new HashSet<>()).add((UUID) row[1]);
+        }
+
+        Set<UUID> affectedUserIds = new HashSet<>();
+        for (UUID activityId : activityIds) {
+            cacheEvictionHelper.evictCaches(activityId, CacheNames.ACTIVITY_BY_ID, CacheNames.ACTIVITY_INVITE_BY_ID);
+            // Also reaches views cached for users who have since left the activity
+            cacheEvictionHelper.evictTagged(CacheTags.activity(activityId),
+                    CacheNames.FULL_ACTIVITY_BY_ID, CacheNames.FEED_ACTIVITY_BY_ID);
+            affectedUserIds.addAll(userIdsByActivityId.getOrDefault(activityId, Set.of()));
+        }
+
+        for (UUID userId : affectedUserIds) {
+            cacheEvictionHelper.evictCaches(userId,
+                    CacheNames.FEED_ACTIVITIES,
+                    CacheNames.ACTIVITIES_INVITED_TO,
+                    CacheNames.FULL_ACTIVITIES_INVITED_TO,
+                    CacheNames.FULL_ACTIVITIES_PARTICIPATING_IN);
+        }
+        for (UUID creatorId : creatorIds) {
+            cacheEvictionHelper.evictCache(CacheNames.ACTIVITIES_BY_OWNER_ID, creatorId);
+        }
+        return affectedUserIds.size();
+    }
+}
@@ -1,17 +1,20 @@
 package com.danielagapov.spawn.activity.internal.services;
 
+import com.danielagapov.spawn.activity.internal.domain.Activity;
+import com.danielagapov.spawn.activity.internal.domain.ActivityExpiry;
 import org.springframework.stereotype.Service;
 
 import java.time.Instant;
-import java.time.LocalDate;
 import java.time.OffsetDateTime;
-import java.time.ZoneId;
 import java.time.ZoneOffset;
 
 /**
  * Centralized service for handling activity expiration logic.
  * This serves as the single source of truth for all expiration-related decisions
  * across the application (feed display, share links, etc.).
+ *
+ * The rules themselves live in {@link ActivityExpiry}, which works on epoch millis so that activity
+ * entities can store their expiry and batch callers can compare many activities against one clock reading.
  */
 @Service
 public class ActivityExpirationService {
@@ -51,49 +54,42 @@ public class ActivityExpirationService {
      * @return true if the activity is expired, false otherwise
      */
     public boolean isActivityExpired(OffsetDateTime startTime, OffsetDateTime endTime, Instant createdAt, String clientTimezone) {
-        // Use UTC for consistent timezone comparison across server and client timezones
-        OffsetDateTime now = OffsetDateTime.now(ZoneOffset.UTC);
-        
-        // Activities with explicit end time
-        if (endTime != null) {
-            // Convert endTime to UTC for proper comparison
-            OffsetDateTime endTimeUtc = endTime.withOffsetSameInstant(ZoneOffset.UTC);
-            return endTimeUtc.isBefore(now);
-        }
-        
-        // Activities without end time expire at the end of the day they were created
-        if (createdAt != null) {
-            if (clientTimezone != null && !clientTimezone.trim().isEmpty()) {
-                try {
-                    // Use client timezone for expiration calculation
-                    ZoneId clientZone = ZoneId.of(clientTimezone);
-                    
-                    // Get the date the activity was created in the client's timezone
-                    LocalDate createdDate = createdAt.atZone(clientZone).toLocalDate();
-                    
-                    // Calculate midnight (12 AM) of the following day in client timezone
-                    OffsetDateTime endOfCreationDay = createdDate.plusDays(1)
-                        .atStartOfDay(clientZone)
-                        .toOffsetDateTime()
-                        .withOffsetSameInstant(ZoneOffset.UTC);
-                    
-                    return now.isAfter(endOfCreationDay);
-                } catch (Exception e) {
-                    // If timezone parsing fails, fall back to UTC behavior
-                    // Log the error but continue with UTC fallback to ensure system stability
-                }
-            }
-            
-            // Fallback to UTC behavior (original logic)
-            // Get the date the activity was created (in UTC)
-            LocalDate createdDate = createdAt.atOffset(ZoneOffset.UTC).toLocalDate();
-            // Calculate end of that day (23:59:59.999 UTC)
-            OffsetDateTime endOfCreationDay = createdDate.plusDays(1).atStartOfDay(ZoneOffset.UTC).toOffsetDateTime();
-            return now.isAfter(endOfCreationDay);
-        }
-        
-        // Activities with no creation time never expire (shouldn't happen in practice)
-        return false;
+        return isActivityExpired(startTime, endTime, createdAt, clientTimezone, System.currentTimeMillis());
+    }
+
+    /**
+     * Same as {@link #isActivityExpired(OffsetDateTime, OffsetDateTime, Instant, String)}, but against a caller-supplied
+     * clock reading, so a batch of activities is evaluated against one consistent "now".
+     *
+     * @param nowMillis The current time in epoch millis
+     * @return true if the activity is expired, false otherwise
+     */
+    public boolean isActivityExpired(OffsetDateTime startTime, OffsetDateTime endTime, Instant createdAt, String clientTimezone, long nowMillis) {
+        return ActivityExpiry.isExpired(ActivityExpiry.expiresAtMillis(endTime, createdAt, clientTimezone), nowMillis);
+    }
+
+    /**
+     * Determines if an activity entity is expired, using its precomputed expiry when one is stored.
+     *
+     * @param activity The activity entity
+     * @param nowMillis The current time in epoch millis
+     * @return true if the activity is expired, false otherwise
+     */
+    public boolean isActivityExpired(Activity activity, long nowMillis) {
+        return ActivityExpiry.isExpired(activity.resolveExpiresAt(), nowMillis);
+    }
+
+    /**
+     * Calculates when an activity will expire, in epoch millis.
+     *
+     * @param startTime The activity start time (can be null)
+     * @param endTime The activity end time (can be null)
+     * @param createdAt The activity creation time (can be null)
+     * @param clientTimezone The timezone of the client that created the activity (can be null)
+     * @return The expiration time in epoch millis, or {@link ActivityExpiry#NEVER} if the activity never expires
+     */
+    public long calculateActivityExpirationMillis(OffsetDateTime startTime, OffsetDateTime endTime, Instant createdAt, String clientTimezone) {
+        return ActivityExpiry.expiresAtMillis(endTime, createdAt, clientTimezone);
     }
 
     /**
@@ -127,30 +123,8 @@ public class ActivityExpirationService {
         
         // Activities without end time expire at the end of the day they were created
         if (createdAt != null) {
-            if (clientTimezone != null && !clientTimezone.trim().isEmpty()) {
-                try {
-                    // Use client timezone for expiration calculation
-                    ZoneId clientZone = ZoneId.of(clientTimezone);
-                    
-                    // Get the date the activity was created in the client's timezone
-                    LocalDate createdDate = createdAt.atZone(clientZone).toLocalDate();
-                    
-                    // Return midnight (12 AM) of the following day in client timezone, converted to UTC
-                    return createdDate.plusDays(1)
-                        .atStartOfDay(clientZone)
-                        .toOffsetDateTime()
-                        .withOffsetSameInstant(ZoneOffset.UTC);
-                } catch (Exception e) {
-                    // If timezone parsing fails, fall back to UTC behavior
-                    // Log the error but continue with UTC fallback to ensure system stability
-                }
-            }
-            
-            // Fallback to UTC behavior (original logic)
-            // Get the date the activity was created (in UTC)
-            LocalDate createdDate = createdAt.atOffset(ZoneOffset.UTC).toLocalDate();
-            // Return end of that day (start of next day)
-            return createdDate.plusDays(1).atStartOfDay(ZoneOffset.UTC).toOffsetDateTime();
+            long expiresAtMillis = ActivityExpiry.expiresAtMillis(null, createdAt, clientTimezone);
+            return OffsetDateTime.ofInstant(Instant.ofEpochMilli(expiresAtMillis), ZoneOffset.UTC);
         }
         
         // Activities with no creation time never expire
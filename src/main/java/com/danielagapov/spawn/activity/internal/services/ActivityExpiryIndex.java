@@ -0,0 +1,71 @@
+package com.danielagapov.spawn.activity.internal.services;
+
+import java.time.Duration;
+import java.util.*;
+
+/**
+ * Time-bucketed index of upcoming activity expirations.
+ *
+ * Activities are grouped into fixed-width buckets by their expiry instant, so finding everything
+ * that has expired since the last check only touches the buckets that are due rather than every
+ * tracked activity. Rescheduling an activity moves it to its new bucket.
+ */
+public class ActivityExpiryIndex {
+    private final long bucketWidthMillis;
+    private final NavigableMap<Long, Set<UUID>> buckets = new TreeMap<>();
+    private final Map<UUID, Long> bucketByActivityId = new HashMap<>();
+
+    public ActivityExpiryIndex(Duration bucketWidth) {
+        this.bucketWidthMillis = bucketWidth.toMillis();
+    }
+
+    /**
+     * Tracks the activity's expiry, replacing any previously scheduled expiry for it.
+     */
+    public synchronized void schedule(UUID activityId, long expiresAtMillis) {
+        long bucket = Math.floorDiv(expiresAtMillis, bucketWidthMillis);
+        Long previous = bucketByActivityId.put(activityId, bucket);
+        if (previous != null && previous != bucket) {
+            removeFromBucket(previous, activityId);
+        }
+        buckets.computeIfAbsent(bucket, key -> new HashSet<>()).add(activityId);
+    }
+
+    public synchronized void cancel(UUID activityId) {
+        Long previous = bucketByActivityId.remove(activityId);
+        if (previous != null) {
+            removeFromBucket(previous, activityId);
+        }
+    }
+
+    /**
+     * Removes and returns every activity whose bucket has fully elapsed by nowMillis.
+     * An activity is therefore reported at most one bucket width after it expires.
+     */
+    public synchronized List<UUID> drainDue(long nowMillis) {
+        // Buckets strictly before the one containing now have fully elapsed
+        long currentBucket = Math.floorDiv(nowMillis, bucketWidthMillis);
+        NavigableMap<Long, Set<UUID>> due = buckets.headMap(currentBucket, false);
+        List<UUID> expired = new ArrayList<>();
+        for (Set<UUID> activityIds : due.values()) {
+            expired.addAll(activityIds);
+        }
+        due.clear();
+        expired.forEach(bucketByActivityId::remove);
+        return expired;
+    }
+
+    public synchronized int size() {
+        return bucketByActivityId.size();
+    }
+
+    private void removeFromBucket(long bucket, UUID activityId) {
+        Set<UUID> activityIds = buckets.get(bucket);
+        if (activityIds != null) {
+            activityIds.remove(activityId);
+            if (activityIds.isEmpty()) {
+                buckets.remove(bucket);
+            }
+        }
+    }
+}
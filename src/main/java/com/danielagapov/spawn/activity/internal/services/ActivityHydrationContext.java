@@ -0,0 +1,103 @@
+package com.danielagapov.spawn.activity.internal.services;
+
+import com.danielagapov.spawn.chat.api.dto.FullActivityChatMessageDTO;
+import com.danielagapov.spawn.shared.util.ParticipationStatus;
+import com.danielagapov.spawn.user.api.dto.BaseUserDTO;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Preloaded data needed to turn a batch of activities into FullFeedActivityDTOs.
+ *
+ * Built once per request by ActivityService from a fixed number of set-based queries
+ * (participants and invitees with their users, every chat message ID, a chat preview of the
+ * latest messages with their likes, and any remaining creators/senders/likers), then joined in memory while hydrating each activity.
+ * This keeps the number of queries for a feed constant regardless of how many activities it holds.
+ */
+public class ActivityHydrationContext {
+    private final Map<UUID, BaseUserDTO> usersById;
+    private final Map<UUID, List<UUID>> participantIdsByActivityId;
+    private final Map<UUID, List<UUID>> invitedIdsByActivityId;
+    private final Map<UUID, List<UUID>> chatMessageIdsByActivityId;
+    private final Map<UUID, List<FullActivityChatMessageDTO>> chatMessagesByActivityId;
+    private final Map<UUID, Integer> chatMessageCountByActivityId;
+    private final Map<UUID, ParticipationStatus> requestingUserStatusByActivityId;
+    // Single clock reading so every activity in the batch is judged expired or live against the same instant
+    private final long nowMillis = System.currentTimeMillis();
+
+    ActivityHydrationContext(Map<UUID, BaseUserDTO> usersById,
+                             Map<UUID, List<UUID>> participantIdsByActivityId,
+                             Map<UUID, List<UUID>> invitedIdsByActivityId,
+                             Map<UUID, List<UUID>> chatMessageIdsByActivityId,
+                             Map<UUID, List<FullActivityChatMessageDTO>> chatMessagesByActivityId,
+                             Map<UUID, Integer> chatMessageCountByActivityId,
+                             Map<UUID, ParticipationStatus> requestingUserStatusByActivityId) {
+        this.usersById = usersById;
+        this.participantIdsByActivityId = participantIdsByActivityId;
+        this.invitedIdsByActivityId = invitedIdsByActivityId;
+        this.chatMessageIdsByActivityId = chatMessageIdsByActivityId;
+        this.chatMessagesByActivityId = chatMessagesByActivityId;
+        this.chatMessageCountByActivityId = chatMessageCountByActivityId;
+        this.requestingUserStatusByActivityId = requestingUserStatusByActivityId;
+    }
+
+    public long getNowMillis() {
+        return nowMillis;
+    }
+
+    /**
+     * @return the preloaded user, or null if it does not exist or was filtered out
+     */
+    public BaseUserDTO getUser(UUID userId) {
+        return userId != null ? usersById.get(userId) : null;
+    }
+
+    public List<UUID> getParticipantIds(UUID activityId) {
+        return participantIdsByActivityId.getOrDefault(activityId, List.of());
+    }
+
+    public List<UUID> getInvitedIds(UUID activityId) {
+        return invitedIdsByActivityId.getOrDefault(activityId, List.of());
+    }
+
+    /**
+     * @return the latest chat messages of the activity, newest first; not its full history
+     */
+    public List<FullActivityChatMessageDTO> getChatMessages(UUID activityId) {
+        return chatMessagesByActivityId.getOrDefault(activityId, List.of());
+    }
+
+    /**
+     * @return the total number of chat messages in the activity, including those not in the preview
+     */
+    public int getChatMessageCount(UUID activityId) {
+        return chatMessageCountByActivityId.getOrDefault(activityId, 0);
+    }
+
+    /**
+     * @return the IDs of every chat message in the activity, not just those in the preview
+     */
+    public List<UUID> getChatMessageIds(UUID activityId) {
+        return chatMessageIdsByActivityId.getOrDefault(activityId, List.of());
+    }
+
+    /**
+     * Resolves a list of user IDs against the preloaded users, skipping any that were not found.
+     */
+    public List<BaseUserDTO> getUsers(List<UUID> userIds) {
+        return userIds.stream()
+                .map(usersById::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    /**
+     * @return the requesting user's status for the activity, or notInvited if they have no row for it
+     */
+    public ParticipationStatus getRequestingUserStatus(UUID activityId) {
+        return requestingUserStatusByActivityId.getOrDefault(activityId, ParticipationStatus.notInvited);
+    }
+}
@@ -0,0 +1,57 @@
+package com.danielagapov.spawn.activity.internal.services;
+
+import com.danielagapov.spawn.activity.internal.domain.ActivityUser;
+import com.danielagapov.spawn.activity.internal.repositories.IActivityRepository;
+import com.danielagapov.spawn.activity.internal.repositories.IActivityUserRepository;
+import com.danielagapov.spawn.shared.events.UserLifecycleEvents.UserDeletingEvent;
+import com.danielagapov.spawn.shared.exceptions.Logger.ILogger;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Event listener for Activity module that keeps activity memberships consistent with user changes.
+ */
+@Service
+public class ActivityMembershipEventListener {
+
+    private final IActivityUserRepository activityUserRepository;
+    private final IActivityRepository activityRepository;
+    private final ILogger logger;
+
+    public ActivityMembershipEventListener(
+            IActivityUserRepository activityUserRepository,
+            IActivityRepository activityRepository,
+            ILogger logger) {
+        this.activityUserRepository = activityUserRepository;
+        this.activityRepository = activityRepository;
+        this.logger = logger;
+    }
+
+    /**
+     * Removes a deleted user's memberships together with their share of each activity's member counts.
+     * The database would cascade the rows away on its own, but the counters would then keep counting them.
+     */
+    @EventListener
+    @Transactional
+    public void handleUserDeletingEvent(UserDeletingEvent event) {
+        try {
+            List<ActivityUser> memberships = activityUserRepository.findByUser_Id(event.userId());
+            for (ActivityUser membership : memberships) {
+                switch (membership.getStatus()) {
+                    case participating -> activityRepository.adjustMemberCounts(membership.getId().getActivityId(), -1, 0);
+                    case invited -> activityRepository.adjustMemberCounts(membership.getId().getActivityId(), 0, -1);
+                    default -> {
+                        // not counted
+                    }
+                }
+            }
+            activityUserRepository.deleteAll(memberships);
+        } catch (Exception e) {
+            logger.error("Failed to release activity memberships of deleted user " + event.userId() + ": " + e.getMessage());
+            // Don't re-throw - the user is deleted regardless, and their rows cascade away with them
+        }
+    }
+}
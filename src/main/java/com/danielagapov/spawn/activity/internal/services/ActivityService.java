@@ -5,11 +5,18 @@ import com.danielagapov.spawn.activity.api.dto.*;
 import com.danielagapov.spawn.chat.api.dto.FullActivityChatMessageDTO;
 import com.danielagapov.spawn.user.api.dto.BaseUserDTO;
 import com.danielagapov.spawn.user.api.dto.UserDTO;
+import com.danielagapov.spawn.shared.cache.CacheTags;
+import com.danielagapov.spawn.shared.util.CacheEvictionHelper;
+import com.danielagapov.spawn.shared.util.CacheNames;
+import com.danielagapov.spawn.shared.util.ChunkedResult;
 import com.danielagapov.spawn.shared.util.EntityType;
 import com.danielagapov.spawn.shared.util.ParticipationStatus;
 import com.danielagapov.spawn.shared.events.ActivityInviteNotificationEvent;
 import com.danielagapov.spawn.shared.events.ActivityParticipationNotificationEvent;
 import com.danielagapov.spawn.shared.events.ActivityUpdateNotificationEvent;
+import com.danielagapov.spawn.shared.events.ClientCacheEvents.ActivityChangedEvent;
+import com.danielagapov.spawn.shared.ports.ChatMessageData;
+import com.danielagapov.spawn.shared.ports.ChatPreviewData;
 import com.danielagapov.spawn.shared.exceptions.ActivityFullException;
 import com.danielagapov.spawn.shared.exceptions.ApplicationException;
 import com.danielagapov.spawn.shared.exceptions.Base.BaseNotFoundException;
@@ -30,8 +37,12 @@ import com.danielagapov.spawn.activity.internal.repositories.IActivityTypeReposi
 import com.danielagapov.spawn.activity.internal.repositories.IActivityUserRepository;
 import com.danielagapov.spawn.activity.internal.repositories.ILocationRepository;
 import com.danielagapov.spawn.user.internal.repositories.IUserRepository;
+import com.danielagapov.spawn.user.internal.services.IBaseUserLoader;
 import com.danielagapov.spawn.user.internal.services.IUserService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.cache.annotation.Caching;
@@ -41,8 +52,10 @@ import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
 import java.time.Instant;
 import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -57,6 +70,18 @@ import java.util.stream.Collectors;
  */
 @Service
 public class ActivityService implements IActivityService {
+    private static final List<ParticipationStatus> FEED_MEMBERSHIP_STATUSES =
+            List.of(ParticipationStatus.invited, ParticipationStatus.participating);
+    private static final int MAX_FEED_PAGE_SIZE = 50;
+    private static final int MAX_CHAT_PAGE_SIZE = 100;
+    // Feed cards only show the latest few messages; the rest of the chat is paged in on demand
+    private static final int CHAT_PREVIEW_MESSAGE_COUNT = 3;
+    // Activities loaded and hydrated per chunk of a streamed response
+    private static final int STREAM_CHUNK_SIZE = 25;
+    // Activities without an end time expire by midnight after their creation day in the creator's timezone,
+    // so anything created more than two days ago is certainly expired
+    private static final Duration UNDATED_ACTIVITY_MAX_LIFETIME = Duration.ofDays(2);
+
     private final IActivityRepository repository;
     private final IActivityTypeRepository activityTypeRepository;
     private final ILocationRepository locationRepository;
@@ -69,6 +94,14 @@ public class ActivityService implements IActivityService {
     private final ApplicationEventPublisher eventPublisher;
     private final ActivityExpirationService expirationService;
     private final IActivityTypeService activityTypeService;
+    private final IFeedIndexService feedIndexService;
+    private final ActivityCacheCleanupService cacheCleanupService;
+    private final IBaseUserLoader baseUserLoader;
+    private final CacheEvictionHelper cacheEvictionHelper;
+    private final CacheManager cacheManager;
+
+    @Value("${ADMIN_USERNAME:admin}")
+    private String adminUsername;
 
     @Autowired
     public ActivityService(IActivityRepository repository, IActivityTypeRepository activityTypeRepository,
@@ -76,7 +109,9 @@ public class ActivityService implements IActivityService {
                         IUserRepository userRepository, IUserService userService, 
                         IChatQueryService chatQueryService, ILogger logger, ILocationService locationService, 
                         ApplicationEventPublisher eventPublisher, ActivityExpirationService expirationService,
-                        IActivityTypeService activityTypeService) {
+                        IActivityTypeService activityTypeService, IFeedIndexService feedIndexService,
+                        ActivityCacheCleanupService cacheCleanupService, IBaseUserLoader baseUserLoader,
+                        CacheEvictionHelper cacheEvictionHelper, CacheManager cacheManager) {
         this.repository = repository;
         this.activityTypeRepository = activityTypeRepository;
         this.locationRepository = locationRepository;
@@ -89,6 +124,11 @@ public class ActivityService implements IActivityService {
         this.eventPublisher = eventPublisher;
         this.expirationService = expirationService;
         this.activityTypeService = activityTypeService;
+        this.feedIndexService = feedIndexService;
+        this.cacheCleanupService = cacheCleanupService;
+        this.baseUserLoader = baseUserLoader;
+        this.cacheEvictionHelper = cacheEvictionHelper;
+        this.cacheManager = cacheManager;
     }
     
     // ==================== Participant Queries (Public API) ====================
@@ -118,7 +158,47 @@ public class ActivityService implements IActivityService {
     
     @Override
     public int getParticipantCountByStatus(UUID activityId, ParticipationStatus status) {
-        return activityUserRepository.findByActivity_IdAndStatus(activityId, status).size();
+        // Participating and invited counts are kept on the activity row; other statuses have no counter
+        return switch (status) {
+            case participating -> repository.findParticipantCountById(activityId).orElse(0);
+            case invited -> repository.findInvitedCountById(activityId).orElse(0);
+            default -> (int) activityUserRepository.countByActivity_IdAndStatus(activityId, status);
+        };
+    }
+
+    // ==================== Membership Changes ====================
+
+    /**
+     * Moves a membership from invited to participating. The participant spot is taken first, with a
+     * conditional update on the activity row; that update is what enforces the limit under concurrent joins.
+     *
+     * @return whether this call changed the membership; false if it was no longer invited
+     * @throws ActivityFullException if the activity has no free participant spot
+     */
+    private boolean joinFromInvited(Activity activity, UUID userId) {
+        UUID activityId = activity.getId();
+        if (repository.tryAddParticipant(activityId, 1) == 0) {
+            throw new ActivityFullException(activityId, activity.getParticipantLimit());
+        }
+        if (activityUserRepository.updateStatusIfCurrent(activityId, userId, ParticipationStatus.invited, ParticipationStatus.participating) == 0) {
+            // A concurrent request already changed this membership, so give the spot back
+            repository.adjustMemberCounts(activityId, -1, 1);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Moves a membership from participating back to invited, freeing its participant spot.
+     *
+     * @return whether this call changed the membership; false if it was no longer participating
+     */
+    private boolean leaveToInvited(UUID activityId, UUID userId) {
+        if (activityUserRepository.updateStatusIfCurrent(activityId, userId, ParticipationStatus.participating, ParticipationStatus.invited) == 0) {
+            return false;
+        }
+        repository.adjustMemberCounts(activityId, -1, 1);
+        return true;
     }
     
     // ==================== User DTO Conversion Helpers ====================
@@ -142,15 +222,13 @@ public class ActivityService implements IActivityService {
     }
     
     /**
-     * Convert a list of user IDs to BaseUserDTOs.
+     * Convert a list of user IDs to BaseUserDTOs in one batched lookup.
      * Filters out null users (deleted/not found).
      */
     private List<BaseUserDTO> convertUserIdsToDTOs(List<UUID> userIds) {
+        Map<UUID, BaseUserDTO> usersById = baseUserLoader.getBaseUsersByIds(userIds);
         return userIds.stream()
-                .map(userId -> {
-                    User user = userRepository.findById(userId).orElse(null);
-                    return user != null ? UserMapper.toDTO(user) : null;
-                })
+                .map(usersById::get)
                 .filter(Objects::nonNull)
                 .collect(Collectors.toList());
     }
@@ -192,6 +270,18 @@ public class ActivityService implements IActivityService {
                 .filter(user1ActivityIds::contains)
                 .count();
     }
+
+    @Override
+    public Map<UUID, Integer> getSharedActivitiesCounts(UUID userId, Collection<UUID> otherUserIds, ParticipationStatus status) {
+        Map<UUID, Integer> counts = new HashMap<>();
+        if (otherUserIds.isEmpty()) {
+            return counts;
+        }
+        for (Object[] row : activityUserRepository.countSharedActivitiesByOtherUserId(userId, otherUserIds, status)) {
+            counts.put((UUID) row[0], ((Number) row[1]).intValue());
+        }
+        return counts;
+    }
     
     // ==================== Activity Creator Queries ====================
     
@@ -246,14 +336,8 @@ public class ActivityService implements IActivityService {
             return new ArrayList<>();
         }
         
-        List<UUID> activityIds = activities.stream()
-                .map(Activity::getId)
-                .collect(Collectors.toList());
-        
         // Batch fetch all related data
-        Map<UUID, List<UUID>> participantsByActivity = getBatchParticipantIds(activityIds);
-        Map<UUID, List<UUID>> invitedByActivity = getBatchInvitedIds(activityIds);
-        Map<UUID, List<UUID>> chatMessagesByActivity = getBatchChatMessageIds(activityIds);
+        ActivityHydrationContext context = loadHydrationContextForActivities(activities, requestingUserId);
         
         // Convert to DTOs efficiently
         List<FullFeedActivityDTO> result = new ArrayList<>();
@@ -261,16 +345,9 @@ public class ActivityService implements IActivityService {
         
         for (Activity activity : activities) {
             try {
-                ActivityDTO activityDTO = ActivityMapper.toDTO(
-                    activity,
-                    activity.getCreator().getId(),
-                    participantsByActivity.getOrDefault(activity.getId(), List.of()),
-                    invitedByActivity.getOrDefault(activity.getId(), List.of()),
-                    chatMessagesByActivity.getOrDefault(activity.getId(), List.of()),
-                    expirationService.isActivityExpired(activity.getStartTime(), activity.getEndTime(), activity.getCreatedAt(), activity.getClientTimezone())
-                );
+                ActivityDTO activityDTO = toActivityDTO(activity, context);
                 
-                FullFeedActivityDTO fullActivity = getFullActivityByActivity(activityDTO, requestingUserId, visitedActivities);
+                FullFeedActivityDTO fullActivity = getFullActivityByActivity(activityDTO, requestingUserId, visitedActivities, context);
                 if (fullActivity != null) {
                     result.add(fullActivity);
                 }
@@ -325,6 +402,176 @@ public class ActivityService implements IActivityService {
         return chatQueryService.getChatMessageIdsByActivityIds(activityIds);
     }
 
+    // ==================== Batched Hydration ====================
+
+    /**
+     * Loads everything needed to hydrate the given activity entities into FullFeedActivityDTOs.
+     */
+    private ActivityHydrationContext loadHydrationContextForActivities(List<Activity> activities, UUID requestingUserId) {
+        Set<UUID> activityIds = new LinkedHashSet<>();
+        Set<UUID> creatorUserIds = new HashSet<>();
+        for (Activity activity : activities) {
+            activityIds.add(activity.getId());
+            creatorUserIds.add(activity.getCreator().getId());
+        }
+        return loadHydrationContext(new ArrayList<>(activityIds), creatorUserIds, requestingUserId);
+    }
+
+    /**
+     * Loads everything needed to hydrate the given activity DTOs into FullFeedActivityDTOs.
+     */
+    private ActivityHydrationContext loadHydrationContextForActivityDTOs(List<ActivityDTO> activities, UUID requestingUserId) {
+        Set<UUID> activityIds = new LinkedHashSet<>();
+        Set<UUID> creatorUserIds = new HashSet<>();
+        for (ActivityDTO activity : activities) {
+            activityIds.add(activity.getId());
+            creatorUserIds.add(activity.getCreatorUserId());
+        }
+        return loadHydrationContext(new ArrayList<>(activityIds), creatorUserIds, requestingUserId);
+    }
+
+    /**
+     * Loads participants, invitees, chat message IDs, chat previews and all referenced users for a set
+     * of activities using a fixed number of set-based queries, independent of how many activities are
+     * passed in: one for activity users (with their user rows), one for chat message IDs, one windowed
+     * chat preview query (plus its likes), and one for any creators, senders or likers not already loaded.
+     */
+    private ActivityHydrationContext loadHydrationContext(List<UUID> activityIds, Set<UUID> creatorUserIds, UUID requestingUserId) {
+        Map<UUID, BaseUserDTO> usersById = new HashMap<>();
+        Map<UUID, List<UUID>> participantIdsByActivity = new HashMap<>();
+        Map<UUID, List<UUID>> invitedIdsByActivity = new HashMap<>();
+        Map<UUID, ParticipationStatus> requestingUserStatuses = new HashMap<>();
+        Map<UUID, List<FullActivityChatMessageDTO>> chatMessagesByActivity = new HashMap<>();
+        Map<UUID, Integer> chatMessageCounts = new HashMap<>();
+
+        if (activityIds.isEmpty()) {
+            return new ActivityHydrationContext(usersById, participantIdsByActivity, invitedIdsByActivity,
+                    Map.of(), chatMessagesByActivity, chatMessageCounts, requestingUserStatuses);
+        }
+
+        // Participants and invitees, with their users
+        List<User> memberUsers = new ArrayList<>();
+        for (Object[] row : activityUserRepository.findUsersAndStatusesByActivityIds(activityIds)) {
+            UUID activityId = (UUID) row[0];
+            User user = (User) row[1];
+            ParticipationStatus status = (ParticipationStatus) row[2];
+
+            memberUsers.add(user);
+            if (status == ParticipationStatus.participating) {
+                participantIdsByActivity.computeIfAbsent(activityId, id -> new ArrayList<>()).add(user.getId());
+            } else if (status == ParticipationStatus.invited) {
+                invitedIdsByActivity.computeIfAbsent(activityId, id -> new ArrayList<>()).add(user.getId());
+            }
+            if (user.getId().equals(requestingUserId)) {
+                requestingUserStatuses.put(activityId, status);
+            }
+        }
+
+        // Every message ID, so ActivityDTO.chatMessageIds stays complete even though cards only show a preview
+        Map<UUID, List<UUID>> chatMessageIdsByActivity = getBatchChatMessageIds(activityIds);
+
+        // Latest chat messages with their likes, and the total message count of each activity
+        Map<UUID, ChatPreviewData> chatPreviews = chatQueryService.getChatPreviewsByActivityIds(activityIds, CHAT_PREVIEW_MESSAGE_COUNT);
+
+        // Members were already read by the join above; creators, senders and likers that are not
+        // members are resolved in one batch, sharing DTOs with any other lookups in this request
+        baseUserLoader.prime(memberUsers);
+        Set<UUID> referencedUserIds = new HashSet<>(creatorUserIds);
+        memberUsers.forEach(user -> referencedUserIds.add(user.getId()));
+        for (ChatPreviewData preview : chatPreviews.values()) {
+            addReferencedUserIds(preview.latestMessages(), referencedUserIds);
+        }
+        usersById.putAll(baseUserLoader.getBaseUsersByIds(referencedUserIds));
+
+        chatPreviews.forEach((activityId, preview) -> {
+            chatMessagesByActivity.put(activityId, toFullChatMessages(preview.latestMessages(), usersById));
+            chatMessageCounts.put(activityId, preview.totalMessageCount());
+        });
+
+        return new ActivityHydrationContext(usersById, participantIdsByActivity, invitedIdsByActivity,
+                chatMessageIdsByActivity, chatMessagesByActivity, chatMessageCounts, requestingUserStatuses);
+    }
+
+    private static void addReferencedUserIds(List<ChatMessageData> messages, Set<UUID> userIds) {
+        for (ChatMessageData message : messages) {
+            userIds.add(message.senderUserId());
+            userIds.addAll(message.likedByUserIds());
+        }
+    }
+
+    /**
+     * Resolves the senders and likers of the given messages in one batch and builds their DTOs.
+     */
+    private List<FullActivityChatMessageDTO> toFullChatMessages(List<ChatMessageData> messages) {
+        Set<UUID> userIds = new HashSet<>();
+        addReferencedUserIds(messages, userIds);
+        return toFullChatMessages(messages, baseUserLoader.getBaseUsersByIds(userIds));
+    }
+
+    private List<FullActivityChatMessageDTO> toFullChatMessages(List<ChatMessageData> messages, Map<UUID, BaseUserDTO> usersById) {
+        return messages.stream()
+                .map(message -> toFullChatMessage(message, usersById))
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Builds a chat message DTO from preloaded users. Messages whose sender is missing or hidden are
+     * dropped, and hidden likers are skipped, matching the single-activity chat lookup.
+     */
+    private FullActivityChatMessageDTO toFullChatMessage(ChatMessageData message, Map<UUID, BaseUserDTO> usersById) {
+        BaseUserDTO sender = usersById.get(message.senderUserId());
+        if (sender == null || isAdminUser(sender)) {
+            return null;
+        }
+
+        List<BaseUserDTO> likedByUsers = message.likedByUserIds().stream()
+                .map(usersById::get)
+                .filter(user -> user != null && !isAdminUser(user))
+                .collect(Collectors.toList());
+
+        return new FullActivityChatMessageDTO(
+                message.id(),
+                message.content(),
+                message.timestamp(),
+                sender,
+                message.activityId(),
+                likedByUsers
+        );
+    }
+
+    private boolean isAdminUser(BaseUserDTO user) {
+        return adminUsername != null && adminUsername.equals(user.getUsername());
+    }
+
+    /**
+     * Maps an activity entity to an ActivityDTO using ID lists from a preloaded context.
+     */
+    private ActivityDTO toActivityDTO(Activity activity, ActivityHydrationContext context) {
+        return ActivityMapper.toDTO(
+                activity,
+                activity.getCreator().getId(),
+                context.getParticipantIds(activity.getId()),
+                context.getInvitedIds(activity.getId()),
+                context.getChatMessageIds(activity.getId()),
+                expirationService.isActivityExpired(activity, context.getNowMillis())
+        );
+    }
+
+    /**
+     * Hydrates activity entities against a preloaded context, dropping any that cannot be displayed.
+     */
+    private List<FullFeedActivityDTO> hydrateActivities(List<Activity> activities, UUID requestingUserId, ActivityHydrationContext context) {
+        List<FullFeedActivityDTO> fullActivities = new ArrayList<>(activities.size());
+        for (Activity activity : activities) {
+            FullFeedActivityDTO fullActivity = getFullActivityByActivity(toActivityDTO(activity, context), requestingUserId, new HashSet<>(), context);
+            if (fullActivity != null) {
+                fullActivities.add(fullActivity);
+            }
+        }
+        return fullActivities;
+    }
+
     @Override
     public List<ActivityDTO> getAllActivities() {
         try {
@@ -340,7 +587,7 @@ public class ActivityService implements IActivityService {
     }
 
     @Override
-    @Cacheable(value = "ActivityById", key = "#id")
+    @Cacheable(value = "ActivityById", key = "#id", sync = true)
     public ActivityDTO getActivityById(UUID id) {
         Activity Activity = repository.findById(id)
                 .orElseThrow(() -> new BaseNotFoundException(EntityType.Activity, id));
@@ -351,17 +598,19 @@ public class ActivityService implements IActivityService {
         List<UUID> chatMessageIds = chatQueryService.getChatMessageIdsByActivityId(id);
 
         return ActivityMapper.toDTO(Activity, creatorUserId, participantUserIds, invitedUserIds, chatMessageIds, 
-                expirationService.isActivityExpired(Activity.getStartTime(), Activity.getEndTime(), Activity.getCreatedAt(), Activity.getClientTimezone()));
+                expirationService.isActivityExpired(Activity, System.currentTimeMillis()));
     }
 
     @Override
-    @Cacheable(value = "fullActivityById", key = "#id.toString() + ':' + #requestingUserId.toString()")
+    @Cacheable(value = "fullActivityById", key = "#id.toString() + ':' + #requestingUserId.toString()", sync = true)
     public FullFeedActivityDTO getFullActivityById(UUID id, UUID requestingUserId) {
+        cacheEvictionHelper.tagEntry(CacheNames.FULL_ACTIVITY_BY_ID, id + ":" + requestingUserId,
+                List.of(CacheTags.activity(id), CacheTags.user(requestingUserId)));
         return getFullActivityByActivity(getActivityById(id), requestingUserId, new HashSet<>());
     }
 
     @Override
-    @Cacheable(value = "ActivityInviteById", key = "#id")
+    @Cacheable(value = "ActivityInviteById", key = "#id", sync = true)
     public ActivityInviteDTO getActivityInviteById(UUID id) {
         Activity activity = repository.findById(id)
                 .orElseThrow(() -> new BaseNotFoundException(EntityType.Activity, id));
@@ -392,7 +641,7 @@ public class ActivityService implements IActivityService {
                 participatingUserIds,
                 invitedUserIds,
                 activity.getCreatedAt(),
-                expirationService.isActivityExpired(activity.getStartTime(), activity.getEndTime(), activity.getCreatedAt(), activity.getClientTimezone()),
+                expirationService.isActivityExpired(activity, System.currentTimeMillis()),
                 activity.getClientTimezone()
         );
     }
@@ -401,10 +650,7 @@ public class ActivityService implements IActivityService {
     @Caching(evict = {
             @CacheEvict(value = "ActivityById", key = "#result.id"),
             @CacheEvict(value = "ActivityInviteById", key = "#result.id"),
-            @CacheEvict(value = "fullActivityById", allEntries = true),
             @CacheEvict(value = "ActivitiesByOwnerId", key = "#result.creatorUser.id"),
-            @CacheEvict(value = "feedActivities", allEntries = true),
-            
             @CacheEvict(value = "userStatsById", key = "#result.creatorUser.id")
     })
     public AbstractActivityDTO saveActivity(AbstractActivityDTO Activity) {
@@ -437,14 +683,20 @@ public class ActivityService implements IActivityService {
             // participantUserIds
             // invitedUserIds
             // chatMessageIds
-            return ActivityMapper.toDTO(
+            ActivityDTO savedActivity = ActivityMapper.toDTO(
                     ActivityEntity,
                     ActivityEntity.getCreator().getId(), // creatorUserId
                     getParticipantUserIdsByActivityIdAndStatus(ActivityEntity.getId(), ParticipationStatus.participating), // participantUserIds
                     getParticipantUserIdsByActivityIdAndStatus(ActivityEntity.getId(), ParticipationStatus.invited), // invitedUserIds
                     chatQueryService.getChatMessageIdsByActivityId(ActivityEntity.getId()), // chatMessageIds
-                    expirationService.isActivityExpired(ActivityEntity.getStartTime(), ActivityEntity.getEndTime(), ActivityEntity.getCreatedAt(), ActivityEntity.getClientTimezone()) // isExpired
+                    expirationService.isActivityExpired(ActivityEntity, System.currentTimeMillis()) // isExpired
             );
+
+            Set<UUID> memberIds = new HashSet<>(savedActivity.getParticipantUserIds());
+            memberIds.addAll(savedActivity.getInvitedUserIds());
+            memberIds.add(savedActivity.getCreatorUserId());
+            evictActivityDependents(savedActivity.getId(), memberIds);
+            return savedActivity;
         } catch (DataAccessException e) {
             logger.error(e.getMessage());
             throw new BaseSaveException("Failed to save Activity: " + e.getMessage());
@@ -459,10 +711,7 @@ public class ActivityService implements IActivityService {
     @Caching(evict = {
             @CacheEvict(value = "ActivityById", key = "#result.id"),
             @CacheEvict(value = "ActivityInviteById", key = "#result.id"),
-            @CacheEvict(value = "fullActivityById", allEntries = true),
             @CacheEvict(value = "ActivitiesByOwnerId", key = "#result.creatorUser.id"),
-            @CacheEvict(value = "feedActivities", allEntries = true),
-            
             @CacheEvict(value = "userStatsById", key = "#result.creatorUser.id")
     })
     public AbstractActivityDTO createActivity(ActivityDTO activityDTO) {
@@ -529,6 +778,7 @@ public class ActivityService implements IActivityService {
                     activityUser.setStatus(ParticipationStatus.invited);
                     activityUserRepository.save(activityUser);
                 }
+                repository.setMemberCounts(activity.getId(), 0, new HashSet<>(invitedIds).size());
 
                 // Create and publish Activity invite notification directly
                 eventPublisher.publishEvent(
@@ -536,6 +786,14 @@ public class ActivityService implements IActivityService {
                 );
             }
 
+            feedIndexService.onActivityCreated(activity, invitedIds);
+            cacheCleanupService.trackExpiry(activity);
+
+            // Nobody has the new Activity cached yet, but the creator's and invitees' feeds now miss it
+            Set<UUID> memberIds = invitedIds != null ? new HashSet<>(invitedIds) : new HashSet<>();
+            memberIds.add(creator.getId());
+            evictActivityDependents(activity.getId(), memberIds);
+
             // Return a FullFeedActivityDTO instead of ActivityDTO to include full location information
             LocationDTO locationDTO = LocationMapper.toDTO(location);
             BaseUserDTO creatorUserDTO = UserMapper.toDTO(creator);
@@ -573,7 +831,7 @@ public class ActivityService implements IActivityService {
                     null, // participationStatus - not applicable for creator
                     true, // isSelfOwned - true since this is the creator
                     activity.getCreatedAt(),
-                    expirationService.isActivityExpired(activity.getStartTime(), activity.getEndTime(), activity.getCreatedAt(), activity.getClientTimezone()),
+                    expirationService.isActivityExpired(activity, System.currentTimeMillis()),
                     activity.getClientTimezone()
             );
         } catch (Exception e) {
@@ -587,10 +845,7 @@ public class ActivityService implements IActivityService {
     @Caching(evict = {
             @CacheEvict(value = "ActivityById", key = "#result.id"),
             @CacheEvict(value = "ActivityInviteById", key = "#result.id"),
-            @CacheEvict(value = "fullActivityById", allEntries = true),
             @CacheEvict(value = "ActivitiesByOwnerId", key = "#result.creatorUser.id"),
-            @CacheEvict(value = "feedActivities", allEntries = true),
-            
             @CacheEvict(value = "userStatsById", key = "#result.creatorUser.id")
     })
     public FullFeedActivityDTO createActivityWithSuggestions(ActivityDTO activityDTO) {
@@ -618,14 +873,28 @@ public class ActivityService implements IActivityService {
     }
 
     private List<ActivityDTO> getActivityDTOs(List<Activity> Activities) {
+        if (Activities.isEmpty()) {
+            return List.of();
+        }
+
+        // Batch fetch the ID lists for all activities instead of three queries per activity
+        List<UUID> activityIds = Activities.stream()
+                .map(Activity::getId)
+                .distinct()
+                .collect(Collectors.toList());
+        Map<UUID, List<UUID>> participantsByActivity = getBatchParticipantIds(activityIds);
+        Map<UUID, List<UUID>> invitedByActivity = getBatchInvitedIds(activityIds);
+        Map<UUID, List<UUID>> chatMessagesByActivity = getBatchChatMessageIds(activityIds);
+
+        long nowMillis = System.currentTimeMillis();
         return Activities.stream()
                 .map(Activity -> ActivityMapper.toDTO(
                         Activity,
                         Activity.getCreator().getId(),
-                        getParticipantUserIdsByActivityIdAndStatus(Activity.getId(), ParticipationStatus.participating),
-                        getParticipantUserIdsByActivityIdAndStatus(Activity.getId(), ParticipationStatus.invited),
-                        chatQueryService.getChatMessageIdsByActivityId(Activity.getId()),
-                        expirationService.isActivityExpired(Activity.getStartTime(), Activity.getEndTime(), Activity.getCreatedAt(), Activity.getClientTimezone())))
+                        participantsByActivity.getOrDefault(Activity.getId(), List.of()),
+                        invitedByActivity.getOrDefault(Activity.getId(), List.of()),
+                        chatMessagesByActivity.getOrDefault(Activity.getId(), List.of()),
+                        expirationService.isActivityExpired(Activity, nowMillis)))
                 .toList();
     }
 
@@ -633,10 +902,7 @@ public class ActivityService implements IActivityService {
     @Caching(evict = {
             @CacheEvict(value = "ActivityById", key = "#result.id"),
             @CacheEvict(value = "ActivityInviteById", key = "#result.id"),
-            @CacheEvict(value = "fullActivityById", allEntries = true),
-            @CacheEvict(value = "ActivitiesByOwnerId", key = "#result.creatorUser.id"),
-            @CacheEvict(value = "feedActivities", allEntries = true),
-            
+            @CacheEvict(value = "ActivitiesByOwnerId", key = "#result.creatorUser.id")
     })
     public FullFeedActivityDTO replaceActivity(ActivityDTO newActivity, UUID id) {
         return repository.findById(id).map(activity -> {
@@ -665,10 +931,12 @@ public class ActivityService implements IActivityService {
 
             // Handle invited friends updates if provided
             List<UUID> invitedIds = newActivity.getInvitedUserIds();
+            List<UUID> previousMemberIds = new ArrayList<>();
                 
             if (invitedIds != null) {
                 // Remove existing invitations
                 List<ActivityUser> existingActivityUsers = activityUserRepository.findByActivity_Id(id);
+                existingActivityUsers.forEach(existing -> previousMemberIds.add(existing.getUser().getId()));
                 activityUserRepository.deleteAll(existingActivityUsers);
                 
                 // Add new invitations
@@ -683,8 +951,17 @@ public class ActivityService implements IActivityService {
                     activityUser.setStatus(ParticipationStatus.invited);
                     activityUserRepository.save(activityUser);
                 }
+                repository.setMemberCounts(id, 0, new HashSet<>(invitedIds).size());
             }
 
+            feedIndexService.onActivityUpdated(savedActivity, previousMemberIds);
+            cacheCleanupService.trackExpiry(savedActivity);
+
+            // Users invited by this update do not have the Activity in their cached feed yet
+            Set<UUID> memberIds = invitedIds != null ? new HashSet<>(invitedIds) : new HashSet<>();
+            memberIds.add(savedActivity.getCreator().getId());
+            evictActivityDependents(savedActivity.getId(), memberIds);
+
             // Get participant IDs for the notification event
             List<UUID> participantIds = getParticipatingUserIdsByActivityId(savedActivity.getId());
             
@@ -703,9 +980,7 @@ public class ActivityService implements IActivityService {
     @Override
     @Transactional
     @Caching(evict = {
-            @CacheEvict(value = "fullActivityById", allEntries = true),
-            @CacheEvict(value = "ActivitiesByOwnerId", key = "#result.creatorUser.id"),
-            @CacheEvict(value = "feedActivities", allEntries = true),
+            @CacheEvict(value = "ActivitiesByOwnerId", key = "#result.creatorUser.id")
     })
     public FullFeedActivityDTO partialUpdateActivity(ActivityPartialUpdateDTO updates, UUID id) {
         return repository.findById(id).map(activity -> {
@@ -766,6 +1041,12 @@ public class ActivityService implements IActivityService {
             // Save updated activity
             Activity savedActivity = repository.save(activity);
 
+            if (updates.getStartTime() != null || updates.getEndTime() != null) {
+                feedIndexService.onActivityUpdated(savedActivity, List.of());
+                cacheCleanupService.trackExpiry(savedActivity);
+            }
+            evictActivityDependents(savedActivity.getId(), List.of());
+
             // Get participant IDs for the notification event
             List<UUID> participantIds = getParticipatingUserIdsByActivityId(savedActivity.getId());
             
@@ -785,6 +1066,31 @@ public class ActivityService implements IActivityService {
         }).orElseThrow(() -> new BaseNotFoundException(EntityType.Activity, id));
     }
 
+    /**
+     * Evicts the cached full views, feed cards and feeds that show the Activity, plus the feeds of the given
+     * members, which may not show it yet. Replaces clearing fullActivityById and feedActivities
+     * for every user on every write.
+     */
+    private void evictActivityDependents(UUID activityId, Collection<UUID> memberIds) {
+        List<String> tags = new ArrayList<>(memberIds.size() + 1);
+        tags.add(CacheTags.activity(activityId));
+        memberIds.forEach(memberId -> tags.add(CacheTags.user(memberId)));
+        cacheEvictionHelper.evictTagged(List.of(CacheTags.activity(activityId)),
+                CacheNames.FULL_ACTIVITY_BY_ID, CacheNames.FEED_ACTIVITY_BY_ID);
+        cacheEvictionHelper.evictTagged(tags, CacheNames.FEED_ACTIVITIES);
+        publishActivityChanged(activityId, memberIds);
+    }
+
+    /**
+     * Bumps the client cache versions of everyone who sees the Activity, on top of the given users.
+     * Published after the evictions above, so clients never get the new version with a stale feed.
+     */
+    private void publishActivityChanged(UUID activityId, Collection<UUID> knownUserIds) {
+        Set<UUID> userIds = new HashSet<>(knownUserIds);
+        userIds.addAll(feedIndexService.getFeedUserIds(activityId));
+        eventPublisher.publishEvent(new ActivityChangedEvent(activityId, userIds));
+    }
+
     private List<UUID> getParticipatingUserIdsByActivityId(UUID ActivityId) {
         try {
             List<ActivityUser> ActivityUsers = activityUserRepository.findActivitiesByActivity_IdAndStatus(ActivityId, ParticipationStatus.participating);
@@ -803,16 +1109,14 @@ public class ActivityService implements IActivityService {
         List<UUID> chatMessageIds = chatQueryService.getChatMessageIdsByActivityId(ActivityEntity.getId());
 
         return ActivityMapper.toDTO(ActivityEntity, creatorUserId, participantUserIds, invitedUserIds, chatMessageIds,
-                expirationService.isActivityExpired(ActivityEntity.getStartTime(), ActivityEntity.getEndTime(), ActivityEntity.getCreatedAt(), ActivityEntity.getClientTimezone()));
+                expirationService.isActivityExpired(ActivityEntity, System.currentTimeMillis()));
     }
 
     @Override
     @Caching(evict = {
             @CacheEvict(value = "ActivityById", key = "#id"),
             @CacheEvict(value = "ActivityInviteById", key = "#id"),
-            @CacheEvict(value = "fullActivityById", allEntries = true),
-            @CacheEvict(value = "ActivitiesByOwnerId", allEntries = true),
-            @CacheEvict(value = "feedActivities", allEntries = true)
+            @CacheEvict(value = "ActivitiesByOwnerId", allEntries = true)
     })
     public boolean deleteActivityById(UUID id) {
         if (!repository.existsById(id)) {
@@ -820,7 +1124,11 @@ public class ActivityService implements IActivityService {
         }
 
         try {
+            Set<UUID> feedUserIds = feedIndexService.getFeedUserIds(id);
             repository.deleteById(id);
+            feedIndexService.onActivityDeleted(id, feedUserIds);
+            cacheCleanupService.untrackExpiry(id);
+            evictActivityDependents(id, feedUserIds);
             return true;
         } catch (Exception e) {
             logger.error(e.getMessage());
@@ -867,6 +1175,7 @@ public class ActivityService implements IActivityService {
             @CacheEvict(value = "feedActivities", key = "#userId"),
             
     })
+    @Transactional
     public boolean inviteUser(UUID ActivityId, UUID userId) {
         ActivityUsersId compositeId = new ActivityUsersId(ActivityId, userId);
         Optional<ActivityUser> existingActivityUser = activityUserRepository.findById(compositeId);
@@ -888,6 +1197,9 @@ public class ActivityService implements IActivityService {
             newActivityUser.setStatus(ParticipationStatus.invited);
 
             activityUserRepository.save(newActivityUser);
+            repository.adjustMemberCounts(ActivityId, 0, 1);
+            feedIndexService.onParticipationChanged(Activity, userId, ParticipationStatus.invited);
+            evictActivityDependents(ActivityId, List.of(userId));
             return false;
         }
     }
@@ -909,39 +1221,29 @@ public class ActivityService implements IActivityService {
             
             @CacheEvict(value = "userStatsById", key = "#userId")
     })
+    @Transactional
     public FullFeedActivityDTO toggleParticipation(UUID ActivityId, UUID userId) {
         ActivityUser ActivityUser = activityUserRepository.findByActivity_IdAndUser_Id(ActivityId, userId).orElseThrow(() -> new BaseNotFoundException(EntityType.ActivityUser));
 
-        if (ActivityUser.getStatus() == ParticipationStatus.participating) {
-            ActivityUser.setStatus(ParticipationStatus.invited);
-        } else if (ActivityUser.getStatus().equals(ParticipationStatus.invited)) {
-            // Check if activity has a participant limit and if it's already full
-            final Activity activity = ActivityUser.getActivity();
-            if (activity.getParticipantLimit() != null) {
-                // Count current participants
-                long currentParticipants = activityUserRepository.findByActivity_IdAndStatus(ActivityId, ParticipationStatus.participating).size();
-                if (currentParticipants >= activity.getParticipantLimit()) {
-                    throw new ActivityFullException(ActivityId, activity.getParticipantLimit());
-                }
-            }
-            ActivityUser.setStatus(ParticipationStatus.participating);
-        }
-        
         final Activity Activity = ActivityUser.getActivity();
         final User user = ActivityUser.getUser();
         final ParticipationStatus status = ActivityUser.getStatus();
-        
-        if (status == ParticipationStatus.participating) { // Status changed from invited to participating
+
+        // Each change is a conditional update, so a toggle that raced with another one on the same
+        // membership leaves it as the other one set it
+        if (status == ParticipationStatus.participating && leaveToInvited(ActivityId, userId)) {
             eventPublisher.publishEvent(
-                ActivityParticipationNotificationEvent.forJoining(user, Activity)
+                ActivityParticipationNotificationEvent.forLeaving(user, Activity)
             );
-        } else if (status == ParticipationStatus.invited) { // Status changed from participating to invited
+            feedIndexService.onParticipationChanged(Activity, userId, ParticipationStatus.invited);
+        } else if (status == ParticipationStatus.invited && joinFromInvited(Activity, userId)) {
             eventPublisher.publishEvent(
-                ActivityParticipationNotificationEvent.forLeaving(user, Activity)
+                ActivityParticipationNotificationEvent.forJoining(user, Activity)
             );
+            feedIndexService.onParticipationChanged(Activity, userId, ParticipationStatus.participating);
         }
-        
-        activityUserRepository.save(ActivityUser);
+        evictActivityDependents(ActivityId, List.of(userId));
+
         return getFullActivityById(ActivityId, userId);
     }
 
@@ -982,34 +1284,217 @@ public class ActivityService implements IActivityService {
      * first in the `universalAccentColor`, followed by Activities they're invited to and participating in
      */
     @Override
-    @Cacheable(value = "feedActivities", key = "#requestingUserId")
+    @Cacheable(value = "feedActivities", key = "#requestingUserId", sync = true)
+    @Transactional(readOnly = true)
     public List<FullFeedActivityDTO> getFeedActivities(UUID requestingUserId) {
         try {
-            // Retrieve Activities created by the user.
-            List<FullFeedActivityDTO> ActivitiesCreated = convertActivitiesToFullFeedSelfOwnedActivities(
-                    getActivitiesByOwnerId(requestingUserId),
-                    requestingUserId
-            );
+            // Range scan over the user's feed index: only live Activities, already in start-time order
+            List<FeedIndexEntry> entries = feedIndexService.getLiveEntries(requestingUserId);
+            Map<UUID, Activity> activitiesById = entries.isEmpty()
+                    ? Map.of()
+                    : repository.findAllWithDetailsByIdIn(entries.stream().map(FeedIndexEntry::activityId).toList())
+                            .stream()
+                            .collect(Collectors.toMap(Activity::getId, activity -> activity));
+
+            List<Activity> ActivitiesCreated = new ArrayList<>();
+            List<Activity> ActivitiesInvitedTo = new ArrayList<>();
+            List<Activity> ActivitiesParticipatingIn = new ArrayList<>();
+            for (FeedIndexEntry entry : entries) {
+                Activity activity = activitiesById.get(entry.activityId());
+                if (activity == null) {
+                    continue;
+                }
+                switch (entry.role()) {
+                    case OWNED -> ActivitiesCreated.add(activity);
+                    case INVITED -> ActivitiesInvitedTo.add(activity);
+                    case PARTICIPATING -> ActivitiesParticipatingIn.add(activity);
+                }
+            }
 
-            List<FullFeedActivityDTO> ActivitiesInvitedTo = getFullActivitiesInvitedTo(requestingUserId);
-            List<FullFeedActivityDTO> ActivitiesParticipatingIn = getFullActivitiesParticipatingIn(requestingUserId);
+            // Re-check expiry against the loaded entities in case an index entry is behind the database
+            long nowMillis = System.currentTimeMillis();
+            ActivitiesCreated = removeExpiredActivityEntities(ActivitiesCreated, nowMillis);
+            ActivitiesInvitedTo = removeExpiredActivityEntities(ActivitiesInvitedTo, nowMillis);
+            ActivitiesParticipatingIn = removeExpiredActivityEntities(ActivitiesParticipatingIn, nowMillis);
+
+            // Load everything the feed needs in a fixed number of queries, then join in memory
+            List<Activity> allActivities = new ArrayList<>(ActivitiesCreated);
+            allActivities.addAll(ActivitiesInvitedTo);
+            allActivities.addAll(ActivitiesParticipatingIn);
+            ActivityHydrationContext context = loadHydrationContextForActivities(allActivities, requestingUserId);
+
+            // The cached feed depends on the user's memberships and on every Activity shown in it
+            List<String> tags = new ArrayList<>(allActivities.size() + 1);
+            tags.add(CacheTags.user(requestingUserId));
+            allActivities.forEach(activity -> tags.add(CacheTags.activity(activity.getId())));
+            cacheEvictionHelper.tagEntry(CacheNames.FEED_ACTIVITIES, requestingUserId, tags);
+
+            return makeFeed(
+                    hydrateActivities(ActivitiesCreated, requestingUserId, context),
+                    hydrateActivities(ActivitiesInvitedTo, requestingUserId, context),
+                    hydrateActivities(ActivitiesParticipatingIn, requestingUserId, context)
+            );
+        } catch (Exception e) {
+            logger.error("Error fetching feed Activities for user: " + requestingUserId + " - " + e.getMessage());
+            throw e;
+        }
+    }
 
-            return makeFeed(ActivitiesCreated, ActivitiesInvitedTo, ActivitiesParticipatingIn);
+    @Override
+    public ChunkedResult<FullFeedActivityDTO> streamFeedActivities(UUID requestingUserId) {
+        try {
+            // The feed index already holds the feed's membership and order, so only IDs are kept up front:
+            // created Activities first, then invited to, then participating in, each in start-time order
+            List<FeedIndexEntry> entries = feedIndexService.getLiveEntries(requestingUserId);
+            List<UUID> orderedActivityIds = new ArrayList<>(entries.size());
+            for (FeedIndexEntry.Role role : List.of(FeedIndexEntry.Role.OWNED, FeedIndexEntry.Role.INVITED, FeedIndexEntry.Role.PARTICIPATING)) {
+                for (FeedIndexEntry entry : entries) {
+                    if (entry.role() == role) {
+                        orderedActivityIds.add(entry.activityId());
+                    }
+                }
+            }
+            return ChunkedResult.mapInBatches(orderedActivityIds, STREAM_CHUNK_SIZE,
+                    activityIds -> loadFeedChunk(activityIds, requestingUserId));
         } catch (Exception e) {
             logger.error("Error fetching feed Activities for user: " + requestingUserId + " - " + e.getMessage());
             throw e;
         }
     }
 
+    /**
+     * Produces one chunk of a streamed feed, keeping the order of the given IDs. Cards are read from the
+     * feedActivityById cache; only the misses are loaded and hydrated, together, and then cached.
+     */
+    private List<FullFeedActivityDTO> loadFeedChunk(List<UUID> activityIds, UUID requestingUserId) {
+        Cache cards = cacheManager.getCache(CacheNames.FEED_ACTIVITY_BY_ID);
+        Map<UUID, FullFeedActivityDTO> cardsById = new HashMap<>();
+        List<UUID> missingIds = new ArrayList<>();
+        for (UUID activityId : activityIds) {
+            FullFeedActivityDTO card = getCachedFeedCard(cards, activityId, requestingUserId);
+            if (card != null) {
+                cardsById.put(activityId, card);
+            } else {
+                missingIds.add(activityId);
+            }
+        }
+
+        if (!missingIds.isEmpty()) {
+            for (FullFeedActivityDTO card : hydrateFeedChunk(missingIds, requestingUserId)) {
+                cardsById.put(card.getId(), card);
+                cacheFeedCard(cards, card, requestingUserId);
+            }
+        }
+
+        List<FullFeedActivityDTO> chunk = new ArrayList<>(activityIds.size());
+        for (UUID activityId : activityIds) {
+            FullFeedActivityDTO card = cardsById.get(activityId);
+            if (card != null) {
+                chunk.add(card);
+            }
+        }
+        return chunk;
+    }
+
+    private FullFeedActivityDTO getCachedFeedCard(Cache cards, UUID activityId, UUID requestingUserId) {
+        if (cards == null) {
+            return null;
+        }
+        try {
+            return cards.get(activityId + ":" + requestingUserId, FullFeedActivityDTO.class);
+        } catch (RuntimeException e) {
+            // A cache failure only costs a reload of the card
+            logger.warn("Failed to read feed card " + activityId + " for user " + requestingUserId + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    private void cacheFeedCard(Cache cards, FullFeedActivityDTO card, UUID requestingUserId) {
+        if (cards == null) {
+            return;
+        }
+        String key = card.getId() + ":" + requestingUserId;
+        try {
+            // Tagged like fullActivityById, so the same activity and user evictions reach it
+            cacheEvictionHelper.tagEntry(CacheNames.FEED_ACTIVITY_BY_ID, key,
+                    List.of(CacheTags.activity(card.getId()), CacheTags.user(requestingUserId)));
+            cards.put(key, card);
+        } catch (RuntimeException e) {
+            logger.warn("Failed to cache feed card " + card.getId() + " for user " + requestingUserId + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Loads and hydrates the given feed activities in one batch, keeping the order of the given IDs.
+     */
+    private List<FullFeedActivityDTO> hydrateFeedChunk(List<UUID> activityIds, UUID requestingUserId) {
+        Map<UUID, Activity> activitiesById = repository.findAllWithDetailsByIdIn(activityIds).stream()
+                .collect(Collectors.toMap(Activity::getId, activity -> activity));
+        List<Activity> activities = new ArrayList<>(activityIds.size());
+        for (UUID activityId : activityIds) {
+            Activity activity = activitiesById.get(activityId);
+            if (activity != null) {
+                activities.add(activity);
+            }
+        }
+
+        // Re-check expiry against the loaded entities in case an index entry is behind the database
+        activities = removeExpiredActivityEntities(activities, System.currentTimeMillis());
+        ActivityHydrationContext context = loadHydrationContextForActivities(activities, requestingUserId);
+        return hydrateActivities(activities, requestingUserId, context);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public FeedActivitiesPageDTO getFeedActivitiesPage(UUID requestingUserId, String cursor, int limit) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_FEED_PAGE_SIZE));
+        FeedCursor after = FeedCursor.decode(cursor);
+        OffsetDateTime now = OffsetDateTime.now(ZoneOffset.UTC);
+        Instant createdAfter = now.toInstant().minus(UNDATED_ACTIVITY_MAX_LIFETIME);
+        Limit fetchLimit = Limit.of(pageSize + 1);
+
+        try {
+            // Both sources are read in feed order after the cursor, so the first pageSize + 1 entries
+            // of their merge are exactly the next page plus one look-ahead row.
+            // Keying by position also collapses an activity the user both created and is a member of.
+            TreeMap<FeedCursor, Activity> merged = new TreeMap<>(FeedCursor.ORDER);
+            for (ActivityUser membership : activityUserRepository.findLiveByUserIdAfterCursor(requestingUserId,
+                    FEED_MEMBERSHIP_STATUSES, now, createdAfter, after.keysetStartTime(), after.activityId(), after.isUndated(), fetchLimit)) {
+                merged.put(feedPositionOf(membership.getActivity()), membership.getActivity());
+            }
+            for (Activity activity : repository.findLiveByCreatorIdAfterCursor(requestingUserId,
+                    now, createdAfter, after.keysetStartTime(), after.activityId(), after.isUndated(), fetchLimit)) {
+                merged.put(feedPositionOf(activity), activity);
+            }
+
+            List<Activity> page = merged.values().stream().limit(pageSize).collect(Collectors.toList());
+            boolean hasMore = merged.size() > pageSize;
+            String nextCursor = hasMore ? feedPositionOf(page.get(page.size() - 1)).encode() : null;
+
+            // The queries only filter on a superset of the expiry rules; apply the exact ones before hydrating
+            List<Activity> liveActivities = removeExpiredActivityEntities(page, now.toInstant().toEpochMilli());
+            ActivityHydrationContext context = loadHydrationContextForActivities(liveActivities, requestingUserId);
+            return new FeedActivitiesPageDTO(hydrateActivities(liveActivities, requestingUserId, context), nextCursor, hasMore);
+        } catch (DataAccessException e) {
+            logger.error("Error fetching feed page for user: " + requestingUserId + " - " + e.getMessage());
+            throw new BasesNotFoundException(EntityType.Activity);
+        }
+    }
+
+    private static FeedCursor feedPositionOf(Activity activity) {
+        return new FeedCursor(activity.getStartTime(), activity.getId());
+    }
+
     /**
      * Helper function to remove expired Activities, sort by time, and combine the Activities created by a user,
      * the Activities they are invited to, and the Activities they are participating in
      */
     private List<FullFeedActivityDTO> makeFeed(List<FullFeedActivityDTO> ActivitiesCreated, List<FullFeedActivityDTO> ActivitiesInvitedTo, List<FullFeedActivityDTO> ActivitiesParticipatingIn) {
-        // Remove expired Activities
-        ActivitiesCreated = removeExpiredActivities(ActivitiesCreated);
-        ActivitiesInvitedTo = removeExpiredActivities(ActivitiesInvitedTo);
-        ActivitiesParticipatingIn = removeExpiredActivities(ActivitiesParticipatingIn);
+        // Remove expired Activities, judging all three lists against the same instant
+        long nowMillis = System.currentTimeMillis();
+        ActivitiesCreated = removeExpiredActivities(ActivitiesCreated, nowMillis);
+        ActivitiesInvitedTo = removeExpiredActivities(ActivitiesInvitedTo, nowMillis);
+        ActivitiesParticipatingIn = removeExpiredActivities(ActivitiesParticipatingIn, nowMillis);
 
         // Sort Activities
         sortActivitiesByStartTime(ActivitiesCreated);
@@ -1028,16 +1513,27 @@ public class ActivityService implements IActivityService {
      * Uses the centralized ActivityExpirationService for consistent expiration logic.
      *
      * @param Activities the list of Activities to filter
+     * @param nowMillis  the instant every activity is judged against
      * @return the modified list
      */
-    private List<FullFeedActivityDTO> removeExpiredActivities(List<FullFeedActivityDTO> Activities) {
+    private List<FullFeedActivityDTO> removeExpiredActivities(List<FullFeedActivityDTO> Activities, long nowMillis) {
         if (Activities == null) {
             return Collections.emptyList();
         }
 
         return Activities.stream()
                 .filter(Objects::nonNull)
-                .filter(activity -> !expirationService.isActivityExpired(activity.getStartTime(), activity.getEndTime(), activity.getCreatedAt(), activity.getClientTimezone()))
+                .filter(activity -> !expirationService.isActivityExpired(activity.getStartTime(), activity.getEndTime(), activity.getCreatedAt(), activity.getClientTimezone(), nowMillis))
+                .collect(Collectors.toCollection(ArrayList::new));
+    }
+
+    /**
+     * Entity counterpart of removeExpiredActivities, used before hydration.
+     * Compares each activity's precomputed expiry rather than re-deriving it.
+     */
+    private List<Activity> removeExpiredActivityEntities(List<Activity> Activities, long nowMillis) {
+        return Activities.stream()
+                .filter(activity -> !expirationService.isActivityExpired(activity, nowMillis))
                 .collect(Collectors.toCollection(ArrayList::new));
     }
 
@@ -1088,7 +1584,8 @@ public class ActivityService implements IActivityService {
                 invitedUsers = new ArrayList<>();
             }
 
-            // Fetch chat messages - if this fails, show empty list instead of dropping activity
+            // Fetch chat messages - if this fails, show empty list instead of dropping activity.
+            // A single activity is shown in full, so it gets its whole chat rather than the feed card preview
             List<FullActivityChatMessageDTO> chatMessages;
             try {
                 chatMessages = chatQueryService.getFullChatMessagesByActivityId(Activity.getId());
@@ -1096,6 +1593,7 @@ public class ActivityService implements IActivityService {
                 logger.warn("Error fetching chat messages for activity " + Activity.getId() + ": " + e.getMessage());
                 chatMessages = new ArrayList<>();
             }
+            int chatMessageCount = chatMessages.size();
 
             // Fetch participation status - if this fails, show notInvited instead of dropping activity
             ParticipationStatus participationStatus = null;
@@ -1108,38 +1606,82 @@ public class ActivityService implements IActivityService {
                 }
             }
 
-            return new FullFeedActivityDTO(
-                    Activity.getId(),
-                    Activity.getTitle(),
-                    Activity.getStartTime(),
-                    Activity.getEndTime(),
-                    location,
-                    Activity.getActivityTypeId(),
-                    Activity.getNote(),
-                    Activity.getIcon(),
-                    Activity.getParticipantLimit(),
-                    creator,
-                    participants,
-                    invitedUsers,
-                    chatMessages,
-                    participationStatus,
-                    Activity.getCreatorUserId().equals(requestingUserId),
-                    Activity.getCreatedAt(),
-                    expirationService.isActivityExpired(Activity.getStartTime(), Activity.getEndTime(), Activity.getCreatedAt(), Activity.getClientTimezone()),
-                    Activity.getClientTimezone()
-            );
+            return buildFullFeedActivityDTO(Activity, location, creator, participants, invitedUsers, chatMessages, chatMessageCount, participationStatus, requestingUserId);
+        } catch (Exception e) {
+            logger.error("Unexpected error converting activity " + Activity.getId() + " to FullFeedActivityDTO: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Same as {@link #getFullActivityByActivity(ActivityDTO, UUID, Set)}, but resolves the creator,
+     * participants, invited users, chat messages and participation status from a preloaded context
+     * instead of querying for each of them.
+     */
+    private FullFeedActivityDTO getFullActivityByActivity(ActivityDTO Activity, UUID requestingUserId, Set<UUID> visitedActivities, ActivityHydrationContext context) {
+        try {
+            if (visitedActivities.contains(Activity.getId())) {
+                return null;
+            }
+            visitedActivities.add(Activity.getId());
+
+            // If the creator is missing (or hidden), we can't show the activity
+            BaseUserDTO creator = context.getUser(Activity.getCreatorUserId());
+            if (creator == null || isAdminUser(creator)) {
+                logger.warn("Cannot display activity " + Activity.getId() + " - creator not found: " + Activity.getCreatorUserId());
+                return null;
+            }
+
+            List<BaseUserDTO> participants = context.getUsers(context.getParticipantIds(Activity.getId()));
+            List<BaseUserDTO> invitedUsers = context.getUsers(context.getInvitedIds(Activity.getId()));
+            List<FullActivityChatMessageDTO> chatMessages = context.getChatMessages(Activity.getId());
+            int chatMessageCount = context.getChatMessageCount(Activity.getId());
+            ParticipationStatus participationStatus = requestingUserId != null
+                    ? context.getRequestingUserStatus(Activity.getId())
+                    : null;
+
+            return buildFullFeedActivityDTO(Activity, Activity.getLocation(), creator, participants, invitedUsers, chatMessages, chatMessageCount, participationStatus, requestingUserId);
         } catch (Exception e) {
             logger.error("Unexpected error converting activity " + Activity.getId() + " to FullFeedActivityDTO: " + e.getMessage());
             return null;
         }
     }
 
+    private FullFeedActivityDTO buildFullFeedActivityDTO(ActivityDTO Activity, LocationDTO location, BaseUserDTO creator,
+                                                         List<BaseUserDTO> participants, List<BaseUserDTO> invitedUsers,
+                                                         List<FullActivityChatMessageDTO> chatMessages, int chatMessageCount,
+                                                         ParticipationStatus participationStatus, UUID requestingUserId) {
+        FullFeedActivityDTO fullActivity = new FullFeedActivityDTO(
+                Activity.getId(),
+                Activity.getTitle(),
+                Activity.getStartTime(),
+                Activity.getEndTime(),
+                location,
+                Activity.getActivityTypeId(),
+                Activity.getNote(),
+                Activity.getIcon(),
+                Activity.getParticipantLimit(),
+                creator,
+                participants,
+                invitedUsers,
+                chatMessages,
+                participationStatus,
+                Activity.getCreatorUserId().equals(requestingUserId),
+                Activity.getCreatedAt(),
+                expirationService.isActivityExpired(Activity.getStartTime(), Activity.getEndTime(), Activity.getCreatedAt(), Activity.getClientTimezone()),
+                Activity.getClientTimezone()
+        );
+        fullActivity.setChatMessageCount(chatMessageCount);
+        return fullActivity;
+    }
+
     @Override
     public List<FullFeedActivityDTO> convertActivitiesToFullFeedActivities(List<ActivityDTO> Activities, UUID requestingUserId) {
         ArrayList<FullFeedActivityDTO> fullActivities = new ArrayList<>();
+        ActivityHydrationContext context = loadHydrationContextForActivityDTOs(Activities, requestingUserId);
 
         for (ActivityDTO ActivityDTO : Activities) {
-            fullActivities.add(getFullActivityByActivity(ActivityDTO, requestingUserId, new HashSet<>()));
+            fullActivities.add(getFullActivityByActivity(ActivityDTO, requestingUserId, new HashSet<>(), context));
         }
 
         return fullActivities;
@@ -1148,9 +1690,10 @@ public class ActivityService implements IActivityService {
     @Override
     public List<FullFeedActivityDTO> convertActivitiesToFullFeedSelfOwnedActivities(List<ActivityDTO> Activities, UUID requestingUserId) {
         ArrayList<FullFeedActivityDTO> fullActivities = new ArrayList<>();
+        ActivityHydrationContext context = loadHydrationContextForActivityDTOs(Activities, requestingUserId);
 
         for (ActivityDTO ActivityDTO : Activities) {
-            FullFeedActivityDTO fullFeedActivity = getFullActivityByActivity(ActivityDTO, requestingUserId, new HashSet<>());
+            FullFeedActivityDTO fullFeedActivity = getFullActivityByActivity(ActivityDTO, requestingUserId, new HashSet<>(), context);
 
             if (fullFeedActivity == null) {
                 continue;
@@ -1205,6 +1748,26 @@ public class ActivityService implements IActivityService {
     public List<FullActivityChatMessageDTO> getChatMessagesByActivityId(UUID activityId) {
         return chatQueryService.getFullChatMessagesByActivityId(activityId);
     }
+
+    @Override
+    public ChatMessagesPageDTO getChatMessagesPage(UUID activityId, String cursor, int limit) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_CHAT_PAGE_SIZE));
+        ChatCursor before = ChatCursor.decode(cursor);
+
+        // One look-ahead row tells whether another page follows
+        List<ChatMessageData> messages = chatQueryService.getChatMessageDataBefore(
+                activityId, before.timestamp(), before.messageId(), pageSize + 1);
+        boolean hasMore = messages.size() > pageSize;
+        List<ChatMessageData> page = hasMore ? messages.subList(0, pageSize) : messages;
+
+        // The cursor follows the raw rows, so messages dropped below never cause a gap or repeat
+        String nextCursor = null;
+        if (hasMore) {
+            ChatMessageData last = page.get(page.size() - 1);
+            nextCursor = new ChatCursor(last.timestamp(), last.id()).encode();
+        }
+        return new ChatMessagesPageDTO(toFullChatMessages(page), nextCursor, hasMore);
+    }
     
     @Override
     @Caching(evict = {
@@ -1216,6 +1779,7 @@ public class ActivityService implements IActivityService {
             @CacheEvict(value = "feedActivities", key = "#userId"),
             @CacheEvict(value = "userStatsById", key = "#userId")
     })
+    @Transactional
     public FullFeedActivityDTO autoJoinUserToActivity(UUID activityId, UUID userId) {
         try {
             // Check if user is already participating or invited
@@ -1227,26 +1791,16 @@ public class ActivityService implements IActivityService {
                 ActivityUser activityUser = existingActivityUser.get();
                 
                 // If they're just invited, automatically set them to participating
-                if (activityUser.getStatus() == ParticipationStatus.invited) {
-                    // Check if activity has a participant limit and if it's already full
-                    final Activity activity = activityUser.getActivity();
-                    if (activity.getParticipantLimit() != null) {
-                        // Count current participants
-                        long currentParticipants = activityUserRepository.findByActivity_IdAndStatus(activityId, ParticipationStatus.participating).size();
-                        if (currentParticipants >= activity.getParticipantLimit()) {
-                            throw new ActivityFullException(activityId, activity.getParticipantLimit());
-                        }
-                    }
-                    
-                    activityUser.setStatus(ParticipationStatus.participating);
-                    
+                // (throws ActivityFullException if there is no free spot)
+                final Activity activity = activityUser.getActivity();
+                final User user = activityUser.getUser();
+                if (activityUser.getStatus() == ParticipationStatus.invited && joinFromInvited(activity, userId)) {
                     // Publish participation event
-                    final User user = activityUser.getUser();
                     eventPublisher.publishEvent(
                         ActivityParticipationNotificationEvent.forJoining(user, activity)
                     );
                     
-                    activityUserRepository.save(activityUser);
+                    feedIndexService.onParticipationChanged(activity, userId, ParticipationStatus.participating);
                     logger.info("User " + userId + " auto-joined activity " + activityId + " (was previously invited)");
                 }
                 // If they're already participating, do nothing
@@ -1257,13 +1811,9 @@ public class ActivityService implements IActivityService {
                 Activity activity = repository.findById(activityId)
                         .orElseThrow(() -> new BaseNotFoundException(EntityType.Activity, activityId));
 
-                // Check if activity has a participant limit and if it's already full
-                if (activity.getParticipantLimit() != null) {
-                    // Count current participants
-                    long currentParticipants = activityUserRepository.findByActivity_IdAndStatus(activityId, ParticipationStatus.participating).size();
-                    if (currentParticipants >= activity.getParticipantLimit()) {
-                        throw new ActivityFullException(activityId, activity.getParticipantLimit());
-                    }
+                // Take a participant spot; the conditional update fails if the activity is already full
+                if (repository.tryAddParticipant(activityId, 0) == 0) {
+                    throw new ActivityFullException(activityId, activity.getParticipantLimit());
                 }
 
                 ActivityUser newActivityUser = new ActivityUser();
@@ -1278,9 +1828,12 @@ public class ActivityService implements IActivityService {
                 );
 
                 activityUserRepository.save(newActivityUser);
+                feedIndexService.onParticipationChanged(activity, userId, ParticipationStatus.participating);
                 logger.info("User " + userId + " auto-joined activity " + activityId + " (was not previously invited)");
             }
             
+            evictActivityDependents(activityId, List.of(userId));
+
             // Return the updated activity
             return getFullActivityById(activityId, userId);
             
@@ -1310,10 +1863,12 @@ public class ActivityService implements IActivityService {
             
             // Convert to FullFeedActivityDTOs then to ProfileActivityDTOs and mark them as past Activities
             List<FullFeedActivityDTO> fullFeedActivities = convertActivitiesToFullFeedActivities(pastActivityDTOs, requestingUserId);
+            Map<UUID, List<UUID>> chatMessageIds = chatMessageIdsById(pastActivityDTOs);
             List<ProfileActivityDTO> result = new ArrayList<>();
             
             for (FullFeedActivityDTO fullFeedActivity : fullFeedActivities) {
-                result.add(ProfileActivityDTO.fromFullFeedActivityDTO(fullFeedActivity, true)); // true = isPastActivity
+                result.add(ProfileActivityDTO.fromFullFeedActivityDTO(fullFeedActivity,
+                        chatMessageIds.get(fullFeedActivity.getId()), true)); // true = isPastActivity
             }
             
             return result;
@@ -1333,55 +1888,67 @@ public class ActivityService implements IActivityService {
      */
     @Override
     public List<ProfileActivityDTO> getProfileActivities(UUID profileUserId, UUID requestingUserId) {
+        List<ProfileActivityDTO> result = new ArrayList<>();
+        streamProfileActivities(profileUserId, requestingUserId).forEachChunk(result::addAll);
+        return result;
+    }
+
+    @Override
+    public ChunkedResult<ProfileActivityDTO> streamProfileActivities(UUID profileUserId, UUID requestingUserId) {
         try {
             // Get ALL Activities created by the profile user
             List<ActivityDTO> allActivities = getActivitiesByOwnerId(profileUserId);
-            List<FullFeedActivityDTO> allFullActivities = convertActivitiesToFullFeedSelfOwnedActivities(allActivities, requestingUserId);
-            
-            // Filter to only include activities where the requesting user is invited or participating
-            List<FullFeedActivityDTO> filteredActivities = allFullActivities.stream()
-                .filter(activity -> isUserInvitedOrParticipating(activity, requestingUserId))
-                .collect(Collectors.toList());
-            
-            // Convert to ProfileActivityDTO with proper past/upcoming flag
-            List<ProfileActivityDTO> result = new ArrayList<>();
-            List<ProfileActivityDTO> upcomingActivities = new ArrayList<>();
-            List<ProfileActivityDTO> pastActivities = new ArrayList<>();
-            
-            for (FullFeedActivityDTO activity : filteredActivities) {
+
+            // Only include activities where the requesting user is invited or participating,
+            // split by whether they are past or upcoming
+            List<ActivityDTO> upcomingActivities = new ArrayList<>();
+            List<ActivityDTO> pastActivities = new ArrayList<>();
+            Set<UUID> pastActivityIds = new HashSet<>();
+
+            long nowMillis = System.currentTimeMillis();
+            for (ActivityDTO activity : allActivities) {
+                if (!isUserInvitedOrParticipating(activity, requestingUserId)) {
+                    continue;
+                }
                 boolean isExpired = expirationService.isActivityExpired(
-                    activity.getStartTime(), 
-                    activity.getEndTime(), 
-                    activity.getCreatedAt(), 
-                    activity.getClientTimezone()
+                    activity.getStartTime(),
+                    activity.getEndTime(),
+                    activity.getCreatedAt(),
+                    activity.getClientTimezone(),
+                    nowMillis
                 );
-                
-                ProfileActivityDTO profileActivity = ProfileActivityDTO.fromFullFeedActivityDTO(activity, isExpired);
-                
+
                 if (isExpired) {
-                    pastActivities.add(profileActivity);
+                    pastActivities.add(activity);
+                    pastActivityIds.add(activity.getId());
                 } else {
-                    upcomingActivities.add(profileActivity);
+                    upcomingActivities.add(activity);
                 }
             }
-            
+
             // Sort upcoming activities by start time (soonest first)
             upcomingActivities.sort(Comparator.comparing(
-                ProfileActivityDTO::getStartTime, 
+                ActivityDTO::getStartTime,
                 Comparator.nullsLast(Comparator.naturalOrder())
             ));
-            
+
             // Sort past activities by start time (most recent first)
             pastActivities.sort(Comparator.comparing(
-                ProfileActivityDTO::getStartTime, 
+                ActivityDTO::getStartTime,
                 Comparator.nullsLast(Comparator.reverseOrder())
             ));
-            
-            // Combine: upcoming first, then past
-            result.addAll(upcomingActivities);
-            result.addAll(pastActivities);
-            
-            return result;
+
+            // Combine: upcoming first, then past. Hydration is deferred to each chunk.
+            List<ActivityDTO> orderedActivities = new ArrayList<>(upcomingActivities);
+            orderedActivities.addAll(pastActivities);
+            // Cards only carry a chat preview, so the complete message IDs come from the activity DTOs
+            Map<UUID, List<UUID>> chatMessageIds = chatMessageIdsById(orderedActivities);
+
+            return ChunkedResult.mapInBatches(orderedActivities, STREAM_CHUNK_SIZE, activities ->
+                    convertActivitiesToFullFeedSelfOwnedActivities(activities, requestingUserId).stream()
+                            .map(activity -> ProfileActivityDTO.fromFullFeedActivityDTO(activity,
+                                    chatMessageIds.get(activity.getId()), pastActivityIds.contains(activity.getId())))
+                            .collect(Collectors.toList()));
         } catch (Exception e) {
             logger.error("Error fetching profile Activities for user " + profileUserId + 
                          " requested by " + requestingUserId + ": " + e.getMessage());
@@ -1389,33 +1956,24 @@ public class ActivityService implements IActivityService {
         }
     }
     
+    private static Map<UUID, List<UUID>> chatMessageIdsById(List<ActivityDTO> activities) {
+        Map<UUID, List<UUID>> chatMessageIds = new HashMap<>();
+        for (ActivityDTO activity : activities) {
+            chatMessageIds.put(activity.getId(), activity.getChatMessageIds());
+        }
+        return chatMessageIds;
+    }
+
     /**
      * Checks if the requesting user is invited to or participating in the activity.
      *
      * @param activity The activity to check
      * @param requestingUserId The user ID to check for
-     * @return true if the user is in invitedUsers or participantUsers
+     * @return true if the user is in invitedUserIds or participantUserIds
      */
-    private boolean isUserInvitedOrParticipating(FullFeedActivityDTO activity, UUID requestingUserId) {
-        // Check if user is in invited users
-        if (activity.getInvitedUsers() != null) {
-            for (BaseUserDTO user : activity.getInvitedUsers()) {
-                if (user.getId().equals(requestingUserId)) {
-                    return true;
-                }
-            }
-        }
-        
-        // Check if user is in participant users
-        if (activity.getParticipantUsers() != null) {
-            for (BaseUserDTO user : activity.getParticipantUsers()) {
-                if (user.getId().equals(requestingUserId)) {
-                    return true;
-                }
-            }
-        }
-        
-        return false;
+    private boolean isUserInvitedOrParticipating(ActivityDTO activity, UUID requestingUserId) {
+        return (activity.getInvitedUserIds() != null && activity.getInvitedUserIds().contains(requestingUserId))
+                || (activity.getParticipantUserIds() != null && activity.getParticipantUserIds().contains(requestingUserId));
     }
 
 }
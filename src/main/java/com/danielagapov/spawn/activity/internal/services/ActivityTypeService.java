@@ -41,7 +41,7 @@ public class ActivityTypeService implements IActivityTypeService {
 
     @Override
     @Transactional(readOnly = true)
-    @Cacheable(value = "activityTypesByUserId", key = "#userId")
+    @Cacheable(value = "activityTypesByUserId", key = "#userId", sync = true)
     public List<ActivityTypeDTO> getActivityTypesByUserId(UUID userId) {
         // Returns activity types owned by this user
         return ActivityTypeMapper.toDTOList(repository.findActivityTypesByCreatorId(userId));
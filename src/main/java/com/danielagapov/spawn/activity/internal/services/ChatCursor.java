@@ -0,0 +1,49 @@
+package com.danielagapov.spawn.activity.internal.services;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Keyset position in an activity's newest-first chat history: the (timestamp, messageId) of the last
+ * message on the previous page. Messages sent at the same instant are ordered by ID, descending.
+ *
+ * Clients only ever see the encoded form, an opaque URL-safe string.
+ *
+ * @param timestamp the timestamp of the last message returned
+ * @param messageId the ID of the last message returned
+ */
+public record ChatCursor(Instant timestamp, UUID messageId) {
+
+    /**
+     * Position before the newest message of any chat.
+     */
+    public static final ChatCursor START = new ChatCursor(Instant.parse("9999-12-31T00:00:00Z"), new UUID(-1L, -1L));
+
+    private static final String SEPARATOR = "|";
+
+    public String encode() {
+        String raw = timestamp + SEPARATOR + messageId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @param cursor an encoded cursor, or null/blank for the first page
+     * @throws IllegalArgumentException if the cursor is malformed
+     */
+    public static ChatCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return START;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+            Instant timestamp = Instant.parse(raw.substring(0, separator));
+            UUID messageId = UUID.fromString(raw.substring(separator + 1));
+            return new ChatCursor(timestamp, messageId);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid chat cursor: " + cursor, e);
+        }
+    }
+}
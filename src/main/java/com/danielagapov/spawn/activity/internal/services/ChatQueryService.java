@@ -1,213 +1,177 @@
 package com.danielagapov.spawn.activity.internal.services;
 
 import com.danielagapov.spawn.chat.api.dto.FullActivityChatMessageDTO;
-import com.danielagapov.spawn.shared.events.ChatEvents.*;
 import com.danielagapov.spawn.shared.exceptions.Logger.ILogger;
+import com.danielagapov.spawn.shared.ports.ChatMessageData;
+import com.danielagapov.spawn.shared.ports.ChatPort;
+import com.danielagapov.spawn.shared.ports.ChatPreviewData;
+import com.danielagapov.spawn.shared.ports.ModulePorts;
 import com.danielagapov.spawn.user.api.dto.BaseUserDTO;
-import com.danielagapov.spawn.user.internal.services.IUserService;
-import org.springframework.context.ApplicationEventPublisher;
-import org.springframework.context.event.EventListener;
+import com.danielagapov.spawn.user.internal.services.IBaseUserLoader;
 import org.springframework.stereotype.Service;
 
+import java.time.Instant;
 import java.util.*;
-import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.TimeUnit;
-import java.util.concurrent.TimeoutException;
 import java.util.stream.Collectors;
 
 /**
- * Service for querying chat data from the Chat module via events.
+ * Service for querying chat data from the Chat module through its {@link ChatPort}.
  * This replaces the direct dependency on IChatMessageService in ActivityService,
  * breaking the circular dependency between Activity and Chat modules.
  */
 @Service
 public class ChatQueryService implements IChatQueryService {
     
-    private static final long QUERY_TIMEOUT_MS = 5000; // 5 second timeout
-    
-    private final ApplicationEventPublisher eventPublisher;
-    private final IUserService userService;
+    private final ModulePorts.Port<ChatPort> chatPort;
+    private final IBaseUserLoader baseUserLoader;
     private final ILogger logger;
     
-    // Pending query futures for async response matching
-    private final ConcurrentHashMap<UUID, CompletableFuture<List<UUID>>> pendingIdQueries = new ConcurrentHashMap<>();
-    private final ConcurrentHashMap<UUID, CompletableFuture<List<ActivityMessageIds>>> pendingBatchIdQueries = new ConcurrentHashMap<>();
-    private final ConcurrentHashMap<UUID, CompletableFuture<List<ChatMessageData>>> pendingFullMessageQueries = new ConcurrentHashMap<>();
-    
     public ChatQueryService(
-            ApplicationEventPublisher eventPublisher,
-            IUserService userService,
+            ModulePorts modulePorts,
+            IBaseUserLoader baseUserLoader,
             ILogger logger) {
-        this.eventPublisher = eventPublisher;
-        this.userService = userService;
+        this.chatPort = modulePorts.port(ChatPort.class);
+        this.baseUserLoader = baseUserLoader;
         this.logger = logger;
     }
     
     /**
-     * Get chat message IDs for a single activity via event query.
+     * Get chat message IDs for a single activity.
      */
     public List<UUID> getChatMessageIdsByActivityId(UUID activityId) {
-        UUID requestId = UUID.randomUUID();
-        CompletableFuture<List<UUID>> future = new CompletableFuture<>();
-        
-        pendingIdQueries.put(requestId, future);
-        
         try {
-            // Publish query event
-            eventPublisher.publishEvent(new GetChatMessageIdsQuery(activityId, requestId));
-            
-            // Wait for response with timeout
-            return future.get(QUERY_TIMEOUT_MS, TimeUnit.MILLISECONDS);
-        } catch (TimeoutException e) {
-            logger.warn("Timeout waiting for chat message IDs for activity " + activityId);
-            return Collections.emptyList();
+            return chatPort.call("getChatMessageIdsByActivityIds", port -> port.getChatMessageIdsByActivityIds(List.of(activityId)))
+                .getOrDefault(activityId, Collections.emptyList());
         } catch (Exception e) {
             logger.error("Error getting chat message IDs for activity " + activityId + ": " + e.getMessage());
             return Collections.emptyList();
-        } finally {
-            pendingIdQueries.remove(requestId);
         }
     }
     
     /**
-     * Batch get chat message IDs for multiple activities via event query.
+     * Batch get chat message IDs for multiple activities in a single call.
      */
     public Map<UUID, List<UUID>> getChatMessageIdsByActivityIds(List<UUID> activityIds) {
         if (activityIds.isEmpty()) {
             return Collections.emptyMap();
         }
         
-        UUID requestId = UUID.randomUUID();
-        CompletableFuture<List<ActivityMessageIds>> future = new CompletableFuture<>();
-        
-        pendingBatchIdQueries.put(requestId, future);
-        
         try {
-            // Publish query event
-            eventPublisher.publishEvent(new GetBatchChatMessageIdsQuery(activityIds, requestId));
-            
-            // Wait for response with timeout
-            List<ActivityMessageIds> results = future.get(QUERY_TIMEOUT_MS, TimeUnit.MILLISECONDS);
-            
-            // Convert to map
-            return results.stream()
-                .collect(Collectors.toMap(
-                    ActivityMessageIds::activityId,
-                    ActivityMessageIds::messageIds
-                ));
-        } catch (TimeoutException e) {
-            logger.warn("Timeout waiting for batch chat message IDs for " + activityIds.size() + " activities");
-            return Collections.emptyMap();
+            return chatPort.call("getChatMessageIdsByActivityIds", port -> port.getChatMessageIdsByActivityIds(activityIds));
         } catch (Exception e) {
             logger.error("Error getting batch chat message IDs: " + e.getMessage());
             return Collections.emptyMap();
-        } finally {
-            pendingBatchIdQueries.remove(requestId);
         }
     }
     
     /**
-     * Get full chat messages for an activity via event query.
+     * Get full chat messages for an activity.
      * Converts ChatMessageData to FullActivityChatMessageDTO with user lookups.
      */
     public List<FullActivityChatMessageDTO> getFullChatMessagesByActivityId(UUID activityId) {
-        UUID requestId = UUID.randomUUID();
-        CompletableFuture<List<ChatMessageData>> future = new CompletableFuture<>();
-        
-        pendingFullMessageQueries.put(requestId, future);
-        
         try {
-            // Publish query event
-            eventPublisher.publishEvent(new GetFullChatMessagesQuery(activityId, requestId));
+            List<ChatMessageData> messageDataList =
+                chatPort.call("getChatMessagesByActivityIds", port -> port.getChatMessagesByActivityIds(List.of(activityId)));
             
-            // Wait for response with timeout
-            List<ChatMessageData> messageDataList = future.get(QUERY_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+            // Resolve every sender and liker in one batched lookup, then convert
+            Set<UUID> userIds = new HashSet<>();
+            for (ChatMessageData data : messageDataList) {
+                userIds.add(data.senderUserId());
+                userIds.addAll(data.likedByUserIds());
+            }
+            Map<UUID, BaseUserDTO> usersById = baseUserLoader.getVisibleBaseUsersByIds(userIds);
             
-            // Convert to FullActivityChatMessageDTO with user lookups
             return messageDataList.stream()
-                .map(this::convertToFullActivityChatMessageDTO)
+                .map(data -> convertToFullActivityChatMessageDTO(data, usersById))
                 .filter(Objects::nonNull)
                 .collect(Collectors.toList());
-        } catch (TimeoutException e) {
-            logger.warn("Timeout waiting for full chat messages for activity " + activityId);
-            return Collections.emptyList();
         } catch (Exception e) {
             logger.error("Error getting full chat messages for activity " + activityId + ": " + e.getMessage());
             return Collections.emptyList();
-        } finally {
-            pendingFullMessageQueries.remove(requestId);
         }
     }
     
     /**
-     * Converts ChatMessageData to FullActivityChatMessageDTO by looking up user details.
+     * Batch get raw chat message data for multiple activities in a single call.
+     * User details are not resolved here so callers can look them up together with
+     * the rest of the users they need.
      */
-    private FullActivityChatMessageDTO convertToFullActivityChatMessageDTO(ChatMessageData data) {
+    public Map<UUID, List<ChatMessageData>> getChatMessageDataByActivityIds(List<UUID> activityIds) {
+        if (activityIds.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        
         try {
-            // Look up sender user
-            BaseUserDTO senderUser = userService.getBaseUserById(data.senderUserId());
+            List<ChatMessageData> messageDataList =
+                chatPort.call("getChatMessagesByActivityIds", port -> port.getChatMessagesByActivityIds(activityIds));
             
-            // Look up liked by users
-            List<BaseUserDTO> likedByUsers = data.likedByUserIds().stream()
-                .map(userId -> {
-                    try {
-                        return userService.getBaseUserById(userId);
-                    } catch (Exception e) {
-                        logger.warn("Could not load user " + userId + " for chat message like");
-                        return null;
-                    }
-                })
-                .filter(Objects::nonNull)
-                .collect(Collectors.toList());
-            
-            return new FullActivityChatMessageDTO(
-                data.id(),
-                data.content(),
-                data.timestamp(),
-                senderUser,
-                data.activityId(),
-                likedByUsers
-            );
+            // Group by activity, keeping the timestamp-descending order of the response
+            return messageDataList.stream()
+                .collect(Collectors.groupingBy(
+                    ChatMessageData::activityId,
+                    Collectors.toList()
+                ));
         } catch (Exception e) {
-            logger.warn("Error converting chat message data to DTO: " + e.getMessage());
-            return null;
+            logger.error("Error getting batch full chat messages: " + e.getMessage());
+            return Collections.emptyMap();
         }
     }
     
-    // ========== Event Listeners for Response Handling ==========
-    
     /**
-     * Handle response for single activity chat message ID query.
+     * Batch get the latest messages and total message count of multiple activities in a single call.
+     * User details are not resolved here so callers can look them up together with
+     * the rest of the users they need.
      */
-    @EventListener
-    public void handleChatMessageIdsResponse(ChatMessageIdsResponse response) {
-        CompletableFuture<List<UUID>> future = pendingIdQueries.get(response.requestId());
-        if (future != null) {
-            future.complete(response.messageIds());
+    public Map<UUID, ChatPreviewData> getChatPreviewsByActivityIds(List<UUID> activityIds, int messagesPerActivity) {
+        if (activityIds.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        
+        try {
+            return chatPort.call("getChatPreviewsByActivityIds",
+                port -> port.getChatPreviewsByActivityIds(activityIds, messagesPerActivity));
+        } catch (Exception e) {
+            logger.error("Error getting chat previews for " + activityIds.size() + " activities: " + e.getMessage());
+            return Collections.emptyMap();
         }
     }
     
     /**
-     * Handle response for batch chat message ID query.
+     * Get one page of raw chat message data for an activity, newest first, after the given position.
      */
-    @EventListener
-    public void handleBatchChatMessageIdsResponse(BatchChatMessageIdsResponse response) {
-        CompletableFuture<List<ActivityMessageIds>> future = pendingBatchIdQueries.get(response.requestId());
-        if (future != null) {
-            future.complete(response.activityMessageIds());
+    public List<ChatMessageData> getChatMessageDataBefore(UUID activityId, Instant beforeTimestamp, UUID beforeMessageId, int limit) {
+        try {
+            return chatPort.call("getChatMessagesBefore",
+                port -> port.getChatMessagesBefore(activityId, beforeTimestamp, beforeMessageId, limit));
+        } catch (Exception e) {
+            logger.error("Error getting chat messages page for activity " + activityId + ": " + e.getMessage());
+            return Collections.emptyList();
         }
     }
     
     /**
-     * Handle response for full chat messages query.
+     * Converts ChatMessageData to FullActivityChatMessageDTO using preloaded user details.
+     * Messages whose sender is missing or hidden are dropped, and such likers are skipped.
      */
-    @EventListener
-    public void handleFullChatMessagesResponse(FullChatMessagesResponse response) {
-        CompletableFuture<List<ChatMessageData>> future = pendingFullMessageQueries.get(response.requestId());
-        if (future != null) {
-            future.complete(response.messages());
+    private FullActivityChatMessageDTO convertToFullActivityChatMessageDTO(ChatMessageData data, Map<UUID, BaseUserDTO> usersById) {
+        BaseUserDTO senderUser = usersById.get(data.senderUserId());
+        if (senderUser == null) {
+            logger.warn("Could not load sender " + data.senderUserId() + " for chat message " + data.id());
+            return null;
         }
+        
+        List<BaseUserDTO> likedByUsers = data.likedByUserIds().stream()
+            .map(usersById::get)
+            .filter(Objects::nonNull)
+            .collect(Collectors.toList());
+        
+        return new FullActivityChatMessageDTO(
+            data.id(),
+            data.content(),
+            data.timestamp(),
+            senderUser,
+            data.activityId(),
+            likedByUsers
+        );
     }
 }
-
@@ -0,0 +1,87 @@
+package com.danielagapov.spawn.activity.internal.services;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.UUID;
+
+/**
+ * Keyset position in a start-time ordered feed: the (startTime, activityId) of the last activity
+ * on the previous page. Activities without a start time sort after all dated ones, ordered by ID.
+ *
+ * Clients only ever see the encoded form, an opaque URL-safe string.
+ *
+ * @param startTime  the start time of the last activity returned, or null if it had none
+ * @param activityId the ID of the last activity returned
+ */
+public record FeedCursor(OffsetDateTime startTime, UUID activityId) {
+
+    /**
+     * Position before the first activity of any feed.
+     */
+    public static final FeedCursor START = new FeedCursor(OffsetDateTime.ofInstant(Instant.EPOCH, ZoneOffset.UTC), new UUID(0L, 0L));
+
+    /**
+     * Placeholder start time passed to keyset queries once the cursor is past all dated activities,
+     * so that no dated activity compares after it.
+     */
+    static final OffsetDateTime NO_START_TIME = OffsetDateTime.of(9999, 12, 31, 0, 0, 0, 0, ZoneOffset.UTC);
+
+    private static final String UNDATED = "-";
+    private static final String SEPARATOR = "|";
+
+    /**
+     * Same order as the keyset queries. IDs compare as unsigned bytes, which is how both
+     * PostgreSQL and MySQL (binary UUID columns) order them.
+     */
+    public static final Comparator<FeedCursor> ORDER = Comparator
+            .comparing(FeedCursor::startTime, Comparator.nullsLast(Comparator.comparing(OffsetDateTime::toInstant)))
+            .thenComparing(FeedCursor::activityId, FeedCursor::compareUnsigned);
+
+    public boolean isUndated() {
+        return startTime == null;
+    }
+
+    /**
+     * @return the start time to bind in keyset queries
+     */
+    public OffsetDateTime keysetStartTime() {
+        return startTime != null ? startTime : NO_START_TIME;
+    }
+
+    public String encode() {
+        String time = startTime != null ? startTime.toInstant().toString() : UNDATED;
+        String raw = time + SEPARATOR + activityId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @param cursor an encoded cursor, or null/blank for the first page
+     * @throws IllegalArgumentException if the cursor is malformed
+     */
+    public static FeedCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return START;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+            String time = raw.substring(0, separator);
+            UUID activityId = UUID.fromString(raw.substring(separator + 1));
+            OffsetDateTime startTime = UNDATED.equals(time)
+                    ? null
+                    : OffsetDateTime.ofInstant(Instant.parse(time), ZoneOffset.UTC);
+            return new FeedCursor(startTime, activityId);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid feed cursor: " + cursor, e);
+        }
+    }
+
+    private static int compareUnsigned(UUID a, UUID b) {
+        int high = Long.compareUnsigned(a.getMostSignificantBits(), b.getMostSignificantBits());
+        return high != 0 ? high : Long.compareUnsigned(a.getLeastSignificantBits(), b.getLeastSignificantBits());
+    }
+}
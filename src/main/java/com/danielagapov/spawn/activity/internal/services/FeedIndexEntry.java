@@ -0,0 +1,38 @@
+package com.danielagapov.spawn.activity.internal.services;
+
+import com.danielagapov.spawn.activity.internal.domain.ActivityExpiry;
+import java.util.Comparator;
+import java.util.UUID;
+
+/**
+ * One activity in a user's materialized feed index.
+ *
+ * Entries only carry what is needed to order and filter a feed (start time and precomputed
+ * expiry, both as epoch millis) plus the section of the feed the activity belongs to.
+ * The activity itself is loaded and hydrated at read time.
+ *
+ * @param activityId      the indexed activity
+ * @param role            which section of the feed the activity appears in for this user
+ * @param startTimeMillis the activity start time, or Long.MAX_VALUE if it has none (sorted last)
+ * @param expiresAtMillis the activity expiry, or ActivityExpiry.NEVER if it never expires
+ */
+public record FeedIndexEntry(UUID activityId, Role role, long startTimeMillis, long expiresAtMillis) {
+
+    /**
+     * Feed ordering: by start time, with the activity ID as a tie-breaker so entries are unique.
+     */
+    public static final Comparator<FeedIndexEntry> BY_START_TIME = Comparator
+            .comparingLong(FeedIndexEntry::startTimeMillis)
+            .thenComparing(FeedIndexEntry::activityId);
+
+    public enum Role {
+        OWNED, INVITED, PARTICIPATING
+    }
+
+    /**
+     * An activity is still live up to and including its expiry instant.
+     */
+    public boolean isLiveAt(long nowMillis) {
+        return !ActivityExpiry.isExpired(expiresAtMillis, nowMillis);
+    }
+}
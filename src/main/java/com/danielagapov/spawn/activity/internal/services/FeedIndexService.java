@@ -0,0 +1,228 @@
+package com.danielagapov.spawn.activity.internal.services;
+
+import com.danielagapov.spawn.activity.internal.domain.Activity;
+import com.danielagapov.spawn.activity.internal.domain.ActivityUser;
+import com.danielagapov.spawn.activity.internal.repositories.IActivityRepository;
+import com.danielagapov.spawn.activity.internal.repositories.IActivityUserRepository;
+import com.danielagapov.spawn.shared.exceptions.Logger.ILogger;
+import com.danielagapov.spawn.shared.util.ParticipationStatus;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.*;
+
+/**
+ * Keeps every user's feed index in step with activity writes.
+ *
+ * The index for a user is built lazily from the database on their first feed read, keeping only
+ * activities that have not expired yet, and is then maintained by deltas from the activity write
+ * paths. Store failures never fail the request: reads fall back to the database and failed deltas
+ * drop the affected index so it is rebuilt on the next read. An index is only stored if no delta
+ * for the user arrived while it was being loaded, so a rebuild never overwrites a newer write.
+ */
+@Service
+public class FeedIndexService implements IFeedIndexService {
+    private static final List<ParticipationStatus> FEED_MEMBERSHIP_STATUSES =
+            List.of(ParticipationStatus.invited, ParticipationStatus.participating);
+
+    private final IFeedIndexStore store;
+    private final IActivityRepository activityRepository;
+    private final IActivityUserRepository activityUserRepository;
+    private final ILogger logger;
+
+    @Autowired
+    public FeedIndexService(IFeedIndexStore store, IActivityRepository activityRepository,
+                            IActivityUserRepository activityUserRepository, ILogger logger) {
+        this.store = store;
+        this.activityRepository = activityRepository;
+        this.activityUserRepository = activityUserRepository;
+        this.logger = logger;
+    }
+
+    @Override
+    public List<FeedIndexEntry> getLiveEntries(UUID userId) {
+        long now = System.currentTimeMillis();
+        long version;
+        try {
+            Optional<List<FeedIndexEntry>> indexed = store.range(userId, now);
+            if (indexed.isPresent()) {
+                return indexed.get();
+            }
+            version = store.version(userId);
+        } catch (Exception e) {
+            logger.error("Error reading feed index for user " + userId + ", reading from database: " + e.getMessage());
+            return loadEntriesFromDatabase(userId, now);
+        }
+
+        List<FeedIndexEntry> entries = loadEntriesFromDatabase(userId, now);
+        try {
+            // Refused if a write's delta arrived while loading, since the entries may predate that write;
+            // the next read builds the index again
+            store.replace(userId, entries, version);
+        } catch (Exception e) {
+            logger.error("Error storing feed index for user " + userId + ": " + e.getMessage());
+        }
+        return entries;
+    }
+
+    @Override
+    public void onActivityCreated(Activity activity, Collection<UUID> invitedUserIds) {
+        UUID creatorId = activity.getCreator().getId();
+        FeedIndexEntry ownedEntry = toEntry(activity, FeedIndexEntry.Role.OWNED);
+        FeedIndexEntry invitedEntry = toEntry(activity, FeedIndexEntry.Role.INVITED);
+        List<UUID> invitees = invitedUserIds != null ? List.copyOf(invitedUserIds) : List.of();
+
+        afterCommit(() -> {
+            upsert(creatorId, ownedEntry);
+            for (UUID userId : invitees) {
+                if (!userId.equals(creatorId)) {
+                    upsert(userId, invitedEntry);
+                }
+            }
+        });
+    }
+
+    @Override
+    public void onParticipationChanged(Activity activity, UUID userId, ParticipationStatus status) {
+        // The creator always sees their own activity in the created section
+        if (userId.equals(activity.getCreator().getId())) {
+            return;
+        }
+
+        FeedIndexEntry.Role role = toRole(status);
+        if (role == null) {
+            afterCommit(() -> remove(userId, activity.getId()));
+            return;
+        }
+        FeedIndexEntry entry = toEntry(activity, role);
+        afterCommit(() -> upsert(userId, entry));
+    }
+
+    @Override
+    public void onActivityUpdated(Activity activity, Collection<UUID> removedUserIds) {
+        UUID creatorId = activity.getCreator().getId();
+        Map<UUID, FeedIndexEntry> entriesByUserId = new HashMap<>();
+        for (ActivityUser member : activityUserRepository.findByActivity_Id(activity.getId())) {
+            FeedIndexEntry.Role role = toRole(member.getStatus());
+            UUID userId = member.getUser().getId();
+            if (role != null && !userId.equals(creatorId)) {
+                entriesByUserId.put(userId, toEntry(activity, role));
+            }
+        }
+        entriesByUserId.put(creatorId, toEntry(activity, FeedIndexEntry.Role.OWNED));
+
+        List<UUID> removed = removedUserIds != null
+                ? removedUserIds.stream().filter(userId -> !entriesByUserId.containsKey(userId)).toList()
+                : List.of();
+
+        afterCommit(() -> {
+            entriesByUserId.forEach(this::upsert);
+            removed.forEach(userId -> remove(userId, activity.getId()));
+        });
+    }
+
+    @Override
+    public Set<UUID> getFeedUserIds(UUID activityId) {
+        Set<UUID> userIds = new HashSet<>();
+        activityRepository.findById(activityId)
+                .ifPresent(activity -> userIds.add(activity.getCreator().getId()));
+        for (ActivityUser member : activityUserRepository.findByActivity_Id(activityId)) {
+            userIds.add(member.getUser().getId());
+        }
+        return userIds;
+    }
+
+    @Override
+    public void onActivityDeleted(UUID activityId, Collection<UUID> feedUserIds) {
+        List<UUID> userIds = List.copyOf(feedUserIds);
+        afterCommit(() -> userIds.forEach(userId -> remove(userId, activityId)));
+    }
+
+    /**
+     * Builds a user's index from their created activities and their invited/participating memberships.
+     * Expired activities are left out; an expired activity only reappears through an update, which
+     * reports its own delta.
+     */
+    private List<FeedIndexEntry> loadEntriesFromDatabase(UUID userId, long nowMillis) {
+        Map<UUID, FeedIndexEntry> entriesByActivityId = new HashMap<>();
+        for (ActivityUser membership : activityUserRepository.findByUserIdAndStatusInWithActivity(userId, FEED_MEMBERSHIP_STATUSES)) {
+            FeedIndexEntry entry = toEntry(membership.getActivity(), toRole(membership.getStatus()));
+            if (entry.isLiveAt(nowMillis)) {
+                entriesByActivityId.put(entry.activityId(), entry);
+            }
+        }
+        // Created activities go in last so they win over any membership row the creator also has
+        for (Activity activity : activityRepository.findByCreatorId(userId)) {
+            FeedIndexEntry entry = toEntry(activity, FeedIndexEntry.Role.OWNED);
+            if (entry.isLiveAt(nowMillis)) {
+                entriesByActivityId.put(entry.activityId(), entry);
+            }
+        }
+
+        List<FeedIndexEntry> entries = new ArrayList<>(entriesByActivityId.values());
+        entries.sort(FeedIndexEntry.BY_START_TIME);
+        return entries;
+    }
+
+    private FeedIndexEntry toEntry(Activity activity, FeedIndexEntry.Role role) {
+        long startTimeMillis = activity.getStartTime() != null
+                ? activity.getStartTime().toInstant().toEpochMilli()
+                : Long.MAX_VALUE;
+        return new FeedIndexEntry(activity.getId(), role, startTimeMillis, activity.resolveExpiresAt());
+    }
+
+    private static FeedIndexEntry.Role toRole(ParticipationStatus status) {
+        if (status == ParticipationStatus.participating) {
+            return FeedIndexEntry.Role.PARTICIPATING;
+        }
+        if (status == ParticipationStatus.invited) {
+            return FeedIndexEntry.Role.INVITED;
+        }
+        return null;
+    }
+
+    private void upsert(UUID userId, FeedIndexEntry entry) {
+        try {
+            store.upsert(userId, entry);
+        } catch (Exception e) {
+            logger.error("Error updating feed index for user " + userId + ": " + e.getMessage());
+            evictQuietly(userId);
+        }
+    }
+
+    private void remove(UUID userId, UUID activityId) {
+        try {
+            store.remove(userId, activityId);
+        } catch (Exception e) {
+            logger.error("Error removing activity " + activityId + " from feed index for user " + userId + ": " + e.getMessage());
+            evictQuietly(userId);
+        }
+    }
+
+    private void evictQuietly(UUID userId) {
+        try {
+            store.evict(userId);
+        } catch (Exception e) {
+            logger.error("Error evicting feed index for user " + userId + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Runs the delta once the current transaction commits, so a rolled-back write never reaches the index.
+     * Outside a transaction the write has already been flushed, so the delta runs immediately.
+     */
+    private static void afterCommit(Runnable delta) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    delta.run();
+                }
+            });
+        } else {
+            delta.run();
+        }
+    }
+}
@@ -1,19 +1,22 @@
 package com.danielagapov.spawn.activity.internal.services;
 
 import com.danielagapov.spawn.chat.api.dto.FullActivityChatMessageDTO;
+import com.danielagapov.spawn.shared.ports.ChatMessageData;
+import com.danielagapov.spawn.shared.ports.ChatPreviewData;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 
 /**
- * Interface for querying chat data from the Chat module via events.
+ * Interface for querying chat data from the Chat module through its port.
  * This breaks the circular dependency between Activity and Chat modules.
  */
 public interface IChatQueryService {
     
     /**
-     * Get chat message IDs for a single activity via event query.
+     * Get chat message IDs for a single activity through the chat port.
      * 
      * @param activityId The activity ID
      * @return List of chat message IDs, or empty list if none found or on error
@@ -21,7 +24,7 @@ public interface IChatQueryService {
     List<UUID> getChatMessageIdsByActivityId(UUID activityId);
     
     /**
-     * Batch get chat message IDs for multiple activities via event query.
+     * Batch get chat message IDs for multiple activities through the chat port.
      * 
      * @param activityIds List of activity IDs
      * @return Map of activity ID to list of chat message IDs
@@ -29,14 +32,42 @@ public interface IChatQueryService {
     Map<UUID, List<UUID>> getChatMessageIdsByActivityIds(List<UUID> activityIds);
     
     /**
-     * Get full chat messages for an activity via event query.
+     * Get full chat messages for an activity through the chat port.
      * Converts ChatMessageData to FullActivityChatMessageDTO with user lookups.
      * 
      * @param activityId The activity ID
      * @return List of full chat message DTOs, or empty list if none found or on error
      */
     List<FullActivityChatMessageDTO> getFullChatMessagesByActivityId(UUID activityId);
+    
+    /**
+     * Batch get raw chat message data for multiple activities in a single call.
+     * Sender and liker IDs are left unresolved so the caller can batch its user lookups.
+     * 
+     * @param activityIds List of activity IDs
+     * @return Map of activity ID to its chat messages (newest first), or empty map on error
+     */
+    Map<UUID, List<ChatMessageData>> getChatMessageDataByActivityIds(List<UUID> activityIds);
+    
+    /**
+     * Batch get chat previews for multiple activities in a single call: the latest messages of each
+     * activity and its total message count, with sender and liker IDs left unresolved.
+     * 
+     * @param activityIds List of activity IDs
+     * @param messagesPerActivity Maximum number of messages per activity
+     * @return Map of activity ID to its preview, or empty map on error
+     */
+    Map<UUID, ChatPreviewData> getChatPreviewsByActivityIds(List<UUID> activityIds, int messagesPerActivity);
+    
+    /**
+     * Get one page of raw chat message data for an activity, newest first, starting strictly after
+     * the (beforeTimestamp, beforeMessageId) position.
+     * 
+     * @param activityId The activity ID
+     * @param beforeTimestamp Timestamp of the last message of the previous page
+     * @param beforeMessageId ID of the last message of the previous page
+     * @param limit Maximum number of messages to return
+     * @return The messages of the page, or empty list on error
+     */
+    List<ChatMessageData> getChatMessageDataBefore(UUID activityId, Instant beforeTimestamp, UUID beforeMessageId, int limit);
 }
-
-
-
@@ -0,0 +1,52 @@
+package com.danielagapov.spawn.activity.internal.services;
+
+import com.danielagapov.spawn.activity.internal.domain.Activity;
+import com.danielagapov.spawn.shared.util.ParticipationStatus;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Maintains a materialized, start-time ordered index of each user's feed.
+ *
+ * Activity write paths report deltas here instead of the feed being rebuilt from the user's whole
+ * activity history on every read. Deltas are applied once the surrounding transaction commits.
+ */
+public interface IFeedIndexService {
+
+    /**
+     * Returns the user's non-expired feed entries ordered by start time, building the index
+     * from the database first if the user does not have one yet.
+     */
+    List<FeedIndexEntry> getLiveEntries(UUID userId);
+
+    /**
+     * Indexes a newly created activity for its creator and every invited user.
+     */
+    void onActivityCreated(Activity activity, Collection<UUID> invitedUserIds);
+
+    /**
+     * Moves the activity into the section matching the user's new status, or removes it
+     * from their feed if the status is null or notInvited.
+     */
+    void onParticipationChanged(Activity activity, UUID userId, ParticipationStatus status);
+
+    /**
+     * Re-indexes the activity for its creator and current members after its times or invitations changed.
+     *
+     * @param removedUserIds users whose membership was dropped by the update
+     */
+    void onActivityUpdated(Activity activity, Collection<UUID> removedUserIds);
+
+    /**
+     * @return the users whose feeds contain the activity (its creator and members); read before deleting it
+     */
+    Set<UUID> getFeedUserIds(UUID activityId);
+
+    /**
+     * Removes a deleted activity from the given users' feeds.
+     */
+    void onActivityDeleted(UUID activityId, Collection<UUID> feedUserIds);
+}
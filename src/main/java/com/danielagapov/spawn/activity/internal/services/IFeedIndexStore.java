@@ -0,0 +1,54 @@
+package com.danielagapov.spawn.activity.internal.services;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Storage for per-user feed indexes, kept sorted by activity start time.
+ *
+ * A user only has an index once it has been built from the database; deltas for users
+ * without an index are ignored, since the next read will build it from scratch anyway.
+ *
+ * Every delta and eviction also bumps the user's version, so an index built from a database read
+ * that a concurrent write committed after is not stored over that write's delta.
+ */
+public interface IFeedIndexStore {
+
+    /**
+     * @return the user's version; read it before loading the entries of a new index from the database
+     */
+    long version(UUID userId);
+
+    /**
+     * Replaces the user's whole index with the given entries, marking it as built, unless the user's
+     * version has moved past expectedVersion: a delta arrived meanwhile that the entries may not include.
+     *
+     * @return whether the index was stored
+     */
+    boolean replace(UUID userId, Collection<FeedIndexEntry> entries, long expectedVersion);
+
+    /**
+     * Adds the entry to the user's index, replacing any previous entry for the same activity.
+     * Only bumps the user's version if the user has no index.
+     */
+    void upsert(UUID userId, FeedIndexEntry entry);
+
+    /**
+     * Removes the activity from the user's index. Only bumps the user's version if the user has no index.
+     */
+    void remove(UUID userId, UUID activityId);
+
+    /**
+     * Range scan over the user's index.
+     *
+     * @return the entries still live at nowMillis ordered by start time, or empty if the user has no index
+     */
+    Optional<List<FeedIndexEntry>> range(UUID userId, long nowMillis);
+
+    /**
+     * Drops the user's index so that the next read rebuilds it, and bumps the user's version.
+     */
+    void evict(UUID userId);
+}
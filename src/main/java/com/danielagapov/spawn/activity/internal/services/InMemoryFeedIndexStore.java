@@ -0,0 +1,133 @@
+package com.danielagapov.spawn.activity.internal.services;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Local stand-in for the Redis feed index, used whenever the application is not backed by Redis
+ * (dev and test profiles). Each user's index is a sorted set ordered by start time plus a lookup
+ * by activity ID, so deltas and range scans are both O(log n) in the size of that user's feed.
+ *
+ * Indexes are dropped once they are older than INDEX_TTL, which bounds how long an index can
+ * drift from the database if a write path ever misses a delta. Deltas bump the user's version before
+ * touching the index, so a replace checking the version either runs before them or is refused.
+ */
+@Component
+@ConditionalOnExpression("'${spring.cache.type:simple}' != 'redis'")
+public class InMemoryFeedIndexStore implements IFeedIndexStore {
+    static final Duration INDEX_TTL = Duration.ofHours(24);
+
+    private final Map<UUID, UserFeedIndex> indexes = new ConcurrentHashMap<>();
+    private final Map<UUID, Long> versions = new ConcurrentHashMap<>();
+
+    @Override
+    public long version(UUID userId) {
+        return versions.getOrDefault(userId, 0L);
+    }
+
+    @Override
+    public boolean replace(UUID userId, Collection<FeedIndexEntry> entries, long expectedVersion) {
+        UserFeedIndex index = new UserFeedIndex(System.currentTimeMillis());
+        entries.forEach(index::put);
+        boolean[] stored = {false};
+        // Checked and stored under the version's lock, which deltas take to bump it
+        versions.compute(userId, (id, version) -> {
+            if ((version == null ? 0L : version) == expectedVersion) {
+                indexes.put(userId, index);
+                stored[0] = true;
+            }
+            return version;
+        });
+        return stored[0];
+    }
+
+    @Override
+    public void upsert(UUID userId, FeedIndexEntry entry) {
+        bumpVersion(userId);
+        UserFeedIndex index = getIndex(userId);
+        if (index != null) {
+            index.put(entry);
+        }
+    }
+
+    @Override
+    public void remove(UUID userId, UUID activityId) {
+        bumpVersion(userId);
+        UserFeedIndex index = getIndex(userId);
+        if (index != null) {
+            index.remove(activityId);
+        }
+    }
+
+    @Override
+    public Optional<List<FeedIndexEntry>> range(UUID userId, long nowMillis) {
+        UserFeedIndex index = getIndex(userId);
+        return index != null ? Optional.of(index.liveEntries(nowMillis)) : Optional.empty();
+    }
+
+    @Override
+    public void evict(UUID userId) {
+        bumpVersion(userId);
+        indexes.remove(userId);
+    }
+
+    private void bumpVersion(UUID userId) {
+        versions.merge(userId, 1L, Long::sum);
+    }
+
+    private UserFeedIndex getIndex(UUID userId) {
+        UserFeedIndex index = indexes.get(userId);
+        if (index != null && System.currentTimeMillis() - index.builtAtMillis > INDEX_TTL.toMillis()) {
+            indexes.remove(userId, index);
+            return null;
+        }
+        return index;
+    }
+
+    private static final class UserFeedIndex {
+        private final long builtAtMillis;
+        private final NavigableSet<FeedIndexEntry> byStartTime = new TreeSet<>(FeedIndexEntry.BY_START_TIME);
+        private final Map<UUID, FeedIndexEntry> byActivityId = new HashMap<>();
+
+        private UserFeedIndex(long builtAtMillis) {
+            this.builtAtMillis = builtAtMillis;
+        }
+
+        synchronized void put(FeedIndexEntry entry) {
+            FeedIndexEntry previous = byActivityId.put(entry.activityId(), entry);
+            if (previous != null) {
+                byStartTime.remove(previous);
+            }
+            byStartTime.add(entry);
+        }
+
+        synchronized void remove(UUID activityId) {
+            FeedIndexEntry previous = byActivityId.remove(activityId);
+            if (previous != null) {
+                byStartTime.remove(previous);
+            }
+        }
+
+        /**
+         * Walks the index in start-time order, pruning entries that have expired since they were added.
+         */
+        synchronized List<FeedIndexEntry> liveEntries(long nowMillis) {
+            List<FeedIndexEntry> live = new ArrayList<>(byStartTime.size());
+            Iterator<FeedIndexEntry> iterator = byStartTime.iterator();
+            while (iterator.hasNext()) {
+                FeedIndexEntry entry = iterator.next();
+                if (entry.isLiveAt(nowMillis)) {
+                    live.add(entry);
+                } else {
+                    iterator.remove();
+                    byActivityId.remove(entry.activityId());
+                }
+            }
+            return live;
+        }
+    }
+}
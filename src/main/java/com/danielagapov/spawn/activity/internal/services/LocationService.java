@@ -43,7 +43,7 @@ public class LocationService implements ILocationService {
     }
 
     @Override
-    @Cacheable(value = "locationById", key = "#id")
+    @Cacheable(value = "locationById", key = "#id", sync = true)
     public LocationDTO getLocationById(UUID id) {
         return LocationMapper.toDTO(repository.findById(id).orElseThrow(() -> new BaseNotFoundException(EntityType.Location, id)));
     }
@@ -0,0 +1,213 @@
+package com.danielagapov.spawn.activity.internal.services;
+
+import com.danielagapov.spawn.shared.exceptions.Logger.ILogger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations.TypedTuple;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.*;
+
+/**
+ * Redis-backed feed index, shared by every instance of the application.
+ *
+ * Each user's index is a sorted set keyed "feedIndex:{userId}" whose members are activity IDs scored
+ * by the activity's start time in epoch millis, so reading a feed is a single ZRANGE in feed order.
+ * A companion hash "feedIndex:{userId}:entries" maps each activity ID to "role|expiresAtMillis", so no
+ * second lookup is needed to filter expired activities or split the feed into sections; its "built"
+ * field marks the index as built, which distinguishes an empty feed from one that has not been indexed yet.
+ * "feedIndex:{userId}:version" counts the user's deltas.
+ *
+ * Every write is a single Lua script, so deltas and rebuilds of the same index never interleave.
+ */
+@Component
+@ConditionalOnProperty(name = "spring.cache.type", havingValue = "redis")
+public class RedisFeedIndexStore implements IFeedIndexStore {
+    private static final String KEY_PREFIX = "feedIndex:";
+    private static final String BUILT_FIELD = "built";
+    private static final String SEPARATOR = "|";
+    private static final Duration INDEX_TTL = Duration.ofHours(24);
+
+    // KEYS: index, entries, version. ARGV: expected version, ttl seconds, then activity id, start time, entry per activity
+    private static final RedisScript<Long> REPLACE_SCRIPT = new DefaultRedisScript<>("""
+            if tonumber(redis.call('GET', KEYS[3]) or '0') ~= tonumber(ARGV[1]) then
+                return 0
+            end
+            redis.call('DEL', KEYS[1], KEYS[2])
+            redis.call('HSET', KEYS[2], 'built', '1')
+            for i = 3, #ARGV, 3 do
+                redis.call('ZADD', KEYS[1], ARGV[i + 1], ARGV[i])
+                redis.call('HSET', KEYS[2], ARGV[i], ARGV[i + 2])
+            end
+            redis.call('EXPIRE', KEYS[1], ARGV[2])
+            redis.call('EXPIRE', KEYS[2], ARGV[2])
+            return 1
+            """, Long.class);
+
+    // KEYS: index, entries, version. ARGV: ttl seconds, activity id, start time, entry
+    private static final RedisScript<Long> UPSERT_SCRIPT = new DefaultRedisScript<>("""
+            redis.call('INCR', KEYS[3])
+            redis.call('EXPIRE', KEYS[3], ARGV[1])
+            if redis.call('HEXISTS', KEYS[2], 'built') == 0 then
+                return 0
+            end
+            redis.call('ZADD', KEYS[1], ARGV[3], ARGV[2])
+            redis.call('HSET', KEYS[2], ARGV[2], ARGV[4])
+            -- The sorted set doesn't exist for an empty feed, so it may have just been created without a TTL
+            local ttl = redis.call('PTTL', KEYS[2])
+            if ttl > 0 then
+                redis.call('PEXPIRE', KEYS[1], ttl)
+            end
+            return 1
+            """, Long.class);
+
+    // KEYS: index, entries, version. ARGV: ttl seconds, activity id
+    private static final RedisScript<Long> REMOVE_SCRIPT = new DefaultRedisScript<>("""
+            redis.call('INCR', KEYS[3])
+            redis.call('EXPIRE', KEYS[3], ARGV[1])
+            if redis.call('HEXISTS', KEYS[2], 'built') == 0 then
+                return 0
+            end
+            redis.call('ZREM', KEYS[1], ARGV[2])
+            redis.call('HDEL', KEYS[2], ARGV[2])
+            return 1
+            """, Long.class);
+
+    // KEYS: index, entries. ARGV: activity id, entry seen expired, per activity
+    private static final RedisScript<Long> PRUNE_SCRIPT = new DefaultRedisScript<>("""
+            local pruned = 0
+            for i = 1, #ARGV, 2 do
+                if redis.call('HGET', KEYS[2], ARGV[i]) == ARGV[i + 1] then
+                    redis.call('ZREM', KEYS[1], ARGV[i])
+                    redis.call('HDEL', KEYS[2], ARGV[i])
+                    pruned = pruned + 1
+                end
+            end
+            return pruned
+            """, Long.class);
+
+    // KEYS: index, entries, version. ARGV: ttl seconds
+    private static final RedisScript<Long> EVICT_SCRIPT = new DefaultRedisScript<>("""
+            redis.call('DEL', KEYS[1], KEYS[2])
+            redis.call('INCR', KEYS[3])
+            redis.call('EXPIRE', KEYS[3], ARGV[1])
+            return 1
+            """, Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final ILogger logger;
+
+    @Autowired
+    public RedisFeedIndexStore(StringRedisTemplate redisTemplate, ILogger logger) {
+        this.redisTemplate = redisTemplate;
+        this.logger = logger;
+    }
+
+    @Override
+    public long version(UUID userId) {
+        String version = redisTemplate.opsForValue().get(versionKey(userId));
+        return version == null ? 0 : Long.parseLong(version);
+    }
+
+    @Override
+    public boolean replace(UUID userId, Collection<FeedIndexEntry> entries, long expectedVersion) {
+        List<String> args = new ArrayList<>(2 + entries.size() * 3);
+        args.add(String.valueOf(expectedVersion));
+        args.add(String.valueOf(INDEX_TTL.toSeconds()));
+        for (FeedIndexEntry entry : entries) {
+            args.add(entry.activityId().toString());
+            args.add(String.valueOf(entry.startTimeMillis()));
+            args.add(encode(entry));
+        }
+        Long stored = redisTemplate.execute(REPLACE_SCRIPT, keys(userId), args.toArray());
+        return stored != null && stored == 1;
+    }
+
+    @Override
+    public void upsert(UUID userId, FeedIndexEntry entry) {
+        redisTemplate.execute(UPSERT_SCRIPT, keys(userId), String.valueOf(INDEX_TTL.toSeconds()),
+                entry.activityId().toString(), String.valueOf(entry.startTimeMillis()), encode(entry));
+    }
+
+    @Override
+    public void remove(UUID userId, UUID activityId) {
+        redisTemplate.execute(REMOVE_SCRIPT, keys(userId), String.valueOf(INDEX_TTL.toSeconds()), activityId.toString());
+    }
+
+    @Override
+    public Optional<List<FeedIndexEntry>> range(UUID userId, long nowMillis) {
+        // Entries are read before the index: an activity upserted in between has no entry yet and is
+        // left out, as if the feed had been read a moment earlier
+        Map<Object, Object> encodedEntries = redisTemplate.opsForHash().entries(entriesKey(userId));
+        if (!encodedEntries.containsKey(BUILT_FIELD)) {
+            return Optional.empty();
+        }
+        Set<TypedTuple<String>> members = redisTemplate.opsForZSet().rangeWithScores(indexKey(userId), 0, -1);
+        if (members == null) {
+            members = Set.of();
+        }
+
+        List<FeedIndexEntry> live = new ArrayList<>(members.size());
+        List<String> expired = new ArrayList<>();
+        for (TypedTuple<String> tuple : members) {
+            String activityId = tuple.getValue();
+            Object encoded = activityId == null ? null : encodedEntries.get(activityId);
+            if (encoded == null) {
+                continue;
+            }
+            FeedIndexEntry entry = decode(activityId, (String) encoded, tuple.getScore());
+            if (entry == null || !entry.isLiveAt(nowMillis)) {
+                expired.add(activityId);
+                expired.add((String) encoded);
+            } else {
+                live.add(entry);
+            }
+        }
+
+        if (!expired.isEmpty()) {
+            // Only removes entries still as read, so an activity updated meanwhile is kept
+            redisTemplate.execute(PRUNE_SCRIPT, List.of(indexKey(userId), entriesKey(userId)), expired.toArray());
+        }
+        return Optional.of(live);
+    }
+
+    @Override
+    public void evict(UUID userId) {
+        redisTemplate.execute(EVICT_SCRIPT, keys(userId), String.valueOf(INDEX_TTL.toSeconds()));
+    }
+
+    private static List<String> keys(UUID userId) {
+        return List.of(indexKey(userId), entriesKey(userId), versionKey(userId));
+    }
+
+    private static String indexKey(UUID userId) {
+        return KEY_PREFIX + userId;
+    }
+
+    private static String entriesKey(UUID userId) {
+        return KEY_PREFIX + userId + ":entries";
+    }
+
+    private static String versionKey(UUID userId) {
+        return KEY_PREFIX + userId + ":version";
+    }
+
+    private static String encode(FeedIndexEntry entry) {
+        return entry.role().name() + SEPARATOR + entry.expiresAtMillis();
+    }
+
+    private FeedIndexEntry decode(String activityId, String encoded, Double score) {
+        try {
+            String[] parts = encoded.split("\\|");
+            long startTimeMillis = score != null ? score.longValue() : Long.MAX_VALUE;
+            return new FeedIndexEntry(UUID.fromString(activityId), FeedIndexEntry.Role.valueOf(parts[0]), startTimeMillis, Long.parseLong(parts[1]));
+        } catch (RuntimeException e) {
+            logger.warn("Dropping malformed feed index entry: " + activityId + " " + encoded);
+            return null;
+        }
+    }
+}
@@ -1,11 +1,17 @@
 package com.danielagapov.spawn.analytics.internal.services;
 
+import com.danielagapov.spawn.activity.api.dto.AbstractActivityDTO;
 import com.danielagapov.spawn.activity.api.dto.ActivityTypeDTO;
+import com.danielagapov.spawn.analytics.internal.services.IClientCacheVersionStore.CategoryVersion;
+import com.danielagapov.spawn.shared.cache.CacheTags;
 import com.danielagapov.spawn.shared.config.CacheValidationResponseDTO;
+import com.danielagapov.spawn.shared.util.CacheEvictionHelper;
+import com.danielagapov.spawn.shared.util.CacheNames;
 import com.danielagapov.spawn.user.internal.domain.User;
 import com.danielagapov.spawn.user.internal.repositories.IUserRepository;
 import com.danielagapov.spawn.activity.api.IActivityService;
 import com.danielagapov.spawn.activity.internal.services.IActivityTypeService;
+import com.danielagapov.spawn.social.api.dto.AbstractFriendRequestDTO;
 import com.danielagapov.spawn.social.internal.services.IFriendRequestService;
 import com.danielagapov.spawn.user.internal.services.IUserService;
 import com.danielagapov.spawn.user.internal.services.IUserInterestService;
@@ -16,17 +22,32 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.CacheManager;
 import org.springframework.core.serializer.support.SerializationFailedException;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
 import java.time.Instant;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 /**
  * Service implementation for mobile cache validation.
@@ -39,6 +60,14 @@ import java.util.UUID;
 @Service
 public class CacheService implements ICacheService {
     private static final Logger logger = LoggerFactory.getLogger(CacheService.class);
+    private static final int MAX_INLINE_PAYLOAD_BYTES = 100_000;
+
+    /**
+     * Categories whose write paths bump a version (see ClientCacheVersionEventListener), so they
+     * can be validated by version and answered with deltas.
+     */
+    private static final List<CacheType> VERSIONED_CATEGORIES = List.of(
+            CacheType.EVENTS, CacheType.PROFILE_EVENTS, CacheType.FRIEND_REQUESTS, CacheType.SENT_FRIEND_REQUESTS);
     private final IUserRepository userRepository;
     private final IUserService userService;
     private final IActivityService ActivityService;
@@ -49,7 +78,11 @@ public class CacheService implements ICacheService {
     private final IUserInterestService userInterestService;
     private final IUserSocialMediaService userSocialMediaService;
     private final CacheManager cacheManager;
+    private final CacheEvictionHelper cacheEvictionHelper;
     private final IRecentlySpawnedService recentlySpawnedService;
+    private final IClientCacheVersionStore versionStore;
+    private final Executor validationExecutor;
+    private final Duration categoryTimeout;
 
     @Autowired
     public CacheService(
@@ -63,7 +96,11 @@ public class CacheService implements ICacheService {
             IUserInterestService userInterestService,
             IUserSocialMediaService userSocialMediaService,
             CacheManager cacheManager,
-            IRecentlySpawnedService recentlySpawnedService) {
+            CacheEvictionHelper cacheEvictionHelper,
+            IRecentlySpawnedService recentlySpawnedService,
+            IClientCacheVersionStore versionStore,
+            @Qualifier("cacheValidationExecutor") Executor validationExecutor,
+            @Value("${cache-validation.category-timeout:2s}") Duration categoryTimeout) {
         this.userRepository = userRepository;
         this.userService = userService;
         this.ActivityService = ActivityService;
@@ -74,7 +111,11 @@ public class CacheService implements ICacheService {
         this.userInterestService = userInterestService;
         this.userSocialMediaService = userSocialMediaService;
         this.cacheManager = cacheManager;
+        this.cacheEvictionHelper = cacheEvictionHelper;
         this.recentlySpawnedService = recentlySpawnedService;
+        this.versionStore = versionStore;
+        this.validationExecutor = validationExecutor;
+        this.categoryTimeout = categoryTimeout;
     }
 
     /**
@@ -92,6 +133,26 @@ public class CacheService implements ICacheService {
     @Override
     public Map<String, CacheValidationResponseDTO> validateCache(
             UUID userId, Map<String, String> clientCacheTimestamps) {
+        return validateCache(userId, clientCacheTimestamps, null);
+    }
+
+    /**
+     * Validates client cache against server data, by version for the categories the client sent a
+     * version for and by timestamp for the rest.
+     * <p>
+     * All versioned categories are read in a single round trip before any data is loaded, so a write
+     * that commits while the response is being built is sent again on the next validation rather
+     * than missed. Timestamp answers for versioned categories carry the current version, which the
+     * client sends instead of a timestamp from then on.
+     *
+     * @param userId                The user ID requesting cache validation
+     * @param clientCacheTimestamps Map of cache category names to their last update timestamps
+     * @param clientCacheVersions   Map of cache category names to the version last received, may be null
+     * @return Map of cache category names to validation response objects
+     */
+    @Override
+    public Map<String, CacheValidationResponseDTO> validateCache(
+            UUID userId, Map<String, String> clientCacheTimestamps, Map<String, Long> clientCacheVersions) {
 
         Map<String, CacheValidationResponseDTO> response = new HashMap<>();
         User user = userRepository.findById(userId).orElse(null);
@@ -102,7 +163,7 @@ public class CacheService implements ICacheService {
         }
 
         // Handle null clientCacheTimestamps
-        if (clientCacheTimestamps == null) {
+        if (clientCacheTimestamps == null && clientCacheVersions == null) {
             logger.warn("Client cache timestamps is null for user: {}", userId);
             // Return response with all caches marked as needing refresh
             response.put(CacheType.FRIENDS.getKey(), new CacheValidationResponseDTO(true, null));
@@ -121,76 +182,255 @@ public class CacheService implements ICacheService {
             return response;
         }
 
+        Map<String, CategoryVersion> serverVersions = getServerVersions(userId);
+        Map<String, Supplier<CacheValidationResponseDTO>> validators = new LinkedHashMap<>();
+
+        if (clientCacheVersions != null) {
+            clientCacheVersions.forEach((category, clientVersion) -> {
+                CacheType cacheType = CacheType.fromKey(category);
+                CategoryVersion serverVersion = serverVersions.get(category);
+                if (cacheType != null && clientVersion != null && serverVersion != null) {
+                    validators.put(category, () -> validateCacheWithVersion(user, cacheType, clientVersion, serverVersion));
+                }
+            });
+        }
+
+        Map<String, String> remainingTimestamps = new HashMap<>();
+        if (clientCacheTimestamps != null) {
+            remainingTimestamps.putAll(clientCacheTimestamps);
+            remainingTimestamps.keySet().removeAll(validators.keySet());
+            addTimestampValidators(user, remainingTimestamps, validators);
+        }
+
+        response.putAll(runValidators(userId, validators));
+
+        for (String category : remainingTimestamps.keySet()) {
+            CacheValidationResponseDTO validation = response.get(category);
+            CategoryVersion serverVersion = serverVersions.get(category);
+            if (validation != null && serverVersion != null) {
+                validation.setVersion(serverVersion.version());
+            }
+        }
+
+        // Versions the server no longer has a counter for, with no timestamp to fall back on
+        if (clientCacheVersions != null) {
+            for (String category : clientCacheVersions.keySet()) {
+                response.putIfAbsent(category, new CacheValidationResponseDTO(true, null));
+            }
+        }
+
+        return response;
+    }
+
+    /**
+     * Runs the category validators concurrently on the validation executor and waits for all of them.
+     * <p>
+     * Each validator gets its own deadline, counted from when it was submitted; a category that misses
+     * it, or whose validator fails, is answered with invalidate=true and no data so the client refetches
+     * it through the regular endpoint. A validator that misses its deadline still runs to completion in
+     * the background, which the bounded executor keeps in check. When the executor is saturated the
+     * validator runs on the request thread instead, as before.
+     */
+    private Map<String, CacheValidationResponseDTO> runValidators(
+            UUID userId, Map<String, Supplier<CacheValidationResponseDTO>> validators) {
+        Map<String, CompletableFuture<CacheValidationResponseDTO>> futures = new LinkedHashMap<>();
+        validators.forEach((category, validator) -> futures.put(category, submitValidator(userId, category, validator)));
+
+        Map<String, CacheValidationResponseDTO> results = new HashMap<>();
+        futures.forEach((category, future) -> results.put(category, future.join()));
+        return results;
+    }
+
+    private CompletableFuture<CacheValidationResponseDTO> submitValidator(
+            UUID userId, String category, Supplier<CacheValidationResponseDTO> validator) {
+        CompletableFuture<CacheValidationResponseDTO> future;
+        try {
+            future = CompletableFuture.supplyAsync(validator, validationExecutor);
+        } catch (RejectedExecutionException e) {
+            logger.warn("Cache validation executor is saturated, validating {} for user {} on the request thread",
+                    category, userId);
+            future = CompletableFuture.supplyAsync(validator, Runnable::run);
+        }
+        return future
+                .orTimeout(categoryTimeout.toMillis(), TimeUnit.MILLISECONDS)
+                .exceptionally(e -> {
+                    Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+                    if (cause instanceof TimeoutException) {
+                        logger.warn("Validating {} cache for user {} took longer than {} ms, asking the client to refetch",
+                                category, userId, categoryTimeout.toMillis());
+                    } else {
+                        logger.error("Error validating {} cache for user {}: {}", category, userId, cause.getMessage());
+                    }
+                    return new CacheValidationResponseDTO(true, null);
+                });
+    }
+
+    /**
+     * Adds a validator for each category the client sent a timestamp for, which compares it against
+     * the server's latest change.
+     */
+    private void addTimestampValidators(
+            User user, Map<String, String> clientCacheTimestamps,
+            Map<String, Supplier<CacheValidationResponseDTO>> validators) {
         // Validate friends cache
         if (clientCacheTimestamps.containsKey(CacheType.FRIENDS.getKey())) {
-            response.put(CacheType.FRIENDS.getKey(), validateFriendsCache(user, clientCacheTimestamps.get(CacheType.FRIENDS.getKey())));
+            validators.put(CacheType.FRIENDS.getKey(), () -> validateFriendsCache(user, clientCacheTimestamps.get(CacheType.FRIENDS.getKey())));
         }
 
         // Validate events cache
         if (clientCacheTimestamps.containsKey(CacheType.EVENTS.getKey())) {
-            response.put(CacheType.EVENTS.getKey(), validateEventsCache(user, clientCacheTimestamps.get(CacheType.EVENTS.getKey())));
+            validators.put(CacheType.EVENTS.getKey(), () -> validateEventsCache(user, clientCacheTimestamps.get(CacheType.EVENTS.getKey())));
         }
 
         // Validate activity types cache
         if (clientCacheTimestamps.containsKey(CacheType.ACTIVITY_TYPES.getKey())) {
-            response.put(CacheType.ACTIVITY_TYPES.getKey(), validateActivityTypesCache(user, clientCacheTimestamps.get(CacheType.ACTIVITY_TYPES.getKey())));
+            validators.put(CacheType.ACTIVITY_TYPES.getKey(), () -> validateActivityTypesCache(user, clientCacheTimestamps.get(CacheType.ACTIVITY_TYPES.getKey())));
         }
 
         // Validate profile picture cache
         if (clientCacheTimestamps.containsKey(CacheType.PROFILE_PICTURE.getKey())) {
-            response.put(CacheType.PROFILE_PICTURE.getKey(), validateProfilePictureCache(user, clientCacheTimestamps.get(CacheType.PROFILE_PICTURE.getKey())));
+            validators.put(CacheType.PROFILE_PICTURE.getKey(), () -> validateProfilePictureCache(user, clientCacheTimestamps.get(CacheType.PROFILE_PICTURE.getKey())));
         }
 
         // Validate other profiles cache
         if (clientCacheTimestamps.containsKey(CacheType.OTHER_PROFILES.getKey())) {
-            response.put(CacheType.OTHER_PROFILES.getKey(), validateOtherProfilesCache(user, clientCacheTimestamps.get(CacheType.OTHER_PROFILES.getKey())));
+            validators.put(CacheType.OTHER_PROFILES.getKey(), () -> validateOtherProfilesCache(user, clientCacheTimestamps.get(CacheType.OTHER_PROFILES.getKey())));
         }
 
         // Validate recommended friends cache
         if (clientCacheTimestamps.containsKey(CacheType.RECOMMENDED_FRIENDS.getKey())) {
-            response.put(CacheType.RECOMMENDED_FRIENDS.getKey(), validateRecommendedFriendsCache(user, clientCacheTimestamps.get(CacheType.RECOMMENDED_FRIENDS.getKey())));
+            validators.put(CacheType.RECOMMENDED_FRIENDS.getKey(), () -> validateRecommendedFriendsCache(user, clientCacheTimestamps.get(CacheType.RECOMMENDED_FRIENDS.getKey())));
         }
 
         // Validate friend requests cache
         if (clientCacheTimestamps.containsKey(CacheType.FRIEND_REQUESTS.getKey())) {
-            response.put(CacheType.FRIEND_REQUESTS.getKey(), validateFriendRequestsCache(user, clientCacheTimestamps.get(CacheType.FRIEND_REQUESTS.getKey())));
+            validators.put(CacheType.FRIEND_REQUESTS.getKey(), () -> validateFriendRequestsCache(user, clientCacheTimestamps.get(CacheType.FRIEND_REQUESTS.getKey())));
         }
 
         // Validate sent friend requests cache
         if (clientCacheTimestamps.containsKey(CacheType.SENT_FRIEND_REQUESTS.getKey())) {
-            response.put(CacheType.SENT_FRIEND_REQUESTS.getKey(), validateSentFriendRequestsCache(user, clientCacheTimestamps.get(CacheType.SENT_FRIEND_REQUESTS.getKey())));
+            validators.put(CacheType.SENT_FRIEND_REQUESTS.getKey(), () -> validateSentFriendRequestsCache(user, clientCacheTimestamps.get(CacheType.SENT_FRIEND_REQUESTS.getKey())));
         }
 
         // Validate recently-spawned cache
         if (clientCacheTimestamps.containsKey(CacheType.RECENTLY_SPAWNED.getKey())) {
-            response.put(CacheType.RECENTLY_SPAWNED.getKey(), validateRecentlySpawnedCache(user, clientCacheTimestamps.get(CacheType.RECENTLY_SPAWNED.getKey())));
+            validators.put(CacheType.RECENTLY_SPAWNED.getKey(), () -> validateRecentlySpawnedCache(user, clientCacheTimestamps.get(CacheType.RECENTLY_SPAWNED.getKey())));
         }
 
         // Validate profile stats cache
         if (clientCacheTimestamps.containsKey(CacheType.PROFILE_STATS.getKey())) {
-            response.put(CacheType.PROFILE_STATS.getKey(), validateProfileStatsCache(user, clientCacheTimestamps.get(CacheType.PROFILE_STATS.getKey())));
+            validators.put(CacheType.PROFILE_STATS.getKey(), () -> validateProfileStatsCache(user, clientCacheTimestamps.get(CacheType.PROFILE_STATS.getKey())));
         }
 
         // Validate profile interests cache
         if (clientCacheTimestamps.containsKey(CacheType.PROFILE_INTERESTS.getKey())) {
-            response.put(CacheType.PROFILE_INTERESTS.getKey(), validateProfileInterestsCache(user, clientCacheTimestamps.get(CacheType.PROFILE_INTERESTS.getKey())));
+            validators.put(CacheType.PROFILE_INTERESTS.getKey(), () -> validateProfileInterestsCache(user, clientCacheTimestamps.get(CacheType.PROFILE_INTERESTS.getKey())));
         }
 
         // Validate profile social media cache
         if (clientCacheTimestamps.containsKey(CacheType.PROFILE_SOCIAL_MEDIA.getKey())) {
-            response.put(CacheType.PROFILE_SOCIAL_MEDIA.getKey(), validateProfileSocialMediaCache(user, clientCacheTimestamps.get(CacheType.PROFILE_SOCIAL_MEDIA.getKey())));
+            validators.put(CacheType.PROFILE_SOCIAL_MEDIA.getKey(), () -> validateProfileSocialMediaCache(user, clientCacheTimestamps.get(CacheType.PROFILE_SOCIAL_MEDIA.getKey())));
         }
 
         // Validate profile events cache
         if (clientCacheTimestamps.containsKey(CacheType.PROFILE_EVENTS.getKey())) {
-            response.put(CacheType.PROFILE_EVENTS.getKey(), validateProfileEventsCache(user, clientCacheTimestamps.get(CacheType.PROFILE_EVENTS.getKey())));
+            validators.put(CacheType.PROFILE_EVENTS.getKey(), () -> validateProfileEventsCache(user, clientCacheTimestamps.get(CacheType.PROFILE_EVENTS.getKey())));
         }
-
-        return response;
     }
 
     // ========== Helper Methods for Cache Validation ==========
 
+    /**
+     * Reads the user's versions of all versioned categories in one round trip.
+     * A failed read leaves every category to timestamp validation.
+     */
+    private Map<String, CategoryVersion> getServerVersions(UUID userId) {
+        try {
+            return versionStore.getVersions(userId, VERSIONED_CATEGORIES.stream().map(CacheType::getKey).toList());
+        } catch (Exception e) {
+            logger.error("Error reading cache versions for user {}: {}", userId, e.getMessage());
+            return Map.of();
+        }
+    }
+
+    /**
+     * Cache validation method using the category's version counter.
+     * If the change log still covers the client's version, only the items changed since then are
+     * returned, along with the IDs of changed items that no longer belong to the category.
+     * Otherwise the whole category is returned as with timestamp validation.
+     *
+     * @param user The user requesting cache validation
+     * @param cacheType The type of cache being validated
+     * @param clientVersion The version the client's cache is at
+     * @param serverVersion The category's current version and change log floor
+     * @return Cache validation response carrying the current version
+     */
+    private CacheValidationResponseDTO validateCacheWithVersion(
+            User user,
+            CacheType cacheType,
+            long clientVersion,
+            CategoryVersion serverVersion) {
+        try {
+            if (clientVersion == serverVersion.version()) {
+                return new CacheValidationResponseDTO(false, null, serverVersion.version(), false, null);
+            }
+
+            DataSupplier itemsSupplier = getVersionedItemsSupplier(user, cacheType);
+            Set<UUID> changedIds = clientVersion < serverVersion.version() && clientVersion >= serverVersion.floor()
+                    ? versionStore.getChangedSince(user.getId(), cacheType.getKey(), clientVersion)
+                    : null;
+            if (itemsSupplier == null || changedIds == null) {
+                // A version from before the log's floor or from a lost counter: send the whole category
+                CacheValidationResponseDTO full = itemsSupplier == null
+                        ? new CacheValidationResponseDTO(true, null)
+                        : serializeAndCreateResponse(user, cacheType, itemsSupplier);
+                full.setVersion(serverVersion.version());
+                return full;
+            }
+
+            Function<Object, UUID> idOf = getVersionedItemId(cacheType);
+            List<Object> changedItems = new ArrayList<>();
+            Set<UUID> presentIds = new HashSet<>();
+            for (Object item : (List<?>) itemsSupplier.get()) {
+                UUID id = idOf.apply(item);
+                if (changedIds.contains(id)) {
+                    changedItems.add(item);
+                    presentIds.add(id);
+                }
+            }
+            List<UUID> removedIds = changedIds.stream().filter(id -> !presentIds.contains(id)).toList();
+
+            byte[] serializedItems = objectMapper.writeValueAsBytes(changedItems);
+            if (serializedItems.length < MAX_INLINE_PAYLOAD_BYTES) {
+                return new CacheValidationResponseDTO(true, serializedItems, serverVersion.version(), true, removedIds);
+            }
+            return new CacheValidationResponseDTO(true, null, serverVersion.version(), false, null);
+        } catch (Exception e) {
+            logger.error("Error validating {} cache by version for user {}: {}", cacheType.getDisplayName(), user.getId(), e.getMessage());
+            return new CacheValidationResponseDTO(true, null);
+        }
+    }
+
+    /**
+     * @return the full item list of a versioned category, or null if the category is not versioned
+     */
+    private DataSupplier getVersionedItemsSupplier(User user, CacheType cacheType) {
+        return switch (cacheType) {
+            case EVENTS -> () -> ActivityService.getFeedActivities(user.getId());
+            case PROFILE_EVENTS -> () -> ActivityService.getProfileActivities(user.getId(), user.getId());
+            case FRIEND_REQUESTS -> () -> friendRequestService.getIncomingFetchFriendRequestsByUserId(user.getId());
+            case SENT_FRIEND_REQUESTS -> () -> friendRequestService.getSentFetchFriendRequestsByUserId(user.getId());
+            default -> null;
+        };
+    }
+
+    private static Function<Object, UUID> getVersionedItemId(CacheType cacheType) {
+        return switch (cacheType) {
+            case EVENTS, PROFILE_EVENTS -> item -> ((AbstractActivityDTO) item).getId();
+            default -> item -> ((AbstractFriendRequestDTO) item).getId();
+        };
+    }
+
     /**
      * Generic cache validation method with timestamp comparison.
      * 
@@ -315,7 +555,7 @@ public class CacheService implements ICacheService {
             byte[] serializedData = objectMapper.writeValueAsBytes(data);
 
             // Only include data if it's not too large (limit to ~100KB)
-            if (serializedData.length < 100_000) {
+            if (serializedData.length < MAX_INLINE_PAYLOAD_BYTES) {
                 return new CacheValidationResponseDTO(true, serializedData);
             }
         } catch (Exception e) {
@@ -602,9 +842,8 @@ public class CacheService implements ICacheService {
                 cacheManager.getCache("feedActivities").evict(userId);
             }
 
-            if (cacheManager.getCache("fullActivityById") != null) {
-                cacheManager.getCache("fullActivityById").clear(); // Clear all entries as keys contain user IDs
-            }
+            // Keys contain the requesting user's ID, so this user's entries are found through their tag
+            cacheEvictionHelper.evictTagged(CacheTags.user(userId), CacheNames.FULL_ACTIVITY_BY_ID, CacheNames.FEED_ACTIVITY_BY_ID);
 
             if (cacheManager.getCache("ActivitiesByOwnerId") != null) {
                 cacheManager.getCache("ActivitiesByOwnerId").evict(userId);
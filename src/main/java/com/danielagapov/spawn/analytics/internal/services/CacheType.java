@@ -33,6 +33,20 @@ public enum CacheType {
         return key;
     }
 
+    /**
+     * Looks up the cache type for a key sent by the client.
+     *
+     * @return the matching cache type, or null for an unknown key
+     */
+    public static CacheType fromKey(String key) {
+        for (CacheType cacheType : values()) {
+            if (cacheType.key.equals(key)) {
+                return cacheType;
+            }
+        }
+        return null;
+    }
+
     /**
      * Gets a human-readable name for logging purposes.
      */
@@ -0,0 +1,142 @@
+package com.danielagapov.spawn.analytics.internal.services;
+
+import com.danielagapov.spawn.activity.api.IActivityService;
+import com.danielagapov.spawn.activity.internal.services.IActivityTypeService;
+import com.danielagapov.spawn.shared.config.CacheWarmupConfig;
+import com.danielagapov.spawn.shared.events.UserLifecycleEvents.UserSessionStartedEvent;
+import com.danielagapov.spawn.shared.util.UserStatus;
+import com.danielagapov.spawn.user.internal.domain.User;
+import com.danielagapov.spawn.user.internal.repositories.IUserRepository;
+import com.danielagapov.spawn.user.internal.services.IUserService;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Service that loads a user's hot caches (feed, activity types and recommended friends) before the
+ * user asks for them, so the first app open after a deploy, a Redis flush or a long absence does not
+ * pay for every cold load on the request path.
+ *
+ * Warming goes through the same cached service methods that requests use, so an entry that is
+ * already cached (for instance warmed by another instance) costs a single cache read. Everything runs
+ * on the small cacheWarmupExecutor pool, which drops work it has no room for rather than queueing it.
+ */
+@Service
+public class CacheWarmupService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CacheWarmupService.class);
+
+    private final IActivityService activityService;
+    private final IActivityTypeService activityTypeService;
+    private final IUserService userService;
+    private final IUserRepository userRepository;
+    private final IRecentSessionStore sessionStore;
+    private final CacheWarmupConfig config;
+    // Users warmed for a session recently, so that frequent token refreshes don't warm them again
+    private final Cache<UUID, Boolean> recentlyWarmed;
+
+    @Autowired
+    public CacheWarmupService(IActivityService activityService, IActivityTypeService activityTypeService,
+                              IUserService userService, IUserRepository userRepository,
+                              IRecentSessionStore sessionStore, CacheWarmupConfig config) {
+        this.activityService = activityService;
+        this.activityTypeService = activityTypeService;
+        this.userService = userService;
+        this.userRepository = userRepository;
+        this.sessionStore = sessionStore;
+        this.config = config;
+        this.recentlyWarmed = Caffeine.newBuilder()
+                .expireAfterWrite(config.getSessionInterval())
+                .maximumSize(100_000)
+                .build();
+    }
+
+    /**
+     * Records the session and warms the user's caches, unless they were warmed within the session interval.
+     */
+    @Async("cacheWarmupExecutor")
+    @EventListener
+    public void handleUserSessionStartedEvent(UserSessionStartedEvent event) {
+        if (!config.isEnabled()) {
+            return;
+        }
+        try {
+            UUID userId = resolveUserId(event.usernameOrEmail());
+            sessionStore.recordSession(userId, Instant.now());
+            if (recentlyWarmed.asMap().putIfAbsent(userId, Boolean.TRUE) == null) {
+                warmUser(userId);
+            }
+        } catch (Exception e) {
+            logger.warn("Failed to warm caches for session of {}: {}", event.usernameOrEmail(), e.getMessage());
+        }
+    }
+
+    /**
+     * Warms the caches of the users with the most recent sessions, at most usersPerSecond users per second.
+     * Falls back to the most recently updated active users when no sessions are recorded, e.g. after a Redis flush.
+     */
+    @Async("cacheWarmupExecutor")
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmRecentlyActiveUsers() {
+        if (!config.isEnabled() || config.getStartupUsers() <= 0) {
+            return;
+        }
+        List<UUID> userIds = sessionStore.getMostRecent(config.getStartupUsers());
+        if (userIds.isEmpty()) {
+            userIds = userRepository.findByStatusOrderByLastUpdatedDesc(UserStatus.ACTIVE, Limit.of(config.getStartupUsers()))
+                    .stream()
+                    .map(User::getId)
+                    .toList();
+        }
+
+        logger.info("Warming caches for {} recently active users at {} users/s", userIds.size(), config.getUsersPerSecond());
+        long intervalNanos = 1_000_000_000L / Math.max(1, config.getUsersPerSecond());
+        long nextStart = System.nanoTime();
+        int warmed = 0;
+        for (UUID userId : userIds) {
+            long waitNanos = nextStart - System.nanoTime();
+            if (waitNanos > 0) {
+                try {
+                    Thread.sleep(waitNanos / 1_000_000, (int) (waitNanos % 1_000_000));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    logger.info("Startup cache warm-up interrupted after {} users", warmed);
+                    return;
+                }
+            }
+            nextStart += intervalNanos;
+            try {
+                warmUser(userId);
+                warmed++;
+            } catch (Exception e) {
+                logger.warn("Failed to warm caches for user {}: {}", userId, e.getMessage());
+            }
+        }
+        logger.info("Startup cache warm-up finished, warmed {} of {} users", warmed, userIds.size());
+    }
+
+    private void warmUser(UUID userId) {
+        // The feed endpoint streams per-activity cards, so reading the stream through fills their cache
+        activityService.streamFeedActivities(userId).forEachChunk(chunk -> { });
+        activityTypeService.getActivityTypesByUserId(userId);
+        userService.getLimitedRecommendedFriendsForUserId(userId);
+    }
+
+    private UUID resolveUserId(String usernameOrEmail) {
+        User user = usernameOrEmail.contains("@")
+                ? userService.getUserByEmail(usernameOrEmail)
+                : userService.getUserEntityByUsername(usernameOrEmail);
+        return user.getId();
+    }
+}
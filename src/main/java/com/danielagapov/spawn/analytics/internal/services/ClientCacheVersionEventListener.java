@@ -0,0 +1,57 @@
+package com.danielagapov.spawn.analytics.internal.services;
+
+import com.danielagapov.spawn.shared.events.ClientCacheEvents.ActivityChangedEvent;
+import com.danielagapov.spawn.shared.events.ClientCacheEvents.FriendRequestChangedEvent;
+import com.danielagapov.spawn.shared.exceptions.Logger.ILogger;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Event listener for Analytics module that bumps the client cache versions of the users a write
+ * affected, once the write has committed.
+ */
+@Service
+public class ClientCacheVersionEventListener {
+
+    private final IClientCacheVersionStore versionStore;
+    private final ILogger logger;
+
+    public ClientCacheVersionEventListener(IClientCacheVersionStore versionStore, ILogger logger) {
+        this.versionStore = versionStore;
+        this.logger = logger;
+    }
+
+    /**
+     * Bumps the feed and profile activity versions of everyone who sees the activity.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void handleActivityChangedEvent(ActivityChangedEvent event) {
+        List<UUID> changed = List.of(event.activityId());
+        for (UUID userId : event.userIds()) {
+            bump(userId, CacheType.EVENTS, changed);
+            bump(userId, CacheType.PROFILE_EVENTS, changed);
+        }
+    }
+
+    /**
+     * Bumps the receiver's incoming and the sender's sent friend request versions.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void handleFriendRequestChangedEvent(FriendRequestChangedEvent event) {
+        List<UUID> changed = List.of(event.friendRequestId());
+        bump(event.receiverId(), CacheType.FRIEND_REQUESTS, changed);
+        bump(event.senderId(), CacheType.SENT_FRIEND_REQUESTS, changed);
+    }
+
+    private void bump(UUID userId, CacheType category, List<UUID> changedItemIds) {
+        try {
+            versionStore.bump(userId, category.getKey(), changedItemIds);
+        } catch (Exception e) {
+            // The client keeps its cached copy until the category's next change
+            logger.error("Failed to bump " + category.getDisplayName() + " cache version for user " + userId + ": " + e.getMessage());
+        }
+    }
+}
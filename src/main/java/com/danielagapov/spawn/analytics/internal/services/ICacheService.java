@@ -23,4 +23,17 @@ public interface ICacheService {
      * Note: Notifications are always invalidated (not cached) to ensure real-time delivery.
      */
     Map<String, CacheValidationResponseDTO> validateCache(UUID userId, Map<String, String> clientCacheTimestamps);
+
+    /**
+     * Validates client cache against server data, using versions where the client has them.
+     * Versioned categories are answered from a single read of the user's version counters, with
+     * only the items changed since the client's version; the rest fall back to timestamps.
+     *
+     * @param userId The user ID requesting cache validation
+     * @param clientCacheTimestamps Map of cache category names to their last update timestamps
+     * @param clientCacheVersions Map of cache category names to the version last received, may be null
+     * @return Map of cache category names to validation response objects
+     */
+    Map<String, CacheValidationResponseDTO> validateCache(UUID userId, Map<String, String> clientCacheTimestamps,
+                                                          Map<String, Long> clientCacheVersions);
 } 
\ No newline at end of file
@@ -0,0 +1,45 @@
+package com.danielagapov.spawn.analytics.internal.services;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Per-user, per-category version counters for the data mobile clients cache, together with a log
+ * of which items changed at which version so validation can answer with just those items.
+ *
+ * Versions only ever increase, including across a loss of the store's data: a counter that has to
+ * be recreated starts from a time-based value above any version handed out before.
+ */
+public interface IClientCacheVersionStore {
+
+    /**
+     * @param version the category's current version
+     * @param floor   the oldest client version the change log can still answer from
+     */
+    record CategoryVersion(long version, long floor) {}
+
+    /**
+     * Bumps the user's version of the category and records the changed items at the new version.
+     *
+     * @return the new version
+     */
+    long bump(UUID userId, String category, Collection<UUID> changedItemIds);
+
+    /**
+     * Reads the user's versions of all the given categories in one round trip.
+     *
+     * @return versions by category; categories that were never bumped are absent
+     */
+    Map<String, CategoryVersion> getVersions(UUID userId, Collection<String> categories);
+
+    /**
+     * Callers compare the version with the category's floor from {@link #getVersions} first; below
+     * the floor the returned set may be incomplete.
+     *
+     * @return the items of the category changed after the given version, or null when the store
+     * knows the change log no longer reaches back that far
+     */
+    Set<UUID> getChangedSince(UUID userId, String category, long version);
+}
@@ -0,0 +1,22 @@
+package com.danielagapov.spawn.analytics.internal.services;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Record of when users last started a session, bounded to the most recent ones, so that caches can
+ * be warmed for the users most likely to open the app next.
+ */
+public interface IRecentSessionStore {
+
+    /**
+     * Records that the user started a session at the given time, replacing any earlier record.
+     */
+    void recordSession(UUID userId, Instant startedAt);
+
+    /**
+     * @return up to limit user IDs, the most recent session first
+     */
+    List<UUID> getMostRecent(int limit);
+}
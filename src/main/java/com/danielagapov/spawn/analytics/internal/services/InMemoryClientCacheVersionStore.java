@@ -0,0 +1,88 @@
+package com.danielagapov.spawn.analytics.internal.services;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Local stand-in for the Redis version store, used whenever the application is not backed by Redis
+ * (dev and test profiles).
+ */
+@Component
+@ConditionalOnExpression("'${spring.cache.type:simple}' != 'redis'")
+public class InMemoryClientCacheVersionStore implements IClientCacheVersionStore {
+    private static final int MAX_LOG_ITEMS = 500;
+
+    private final Map<String, CategoryLog> logs = new ConcurrentHashMap<>();
+
+    @Override
+    public long bump(UUID userId, String category, Collection<UUID> changedItemIds) {
+        CategoryLog log = logs.computeIfAbsent(key(userId, category),
+                ignored -> new CategoryLog(System.currentTimeMillis() * 1000));
+        synchronized (log) {
+            long version = ++log.version;
+            for (UUID itemId : changedItemIds) {
+                // Re-inserting moves the item to the end, keeping the map ordered by version
+                log.changedAt.remove(itemId);
+                log.changedAt.put(itemId, version);
+            }
+            Iterator<Map.Entry<UUID, Long>> oldest = log.changedAt.entrySet().iterator();
+            while (log.changedAt.size() > MAX_LOG_ITEMS) {
+                log.floor = oldest.next().getValue();
+                oldest.remove();
+            }
+            return version;
+        }
+    }
+
+    @Override
+    public Map<String, CategoryVersion> getVersions(UUID userId, Collection<String> categories) {
+        Map<String, CategoryVersion> versions = new HashMap<>();
+        for (String category : categories) {
+            CategoryLog log = logs.get(key(userId, category));
+            if (log != null) {
+                synchronized (log) {
+                    versions.put(category, new CategoryVersion(log.version, log.floor));
+                }
+            }
+        }
+        return versions;
+    }
+
+    @Override
+    public Set<UUID> getChangedSince(UUID userId, String category, long version) {
+        CategoryLog log = logs.get(key(userId, category));
+        if (log == null) {
+            return null;
+        }
+        synchronized (log) {
+            if (version < log.floor) {
+                return null;
+            }
+            Set<UUID> changed = new HashSet<>();
+            log.changedAt.forEach((itemId, changedAt) -> {
+                if (changedAt > version) {
+                    changed.add(itemId);
+                }
+            });
+            return changed;
+        }
+    }
+
+    private static String key(UUID userId, String category) {
+        return userId + ":" + category;
+    }
+
+    private static class CategoryLog {
+        private long version;
+        private long floor;
+        private final LinkedHashMap<UUID, Long> changedAt = new LinkedHashMap<>();
+
+        CategoryLog(long base) {
+            this.version = base;
+            this.floor = base;
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.danielagapov.spawn.analytics.internal.services;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Local stand-in for the Redis session store, used whenever the application is not backed by Redis
+ * (dev and test profiles). Sessions are kept in arrival order, which is session order.
+ */
+@Component
+@ConditionalOnExpression("'${spring.cache.type:simple}' != 'redis'")
+public class InMemoryRecentSessionStore implements IRecentSessionStore {
+    private static final int MAX_USERS = 10_000;
+
+    private final LinkedHashMap<UUID, Instant> sessions = new LinkedHashMap<>();
+
+    @Override
+    public synchronized void recordSession(UUID userId, Instant startedAt) {
+        // Re-inserting moves the user to the end, keeping the map ordered by session start
+        sessions.remove(userId);
+        sessions.put(userId, startedAt);
+        Iterator<UUID> oldest = sessions.keySet().iterator();
+        while (sessions.size() > MAX_USERS) {
+            oldest.next();
+            oldest.remove();
+        }
+    }
+
+    @Override
+    public synchronized List<UUID> getMostRecent(int limit) {
+        List<UUID> userIds = new ArrayList<>(sessions.keySet());
+        List<UUID> mostRecent = new ArrayList<>();
+        for (int i = userIds.size() - 1; i >= 0 && mostRecent.size() < limit; i--) {
+            mostRecent.add(userIds.get(i));
+        }
+        return mostRecent;
+    }
+}
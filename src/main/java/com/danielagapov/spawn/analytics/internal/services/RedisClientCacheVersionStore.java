@@ -0,0 +1,113 @@
+package com.danielagapov.spawn.analytics.internal.services;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.*;
+
+/**
+ * Redis-backed version store, shared by every instance of the application.
+ *
+ * A user's versions live in one hash, "spawn:cachever:{userId}", with a "{category}" field holding
+ * the version and a "{category}:floor" field holding the oldest version the change log can answer
+ * from. Each category's change log is a sorted set, "spawn:cachelog:{userId}:{category}", of item
+ * IDs scored by the version that last changed them, capped at MAX_LOG_ITEMS.
+ *
+ * A bump runs as one script so that a reader never sees a version whose items are not logged yet.
+ */
+@Component
+@ConditionalOnProperty(name = "spring.cache.type", havingValue = "redis")
+public class RedisClientCacheVersionStore implements IClientCacheVersionStore {
+    private static final String VERSION_KEY_PREFIX = "spawn:cachever:";
+    private static final String LOG_KEY_PREFIX = "spawn:cachelog:";
+    private static final String FLOOR_SUFFIX = ":floor";
+    private static final int MAX_LOG_ITEMS = 500;
+    private static final Duration TTL = Duration.ofDays(30);
+
+    // KEYS: version hash, change log. ARGV: category, base version, max log size, TTL millis, item IDs...
+    private static final RedisScript<Long> BUMP_SCRIPT = new DefaultRedisScript<>("""
+            if redis.call('HSETNX', KEYS[1], ARGV[1], ARGV[2]) == 1 then
+                redis.call('HSET', KEYS[1], ARGV[1] .. ':floor', ARGV[2])
+            end
+            local version = redis.call('HINCRBY', KEYS[1], ARGV[1], 1)
+            for i = 5, #ARGV do
+                redis.call('ZADD', KEYS[2], version, ARGV[i])
+            end
+            local excess = redis.call('ZCARD', KEYS[2]) - tonumber(ARGV[3])
+            if excess > 0 then
+                local newest_dropped = redis.call('ZRANGE', KEYS[2], excess - 1, excess - 1, 'WITHSCORES')
+                redis.call('ZREMRANGEBYRANK', KEYS[2], 0, excess - 1)
+                redis.call('HSET', KEYS[1], ARGV[1] .. ':floor', newest_dropped[2])
+            end
+            redis.call('PEXPIRE', KEYS[1], ARGV[4])
+            redis.call('PEXPIRE', KEYS[2], ARGV[4])
+            return version
+            """, Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+
+    @Autowired
+    public RedisClientCacheVersionStore(StringRedisTemplate redisTemplate) {
+        this.redisTemplate = redisTemplate;
+    }
+
+    @Override
+    public long bump(UUID userId, String category, Collection<UUID> changedItemIds) {
+        List<String> args = new ArrayList<>(changedItemIds.size() + 4);
+        args.add(category);
+        // Microseconds since the epoch: above every version issued before a counter was lost
+        args.add(String.valueOf(System.currentTimeMillis() * 1000));
+        args.add(String.valueOf(MAX_LOG_ITEMS));
+        args.add(String.valueOf(TTL.toMillis()));
+        changedItemIds.forEach(itemId -> args.add(itemId.toString()));
+        Long version = redisTemplate.execute(BUMP_SCRIPT,
+                List.of(versionKey(userId), logKey(userId, category)), args.toArray());
+        return version == null ? 0 : version;
+    }
+
+    @Override
+    public Map<String, CategoryVersion> getVersions(UUID userId, Collection<String> categories) {
+        List<Object> fields = new ArrayList<>(categories.size() * 2);
+        for (String category : categories) {
+            fields.add(category);
+            fields.add(category + FLOOR_SUFFIX);
+        }
+        List<Object> values = redisTemplate.opsForHash().multiGet(versionKey(userId), fields);
+        Map<String, CategoryVersion> versions = new HashMap<>();
+        int i = 0;
+        for (String category : categories) {
+            Object version = values.get(i++);
+            Object floor = values.get(i++);
+            if (version != null) {
+                versions.put(category, new CategoryVersion(Long.parseLong(version.toString()),
+                        floor == null ? Long.MAX_VALUE : Long.parseLong(floor.toString())));
+            }
+        }
+        return versions;
+    }
+
+    @Override
+    public Set<UUID> getChangedSince(UUID userId, String category, long version) {
+        Set<String> itemIds = redisTemplate.opsForZSet()
+                .rangeByScore(logKey(userId, category), version + 1, Double.POSITIVE_INFINITY);
+        if (itemIds == null) {
+            return null;
+        }
+        Set<UUID> changed = new HashSet<>();
+        itemIds.forEach(itemId -> changed.add(UUID.fromString(itemId)));
+        return changed;
+    }
+
+    private static String versionKey(UUID userId) {
+        return VERSION_KEY_PREFIX + userId;
+    }
+
+    private static String logKey(UUID userId, String category) {
+        return LOG_KEY_PREFIX + userId + ":" + category;
+    }
+}
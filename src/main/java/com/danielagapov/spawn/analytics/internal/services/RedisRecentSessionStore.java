@@ -0,0 +1,52 @@
+package com.danielagapov.spawn.analytics.internal.services;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Redis-backed session store, shared by every instance of the application so a freshly deployed
+ * instance knows who was active before it started.
+ *
+ * Sessions live in one sorted set, "spawn:sessions:recent", of user IDs scored by session start in
+ * epoch millis and capped at MAX_USERS.
+ */
+@Component
+@ConditionalOnProperty(name = "spring.cache.type", havingValue = "redis")
+public class RedisRecentSessionStore implements IRecentSessionStore {
+    private static final String KEY = "spawn:sessions:recent";
+    private static final int MAX_USERS = 10_000;
+
+    private final StringRedisTemplate redisTemplate;
+
+    @Autowired
+    public RedisRecentSessionStore(StringRedisTemplate redisTemplate) {
+        this.redisTemplate = redisTemplate;
+    }
+
+    @Override
+    public void recordSession(UUID userId, Instant startedAt) {
+        redisTemplate.opsForZSet().add(KEY, userId.toString(), startedAt.toEpochMilli());
+        // Drop everyone but the MAX_USERS most recent sessions
+        redisTemplate.opsForZSet().removeRange(KEY, 0, -MAX_USERS - 1);
+    }
+
+    @Override
+    public List<UUID> getMostRecent(int limit) {
+        Set<String> members = redisTemplate.opsForZSet().reverseRange(KEY, 0, limit - 1);
+        List<UUID> userIds = new ArrayList<>();
+        if (members != null) {
+            for (String member : members) {
+                userIds.add(UUID.fromString(member));
+            }
+        }
+        return userIds;
+    }
+}
@@ -7,6 +7,7 @@ import com.danielagapov.spawn.shared.util.EntityType;
 import com.danielagapov.spawn.shared.util.OAuthProvider;
 import com.danielagapov.spawn.shared.util.UserField;
 import com.danielagapov.spawn.shared.util.UserStatus;
+import com.danielagapov.spawn.shared.events.UserLifecycleEvents.UserSessionStartedEvent;
 import com.danielagapov.spawn.shared.exceptions.Base.BaseNotFoundException;
 import com.danielagapov.spawn.shared.exceptions.*;
 import com.danielagapov.spawn.shared.exceptions.Logger.ILogger;
@@ -23,6 +24,7 @@ import com.danielagapov.spawn.shared.util.LoggingUtils;
 import com.danielagapov.spawn.shared.util.PhoneNumberValidator;
 import com.danielagapov.spawn.shared.util.VerificationCodeGenerator;
 import lombok.AllArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.HttpHeaders;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
@@ -50,6 +52,7 @@ public class AuthService implements IAuthService {
     private final ILogger logger;
     private final IOAuthService oauthService;
     private final IEmailVerificationRepository emailVerificationRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
 
     @Override
@@ -113,6 +116,7 @@ public class AuthService implements IAuthService {
                 user = userService.getUserEntityByUsername(authenticatedUsername);
             }
 
+            eventPublisher.publishEvent(new UserSessionStartedEvent(authenticatedUsername));
             return UserMapper.toAuthResponseDTO(user);
         }
         throw new BadCredentialsException(errorMsg);
@@ -1,5 +1,6 @@
 package com.danielagapov.spawn.auth.internal.services;
 
+import com.danielagapov.spawn.shared.events.UserLifecycleEvents.UserSessionStartedEvent;
 import com.danielagapov.spawn.shared.exceptions.Logger.ILogger;
 import com.danielagapov.spawn.shared.exceptions.Token.BadTokenException;
 import com.danielagapov.spawn.shared.exceptions.Token.TokenNotFoundException;
@@ -14,6 +15,7 @@ import io.jsonwebtoken.security.Keys;
 import io.jsonwebtoken.security.SignatureException;
 import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
@@ -36,14 +38,17 @@ public class JWTService implements IJWTService {
     private static final long EMAIL_TOKEN_EXPIRY = 1000L * 60 * 60 * 24; // 24 hours
     private final ILogger logger;
     private final IUserService userService;
+    private final ApplicationEventPublisher eventPublisher;
 
     public JWTService(
             ILogger logger,
             IUserService userService,
+            ApplicationEventPublisher eventPublisher,
             @Value("${jwt.signing-secret:#{null}}") String configuredSecret
     ) {
         this.logger = logger;
         this.userService = userService;
+        this.eventPublisher = eventPublisher;
         
         // Priority: 1) Spring property, 2) Environment variable, 3) .env file
         if (configuredSecret != null && !configuredSecret.isEmpty()) {
@@ -159,6 +164,7 @@ public class JWTService implements IJWTService {
         if (isTokenNonExpired(token) && isMatchingTokenType(token, TokenType.REFRESH)) {
             // This is a valid refresh token, grant a new access token to the requester
             String newAccessToken = generateAccessToken(usernameForNewToken);
+            eventPublisher.publishEvent(new UserSessionStartedEvent(usernameForNewToken));
             return newAccessToken;
         } else {
             logger.warn("Expired or invalid token type found for subject: " + subject);
@@ -0,0 +1,23 @@
+package com.danielagapov.spawn.chat.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serializable;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * The latest few chat messages of an activity, together with how many messages it has in total.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+public class ChatPreviewDTO implements Serializable {
+    UUID activityId;
+    int totalMessageCount;
+    List<ChatMessageDTO> latestMessages;
+}
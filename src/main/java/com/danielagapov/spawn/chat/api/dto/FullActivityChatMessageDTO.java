@@ -15,10 +15,12 @@ import java.util.UUID;
 public class FullActivityChatMessageDTO extends AbstractChatMessageDTO {
     BaseUserDTO senderUser;
     List<BaseUserDTO> likedByUsers;
+    int likeCount;
 
     public FullActivityChatMessageDTO(UUID id, String content, Instant timestamp, BaseUserDTO senderUser, UUID ActivityId, List<BaseUserDTO> likedByUsers) {
         super(id, content, timestamp, ActivityId);
         this.senderUser = senderUser;
         this.likedByUsers = likedByUsers;
+        this.likeCount = likedByUsers != null ? likedByUsers.size() : 0;
     }
 }
\ No newline at end of file
@@ -2,10 +2,12 @@ package com.danielagapov.spawn.chat.internal.services;
 
 import com.danielagapov.spawn.chat.api.dto.ChatMessageDTO;
 import com.danielagapov.spawn.chat.api.dto.ChatMessageLikesDTO;
+import com.danielagapov.spawn.chat.api.dto.ChatPreviewDTO;
 import com.danielagapov.spawn.chat.api.dto.CreateChatMessageDTO;
 import com.danielagapov.spawn.chat.api.dto.FullActivityChatMessageDTO;
 import com.danielagapov.spawn.user.api.dto.BaseUserDTO;
 import com.danielagapov.spawn.shared.util.EntityType;
+import com.danielagapov.spawn.shared.events.ClientCacheEvents.ActivityChangedEvent;
 import com.danielagapov.spawn.shared.events.NewCommentNotificationEvent;
 import com.danielagapov.spawn.shared.exceptions.Base.BaseDeleteException;
 import com.danielagapov.spawn.shared.exceptions.Base.BaseNotFoundException;
@@ -13,6 +15,9 @@ import com.danielagapov.spawn.shared.exceptions.Base.BaseSaveException;
 import com.danielagapov.spawn.shared.exceptions.Base.BasesNotFoundException;
 import com.danielagapov.spawn.shared.exceptions.EntityAlreadyExistsException;
 import com.danielagapov.spawn.shared.exceptions.Logger.ILogger;
+import com.danielagapov.spawn.shared.cache.CacheTags;
+import com.danielagapov.spawn.shared.util.CacheEvictionHelper;
+import com.danielagapov.spawn.shared.util.CacheNames;
 import com.danielagapov.spawn.shared.util.ChatMessageLikesMapper;
 import com.danielagapov.spawn.shared.util.ChatMessageMapper;
 import com.danielagapov.spawn.shared.util.ParticipationStatus;
@@ -32,12 +37,16 @@ import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Caching;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -51,13 +60,15 @@ public class ChatMessageService implements IChatMessageService {
     private final IActivityService activityService;
     private final ApplicationEventPublisher eventPublisher;
     private final IActivityRepository activityRepository;
+    private final CacheEvictionHelper cacheEvictionHelper;
 
     public ChatMessageService(IChatMessageRepository chatMessageRepository, IUserService userService,
                               IChatMessageLikesRepository chatMessageLikesRepository,
                               IUserRepository userRepository, ILogger logger,
                               IActivityService activityService,
                               ApplicationEventPublisher eventPublisher,
-                              IActivityRepository activityRepository) {
+                              IActivityRepository activityRepository,
+                              CacheEvictionHelper cacheEvictionHelper) {
         this.chatMessageRepository = chatMessageRepository;
         this.userService = userService;
         this.chatMessageLikesRepository = chatMessageLikesRepository;
@@ -66,6 +77,7 @@ public class ChatMessageService implements IChatMessageService {
         this.activityService = activityService;
         this.eventPublisher = eventPublisher;
         this.activityRepository = activityRepository;
+        this.cacheEvictionHelper = cacheEvictionHelper;
     }
 
     @Override
@@ -118,9 +130,7 @@ public class ChatMessageService implements IChatMessageService {
 
     @Override
     @Caching(evict = {
-            @CacheEvict(value = "ActivityById", key = "#newChatMessageDTO.activityId"),
-            @CacheEvict(value = "fullActivityById", allEntries = true),
-            @CacheEvict(value = "feedActivities", allEntries = true)
+            @CacheEvict(value = "ActivityById", key = "#newChatMessageDTO.activityId")
     })
     public FullActivityChatMessageDTO createChatMessage(CreateChatMessageDTO newChatMessageDTO) {
         ChatMessageDTO chatMessageDTO = new ChatMessageDTO(
@@ -133,6 +143,9 @@ public class ChatMessageService implements IChatMessageService {
         );
 
         ChatMessageDTO savedMessage = saveChatMessage(chatMessageDTO);
+        // Only the cached views that show this Activity's chat are stale
+        cacheEvictionHelper.evictTagged(CacheTags.activity(savedMessage.getActivityId()),
+                CacheNames.FULL_ACTIVITY_BY_ID, CacheNames.FEED_ACTIVITY_BY_ID, CacheNames.FEED_ACTIVITIES);
 
         // Get the Activity title and creator details using the service API
         UUID activityId = savedMessage.getActivityId();
@@ -160,6 +173,12 @@ public class ChatMessageService implements IChatMessageService {
                 savedMessage,
                 participantIds));
 
+        // Everyone who sees the Activity has its chat in their cached feed
+        Set<UUID> memberIds = new HashSet<>(participantIds);
+        memberIds.addAll(activityService.getParticipantUserIdsByActivityIdAndStatus(activityId, ParticipationStatus.invited));
+        memberIds.add(activityCreatorId);
+        eventPublisher.publishEvent(new ActivityChangedEvent(activityId, memberIds));
+
         // Convert to FullActivityChatMessageDTO before returning
         return getFullChatMessageByChatMessage(savedMessage);
     }
@@ -336,6 +355,100 @@ public class ChatMessageService implements IChatMessageService {
         }
     }
 
+    @Override
+    public List<ChatMessageDTO> getChatMessagesByActivityIds(List<UUID> activityIds) {
+        try {
+            if (activityIds.isEmpty()) {
+                return List.of();
+            }
+
+            return toChatMessageDTOsWithLikes(chatMessageRepository.findChatMessageRowsByActivityIds(activityIds));
+        } catch (DataAccessException e) {
+            logger.error("Error fetching chat messages for activities: " + e.getMessage());
+            throw new BasesNotFoundException(EntityType.ChatMessage);
+        } catch (Exception e) {
+            logger.error("Error fetching chat messages for activities: " + e.getMessage());
+            throw e;
+        }
+    }
+
+    @Override
+    public List<ChatPreviewDTO> getChatPreviewsByActivityIds(List<UUID> activityIds, int messagesPerActivity) {
+        try {
+            if (activityIds.isEmpty() || messagesPerActivity <= 0) {
+                return List.of();
+            }
+
+            List<Object[]> messageRows = chatMessageRepository.findLatestChatMessageRowsByActivityIds(activityIds, messagesPerActivity);
+            List<ChatMessageDTO> messages = toChatMessageDTOsWithLikes(messageRows);
+
+            // Rows arrive grouped by activity, newest first, and each carries its activity's total count
+            Map<UUID, ChatPreviewDTO> previewsByActivityId = new LinkedHashMap<>();
+            for (int i = 0; i < messageRows.size(); i++) {
+                ChatMessageDTO message = messages.get(i);
+                int totalMessageCount = ((Number) messageRows.get(i)[5]).intValue();
+                previewsByActivityId.computeIfAbsent(message.getActivityId(),
+                                id -> new ChatPreviewDTO(id, totalMessageCount, new ArrayList<>()))
+                        .getLatestMessages().add(message);
+            }
+            return new ArrayList<>(previewsByActivityId.values());
+        } catch (DataAccessException e) {
+            logger.error("Error fetching chat previews for activities: " + e.getMessage());
+            throw new BasesNotFoundException(EntityType.ChatMessage);
+        } catch (Exception e) {
+            logger.error("Error fetching chat previews for activities: " + e.getMessage());
+            throw e;
+        }
+    }
+
+    @Override
+    public List<ChatMessageDTO> getChatMessagesBefore(UUID activityId, Instant beforeTimestamp, UUID beforeMessageId, int limit) {
+        try {
+            return toChatMessageDTOsWithLikes(chatMessageRepository.findChatMessageRowsByActivityIdBefore(
+                    activityId, beforeTimestamp, beforeMessageId, Limit.of(limit)));
+        } catch (DataAccessException e) {
+            logger.error("Error fetching chat messages page for activity " + activityId + ": " + e.getMessage());
+            throw new BasesNotFoundException(EntityType.ChatMessage);
+        } catch (Exception e) {
+            logger.error("Error fetching chat messages page for activity " + activityId + ": " + e.getMessage());
+            throw e;
+        }
+    }
+
+    /**
+     * Builds DTOs from [messageId, content, timestamp, senderUserId, activityId, ...] rows, loading the likes
+     * of every message in one query. The result keeps the order of the rows.
+     */
+    private List<ChatMessageDTO> toChatMessageDTOsWithLikes(List<Object[]> messageRows) {
+        if (messageRows.isEmpty()) {
+            return List.of();
+        }
+
+        List<UUID> messageIds = messageRows.stream()
+                .map(row -> (UUID) row[0])
+                .collect(Collectors.toList());
+
+        // Load the likes of every message in one query and group them by message
+        Map<UUID, List<UUID>> likedByMap = chatMessageLikesRepository.findUserIdsByChatMessageIds(messageIds)
+                .stream()
+                .collect(Collectors.groupingBy(
+                        row -> (UUID) row[0], // chat message ID
+                        Collectors.mapping(row -> (UUID) row[1], Collectors.toList()) // user ID
+                ));
+
+        return messageRows.stream()
+                .map(row -> new ChatMessageDTO(
+                        (UUID) row[0],
+                        (String) row[1],
+                        (Instant) row[2],
+                        (UUID) row[3],
+                        (UUID) row[4],
+                        likedByMap.getOrDefault((UUID) row[0], List.of())
+                ))
+                .collect(Collectors.toList());
+    }
+
+
     @Override
     public FullActivityChatMessageDTO getFullChatMessageByChatMessage(ChatMessageDTO chatMessage) {
         return new FullActivityChatMessageDTO(
@@ -0,0 +1,94 @@
+package com.danielagapov.spawn.chat.internal.services;
+
+import com.danielagapov.spawn.chat.api.dto.ChatMessageDTO;
+import com.danielagapov.spawn.chat.api.dto.ChatPreviewDTO;
+import com.danielagapov.spawn.shared.ports.ChatMessageData;
+import com.danielagapov.spawn.shared.ports.ChatPort;
+import com.danielagapov.spawn.shared.ports.ChatPreviewData;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Chat module implementation of {@link ChatPort}.
+ * Serves chat lookups from other modules (primarily Activity) by calling the chat services directly.
+ */
+@Service
+public class ChatPortAdapter implements ChatPort {
+
+    private final IChatMessageService chatMessageService;
+
+    public ChatPortAdapter(IChatMessageService chatMessageService) {
+        this.chatMessageService = chatMessageService;
+    }
+
+    @Override
+    public Map<UUID, List<UUID>> getChatMessageIdsByActivityIds(Collection<UUID> activityIds) {
+        if (activityIds.isEmpty()) {
+            return Map.of();
+        }
+        List<UUID> ids = List.copyOf(activityIds);
+
+        Map<UUID, List<UUID>> messageIdsByActivityId = new HashMap<>();
+        for (UUID activityId : ids) {
+            messageIdsByActivityId.put(activityId, new ArrayList<>());
+        }
+        for (Object[] row : chatMessageService.getChatMessageIdsByActivityIds(ids)) {
+            messageIdsByActivityId.computeIfAbsent((UUID) row[0], id -> new ArrayList<>()).add((UUID) row[1]);
+        }
+        return messageIdsByActivityId;
+    }
+
+    @Override
+    public List<ChatMessageData> getChatMessagesByActivityIds(Collection<UUID> activityIds) {
+        if (activityIds.isEmpty()) {
+            return List.of();
+        }
+        return chatMessageService.getChatMessagesByActivityIds(List.copyOf(activityIds)).stream()
+                .map(ChatPortAdapter::toChatMessageData)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public Map<UUID, ChatPreviewData> getChatPreviewsByActivityIds(Collection<UUID> activityIds, int messagesPerActivity) {
+        if (activityIds.isEmpty()) {
+            return Map.of();
+        }
+        List<UUID> ids = List.copyOf(activityIds);
+
+        Map<UUID, ChatPreviewData> previewsByActivityId = new HashMap<>();
+        for (UUID activityId : ids) {
+            previewsByActivityId.put(activityId, new ChatPreviewData(activityId, 0, List.of()));
+        }
+        for (ChatPreviewDTO preview : chatMessageService.getChatPreviewsByActivityIds(ids, messagesPerActivity)) {
+            previewsByActivityId.put(preview.getActivityId(), new ChatPreviewData(
+                    preview.getActivityId(),
+                    preview.getTotalMessageCount(),
+                    preview.getLatestMessages().stream()
+                            .map(ChatPortAdapter::toChatMessageData)
+                            .collect(Collectors.toList())
+            ));
+        }
+        return previewsByActivityId;
+    }
+
+    @Override
+    public List<ChatMessageData> getChatMessagesBefore(UUID activityId, Instant beforeTimestamp, UUID beforeMessageId, int limit) {
+        return chatMessageService.getChatMessagesBefore(activityId, beforeTimestamp, beforeMessageId, limit).stream()
+                .map(ChatPortAdapter::toChatMessageData)
+                .collect(Collectors.toList());
+    }
+
+    private static ChatMessageData toChatMessageData(ChatMessageDTO message) {
+        return new ChatMessageData(
+                message.getId(),
+                message.getContent(),
+                message.getTimestamp(),
+                message.getSenderUserId(),
+                message.getActivityId(),
+                message.getLikedByUserIds()
+        );
+    }
+}
@@ -2,10 +2,12 @@ package com.danielagapov.spawn.chat.internal.services;
 
 import com.danielagapov.spawn.chat.api.dto.ChatMessageDTO;
 import com.danielagapov.spawn.chat.api.dto.ChatMessageLikesDTO;
+import com.danielagapov.spawn.chat.api.dto.ChatPreviewDTO;
 import com.danielagapov.spawn.chat.api.dto.CreateChatMessageDTO;
 import com.danielagapov.spawn.chat.api.dto.FullActivityChatMessageDTO;
 import com.danielagapov.spawn.user.api.dto.BaseUserDTO;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.UUID;
 
@@ -70,6 +72,40 @@ public interface IChatMessageService {
      */
     List<ChatMessageDTO> getChatMessagesByActivityId(UUID activityId);
 
+    /**
+     * Batch method to retrieve all chat messages, with their likes, for multiple activities at once.
+     * Runs one query for the messages and one for their likes, regardless of the number of activities.
+     * 
+     * @param activityIds List of activity IDs to get chat messages for
+     * @return List of ChatMessageDTO objects, ordered by activity and then by timestamp descending
+     * @throws com.danielagapov.spawn.Exceptions.Base.BasesNotFoundException if database access fails
+     */
+    List<ChatMessageDTO> getChatMessagesByActivityIds(List<UUID> activityIds);
+
+    /**
+     * Batch method to retrieve a chat preview for multiple activities at once: the latest messages of each
+     * activity with their likes, plus its total message count.
+     * Runs one windowed query for the messages and one for their likes, regardless of the number of activities.
+     * 
+     * @param activityIds List of activity IDs to get chat previews for
+     * @param messagesPerActivity Maximum number of messages to include per activity
+     * @return List of ChatPreviewDTO objects, one per activity that has messages
+     * @throws com.danielagapov.spawn.Exceptions.Base.BasesNotFoundException if database access fails
+     */
+    List<ChatPreviewDTO> getChatPreviewsByActivityIds(List<UUID> activityIds, int messagesPerActivity);
+
+    /**
+     * Retrieves one page of an activity's chat history, newest first, using keyset pagination.
+     * 
+     * @param activityId the unique identifier of the activity
+     * @param beforeTimestamp timestamp of the last message of the previous page
+     * @param beforeMessageId ID of the last message of the previous page
+     * @param limit maximum number of messages to return
+     * @return List of ChatMessageDTO objects that come after the given position
+     * @throws com.danielagapov.spawn.Exceptions.Base.BasesNotFoundException if database access fails
+     */
+    List<ChatMessageDTO> getChatMessagesBefore(UUID activityId, Instant beforeTimestamp, UUID beforeMessageId, int limit);
+
     /**
      * Retrieves the IDs of all chat messages associated with a specific activity.
      * 
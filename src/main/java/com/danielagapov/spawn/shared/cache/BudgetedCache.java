@@ -0,0 +1,191 @@
+package com.danielagapov.spawn.shared.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+/**
+ * Cache decorator that keeps a Redis cache within a maximum entry size and a memory budget
+ * (see {@link com.danielagapov.spawn.shared.config.CacheBudgetConfig}).
+ *
+ * Every write is measured by the {@link MeasuringCacheSerializer} as Redis serializes it, so a value
+ * is serialized once. A value over the maximum entry size fails to serialize and is not written, and
+ * the entry it would have replaced is evicted since it is out of date; the next read loads from the
+ * database again. Accepted writes are recorded in the {@link CacheMemoryBudget},
+ * which picks the least recently used entries to evict once the budget is exceeded.
+ *
+ * Reads refresh an entry's recency at most once per TOUCH_INTERVAL per node, so a hot key costs one
+ * extra Redis call a minute rather than one per hit.
+ */
+public class BudgetedCache implements Cache {
+
+    private static final Logger logger = LoggerFactory.getLogger(BudgetedCache.class);
+    private static final Duration TOUCH_INTERVAL = Duration.ofMinutes(1);
+
+    private final Cache delegate;
+    private final CacheMemoryBudget budget;
+    private final CacheStats stats;
+    private final MeasuringCacheSerializer serializer;
+    private final long maxEntryBytes;
+    private final long budgetBytes;
+    private final com.github.benmanes.caffeine.cache.Cache<String, Boolean> recentlyTouched = Caffeine.newBuilder()
+            .expireAfterWrite(TOUCH_INTERVAL)
+            .maximumSize(10_000)
+            .build();
+
+    /**
+     * @param serializer the value serializer of the delegate, which measures its writes
+     */
+    public BudgetedCache(Cache delegate, CacheMemoryBudget budget, CacheStats stats, MeasuringCacheSerializer serializer,
+                         long maxEntryBytes, long budgetBytes) {
+        this.delegate = delegate;
+        this.budget = budget;
+        this.stats = stats;
+        this.serializer = serializer;
+        this.maxEntryBytes = maxEntryBytes;
+        this.budgetBytes = budgetBytes;
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return delegate.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        ValueWrapper value = delegate.get(key);
+        if (value != null) {
+            touch(key);
+        }
+        return value;
+    }
+
+    @Override
+    public <T> T get(Object key, Class<T> type) {
+        T value = delegate.get(key, type);
+        if (value != null) {
+            touch(key);
+        }
+        return value;
+    }
+
+    /**
+     * Loads through this cache rather than the delegate's get(key, valueLoader), so the loaded value
+     * goes through the same size check as any other write.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        ValueWrapper cached = get(key);
+        if (cached != null) {
+            return (T) cached.get();
+        }
+        T value;
+        try {
+            value = valueLoader.call();
+        } catch (Exception e) {
+            throw new ValueRetrievalException(key, valueLoader, e);
+        }
+        if (value != null) {
+            put(key, value);
+        }
+        return value;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        int bytes;
+        try {
+            bytes = serializer.write(maxEntryBytes, () -> delegate.put(key, value));
+        } catch (MeasuringCacheSerializer.OversizedValueException e) {
+            reject(key, e.getBytes());
+            delegate.evict(key);
+            budget.forget(getName(), String.valueOf(key));
+            return;
+        }
+        recordWrite(key, bytes);
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        ValueWrapper[] existing = new ValueWrapper[1];
+        int bytes;
+        try {
+            bytes = serializer.write(maxEntryBytes, () -> existing[0] = delegate.putIfAbsent(key, value));
+        } catch (MeasuringCacheSerializer.OversizedValueException e) {
+            reject(key, e.getBytes());
+            return delegate.get(key);
+        }
+        if (existing[0] == null) {
+            recordWrite(key, bytes);
+        }
+        return existing[0];
+    }
+
+    @Override
+    public void evict(Object key) {
+        delegate.evict(key);
+        budget.forget(getName(), String.valueOf(key));
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        boolean evicted = delegate.evictIfPresent(key);
+        budget.forget(getName(), String.valueOf(key));
+        return evicted;
+    }
+
+    @Override
+    public void clear() {
+        delegate.clear();
+        budget.forgetAll(getName());
+    }
+
+    @Override
+    public boolean invalidate() {
+        boolean invalidated = delegate.invalidate();
+        budget.forgetAll(getName());
+        return invalidated;
+    }
+
+    private void recordWrite(Object key, long bytes) {
+        if (bytes < 0) {
+            // Nothing was serialized, so there is no entry to account for
+            return;
+        }
+        String cacheKey = String.valueOf(key);
+        recentlyTouched.put(cacheKey, Boolean.TRUE);
+        List<String> trimmed = budget.recordWrite(getName(), cacheKey, bytes, budgetBytes);
+        if (trimmed.isEmpty()) {
+            return;
+        }
+        // Trimmed keys come back as strings, which Redis caches map to the same entry as the original key
+        for (String trimmedKey : trimmed) {
+            delegate.evict(trimmedKey);
+        }
+        stats.recordBudgetTrims(trimmed.size());
+        logger.debug("Evicted {} entries from '{}' to stay within its {} byte budget", trimmed.size(), getName(), budgetBytes);
+    }
+
+    private void reject(Object key, long bytes) {
+        stats.recordOversizeRejection();
+        logger.info("Not caching '{}' key {}: {} bytes is over the {} byte entry limit", getName(), key, bytes, maxEntryBytes);
+    }
+
+    private void touch(Object key) {
+        String cacheKey = String.valueOf(key);
+        if (recentlyTouched.asMap().putIfAbsent(cacheKey, Boolean.TRUE) == null) {
+            budget.touch(getName(), cacheKey);
+        }
+    }
+}
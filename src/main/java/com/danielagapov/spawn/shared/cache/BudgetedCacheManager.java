@@ -0,0 +1,52 @@
+package com.danielagapov.spawn.shared.cache;
+
+import com.danielagapov.spawn.shared.config.CacheBudgetConfig;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Cache manager that wraps the caches listed in {@link CacheBudgetConfig} in a {@link BudgetedCache};
+ * the remaining caches are returned as they are.
+ */
+public class BudgetedCacheManager implements CacheManager {
+
+    private final CacheManager delegate;
+    private final CacheBudgetConfig config;
+    private final CacheMemoryBudget budget;
+    private final CacheStatistics statistics;
+    private final MeasuringCacheSerializer serializer;
+    private final ConcurrentMap<String, Cache> caches = new ConcurrentHashMap<>();
+
+    public BudgetedCacheManager(CacheManager delegate, CacheBudgetConfig config, CacheMemoryBudget budget,
+                                CacheStatistics statistics, MeasuringCacheSerializer serializer) {
+        this.delegate = delegate;
+        this.config = config;
+        this.budget = budget;
+        this.statistics = statistics;
+        this.serializer = serializer;
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        Cache cache = caches.get(name);
+        if (cache != null) {
+            return cache;
+        }
+        Cache target = delegate.getCache(name);
+        CacheBudgetConfig.CacheSpec spec = config.getCaches().get(name);
+        if (target == null || !config.isEnabled() || spec == null) {
+            return target;
+        }
+        return caches.computeIfAbsent(name, ignored -> new BudgetedCache(target, budget, statistics.forCache(name), serializer,
+                spec.getMaxEntrySize().toBytes(), spec.getMemoryBudget().toBytes()));
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return delegate.getCacheNames();
+    }
+}
@@ -0,0 +1,92 @@
+package com.danielagapov.spawn.shared.cache;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * Short-lived Redis lease that lets one node load a missing cache entry while the other nodes wait
+ * for it, stored under "spawn:lease:{cacheName}:{key}".
+ *
+ * The lease expires on its own after the configured TTL, so a node that dies while loading only
+ * delays the others by that long. Redis errors never block a load: the lease is then treated as
+ * acquired and the node loads the entry itself.
+ */
+public class CacheLoadLease {
+
+    private static final Logger logger = LoggerFactory.getLogger(CacheLoadLease.class);
+    private static final String KEY_PREFIX = "spawn:lease:";
+
+    private final StringRedisTemplate redisTemplate;
+    private final Duration ttl;
+    private final Duration pollInterval;
+    private final String owner = UUID.randomUUID().toString();
+
+    public CacheLoadLease(StringRedisTemplate redisTemplate, Duration ttl, Duration pollInterval) {
+        this.redisTemplate = redisTemplate;
+        this.ttl = ttl;
+        this.pollInterval = pollInterval;
+    }
+
+    /**
+     * @return true if this node now holds the lease for the key, or if Redis could not be asked
+     */
+    public boolean tryAcquire(String cacheName, Object key) {
+        try {
+            return !Boolean.FALSE.equals(redisTemplate.opsForValue().setIfAbsent(leaseKey(cacheName, key), owner, ttl));
+        } catch (Exception e) {
+            logger.warn("Could not take cache load lease for '{}' key {}: {}", cacheName, key, e.getMessage());
+            return true;
+        }
+    }
+
+    /**
+     * Waits while another node holds the lease, polling the cache for the value it is loading.
+     *
+     * @return the loaded value, or null once the lease is gone or has outlived its TTL without one
+     */
+    public Cache.ValueWrapper awaitValue(Cache cache, Object key) {
+        String leaseKey = leaseKey(cache.getName(), key);
+        long deadline = System.nanoTime() + ttl.toNanos();
+        try {
+            while (System.nanoTime() < deadline) {
+                Thread.sleep(pollInterval.toMillis());
+                Cache.ValueWrapper value = cache.get(key);
+                if (value != null) {
+                    return value;
+                }
+                if (!Boolean.TRUE.equals(redisTemplate.hasKey(leaseKey))) {
+                    return cache.get(key);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            logger.warn("Stopped waiting on cache load lease for '{}' key {}: {}", cache.getName(), key, e.getMessage());
+        }
+        return null;
+    }
+
+    /**
+     * Releases the lease if this node still holds it.
+     */
+    public void release(String cacheName, Object key) {
+        String leaseKey = leaseKey(cacheName, key);
+        try {
+            if (owner.equals(redisTemplate.opsForValue().get(leaseKey))) {
+                redisTemplate.delete(leaseKey);
+            }
+        } catch (Exception e) {
+            // The lease expires on its own
+            logger.warn("Could not release cache load lease for '{}' key {}: {}", cacheName, key, e.getMessage());
+        }
+    }
+
+    private static String leaseKey(String cacheName, Object key) {
+        return KEY_PREFIX + cacheName + ":" + key;
+    }
+}
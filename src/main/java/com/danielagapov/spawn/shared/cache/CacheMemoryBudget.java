@@ -0,0 +1,174 @@
+package com.danielagapov.spawn.shared.cache;
+
+import com.danielagapov.spawn.shared.config.CacheKeySizeDTO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Redis-side accounting of how many bytes each budgeted cache holds, shared by every node.
+ *
+ * Per cache there is a sorted set of keys scored by serialized size, "spawn:cachebudget:{cache}:size",
+ * a sorted set of the same keys scored by last access in epoch millis, "...:lru", and the running
+ * total, "...:total". Recording a write that takes the total over the budget removes the least
+ * recently used keys from the accounting in the same script and hands them back for eviction.
+ *
+ * Entries that expire through their TTL stay counted until they come up for trimming, which they do
+ * first since they are the least recently used; evicting a key that is already gone is harmless and
+ * corrects the total. Redis errors never fail a cache operation: the accounting is skipped instead.
+ */
+public class CacheMemoryBudget {
+
+    private static final Logger logger = LoggerFactory.getLogger(CacheMemoryBudget.class);
+    private static final String KEY_PREFIX = "spawn:cachebudget:";
+    // Bounds the work of a single write; an oversized backlog is worked off by the following writes
+    private static final int MAX_TRIMS_PER_WRITE = 32;
+
+    // KEYS: lru set, size set, total. ARGV: cache key, bytes, now millis, budget bytes, max trims
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> RECORD_SCRIPT = new DefaultRedisScript<>("""
+            local previous = tonumber(redis.call('ZSCORE', KEYS[2], ARGV[1]) or '0')
+            redis.call('ZADD', KEYS[1], ARGV[3], ARGV[1])
+            redis.call('ZADD', KEYS[2], ARGV[2], ARGV[1])
+            local total = redis.call('INCRBY', KEYS[3], tonumber(ARGV[2]) - previous)
+            local trimmed = {}
+            while total > tonumber(ARGV[4]) and #trimmed < tonumber(ARGV[5]) do
+                local oldest = redis.call('ZRANGE', KEYS[1], 0, 0)
+                if #oldest == 0 or oldest[1] == ARGV[1] then
+                    break
+                end
+                local size = tonumber(redis.call('ZSCORE', KEYS[2], oldest[1]) or '0')
+                redis.call('ZREM', KEYS[1], oldest[1])
+                redis.call('ZREM', KEYS[2], oldest[1])
+                total = redis.call('DECRBY', KEYS[3], size)
+                trimmed[#trimmed + 1] = oldest[1]
+            end
+            return trimmed
+            """, List.class);
+
+    // KEYS: lru set, size set, total. ARGV: cache key
+    private static final RedisScript<Long> FORGET_SCRIPT = new DefaultRedisScript<>("""
+            local size = redis.call('ZSCORE', KEYS[2], ARGV[1])
+            if size then
+                redis.call('ZREM', KEYS[1], ARGV[1])
+                redis.call('ZREM', KEYS[2], ARGV[1])
+                redis.call('DECRBY', KEYS[3], tonumber(size))
+                return 1
+            end
+            return 0
+            """, Long.class);
+
+    // KEYS: lru set. ARGV: cache key, now millis
+    private static final RedisScript<Long> TOUCH_SCRIPT = new DefaultRedisScript<>("""
+            return redis.call('ZADD', KEYS[1], 'XX', ARGV[2], ARGV[1])
+            """, Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+
+    public CacheMemoryBudget(StringRedisTemplate redisTemplate) {
+        this.redisTemplate = redisTemplate;
+    }
+
+    /**
+     * Records that the key now holds a value of the given size and trims the cache back under its budget.
+     *
+     * @return the keys trimmed from the accounting, which the caller must evict from the cache
+     */
+    public List<String> recordWrite(String cacheName, String key, long bytes, long budgetBytes) {
+        try {
+            List<?> trimmed = redisTemplate.execute(RECORD_SCRIPT, keys(cacheName), key, String.valueOf(bytes),
+                    String.valueOf(System.currentTimeMillis()), String.valueOf(budgetBytes),
+                    String.valueOf(MAX_TRIMS_PER_WRITE));
+            List<String> keys = new ArrayList<>();
+            if (trimmed != null) {
+                for (Object trimmedKey : trimmed) {
+                    keys.add(String.valueOf(trimmedKey));
+                }
+            }
+            return keys;
+        } catch (Exception e) {
+            logger.warn("Could not record cache write for '{}' key {}: {}", cacheName, key, e.getMessage());
+            return List.of();
+        }
+    }
+
+    /**
+     * Marks the key as just used, if it is accounted for.
+     */
+    public void touch(String cacheName, String key) {
+        try {
+            redisTemplate.execute(TOUCH_SCRIPT, List.of(lruKey(cacheName)), key, String.valueOf(System.currentTimeMillis()));
+        } catch (Exception e) {
+            logger.debug("Could not touch '{}' key {}: {}", cacheName, key, e.getMessage());
+        }
+    }
+
+    /**
+     * Removes an evicted key from the accounting.
+     */
+    public void forget(String cacheName, String key) {
+        try {
+            redisTemplate.execute(FORGET_SCRIPT, keys(cacheName), key);
+        } catch (Exception e) {
+            logger.warn("Could not forget '{}' key {}: {}", cacheName, key, e.getMessage());
+        }
+    }
+
+    /**
+     * Drops the accounting of a cleared cache.
+     */
+    public void forgetAll(String cacheName) {
+        try {
+            redisTemplate.delete(keys(cacheName));
+        } catch (Exception e) {
+            logger.warn("Could not reset accounting of '{}': {}", cacheName, e.getMessage());
+        }
+    }
+
+    /**
+     * @return the bytes currently accounted to the cache
+     */
+    public long usedBytes(String cacheName) {
+        String total = redisTemplate.opsForValue().get(totalKey(cacheName));
+        return total == null ? 0 : Long.parseLong(total);
+    }
+
+    /**
+     * @return up to limit keys of the cache, largest first
+     */
+    public List<CacheKeySizeDTO> largestKeys(String cacheName, int limit) {
+        Set<ZSetOperations.TypedTuple<String>> largest =
+                redisTemplate.opsForZSet().reverseRangeWithScores(sizeKey(cacheName), 0, limit - 1);
+        List<CacheKeySizeDTO> keys = new ArrayList<>();
+        if (largest != null) {
+            for (ZSetOperations.TypedTuple<String> entry : largest) {
+                keys.add(new CacheKeySizeDTO(entry.getValue(),
+                        entry.getScore() == null ? 0 : entry.getScore().longValue()));
+            }
+        }
+        return keys;
+    }
+
+    private static List<String> keys(String cacheName) {
+        return List.of(lruKey(cacheName), sizeKey(cacheName), totalKey(cacheName));
+    }
+
+    private static String lruKey(String cacheName) {
+        return KEY_PREFIX + cacheName + ":lru";
+    }
+
+    private static String sizeKey(String cacheName) {
+        return KEY_PREFIX + cacheName + ":size";
+    }
+
+    private static String totalKey(String cacheName) {
+        return KEY_PREFIX + cacheName + ":total";
+    }
+}
@@ -0,0 +1,94 @@
+package com.danielagapov.spawn.shared.cache;
+
+import com.danielagapov.spawn.shared.config.CacheStatsDTO;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-cache statistics for this node, keyed by cache name.
+ *
+ * Each cache's counters are also registered with Micrometer when a registry is available, under
+ * "spawn.cache.*" meters tagged with the cache name, so they can be graphed alongside the other
+ * application metrics.
+ */
+@Component
+public class CacheStatistics {
+
+    private static final int PAYLOAD_SAMPLE_RATE = 16;
+
+    private final MeterRegistry meterRegistry;
+    private final ConcurrentMap<String, CacheStats> statsByCache = new ConcurrentHashMap<>();
+
+    @Autowired
+    public CacheStatistics(ObjectProvider<MeterRegistry> meterRegistry) {
+        this(meterRegistry.getIfAvailable());
+    }
+
+    /**
+     * @param meterRegistry registry to publish the counters to, or null to only keep them in memory
+     */
+    public CacheStatistics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    public CacheStats forCache(String cacheName) {
+        return statsByCache.computeIfAbsent(cacheName, this::register);
+    }
+
+    /**
+     * @return a snapshot of every cache used on this node so far, ordered by cache name
+     */
+    public List<CacheStatsDTO> snapshot() {
+        return statsByCache.values().stream()
+                .map(CacheStats::toDTO)
+                .sorted(Comparator.comparing(CacheStatsDTO::getCacheName))
+                .toList();
+    }
+
+    public CacheStatsDTO snapshot(String cacheName) {
+        CacheStats stats = statsByCache.get(cacheName);
+        return stats == null ? null : stats.toDTO();
+    }
+
+    private CacheStats register(String cacheName) {
+        CacheStats stats = new CacheStats(cacheName, PAYLOAD_SAMPLE_RATE);
+        if (meterRegistry == null) {
+            return stats;
+        }
+        Tags tags = Tags.of("cache", cacheName);
+        FunctionCounter.builder("spawn.cache.gets", stats, CacheStats::getHits)
+                .tags(tags).tag("result", "hit").register(meterRegistry);
+        FunctionCounter.builder("spawn.cache.gets", stats, CacheStats::getMisses)
+                .tags(tags).tag("result", "miss").register(meterRegistry);
+        FunctionTimer.builder("spawn.cache.loads", stats, CacheStats::getLoads, CacheStats::getLoadSeconds, TimeUnit.SECONDS)
+                .tags(tags).register(meterRegistry);
+        FunctionCounter.builder("spawn.cache.load.failures", stats, CacheStats::getLoadFailures)
+                .tags(tags).register(meterRegistry);
+        FunctionCounter.builder("spawn.cache.puts", stats, CacheStats::getPuts)
+                .tags(tags).register(meterRegistry);
+        FunctionCounter.builder("spawn.cache.evictions", stats, CacheStats::getEvictions)
+                .tags(tags).register(meterRegistry);
+        FunctionCounter.builder("spawn.cache.clears", stats, CacheStats::getClears)
+                .tags(tags).register(meterRegistry);
+        FunctionCounter.builder("spawn.cache.payload.sampled.bytes", stats, CacheStats::getPayloadBytes)
+                .tags(tags).baseUnit("bytes").register(meterRegistry);
+        FunctionCounter.builder("spawn.cache.payload.samples", stats, CacheStats::getPayloadSamples)
+                .tags(tags).register(meterRegistry);
+        FunctionCounter.builder("spawn.cache.oversize.rejections", stats, CacheStats::getOversizeRejections)
+                .tags(tags).register(meterRegistry);
+        FunctionCounter.builder("spawn.cache.budget.trims", stats, CacheStats::getBudgetTrims)
+                .tags(tags).register(meterRegistry);
+        return stats;
+    }
+}
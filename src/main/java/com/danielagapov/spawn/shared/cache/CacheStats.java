@@ -0,0 +1,161 @@
+package com.danielagapov.spawn.shared.cache;
+
+import com.danielagapov.spawn.shared.config.CacheStatsDTO;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Running counters for one cache on this node, recorded by {@link MeteredCache}, and for caches
+ * with a memory budget also by {@link BudgetedCache}.
+ *
+ * Payload size is sampled rather than measured on every write, since measuring means serializing
+ * the value a second time; the average over the samples is what is reported.
+ */
+public class CacheStats {
+
+    private final String cacheName;
+    private final int payloadSampleRate;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder loads = new LongAdder();
+    private final LongAdder loadFailures = new LongAdder();
+    private final LongAdder loadNanos = new LongAdder();
+    private final LongAdder puts = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder clears = new LongAdder();
+    private final LongAdder payloadSamples = new LongAdder();
+    private final LongAdder payloadBytes = new LongAdder();
+    private final LongAdder oversizeRejections = new LongAdder();
+    private final LongAdder budgetTrims = new LongAdder();
+    private final AtomicLong writes = new AtomicLong();
+
+    public CacheStats(String cacheName, int payloadSampleRate) {
+        this.cacheName = cacheName;
+        this.payloadSampleRate = Math.max(1, payloadSampleRate);
+    }
+
+    public void recordHit() {
+        hits.increment();
+    }
+
+    public void recordMiss() {
+        misses.increment();
+    }
+
+    public void recordLoad(long nanos, boolean failed) {
+        loads.increment();
+        loadNanos.add(nanos);
+        if (failed) {
+            loadFailures.increment();
+        }
+    }
+
+    public void recordPut() {
+        puts.increment();
+    }
+
+    public void recordEviction() {
+        evictions.increment();
+    }
+
+    public void recordClear() {
+        clears.increment();
+    }
+
+    /**
+     * @return whether the value written now should have its payload size measured
+     */
+    public boolean shouldSamplePayload() {
+        return writes.getAndIncrement() % payloadSampleRate == 0;
+    }
+
+    public void recordPayload(long bytes) {
+        payloadSamples.increment();
+        payloadBytes.add(bytes);
+    }
+
+    public void recordOversizeRejection() {
+        oversizeRejections.increment();
+    }
+
+    public void recordBudgetTrims(int count) {
+        budgetTrims.add(count);
+    }
+
+    public String getCacheName() {
+        return cacheName;
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public long getLoads() {
+        return loads.sum();
+    }
+
+    public long getLoadFailures() {
+        return loadFailures.sum();
+    }
+
+    public double getLoadSeconds() {
+        return loadNanos.sum() / (double) TimeUnit.SECONDS.toNanos(1);
+    }
+
+    public long getPuts() {
+        return puts.sum();
+    }
+
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    public long getClears() {
+        return clears.sum();
+    }
+
+    public long getPayloadSamples() {
+        return payloadSamples.sum();
+    }
+
+    public long getPayloadBytes() {
+        return payloadBytes.sum();
+    }
+
+    public long getOversizeRejections() {
+        return oversizeRejections.sum();
+    }
+
+    public long getBudgetTrims() {
+        return budgetTrims.sum();
+    }
+
+    public CacheStatsDTO toDTO() {
+        long hitCount = getHits();
+        long missCount = getMisses();
+        long loadCount = getLoads();
+        long sampleCount = getPayloadSamples();
+        long requests = hitCount + missCount;
+        return new CacheStatsDTO(
+                cacheName,
+                hitCount,
+                missCount,
+                requests == 0 ? 0 : hitCount / (double) requests,
+                loadCount,
+                getLoadFailures(),
+                loadCount == 0 ? 0 : TimeUnit.NANOSECONDS.toMicros(loadNanos.sum() / loadCount) / 1000.0,
+                getPuts(),
+                getEvictions(),
+                getClears(),
+                sampleCount == 0 ? 0 : getPayloadBytes() / sampleCount,
+                getOversizeRejections(),
+                getBudgetTrims()
+        );
+    }
+}
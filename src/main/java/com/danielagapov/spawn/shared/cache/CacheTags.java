@@ -0,0 +1,26 @@
+package com.danielagapov.spawn.shared.cache;
+
+import java.util.UUID;
+
+/**
+ * Tag names shared by the code that tags cache entries and the code that evicts them.
+ */
+public final class CacheTags {
+
+    private CacheTags() {
+    }
+
+    /**
+     * Tag for entries that include data of the given activity.
+     */
+    public static String activity(UUID activityId) {
+        return "activity:" + activityId;
+    }
+
+    /**
+     * Tag for entries that include data of the given user.
+     */
+    public static String user(UUID userId) {
+        return "user:" + userId;
+    }
+}
@@ -0,0 +1,23 @@
+package com.danielagapov.spawn.shared.cache;
+
+import java.util.Collection;
+
+/**
+ * Records which cache entries depend on which tags (for example an activity or a user), so a write
+ * can evict exactly the entries that depend on what it changed instead of clearing whole caches.
+ *
+ * Tags are hints: a tag may outlive its entry, in which case evicting it is a no-op, and an entry
+ * whose tag was lost is still bounded by its cache TTL.
+ */
+public interface ICacheTagStore {
+
+    /**
+     * Records that the entry under key in the given cache depends on each of the tags.
+     */
+    void tag(String cacheName, Object key, Collection<String> tags);
+
+    /**
+     * Removes the tag from the given cache and returns the keys of the entries that were tagged with it.
+     */
+    Collection<Object> removeTag(String cacheName, String tag);
+}
@@ -0,0 +1,39 @@
+package com.danielagapov.spawn.shared.cache;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Local stand-in for the Redis tag store, used whenever the application is not backed by Redis
+ * (dev and test profiles). Keys are kept as the original objects, since local caches compare keys
+ * by equality rather than by their string form.
+ */
+@Component
+@ConditionalOnExpression("'${spring.cache.type:simple}' != 'redis'")
+public class InMemoryCacheTagStore implements ICacheTagStore {
+
+    private final Map<String, Set<Object>> keysByTag = new ConcurrentHashMap<>();
+
+    @Override
+    public void tag(String cacheName, Object key, Collection<String> tags) {
+        for (String tag : tags) {
+            keysByTag.computeIfAbsent(key(cacheName, tag), ignored -> ConcurrentHashMap.newKeySet()).add(key);
+        }
+    }
+
+    @Override
+    public Collection<Object> removeTag(String cacheName, String tag) {
+        Set<Object> keys = keysByTag.remove(key(cacheName, tag));
+        return keys == null ? List.of() : keys;
+    }
+
+    private static String key(String cacheName, String tag) {
+        return cacheName + ":" + tag;
+    }
+}
@@ -0,0 +1,95 @@
+package com.danielagapov.spawn.shared.cache;
+
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+/**
+ * Redis value serializer that measures the values it writes, so the cache decorators can size a
+ * write without serializing its value a second time.
+ *
+ * A decorator runs its write through {@link #write(long, Runnable)}. Redis caches serialize on the
+ * calling thread, so every value serialized during the write is measured against that write's
+ * limit: one over it throws {@link OversizedValueException} before anything is sent to Redis. Writes
+ * nest, as the decorators do, and an outer write sees the size measured by the innermost one.
+ * Outside of a write the serializer only delegates.
+ */
+public class MeasuringCacheSerializer implements RedisSerializer<Object> {
+
+    private final RedisSerializer<Object> delegate;
+    private final ThreadLocal<Measurement> current = new ThreadLocal<>();
+
+    public MeasuringCacheSerializer(RedisSerializer<Object> delegate) {
+        this.delegate = delegate;
+    }
+
+    /**
+     * Runs a cache write, measuring the value it serializes on this thread.
+     *
+     * @param maxBytes largest serialized size let through; a larger value fails the write
+     * @param write the write, typically a put to a Redis cache
+     * @return the serialized size in bytes of the value written, or -1 if the write serialized none
+     * @throws OversizedValueException if the value serializes to more than maxBytes
+     */
+    public int write(long maxBytes, Runnable write) {
+        Measurement outer = current.get();
+        Measurement measurement = new Measurement(maxBytes);
+        current.set(measurement);
+        try {
+            write.run();
+        } finally {
+            current.set(outer);
+            if (outer != null && measurement.bytes >= 0) {
+                outer.bytes = measurement.bytes;
+            }
+        }
+        return measurement.bytes;
+    }
+
+    @Override
+    public byte[] serialize(Object value) throws SerializationException {
+        byte[] bytes = delegate.serialize(value);
+        Measurement measurement = current.get();
+        if (measurement != null) {
+            measurement.bytes = bytes == null ? 0 : bytes.length;
+            if (measurement.bytes > measurement.maxBytes) {
+                throw new OversizedValueException(measurement.bytes);
+            }
+        }
+        return bytes;
+    }
+
+    @Override
+    public Object deserialize(byte[] bytes) throws SerializationException {
+        return delegate.deserialize(bytes);
+    }
+
+    @Override
+    public Class<?> getTargetType() {
+        return delegate.getTargetType();
+    }
+
+    private static final class Measurement {
+        private final long maxBytes;
+        private int bytes = -1;
+
+        private Measurement(long maxBytes) {
+            this.maxBytes = maxBytes;
+        }
+    }
+
+    /**
+     * Thrown when a value serializes to more than the limit of the write it belongs to.
+     */
+    public static class OversizedValueException extends SerializationException {
+        private final int bytes;
+
+        public OversizedValueException(int bytes) {
+            super("Cache value of " + bytes + " bytes is over the entry limit");
+            this.bytes = bytes;
+        }
+
+        public int getBytes() {
+            return bytes;
+        }
+    }
+}
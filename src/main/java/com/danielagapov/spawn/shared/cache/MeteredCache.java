@@ -0,0 +1,147 @@
+package com.danielagapov.spawn.shared.cache;
+
+import org.springframework.cache.Cache;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Cache decorator that records hits, misses, load times, writes, evictions, clears and sampled
+ * payload sizes into the cache's {@link CacheStats}.
+ *
+ * A read through get(key, valueLoader) counts as a miss only when the loader actually ran on this
+ * node; a value filled in by a concurrent caller or another node while this one waited is a hit.
+ *
+ * Payload sizes are those measured by the {@link MeasuringCacheSerializer} while Redis serialized
+ * the value, so sampling them costs no extra serialization.
+ */
+public class MeteredCache implements Cache {
+
+    private final Cache delegate;
+    private final CacheStats stats;
+    private final MeasuringCacheSerializer serializer;
+
+    /**
+     * @param serializer the value serializer of the caches below, or null to not record payload sizes
+     */
+    public MeteredCache(Cache delegate, CacheStats stats, MeasuringCacheSerializer serializer) {
+        this.delegate = delegate;
+        this.stats = stats;
+        this.serializer = serializer;
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        return recordRead(delegate.get(key));
+    }
+
+    @Override
+    public <T> T get(Object key, Class<T> type) {
+        T value = delegate.get(key, type);
+        if (value != null) {
+            stats.recordHit();
+        } else {
+            stats.recordMiss();
+        }
+        return value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        boolean[] loaded = new boolean[1];
+        Object[] value = new Object[1];
+        int bytes = measure(() -> value[0] = delegate.get(key, () -> {
+            loaded[0] = true;
+            long start = System.nanoTime();
+            boolean failed = true;
+            try {
+                T result = valueLoader.call();
+                failed = false;
+                return result;
+            } finally {
+                stats.recordLoad(System.nanoTime() - start, failed);
+            }
+        }));
+        if (loaded[0]) {
+            stats.recordMiss();
+            samplePayload(bytes);
+        } else {
+            stats.recordHit();
+        }
+        return (T) value[0];
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        stats.recordPut();
+        samplePayload(measure(() -> delegate.put(key, value)));
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        stats.recordPut();
+        ValueWrapper[] existing = new ValueWrapper[1];
+        samplePayload(measure(() -> existing[0] = delegate.putIfAbsent(key, value)));
+        return existing[0];
+    }
+
+    @Override
+    public void evict(Object key) {
+        stats.recordEviction();
+        delegate.evict(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        stats.recordEviction();
+        return delegate.evictIfPresent(key);
+    }
+
+    @Override
+    public void clear() {
+        stats.recordClear();
+        delegate.clear();
+    }
+
+    @Override
+    public boolean invalidate() {
+        stats.recordClear();
+        return delegate.invalidate();
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return delegate.getNativeCache();
+    }
+
+    private ValueWrapper recordRead(ValueWrapper value) {
+        if (value != null) {
+            stats.recordHit();
+        } else {
+            stats.recordMiss();
+        }
+        return value;
+    }
+
+    /**
+     * Runs a write, returning the serialized size of the value it wrote, or -1 if none was measured.
+     */
+    private int measure(Runnable write) {
+        if (serializer == null) {
+            write.run();
+            return -1;
+        }
+        return serializer.write(Long.MAX_VALUE, write);
+    }
+
+    private void samplePayload(int bytes) {
+        if (bytes >= 0 && stats.shouldSamplePayload()) {
+            stats.recordPayload(bytes);
+        }
+    }
+}
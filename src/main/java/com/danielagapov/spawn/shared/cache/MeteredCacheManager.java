@@ -0,0 +1,55 @@
+package com.danielagapov.spawn.shared.cache;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Cache manager that wraps every cache of another manager in a {@link MeteredCache} reporting to
+ * {@link CacheStatistics}.
+ */
+public class MeteredCacheManager implements CacheManager {
+
+    private final CacheManager delegate;
+    private final CacheStatistics statistics;
+    private final MeasuringCacheSerializer serializer;
+    private final ConcurrentMap<String, Cache> caches = new ConcurrentHashMap<>();
+
+    /**
+     * @param serializer the value serializer of the caches below, or null to not record payload sizes
+     */
+    public MeteredCacheManager(CacheManager delegate, CacheStatistics statistics, MeasuringCacheSerializer serializer) {
+        this.delegate = delegate;
+        this.statistics = statistics;
+        this.serializer = serializer;
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        Cache cache = caches.get(name);
+        if (cache != null) {
+            return cache;
+        }
+        Cache target = delegate.getCache(name);
+        if (target == null) {
+            return null;
+        }
+        return caches.computeIfAbsent(name,
+                cacheName -> new MeteredCache(target, statistics.forCache(cacheName), serializer));
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return delegate.getCacheNames();
+    }
+
+    /**
+     * @return the manager whose caches are being metered
+     */
+    public CacheManager getDelegate() {
+        return delegate;
+    }
+}
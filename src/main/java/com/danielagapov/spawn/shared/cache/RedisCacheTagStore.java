@@ -0,0 +1,72 @@
+package com.danielagapov.spawn.shared.cache;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Redis-backed tag store, shared by every instance of the application.
+ *
+ * Each tag is a set keyed "spawn:tag:{cacheName}:{tag}" whose members are the string form of the
+ * tagged cache keys, which is also the form the Redis cache stores them under. Sets expire after
+ * TAG_TTL so tags of entries that were never invalidated do not pile up; this is longer than the
+ * TTL of any tagged cache. All tags of an entry are written by one script, in a single round trip.
+ */
+@Component
+@ConditionalOnProperty(name = "spring.cache.type", havingValue = "redis")
+public class RedisCacheTagStore implements ICacheTagStore {
+    private static final String KEY_PREFIX = "spawn:tag:";
+    private static final Duration TAG_TTL = Duration.ofHours(2);
+
+    // KEYS: tag sets. ARGV: cache key, ttl seconds
+    private static final RedisScript<Long> TAG_SCRIPT = new DefaultRedisScript<>("""
+            for _, setKey in ipairs(KEYS) do
+                redis.call('SADD', setKey, ARGV[1])
+                redis.call('EXPIRE', setKey, ARGV[2])
+            end
+            return #KEYS
+            """, Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+
+    @Autowired
+    public RedisCacheTagStore(StringRedisTemplate redisTemplate) {
+        this.redisTemplate = redisTemplate;
+    }
+
+    @Override
+    public void tag(String cacheName, Object key, Collection<String> tags) {
+        if (tags.isEmpty()) {
+            return;
+        }
+        List<String> setKeys = new ArrayList<>(tags.size());
+        for (String tag : tags) {
+            setKeys.add(key(cacheName, tag));
+        }
+        redisTemplate.execute(TAG_SCRIPT, setKeys, String.valueOf(key), String.valueOf(TAG_TTL.toSeconds()));
+    }
+
+    @Override
+    public Collection<Object> removeTag(String cacheName, String tag) {
+        String setKey = key(cacheName, tag);
+        Long size = redisTemplate.opsForSet().size(setKey);
+        if (size == null || size == 0) {
+            return List.of();
+        }
+        // SPOP removes atomically, so a key tagged concurrently is either returned here or kept for the next eviction
+        List<String> members = redisTemplate.opsForSet().pop(setKey, size);
+        return members == null ? List.of() : new ArrayList<>(members);
+    }
+
+    private static String key(String cacheName, String tag) {
+        return KEY_PREFIX + cacheName + ":" + tag;
+    }
+}
@@ -0,0 +1,208 @@
+package com.danielagapov.spawn.shared.cache;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Cache decorator that serves entries past their soft TTL while rebuilding them in the background
+ * (stale-while-revalidate), so readers of a hot key don't pay for the rebuild when it expires.
+ *
+ * Values are stored in the delegate as {@link RefreshAheadEntry}s and unwrapped on every read.
+ * When a read through get(key, valueLoader) finds an entry, it decides with XFetch whether to
+ * refresh it: the entry is refreshed once now - computeTime * beta * ln(random) reaches its soft
+ * expiry. Refreshes therefore start earlier for expensive entries and become more likely as expiry
+ * nears, instead of every entry written in the same burst being rebuilt at the same instant. Past
+ * the soft TTL a read always triggers a refresh. At most one refresh per key runs on a node.
+ *
+ * A refresh loads data read before any eviction that lands while it runs, so an eviction of the key
+ * (directly, through a tag, or by clearing the cache) during a refresh makes it drop its result instead
+ * of writing stale data back as fresh. This covers evictions through this node; one issued only on
+ * another node while a refresh runs here is bounded by the entry's hard TTL.
+ *
+ * Entries written before this decorator was in place are served as they are and expire normally.
+ */
+public class RefreshAheadCache implements Cache {
+
+    private static final Logger logger = LoggerFactory.getLogger(RefreshAheadCache.class);
+
+    private final Cache delegate;
+    private final long softTtlMillis;
+    private final double beta;
+    private final Executor refreshExecutor;
+    private final Clock clock;
+    // Keys with a refresh running on this node, each with whether it was evicted since the refresh started
+    private final ConcurrentMap<Object, AtomicBoolean> refreshing = new ConcurrentHashMap<>();
+
+    public RefreshAheadCache(Cache delegate, Duration softTtl, double beta, Executor refreshExecutor, Clock clock) {
+        this.delegate = delegate;
+        this.softTtlMillis = softTtl.toMillis();
+        this.beta = beta;
+        this.refreshExecutor = refreshExecutor;
+        this.clock = clock;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        ValueWrapper cached = delegate.get(key);
+        if (cached != null) {
+            if (cached.get() instanceof RefreshAheadEntry entry && shouldRefresh(entry)) {
+                scheduleRefresh(key, valueLoader);
+            }
+            return (T) unwrap(cached.get());
+        }
+        return (T) unwrap(delegate.<Object>get(key, () -> load(valueLoader)));
+    }
+
+    /**
+     * XFetch: refresh when the entry would expire within a random, computation-time-scaled margin.
+     */
+    boolean shouldRefresh(RefreshAheadEntry entry) {
+        long softExpiry = entry.getComputedAtMillis() + softTtlMillis;
+        // 1 - nextDouble() is in (0, 1], so the logarithm is finite and never positive
+        double margin = -entry.getComputeMillis() * beta * Math.log(1 - ThreadLocalRandom.current().nextDouble());
+        return clock.millis() + margin >= softExpiry;
+    }
+
+    /**
+     * @return whether a refresh of the key is currently running on this node
+     */
+    public boolean isRefreshing(Object key) {
+        return refreshing.containsKey(key);
+    }
+
+    private void scheduleRefresh(Object key, Callable<?> valueLoader) {
+        AtomicBoolean evicted = new AtomicBoolean();
+        if (refreshing.putIfAbsent(key, evicted) != null) {
+            return;
+        }
+        try {
+            refreshExecutor.execute(() -> {
+                try {
+                    RefreshAheadEntry entry = load(valueLoader);
+                    if (entry != null && !evicted.get()) {
+                        delegate.put(key, entry);
+                        // Evictions mark the key before evicting it, so one that raced the put is seen here
+                        if (evicted.get()) {
+                            delegate.evict(key);
+                        }
+                    }
+                } catch (Exception e) {
+                    // The stale entry stays until its hard TTL; the next read past that loads it in the foreground
+                    logger.warn("Background refresh of cache '{}' key {} failed: {}", getName(), key, e.getMessage());
+                } finally {
+                    refreshing.remove(key, evicted);
+                }
+            });
+        } catch (RuntimeException e) {
+            // The refresh pool is saturated; a later read will try again
+            refreshing.remove(key, evicted);
+        }
+    }
+
+    private void markEvicted(Object key) {
+        AtomicBoolean evicted = refreshing.get(key);
+        if (evicted != null) {
+            evicted.set(true);
+        }
+    }
+
+    private void markAllEvicted() {
+        refreshing.values().forEach(evicted -> evicted.set(true));
+    }
+
+    private RefreshAheadEntry load(Callable<?> valueLoader) throws Exception {
+        long start = clock.millis();
+        Object value = valueLoader.call();
+        if (value == null) {
+            return null;
+        }
+        long end = clock.millis();
+        return new RefreshAheadEntry(value, end, end - start);
+    }
+
+    private RefreshAheadEntry wrap(Object value) {
+        return value == null ? null : new RefreshAheadEntry(value, clock.millis(), 0);
+    }
+
+    private static Object unwrap(Object stored) {
+        return stored instanceof RefreshAheadEntry entry ? entry.getValue() : stored;
+    }
+
+    private static ValueWrapper unwrap(ValueWrapper stored) {
+        if (stored == null || !(stored.get() instanceof RefreshAheadEntry entry)) {
+            return stored;
+        }
+        return entry::getValue;
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return delegate.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        return unwrap(delegate.get(key));
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper wrapper = get(key);
+        Object value = wrapper == null ? null : wrapper.get();
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException("Cached value is not of required type [" + type.getName() + "]: " + value);
+        }
+        return (T) value;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        delegate.put(key, wrap(value));
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        return unwrap(delegate.putIfAbsent(key, wrap(value)));
+    }
+
+    @Override
+    public void evict(Object key) {
+        markEvicted(key);
+        delegate.evict(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        markEvicted(key);
+        return delegate.evictIfPresent(key);
+    }
+
+    @Override
+    public void clear() {
+        markAllEvicted();
+        delegate.clear();
+    }
+
+    @Override
+    public boolean invalidate() {
+        markAllEvicted();
+        return delegate.invalidate();
+    }
+}
@@ -0,0 +1,55 @@
+package com.danielagapov.spawn.shared.cache;
+
+import com.danielagapov.spawn.shared.config.RefreshAheadConfig;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import java.time.Clock;
+import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+
+/**
+ * Cache manager that wraps the caches configured in {@link RefreshAheadConfig} in a
+ * {@link RefreshAheadCache}; every other cache of the delegate is returned unchanged.
+ */
+public class RefreshAheadCacheManager implements CacheManager {
+
+    private final CacheManager delegate;
+    private final RefreshAheadConfig config;
+    private final Executor refreshExecutor;
+    private final ConcurrentMap<String, Cache> caches = new ConcurrentHashMap<>();
+
+    public RefreshAheadCacheManager(CacheManager delegate, RefreshAheadConfig config, Executor refreshExecutor) {
+        this.delegate = delegate;
+        this.config = config;
+        this.refreshExecutor = refreshExecutor;
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        Cache cache = caches.get(name);
+        if (cache != null) {
+            return cache;
+        }
+        Cache target = delegate.getCache(name);
+        if (target == null) {
+            return null;
+        }
+        return caches.computeIfAbsent(name, cacheName -> decorate(cacheName, target));
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return delegate.getCacheNames();
+    }
+
+    private Cache decorate(String name, Cache target) {
+        RefreshAheadConfig.CacheSpec spec = config.getCaches().get(name);
+        if (!config.isEnabled() || spec == null) {
+            return target;
+        }
+        return new RefreshAheadCache(target, spec.getSoftTtl(), config.getBeta(), refreshExecutor, Clock.systemUTC());
+    }
+}
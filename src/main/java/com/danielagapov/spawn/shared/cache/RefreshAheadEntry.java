@@ -0,0 +1,18 @@
+package com.danielagapov.spawn.shared.cache;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A cached value stored together with when it was computed and how long computing it took, which
+ * {@link RefreshAheadCache} needs to decide when to refresh it.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RefreshAheadEntry {
+    private Object value;
+    private long computedAtMillis;
+    private long computeMillis;
+}
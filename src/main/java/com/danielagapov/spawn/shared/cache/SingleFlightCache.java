@@ -0,0 +1,196 @@
+package com.danielagapov.spawn.shared.cache;
+
+import org.springframework.cache.Cache;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Cache decorator that coalesces concurrent misses for the same key, so a hot key that expires or
+ * is evicted is recomputed once rather than once per waiting request.
+ *
+ * Applies to @Cacheable(sync = true) methods, which load through get(key, valueLoader). The first
+ * miss for a key loads it and every concurrent miss for that key on this node waits for the same
+ * result. With a {@link CacheLoadLease}, nodes also coordinate through Redis: a node that finds
+ * another node loading the key waits for that node's value to appear instead of loading it too.
+ *
+ * Unlike RedisCache's own synchronized loading, misses for different keys never wait on each other.
+ *
+ * An eviction that lands while a key is loading wins: the load's value, read from before the change
+ * that caused the eviction, is handed to the callers already waiting on it but is not cached, and
+ * later misses start a fresh load instead of joining the stale one.
+ */
+public class SingleFlightCache implements Cache {
+
+    private final Cache delegate;
+    private final CacheLoadLease lease;
+    private final ConcurrentMap<Object, Flight> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * @param lease cross-node lease, or null to coalesce misses on this node only
+     */
+    public SingleFlightCache(Cache delegate, CacheLoadLease lease) {
+        this.delegate = delegate;
+        this.lease = lease;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        ValueWrapper cached = delegate.get(key);
+        if (cached != null) {
+            return (T) cached.get();
+        }
+
+        Flight flight = new Flight();
+        Flight leader = inFlight.putIfAbsent(key, flight);
+        if (leader != null) {
+            return (T) await(leader.result, key, valueLoader);
+        }
+        try {
+            Object value = load(key, valueLoader, flight.evicted);
+            flight.result.complete(value);
+            return (T) value;
+        } catch (RuntimeException e) {
+            flight.result.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, flight);
+        }
+    }
+
+    /**
+     * @return the number of keys currently being loaded on this node
+     */
+    public int inFlightCount() {
+        return inFlight.size();
+    }
+
+    private void markEvicted(Object key) {
+        Flight flight = inFlight.get(key);
+        if (flight != null) {
+            flight.evicted.set(true);
+            // Later misses load afresh rather than join a load that started before the eviction
+            inFlight.remove(key, flight);
+        }
+    }
+
+    private void markAllEvicted() {
+        inFlight.values().removeIf(flight -> {
+            flight.evicted.set(true);
+            return true;
+        });
+    }
+
+    private Object load(Object key, Callable<?> valueLoader, AtomicBoolean evicted) {
+        // Another request may have filled the entry between our miss and taking the flight
+        ValueWrapper cached = delegate.get(key);
+        if (cached != null) {
+            return cached.get();
+        }
+
+        boolean leaseHeld = false;
+        if (lease != null) {
+            leaseHeld = lease.tryAcquire(getName(), key);
+            if (!leaseHeld) {
+                ValueWrapper loadedElsewhere = lease.awaitValue(delegate, key);
+                if (loadedElsewhere != null) {
+                    return loadedElsewhere.get();
+                }
+                // The other node gave up or its lease ran out; load here rather than wait any longer
+            }
+        }
+        try {
+            Object value = valueLoader.call();
+            if (value != null && !evicted.get()) {
+                delegate.put(key, value);
+                // Evictions mark the key before evicting it, so one that raced the put is seen here
+                if (evicted.get()) {
+                    delegate.evict(key);
+                }
+            }
+            return value;
+        } catch (Exception e) {
+            throw new ValueRetrievalException(key, valueLoader, e);
+        } finally {
+            if (leaseHeld) {
+                lease.release(getName(), key);
+            }
+        }
+    }
+
+    private static Object await(CompletableFuture<Object> leader, Object key, Callable<?> valueLoader) {
+        try {
+            return leader.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new ValueRetrievalException(key, valueLoader, e.getCause());
+        }
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return delegate.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        return delegate.get(key);
+    }
+
+    @Override
+    public <T> T get(Object key, Class<T> type) {
+        return delegate.get(key, type);
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        delegate.put(key, value);
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        return delegate.putIfAbsent(key, value);
+    }
+
+    @Override
+    public void evict(Object key) {
+        markEvicted(key);
+        delegate.evict(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        markEvicted(key);
+        return delegate.evictIfPresent(key);
+    }
+
+    @Override
+    public void clear() {
+        markAllEvicted();
+        delegate.clear();
+    }
+
+    @Override
+    public boolean invalidate() {
+        markAllEvicted();
+        return delegate.invalidate();
+    }
+
+    private static final class Flight {
+        private final CompletableFuture<Object> result = new CompletableFuture<>();
+        // Whether the key was evicted since this load started
+        private final AtomicBoolean evicted = new AtomicBoolean();
+    }
+}
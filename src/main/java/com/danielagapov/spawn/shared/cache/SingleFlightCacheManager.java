@@ -0,0 +1,44 @@
+package com.danielagapov.spawn.shared.cache;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Cache manager that wraps every cache of another manager in a {@link SingleFlightCache}.
+ */
+public class SingleFlightCacheManager implements CacheManager {
+
+    private final CacheManager delegate;
+    private final CacheLoadLease lease;
+    private final ConcurrentMap<String, Cache> caches = new ConcurrentHashMap<>();
+
+    /**
+     * @param lease cross-node lease, or null to coalesce misses on each node only
+     */
+    public SingleFlightCacheManager(CacheManager delegate, CacheLoadLease lease) {
+        this.delegate = delegate;
+        this.lease = lease;
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        Cache cache = caches.get(name);
+        if (cache != null) {
+            return cache;
+        }
+        Cache target = delegate.getCache(name);
+        if (target == null) {
+            return null;
+        }
+        return caches.computeIfAbsent(name, ignored -> new SingleFlightCache(target, lease));
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return delegate.getCacheNames();
+    }
+}
@@ -0,0 +1,169 @@
+package com.danielagapov.spawn.shared.cache;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+import java.util.concurrent.Callable;
+
+/**
+ * A cache backed by an in-process Caffeine L1 in front of a shared L2 (Redis).
+ *
+ * Reads are served from L1 when possible and fall back to L2, populating L1 on the way back.
+ * Writes, evictions and clears go to L2 first, are applied to this node's L1, and are then
+ * broadcast so other nodes drop their L1 copy. L1 keys are the string form of the cache key,
+ * which is also what travels in invalidation messages.
+ */
+public class TwoLevelCache implements Cache {
+
+    /**
+     * Broadcasts an invalidation of this cache to other nodes; a null key means the whole cache.
+     */
+    @FunctionalInterface
+    public interface InvalidationPublisher {
+        void publish(String cacheName, String key);
+    }
+
+    private final String name;
+    private final Cache remote;
+    private final com.github.benmanes.caffeine.cache.Cache<String, Object> local;
+    private final InvalidationPublisher invalidationPublisher;
+
+    public TwoLevelCache(String name, Cache remote, com.github.benmanes.caffeine.cache.Cache<String, Object> local,
+                         InvalidationPublisher invalidationPublisher) {
+        this.name = name;
+        this.remote = remote;
+        this.local = local;
+        this.invalidationPublisher = invalidationPublisher;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return remote.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        String localKey = localKey(key);
+        Object value = local.getIfPresent(localKey);
+        if (value != null) {
+            return new SimpleValueWrapper(value);
+        }
+        ValueWrapper wrapper = remote.get(key);
+        if (wrapper != null && wrapper.get() != null) {
+            local.put(localKey, wrapper.get());
+        }
+        return wrapper;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper wrapper = get(key);
+        Object value = wrapper != null ? wrapper.get() : null;
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException("Cached value is not of required type [" + type.getName() + "]: " + value);
+        }
+        return (T) value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        String localKey = localKey(key);
+        Object value = local.getIfPresent(localKey);
+        if (value != null) {
+            return (T) value;
+        }
+        T loaded = remote.get(key, valueLoader);
+        if (loaded != null) {
+            local.put(localKey, loaded);
+        }
+        return loaded;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        remote.put(key, value);
+        String localKey = localKey(key);
+        if (value != null) {
+            local.put(localKey, value);
+        } else {
+            local.invalidate(localKey);
+        }
+        invalidationPublisher.publish(name, localKey);
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        ValueWrapper existing = remote.putIfAbsent(key, value);
+        String localKey = localKey(key);
+        if (existing == null || existing.get() == null) {
+            if (value != null) {
+                local.put(localKey, value);
+            }
+            invalidationPublisher.publish(name, localKey);
+        } else {
+            local.put(localKey, existing.get());
+        }
+        return existing;
+    }
+
+    @Override
+    public void evict(Object key) {
+        remote.evict(key);
+        String localKey = localKey(key);
+        local.invalidate(localKey);
+        invalidationPublisher.publish(name, localKey);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        boolean evicted = remote.evictIfPresent(key);
+        String localKey = localKey(key);
+        local.invalidate(localKey);
+        invalidationPublisher.publish(name, localKey);
+        return evicted;
+    }
+
+    @Override
+    public void clear() {
+        remote.clear();
+        local.invalidateAll();
+        invalidationPublisher.publish(name, null);
+    }
+
+    @Override
+    public boolean invalidate() {
+        boolean invalidated = remote.invalidate();
+        local.invalidateAll();
+        invalidationPublisher.publish(name, null);
+        return invalidated;
+    }
+
+    /**
+     * Drops an entry from this node's L1 only, in response to a change made on another node.
+     */
+    public void evictLocal(String localKey) {
+        local.invalidate(localKey);
+    }
+
+    /**
+     * Drops all of this node's L1 entries for the cache, in response to a clear on another node.
+     */
+    public void clearLocal() {
+        local.invalidateAll();
+    }
+
+    public long localSize() {
+        return local.estimatedSize();
+    }
+
+    static String localKey(Object key) {
+        return String.valueOf(key);
+    }
+}
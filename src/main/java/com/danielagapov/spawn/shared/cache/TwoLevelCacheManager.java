@@ -0,0 +1,113 @@
+package com.danielagapov.spawn.shared.cache;
+
+import com.danielagapov.spawn.shared.config.NearCacheConfig;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Cache manager that puts a size-bounded Caffeine L1 in front of the caches of another manager
+ * (Redis in production), for the caches configured in {@link NearCacheConfig}.
+ *
+ * Nodes keep their L1s coherent by publishing every write, eviction and clear on a Redis pub/sub
+ * channel; each node drops the matching L1 entries when it receives a message from another node.
+ * Pub/sub is fire-and-forget, so a missed message leaves a node serving its L1 copy until the
+ * entry's L1 TTL runs out.
+ */
+public class TwoLevelCacheManager implements CacheManager, MessageListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(TwoLevelCacheManager.class);
+    private static final String SEPARATOR = "|";
+    private static final String EVICT = "E";
+    private static final String CLEAR = "C";
+
+    private final CacheManager remoteCacheManager;
+    private final NearCacheConfig config;
+    private final StringRedisTemplate redisTemplate;
+    private final String nodeId = UUID.randomUUID().toString();
+    private final ConcurrentMap<String, Cache> caches = new ConcurrentHashMap<>();
+
+    public TwoLevelCacheManager(CacheManager remoteCacheManager, NearCacheConfig config, StringRedisTemplate redisTemplate) {
+        this.remoteCacheManager = remoteCacheManager;
+        this.config = config;
+        this.redisTemplate = redisTemplate;
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        Cache cache = caches.get(name);
+        if (cache != null) {
+            return cache;
+        }
+        Cache remote = remoteCacheManager.getCache(name);
+        if (remote == null) {
+            return null;
+        }
+        return caches.computeIfAbsent(name, cacheName -> decorate(cacheName, remote));
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return remoteCacheManager.getCacheNames();
+    }
+
+    /**
+     * Applies an invalidation published by another node to this node's L1.
+     */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String[] parts = new String(message.getBody(), StandardCharsets.UTF_8).split("\\" + SEPARATOR, 4);
+        if (parts.length < 3 || nodeId.equals(parts[0])) {
+            return;
+        }
+        // Caches this node has not used yet have no L1 entries to drop
+        if (!(caches.get(parts[2]) instanceof TwoLevelCache cache)) {
+            return;
+        }
+        if (CLEAR.equals(parts[1])) {
+            cache.clearLocal();
+        } else if (EVICT.equals(parts[1]) && parts.length == 4) {
+            cache.evictLocal(parts[3]);
+        }
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    private Cache decorate(String name, Cache remote) {
+        NearCacheConfig.CacheSpec spec = config.getCaches().get(name);
+        if (!config.isEnabled() || spec == null) {
+            return remote;
+        }
+        com.github.benmanes.caffeine.cache.Cache<String, Object> local = Caffeine.newBuilder()
+                .maximumSize(spec.getMaxSize())
+                .expireAfterWrite(spec.getTtl())
+                .build();
+        logger.info("Near cache enabled for '{}' (max {} entries, ttl {})", name, spec.getMaxSize(), spec.getTtl());
+        return new TwoLevelCache(name, remote, local, this::publishInvalidation);
+    }
+
+    private void publishInvalidation(String cacheName, String key) {
+        String payload = key == null
+                ? String.join(SEPARATOR, nodeId, CLEAR, cacheName)
+                : String.join(SEPARATOR, nodeId, EVICT, cacheName, key);
+        try {
+            redisTemplate.convertAndSend(config.getInvalidationChannel(), payload);
+        } catch (Exception e) {
+            // Other nodes fall back to their L1 TTL; the local write has already succeeded
+            logger.warn("Failed to publish near cache invalidation for '{}': {}", cacheName, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package com.danielagapov.spawn.shared.cache;
+
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.jsontype.BasicPolymorphicTypeValidator;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Redis value serializer that writes cache entries either as Smile (Jackson's binary JSON) or as
+ * plain JSON, and reads both.
+ *
+ * Smile entries start with a two-byte header: a marker byte that can never start a JSON document,
+ * followed by the format version. Entries without the marker are JSON written before the header
+ * existed (or by nodes configured for JSON), so a rollout or a rollback never makes existing
+ * entries unreadable. Smile keeps the same object model and type handling as the JSON encoding;
+ * it is smaller mainly because repeated property names and class names are written once per value
+ * and then back-referenced.
+ *
+ * Both encodings write the root value's type, so objects and collections read back as their real
+ * class rather than failing for lack of a type ID.
+ *
+ * Smile payloads above a configurable size are additionally deflated and written under their own
+ * format version. Large cache values are mostly lists of similar DTOs, which compress well, and
+ * compressing only those keeps the CPU cost off the many small entries.
+ */
+public class VersionedCacheSerializer implements RedisSerializer<Object> {
+
+    public enum Format { JSON, SMILE }
+
+    static final byte HEADER_MARKER = (byte) 0xFE;
+    static final byte SMILE_V1 = 1;
+    static final byte SMILE_DEFLATE_V1 = 2;
+    private static final int HEADER_LENGTH = 2;
+    private static final byte[] EMPTY = new byte[0];
+
+    private final Format writeFormat;
+    private final int compressAboveBytes;
+    private final ObjectMapper jsonMapper;
+    private final ObjectMapper smileMapper;
+    private final ObjectWriter jsonWriter;
+    private final ObjectWriter smileWriter;
+
+    public VersionedCacheSerializer(Format writeFormat) {
+        this(writeFormat, Integer.MAX_VALUE);
+    }
+
+    /**
+     * @param compressAboveBytes Smile payloads larger than this are deflated
+     */
+    public VersionedCacheSerializer(Format writeFormat, int compressAboveBytes) {
+        this.writeFormat = writeFormat;
+        this.compressAboveBytes = compressAboveBytes;
+        this.jsonMapper = configure(new ObjectMapper());
+        SmileFactory smileFactory = SmileFactory.builder()
+                .enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES)
+                .build();
+        this.smileMapper = configure(new ObjectMapper(smileFactory));
+        // Writing with Object as the nominal type puts the root value's type ID into the payload,
+        // which reading back as Object relies on
+        this.jsonWriter = jsonMapper.writerFor(Object.class);
+        this.smileWriter = smileMapper.writerFor(Object.class);
+    }
+
+    @Override
+    public byte[] serialize(Object value) throws SerializationException {
+        if (value == null) {
+            return EMPTY;
+        }
+        try {
+            if (writeFormat == Format.JSON) {
+                return jsonWriter.writeValueAsBytes(value);
+            }
+            byte[] body = smileWriter.writeValueAsBytes(value);
+            if (body.length > compressAboveBytes) {
+                byte[] deflated = deflate(body);
+                if (deflated.length < body.length) {
+                    return withHeader(SMILE_DEFLATE_V1, deflated);
+                }
+            }
+            return withHeader(SMILE_V1, body);
+        } catch (IOException e) {
+            throw new SerializationException("Could not write cache value: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public Object deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        try {
+            if (bytes[0] != HEADER_MARKER) {
+                return jsonMapper.readValue(bytes, Object.class);
+            }
+            if (bytes.length >= HEADER_LENGTH && bytes[1] == SMILE_V1) {
+                return smileMapper.readValue(bytes, HEADER_LENGTH, bytes.length - HEADER_LENGTH, Object.class);
+            }
+            if (bytes.length >= HEADER_LENGTH && bytes[1] == SMILE_DEFLATE_V1) {
+                try (InputStream body = new InflaterInputStream(
+                        new ByteArrayInputStream(bytes, HEADER_LENGTH, bytes.length - HEADER_LENGTH))) {
+                    return smileMapper.readValue(body, Object.class);
+                }
+            }
+            throw new SerializationException("Unsupported cache value format version: "
+                    + (bytes.length < HEADER_LENGTH ? "missing" : bytes[1]));
+        } catch (IOException e) {
+            throw new SerializationException("Could not read cache value: " + e.getMessage(), e);
+        }
+    }
+
+    private static byte[] withHeader(byte version, byte[] body) {
+        byte[] bytes = new byte[HEADER_LENGTH + body.length];
+        bytes[0] = HEADER_MARKER;
+        bytes[1] = version;
+        System.arraycopy(body, 0, bytes, HEADER_LENGTH, body.length);
+        return bytes;
+    }
+
+    private static byte[] deflate(byte[] body) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(body.length / 4);
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try (DeflaterOutputStream deflating = new DeflaterOutputStream(out, deflater)) {
+            deflating.write(body);
+        } finally {
+            deflater.end();
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Applies the cache's object model to a mapper: java.time support with ISO dates, and type
+     * information for Object-typed and abstract values so that they deserialize to their real class.
+     */
+    private static ObjectMapper configure(ObjectMapper objectMapper) {
+        objectMapper.registerModule(new JavaTimeModule());
+        objectMapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+        // Use OBJECT_AND_NON_CONCRETE instead of NON_FINAL to avoid issues with collections
+        BasicPolymorphicTypeValidator validator = BasicPolymorphicTypeValidator.builder()
+                .allowIfBaseType(Object.class)
+                .build();
+        objectMapper.activateDefaultTyping(
+                validator,
+                ObjectMapper.DefaultTyping.OBJECT_AND_NON_CONCRETE,
+                JsonTypeInfo.As.PROPERTY
+        );
+        return objectMapper;
+    }
+}
@@ -3,10 +3,12 @@ package com.danielagapov.spawn.shared.config;
 import org.springframework.aop.interceptor.AsyncUncaughtExceptionHandler;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
 import org.springframework.scheduling.annotation.AsyncConfigurer;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
 import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
 
 /**
  * Configuration for asynchronous task execution.
@@ -45,6 +47,72 @@ public class AsyncConfiguration implements AsyncConfigurer {
         return executor;
     }
 
+    /**
+     * Small pool for rebuilding cache entries in the background (see RefreshAheadConfig).
+     * Refreshes that don't fit are rejected and retried by a later read rather than queued up.
+     */
+    @Bean(name = "cacheRefreshExecutor")
+    public Executor cacheRefreshExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(2);
+        executor.setMaxPoolSize(4);
+        executor.setQueueCapacity(200);
+        executor.setThreadNamePrefix("cache-refresh-");
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Pool that runs the per-category validators of a cache validation request concurrently
+     * (see CacheService). Its size bounds how many validators run at once across all requests;
+     * when it and its short queue are full, validators run on the request thread instead.
+     */
+    @Bean(name = "cacheValidationExecutor")
+    public Executor cacheValidationExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(8);
+        executor.setMaxPoolSize(32);
+        executor.setQueueCapacity(64);
+        executor.setThreadNamePrefix("cache-validation-");
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Pool for warming users' caches (see CacheWarmupService). One thread can be busy with the
+     * rate-limited startup pass while the other serves sign-ins; warm-ups that don't fit are dropped,
+     * since the user's own requests will load the caches anyway.
+     */
+    @Bean(name = "cacheWarmupExecutor")
+    public Executor cacheWarmupExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(2);
+        executor.setMaxPoolSize(2);
+        executor.setQueueCapacity(100);
+        executor.setThreadNamePrefix("cache-warmup-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.DiscardPolicy());
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Pool that writes streamed responses (StreamingResponseBody) such as the feed and profile activity
+     * streams (see WebConfig). Without it Spring MVC starts a new thread per streamed request, with no
+     * bound. When it and its queue are full, the response is written on the request thread instead,
+     * which Tomcat's own thread limit bounds.
+     */
+    @Bean(name = "mvcAsyncExecutor")
+    public AsyncTaskExecutor mvcAsyncExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(8);
+        executor.setMaxPoolSize(32);
+        executor.setQueueCapacity(100);
+        executor.setThreadNamePrefix("mvc-async-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.initialize();
+        return executor;
+    }
+
     /**
      * Default executor for async operations not explicitly configured.
      */
@@ -0,0 +1,53 @@
+package com.danielagapov.spawn.shared.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Configuration for bounding how much Redis memory a cache may use.
+ *
+ * Every write to a listed cache is measured in its serialized form. Values larger than the cache's
+ * maximum entry size are not cached at all, and once the cache as a whole holds more than its memory
+ * budget, its least recently used entries are evicted. Caches not listed here are unbounded.
+ *
+ * Configuration properties can be set in application.properties with prefix "cache-budget"
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "cache-budget")
+public class CacheBudgetConfig {
+
+    /**
+     * Turns size checks and budgets off for every cache.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Serialized values larger than this are compressed before they are written, in every cache.
+     */
+    private DataSize compressAbove = DataSize.ofKilobytes(16);
+
+    /**
+     * Limits keyed by cache name.
+     */
+    private Map<String, CacheSpec> caches = new LinkedHashMap<>();
+
+    @Data
+    public static class CacheSpec {
+
+        /**
+         * Largest serialized value, after compression, that is cached.
+         */
+        private DataSize maxEntrySize = DataSize.ofKilobytes(256);
+
+        /**
+         * Total serialized size of the cache's entries above which the least recently used are evicted.
+         */
+        private DataSize memoryBudget = DataSize.ofMegabytes(64);
+    }
+}
@@ -0,0 +1,21 @@
+package com.danielagapov.spawn.shared.config;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO with the memory a budgeted cache holds across all nodes and its largest entries.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CacheBudgetReportDTO {
+    private String cacheName;
+    private long usedBytes;
+    private long budgetBytes;
+    private long maxEntryBytes;
+    private List<CacheKeySizeDTO> largestKeys;
+}
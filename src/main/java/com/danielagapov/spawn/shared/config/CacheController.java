@@ -57,11 +57,13 @@ public class CacheController {
             // This can happen when the mobile client sends an empty request body
             // or when the timestamps field is null
             Map<String, String> timestamps = null;
+            Map<String, Long> versions = null;
             if (request != null) {
                 timestamps = request.getTimestamps();
+                versions = request.getVersions();
             }
             
-            Map<String, CacheValidationResponseDTO> response = cacheService.validateCache(userId, timestamps);
+            Map<String, CacheValidationResponseDTO> response = cacheService.validateCache(userId, timestamps, versions);
             return ResponseEntity.ok(response);
         } catch (Exception e) {
             logger.error("Error validating cache for user: " + LoggingUtils.formatUserIdInfo(userId) + ": " + e.getMessage());
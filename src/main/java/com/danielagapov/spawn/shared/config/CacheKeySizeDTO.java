@@ -0,0 +1,16 @@
+package com.danielagapov.spawn.shared.config;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO with the serialized size of one cache entry, as accounted against its cache's memory budget.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CacheKeySizeDTO {
+    private String key;
+    private long bytes;
+}
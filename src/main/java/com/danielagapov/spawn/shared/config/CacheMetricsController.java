@@ -0,0 +1,75 @@
+package com.danielagapov.spawn.shared.config;
+
+import com.danielagapov.spawn.shared.cache.CacheMemoryBudget;
+import com.danielagapov.spawn.shared.cache.CacheStatistics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * Admin controller exposing per-cache hit, miss, load and write statistics, used to judge which
+ * caches earn their keep and to tune their TTLs.
+ *
+ * Statistics are kept per node since it started, so each response only covers the node that
+ * served it; the same counters are published to Micrometer as "spawn.cache.*" for a fleet-wide view.
+ * Memory use of the caches with a budget (see CacheBudgetConfig) is kept in Redis and covers all nodes.
+ */
+@RestController
+@RequestMapping("/api/v1/cache/metrics")
+public class CacheMetricsController {
+
+    private final CacheStatistics cacheStatistics;
+    private final CacheBudgetConfig cacheBudgetConfig;
+    private final ObjectProvider<CacheMemoryBudget> cacheMemoryBudget;
+
+    @Autowired
+    public CacheMetricsController(CacheStatistics cacheStatistics, CacheBudgetConfig cacheBudgetConfig,
+                                  ObjectProvider<CacheMemoryBudget> cacheMemoryBudget) {
+        this.cacheStatistics = cacheStatistics;
+        this.cacheBudgetConfig = cacheBudgetConfig;
+        this.cacheMemoryBudget = cacheMemoryBudget;
+    }
+
+    /**
+     * @return statistics of every cache used on this node, ordered by cache name
+     */
+    @GetMapping
+    public ResponseEntity<List<CacheStatsDTO>> getCacheMetrics() {
+        return ResponseEntity.ok(cacheStatistics.snapshot());
+    }
+
+    /**
+     * @param cacheName name of the cache, as in CacheNames
+     * @return statistics of that cache, or 404 if it hasn't been used on this node
+     */
+    @GetMapping("/{cacheName}")
+    public ResponseEntity<CacheStatsDTO> getCacheMetrics(@PathVariable String cacheName) {
+        CacheStatsDTO stats = cacheStatistics.snapshot(cacheName);
+        return stats == null ? ResponseEntity.notFound().build() : ResponseEntity.ok(stats);
+    }
+
+    /**
+     * @param cacheName name of a cache with a memory budget
+     * @param limit     how many of the largest entries to list
+     * @return the cache's memory use and largest entries, or 404 if the cache has no budget or caching is not backed by Redis
+     */
+    @GetMapping("/{cacheName}/largest-keys")
+    public ResponseEntity<CacheBudgetReportDTO> getLargestKeys(@PathVariable String cacheName,
+                                                               @RequestParam(defaultValue = "20") int limit) {
+        CacheMemoryBudget budget = cacheMemoryBudget.getIfAvailable();
+        CacheBudgetConfig.CacheSpec spec = cacheBudgetConfig.getCaches().get(cacheName);
+        if (budget == null || spec == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(new CacheBudgetReportDTO(cacheName, budget.usedBytes(cacheName),
+                spec.getMemoryBudget().toBytes(), spec.getMaxEntrySize().toBytes(),
+                budget.largestKeys(cacheName, Math.max(1, Math.min(limit, 200)))));
+    }
+}
@@ -0,0 +1,44 @@
+package com.danielagapov.spawn.shared.config;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO with the hit, miss, load and write counters of one cache on the node that served the request.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CacheStatsDTO {
+    private String cacheName;
+    private long hits;
+    private long misses;
+
+    /**
+     * Hits divided by hits plus misses, or 0 before the cache was read
+     */
+    private double hitRatio;
+
+    private long loads;
+    private long loadFailures;
+    private double averageLoadMillis;
+    private long puts;
+    private long evictions;
+    private long clears;
+
+    /**
+     * Average serialized size of the sampled values written to this cache, or 0 if none was sampled
+     */
+    private long averagePayloadBytes;
+
+    /**
+     * Values not written because they exceeded the cache's maximum entry size
+     */
+    private long oversizeRejections;
+
+    /**
+     * Entries evicted to keep the cache within its memory budget
+     */
+    private long budgetTrims;
+}
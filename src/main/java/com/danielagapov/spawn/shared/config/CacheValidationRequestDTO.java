@@ -8,7 +8,8 @@ import java.util.Map;
 
 /**
  * DTO for cache validation requests from mobile clients.
- * Contains a map of cache category names to their last update timestamps.
+ * Contains a map of cache category names to their last update timestamps, and for versioned
+ * categories the server versions the client last received.
  */
 @Data
 @NoArgsConstructor
@@ -19,4 +20,14 @@ public class CacheValidationRequestDTO {
      * last update timestamps in ISO-8601 format (e.g., "2023-04-01T10:15:30Z")
      */
     private Map<String, String> timestamps;
+
+    /**
+     * Map of cache category names to the version returned by the last validation. Categories sent
+     * here are validated by version and answered with only the items changed since then.
+     */
+    private Map<String, Long> versions;
+
+    public CacheValidationRequestDTO(Map<String, String> timestamps) {
+        this(timestamps, null);
+    }
 } 
\ No newline at end of file
@@ -4,6 +4,9 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.util.List;
+import java.util.UUID;
+
 /**
  * DTO for cache validation response that indicates whether a client's cached data is stale.
  */
@@ -21,4 +24,25 @@ public class CacheValidationResponseDTO {
      * This is useful for smaller data sets that can be included directly
      */
     private byte[] updatedItems;
-} 
\ No newline at end of file
+
+    /**
+     * Server version of this category that the response brings the client up to, for categories
+     * that are versioned; the client sends it back on its next validation
+     */
+    private Long version;
+
+    /**
+     * Whether updatedItems only holds the items changed since the client's version, which the
+     * client merges into its cache by ID, rather than the whole category
+     */
+    private boolean delta;
+
+    /**
+     * IDs of items the client should drop from its cache, set on delta responses
+     */
+    private List<UUID> removedIds;
+
+    public CacheValidationResponseDTO(boolean invalidate, byte[] updatedItems) {
+        this(invalidate, updatedItems, null, false, null);
+    }
+}
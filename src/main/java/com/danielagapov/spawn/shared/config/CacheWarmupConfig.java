@@ -0,0 +1,43 @@
+package com.danielagapov.spawn.shared.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Configuration for warming a user's hot caches (feed, activity types, recommended friends) ahead of
+ * their first request.
+ *
+ * Caches are warmed in the background when a user signs in or refreshes their token, and on startup
+ * for the users with the most recent sessions, at a fixed rate so that a deploy or a Redis flush does
+ * not turn into a burst of cold loads against the database.
+ *
+ * Configuration properties can be set in application.properties with prefix "cache-warmup"
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "cache-warmup")
+public class CacheWarmupConfig {
+
+    /**
+     * Turns all warm-up off.
+     */
+    private boolean enabled = true;
+
+    /**
+     * How many of the most recently active users to warm on startup; 0 skips the startup pass.
+     */
+    private int startupUsers = 500;
+
+    /**
+     * How many users the startup pass warms per second.
+     */
+    private int usersPerSecond = 5;
+
+    /**
+     * Minimum time between two session warm-ups of the same user on one instance.
+     */
+    private Duration sessionInterval = Duration.ofMinutes(10);
+}
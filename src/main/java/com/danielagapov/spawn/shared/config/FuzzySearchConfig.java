@@ -114,6 +114,21 @@ public class FuzzySearchConfig {
      */
     private boolean enableAnalytics = false;
     
+    /**
+     * Number of candidates from which scoring is split across the common fork-join pool.
+     * Below it, the overhead of splitting outweighs the gain.
+     * 
+     * Default: 2000
+     */
+    private int parallelScoringThreshold = 2000;
+    
+    /**
+     * Maximum number of query/text similarity scores kept in memory for reuse.
+     * 
+     * Default: 10000
+     */
+    private int distanceCacheSize = 10_000;
+    
     /**
      * Creates a JaroWinklerDistance bean for dependency injection.
      * This bean is configured as a singleton and can be injected into services.
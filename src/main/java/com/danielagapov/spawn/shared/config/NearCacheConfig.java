@@ -0,0 +1,56 @@
+package com.danielagapov.spawn.shared.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Configuration for the per-node near cache (L1) that sits in front of the Redis cache (L2).
+ *
+ * Only caches listed under "near-cache.caches" get an L1; every other cache goes straight to Redis.
+ * Values held in L1 are shared instances rather than fresh copies deserialized from Redis, so only
+ * caches whose values are treated as read-only by their callers should be listed here.
+ *
+ * A node can serve an L1 entry for at most its TTL after another node changed the value and the
+ * invalidation message was lost, so TTLs are kept short.
+ *
+ * Configuration properties can be set in application.properties with prefix "near-cache"
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "near-cache")
+public class NearCacheConfig {
+
+    /**
+     * Turns the L1 off entirely, leaving Redis as the only cache tier.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Redis pub/sub channel on which nodes broadcast L1 invalidations to each other.
+     */
+    private String invalidationChannel = "spawn:cache:invalidation";
+
+    /**
+     * L1 settings keyed by cache name.
+     */
+    private Map<String, CacheSpec> caches = new LinkedHashMap<>();
+
+    @Data
+    public static class CacheSpec {
+
+        /**
+         * Maximum number of entries held in this node's L1 for the cache.
+         */
+        private long maxSize = 10_000;
+
+        /**
+         * How long an entry stays in L1 after it was written.
+         */
+        private Duration ttl = Duration.ofSeconds(30);
+    }
+}
@@ -1,15 +1,22 @@
 package com.danielagapov.spawn.shared.config;
 
+import com.danielagapov.spawn.shared.cache.BudgetedCacheManager;
+import com.danielagapov.spawn.shared.cache.CacheLoadLease;
+import com.danielagapov.spawn.shared.cache.CacheMemoryBudget;
+import com.danielagapov.spawn.shared.cache.CacheStatistics;
+import com.danielagapov.spawn.shared.cache.MeasuringCacheSerializer;
+import com.danielagapov.spawn.shared.cache.MeteredCacheManager;
+import com.danielagapov.spawn.shared.cache.RefreshAheadCacheManager;
+import com.danielagapov.spawn.shared.cache.SingleFlightCacheManager;
+import com.danielagapov.spawn.shared.cache.TwoLevelCacheManager;
+import com.danielagapov.spawn.shared.cache.VersionedCacheSerializer;
 import com.danielagapov.spawn.shared.util.CacheNames;
-import com.fasterxml.jackson.annotation.JsonTypeInfo;
 import com.fasterxml.jackson.core.JsonParseException;
 import com.fasterxml.jackson.databind.JsonMappingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.SerializationFeature;
-import com.fasterxml.jackson.databind.jsontype.BasicPolymorphicTypeValidator;
-import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.cache.Cache;
@@ -23,10 +30,15 @@ import org.springframework.context.annotation.Profile;
 import org.springframework.data.redis.cache.RedisCacheConfiguration;
 import org.springframework.data.redis.cache.RedisCacheManager;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
-import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
+import org.springframework.data.redis.serializer.RedisSerializer;
 
 import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.Executor;
 
 @Configuration
 @EnableCaching
@@ -37,30 +49,41 @@ public class RedisCacheConfig implements CachingConfigurer {
     
     private static final Logger logger = LoggerFactory.getLogger(RedisCacheConfig.class);
 
+    @Value("${redis-cache.serializer:smile}")
+    private String serializerFormat;
+
+    @Value("${redis-cache.load-lease.enabled:false}")
+    private boolean loadLeaseEnabled;
+
+    @Value("${redis-cache.load-lease.ttl:5s}")
+    private Duration loadLeaseTtl;
+
+    /**
+     * Redis-backed cache manager, wrapped so the caches listed in {@link NearCacheConfig} also get a
+     * per-node in-memory L1. Repeat reads of those caches on the same node are served without a
+     * Redis round trip; the remaining caches behave exactly as plain Redis caches.
+     *
+     * Below the near cache, concurrent misses for the same key are coalesced into a single load
+     * (see {@link SingleFlightCacheManager}), across nodes too when the load lease is enabled, and
+     * the caches configured in {@link RefreshAheadConfig} are refreshed in the background before
+     * readers see them expire. Every cache reports hits, misses, loads and writes to
+     * {@link CacheStatistics}; L1 hits count as hits. Right above Redis, the caches configured in
+     * {@link CacheBudgetConfig} refuse oversized values and are trimmed to their memory budget.
+     */
     @Bean
-    public CacheManager cacheManager(RedisConnectionFactory connectionFactory) {
-        // RAM OPTIMIZATION: Use JSON serialization instead of JDK (saves ~60 MB, 40% reduction)
-        // Configure ObjectMapper with proper UTF-8 support for emojis and special characters
-        ObjectMapper objectMapper = new ObjectMapper();
-        objectMapper.registerModule(new JavaTimeModule());
-        objectMapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
-        
-        // Configure polymorphic type handling for proper deserialization
-        // Use OBJECT_AND_NON_CONCRETE instead of NON_FINAL to avoid issues with collections
-        BasicPolymorphicTypeValidator validator = BasicPolymorphicTypeValidator.builder()
-                .allowIfBaseType(Object.class)
-                .build();
+    public MeteredCacheManager cacheManager(RedisConnectionFactory connectionFactory, NearCacheConfig nearCacheConfig,
+                                            RefreshAheadConfig refreshAheadConfig, CacheBudgetConfig cacheBudgetConfig,
+                                            StringRedisTemplate redisTemplate,
+                                            @Qualifier("cacheRefreshExecutor") Executor cacheRefreshExecutor,
+                                            CacheStatistics cacheStatistics, CacheMemoryBudget cacheMemoryBudget) {
+        // RAM OPTIMIZATION: Use Jackson serialization instead of JDK (saves ~60 MB, 40% reduction)
+        // New entries are written as Smile by default, deflated when large; JSON entries from before the switch stay readable
+        // Wrapped so the budget and statistics decorators can size the bytes actually written instead of serializing again
+        MeasuringCacheSerializer serializer = new MeasuringCacheSerializer(new VersionedCacheSerializer(
+                VersionedCacheSerializer.Format.valueOf(serializerFormat.trim().toUpperCase()),
+                (int) Math.min(Integer.MAX_VALUE, cacheBudgetConfig.getCompressAbove().toBytes())));
         
-        objectMapper.activateDefaultTyping(
-                validator,
-                ObjectMapper.DefaultTyping.OBJECT_AND_NON_CONCRETE,
-                JsonTypeInfo.As.PROPERTY
-        );
-        
-        GenericJackson2JsonRedisSerializer serializer = 
-            new GenericJackson2JsonRedisSerializer(objectMapper);
-        
-        // Set default TTL of 100 minutes with JSON serialization
+        // Set default TTL of 100 minutes
         RedisCacheConfiguration defaultConfig = RedisCacheConfiguration.defaultCacheConfig()
                 .entryTtl(Duration.ofMinutes(100))
                 .serializeValuesWith(
@@ -76,8 +99,12 @@ public class RedisCacheConfig implements CachingConfigurer {
         // Activity caches with shorter TTL to prevent stale expiration status
         // Activities can expire naturally over time, so we use a shorter cache duration
         RedisCacheConfiguration activityConfig = createCacheConfig(Duration.ofMinutes(5), serializer); // 5 minutes to ensure fresh expiration data
+        
+        // Relationship search views are evicted when friendships and requests change, but friends' names
+        // are copied into them, so they are rebuilt at least every search session
+        RedisCacheConfiguration searchViewConfig = createCacheConfig(Duration.ofMinutes(10), serializer);
 
-        return RedisCacheManager.builder(connectionFactory)
+        RedisCacheManager.RedisCacheManagerBuilder builder = RedisCacheManager.builder(connectionFactory)
                 .cacheDefaults(defaultConfig)
                 // User-related caches
                 .withCacheConfiguration(CacheNames.FRIENDS_BY_USER_ID, userDataConfig)
@@ -85,6 +112,7 @@ public class RedisCacheConfig implements CachingConfigurer {
                 .withCacheConfiguration(CacheNames.USER_INTERESTS, userDataConfig)
                 .withCacheConfiguration(CacheNames.USER_SOCIAL_MEDIA, userDataConfig)
                 .withCacheConfiguration(CacheNames.USER_SOCIAL_MEDIA_BY_USER_ID, userDataConfig)
+                .withCacheConfiguration(CacheNames.RELATIONSHIP_SEARCH_VIEWS, searchViewConfig)
                 
                 // Friend request caches
                 .withCacheConfiguration(CacheNames.INCOMING_FRIEND_REQUESTS, userDataConfig)
@@ -110,6 +138,7 @@ public class RedisCacheConfig implements CachingConfigurer {
                 .withCacheConfiguration(CacheNames.ACTIVITY_INVITE_BY_ID, activityConfig)
                 .withCacheConfiguration(CacheNames.ACTIVITIES_BY_OWNER_ID, activityConfig)
                 .withCacheConfiguration(CacheNames.FEED_ACTIVITIES, activityConfig)
+                .withCacheConfiguration(CacheNames.FEED_ACTIVITY_BY_ID, activityConfig)
                 .withCacheConfiguration(CacheNames.ACTIVITIES_INVITED_TO, activityConfig)
                 .withCacheConfiguration(CacheNames.FULL_ACTIVITIES_INVITED_TO, activityConfig)
                 .withCacheConfiguration(CacheNames.FULL_ACTIVITIES_PARTICIPATING_IN, activityConfig)
@@ -120,8 +149,51 @@ public class RedisCacheConfig implements CachingConfigurer {
                 // Blocked user caches
                 .withCacheConfiguration(CacheNames.BLOCKED_USERS, userDataConfig)
                 .withCacheConfiguration(CacheNames.BLOCKED_USER_IDS, userDataConfig)
-                .withCacheConfiguration(CacheNames.IS_BLOCKED, userDataConfig)
-                .build();
+                .withCacheConfiguration(CacheNames.IS_BLOCKED, userDataConfig);
+
+        // Refreshed caches keep entries in Redis past their soft TTL so they can be served stale while rebuilt
+        if (refreshAheadConfig.isEnabled()) {
+            for (Map.Entry<String, RefreshAheadConfig.CacheSpec> refreshed : refreshAheadConfig.getCaches().entrySet()) {
+                RefreshAheadConfig.CacheSpec spec = refreshed.getValue();
+                builder.withCacheConfiguration(refreshed.getKey(),
+                        createCacheConfig(spec.getSoftTtl().plus(spec.getMaxStale()), serializer));
+            }
+        }
+        RedisCacheManager redisCacheManager = builder.build();
+        // Not a bean itself, so load the configured caches here rather than via afterPropertiesSet
+        redisCacheManager.initializeCaches();
+
+        CacheLoadLease loadLease = loadLeaseEnabled
+                ? new CacheLoadLease(redisTemplate, loadLeaseTtl, Duration.ofMillis(25))
+                : null;
+        CacheManager budgetedCacheManager = new BudgetedCacheManager(
+                redisCacheManager, cacheBudgetConfig, cacheMemoryBudget, cacheStatistics, serializer);
+        CacheManager refreshAheadCacheManager = new RefreshAheadCacheManager(
+                new SingleFlightCacheManager(budgetedCacheManager, loadLease), refreshAheadConfig, cacheRefreshExecutor);
+        TwoLevelCacheManager twoLevelCacheManager = new TwoLevelCacheManager(refreshAheadCacheManager, nearCacheConfig, redisTemplate);
+        return new MeteredCacheManager(twoLevelCacheManager, cacheStatistics, serializer);
+    }
+
+    /**
+     * Shared accounting of the memory held by the caches configured in {@link CacheBudgetConfig}.
+     */
+    @Bean
+    public CacheMemoryBudget cacheMemoryBudget(StringRedisTemplate redisTemplate) {
+        return new CacheMemoryBudget(redisTemplate);
+    }
+
+    /**
+     * Delivers near cache invalidations published by other nodes to this node's cache manager.
+     */
+    @Bean
+    public RedisMessageListenerContainer nearCacheInvalidationListenerContainer(RedisConnectionFactory connectionFactory,
+                                                                               MeteredCacheManager cacheManager,
+                                                                               NearCacheConfig nearCacheConfig) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener((TwoLevelCacheManager) cacheManager.getDelegate(),
+                new ChannelTopic(nearCacheConfig.getInvalidationChannel()));
+        return container;
     }
 
     /**
@@ -204,10 +276,10 @@ public class RedisCacheConfig implements CachingConfigurer {
      * This reduces code duplication for cache configurations that only differ in TTL.
      * 
      * @param ttl The time-to-live duration for the cache
-     * @param serializer The JSON serializer to use
+     * @param serializer The value serializer to use
      * @return A configured RedisCacheConfiguration
      */
-    private RedisCacheConfiguration createCacheConfig(Duration ttl, GenericJackson2JsonRedisSerializer serializer) {
+    private RedisCacheConfiguration createCacheConfig(Duration ttl, RedisSerializer<Object> serializer) {
         return RedisCacheConfiguration.defaultCacheConfig()
                 .entryTtl(ttl)
                 .serializeValuesWith(
@@ -0,0 +1,58 @@
+package com.danielagapov.spawn.shared.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Configuration for stale-while-revalidate on Redis caches.
+ *
+ * An entry of a listed cache is fresh for its soft TTL. After that it is still served for up to
+ * "max-stale" longer while a background refresh rebuilds it; only once both have passed does Redis
+ * drop the entry and a reader pay for the rebuild. Refreshes start probabilistically before the
+ * soft TTL runs out (XFetch), earlier for entries that are slow to compute and as expiry nears, so
+ * that rebuilds of entries written at the same time are spread out.
+ *
+ * Refreshes reuse the loader of the @Cacheable method, so only caches read through methods with
+ * "sync = true" can be listed here.
+ *
+ * Configuration properties can be set in application.properties with prefix "refresh-ahead"
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "refresh-ahead")
+public class RefreshAheadConfig {
+
+    /**
+     * Turns early refresh off, leaving the listed caches with their plain Redis TTLs.
+     */
+    private boolean enabled = true;
+
+    /**
+     * XFetch eagerness: values above 1 refresh earlier, values below 1 later.
+     */
+    private double beta = 1.0;
+
+    /**
+     * Refresh settings keyed by cache name.
+     */
+    private Map<String, CacheSpec> caches = new LinkedHashMap<>();
+
+    @Data
+    public static class CacheSpec {
+
+        /**
+         * How long an entry is served without triggering a refresh.
+         */
+        private Duration softTtl = Duration.ofMinutes(5);
+
+        /**
+         * How long past the soft TTL an entry may still be served while it is being refreshed.
+         */
+        private Duration maxStale = Duration.ofMinutes(5);
+    }
+}
@@ -126,6 +126,7 @@ public class SecurityConfig {
                     authorize.requestMatchers("/api/v1/reports/**").hasAnyRole("ADMIN","ONBOARDING","ACTIVE");
                     authorize.requestMatchers("/api/v1/feedback/**").hasAnyRole("ADMIN","ONBOARDING","ACTIVE");
                     authorize.requestMatchers("/api/v1/betaAccessSignUp/**").hasAnyRole("ADMIN","ONBOARDING","ACTIVE");
+                    authorize.requestMatchers("/api/v1/cache/metrics/**").hasRole("ADMIN"); // Per-node cache statistics
                     
                     authorize.requestMatchers("/api/v1/auth/quick-sign-in").hasAnyRole("ONBOARDING","ACTIVE");
                     authorize.requestMatchers("/api/v1/**").hasRole("ACTIVE");
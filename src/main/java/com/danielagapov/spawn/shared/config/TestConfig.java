@@ -26,6 +26,7 @@ public class TestConfig {
             "userInterests",
             "userSocialMedia",
             "userSocialMediaByUserId",
+            "relationshipSearchViews",
             "userStats",
             "userStatsById",
             
@@ -41,6 +42,7 @@ public class TestConfig {
             "ActivityInviteById",
             "ActivitiesByOwnerId",
             "feedActivities",
+            "feedActivityById",
             "ActivitiesInvitedTo",
             "fullActivitiesInvitedTo",
             
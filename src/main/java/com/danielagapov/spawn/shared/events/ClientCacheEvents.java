@@ -0,0 +1,36 @@
+package com.danielagapov.spawn.shared.events;
+
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Domain events about changes to data that mobile clients cache, consumed by the Analytics module
+ * to bump the per-user versions that cache validation compares against.
+ */
+public final class ClientCacheEvents {
+
+    private ClientCacheEvents() {
+        // Utility class - prevent instantiation
+    }
+
+    /**
+     * Event published when an activity, its members or its chat changed.
+     * Published by Activity and Chat modules.
+     *
+     * @param userIds every user whose feed or profile shows the activity
+     */
+    public record ActivityChangedEvent(
+        UUID activityId,
+        Set<UUID> userIds
+    ) {}
+
+    /**
+     * Event published when a friend request was created, accepted or deleted.
+     * Published by Social module.
+     */
+    public record FriendRequestChangedEvent(
+        UUID friendRequestId,
+        UUID senderId,
+        UUID receiverId
+    ) {}
+}
@@ -0,0 +1,31 @@
+package com.danielagapov.spawn.shared.events;
+
+import java.util.UUID;
+
+/**
+ * Domain events about friendships, for modules that keep data derived from the friend graph.
+ */
+public final class FriendshipEvents {
+
+    private FriendshipEvents() {
+        // Utility class - prevent instantiation
+    }
+
+    /**
+     * Event published after a friendship between two users is saved.
+     * Published by User module.
+     */
+    public record FriendshipCreatedEvent(
+        UUID userAId,
+        UUID userBId
+    ) {}
+
+    /**
+     * Event published after the friendship between two users is removed.
+     * Published by Social module.
+     */
+    public record FriendshipRemovedEvent(
+        UUID userAId,
+        UUID userBId
+    ) {}
+}
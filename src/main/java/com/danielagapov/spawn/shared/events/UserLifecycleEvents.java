@@ -0,0 +1,42 @@
+package com.danielagapov.spawn.shared.events;
+
+import java.util.UUID;
+
+/**
+ * Domain events about a user's lifecycle, for modules that keep data derived from users.
+ */
+public final class UserLifecycleEvents {
+
+    private UserLifecycleEvents() {
+        // Utility class - prevent instantiation
+    }
+
+    /**
+     * Event published after a user is created or saved with a possibly changed name or username.
+     * Published by User module.
+     */
+    public record UserSavedEvent(
+        UUID userId,
+        String name,
+        String username
+    ) {}
+
+    /**
+     * Event published when a user is about to be deleted, before their row is removed.
+     * Rows referencing the user are still present, so listeners can release what they derived from them.
+     * Published by User module.
+     */
+    public record UserDeletingEvent(
+        UUID userId
+    ) {}
+
+    /**
+     * Event published when a user signs in or refreshes their access token, i.e. is about to use the app.
+     * Published by Auth module.
+     *
+     * @param usernameOrEmail the token subject: the username, or the email for users without one
+     */
+    public record UserSessionStartedEvent(
+        String usernameOrEmail
+    ) {}
+}
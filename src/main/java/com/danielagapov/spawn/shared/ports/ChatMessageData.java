@@ -0,0 +1,18 @@
+package com.danielagapov.spawn.shared.ports;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Simplified chat message data for cross-module communication.
+ * Avoids circular dependency by not using domain entities directly.
+ */
+public record ChatMessageData(
+    UUID id,
+    String content,
+    Instant timestamp,
+    UUID senderUserId,
+    UUID activityId,
+    List<UUID> likedByUserIds
+) {}
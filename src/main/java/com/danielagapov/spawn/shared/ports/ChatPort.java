@@ -0,0 +1,36 @@
+package com.danielagapov.spawn.shared.ports;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Read port of the Chat module, used by the Activity module.
+ * Implemented inside the Chat module and called directly through {@link ModulePorts}.
+ */
+public interface ChatPort {
+
+    /**
+     * @return message IDs per activity, newest first; activities without messages map to an empty list
+     */
+    Map<UUID, List<UUID>> getChatMessageIdsByActivityIds(Collection<UUID> activityIds);
+
+    /**
+     * @return the messages of all given activities with their likes, ordered by activity, then by timestamp descending
+     */
+    List<ChatMessageData> getChatMessagesByActivityIds(Collection<UUID> activityIds);
+
+    /**
+     * @return the latest messages (with their likes) and total message count per activity;
+     *         activities without messages map to an empty preview
+     */
+    Map<UUID, ChatPreviewData> getChatPreviewsByActivityIds(Collection<UUID> activityIds, int messagesPerActivity);
+
+    /**
+     * @return up to limit messages of the activity with their likes, newest first, that come strictly
+     *         after the (beforeTimestamp, beforeMessageId) position in that order
+     */
+    List<ChatMessageData> getChatMessagesBefore(UUID activityId, Instant beforeTimestamp, UUID beforeMessageId, int limit);
+}
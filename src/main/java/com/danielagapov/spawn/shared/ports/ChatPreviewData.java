@@ -0,0 +1,14 @@
+package com.danielagapov.spawn.shared.ports;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * The latest chat messages of an activity (newest first) and its total message count,
+ * for cross-module communication.
+ */
+public record ChatPreviewData(
+    UUID activityId,
+    int totalMessageCount,
+    List<ChatMessageData> latestMessages
+) {}
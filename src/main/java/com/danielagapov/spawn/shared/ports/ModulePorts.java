@@ -0,0 +1,185 @@
+package com.danielagapov.spawn.shared.ports;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.TimeGauge;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Direct, in-process calls between modules.
+ *
+ * A module exposes a typed port interface (in this package) and implements it internally; other
+ * modules obtain a {@link Port} handle and call it like any other method. The implementation is
+ * looked up lazily on first use rather than injected, so modules that call each other in both
+ * directions do not form a bean construction cycle.
+ *
+ * Every call is timed and counted per port operation; see {@link #getCallStats()}. When a registry is
+ * available the same counters are registered with Micrometer as "spawn.port.calls" (a timer),
+ * "spawn.port.errors" and "spawn.port.calls.max", tagged with the port and operation.
+ */
+@Component
+public class ModulePorts {
+
+    private final BeanFactory beanFactory;
+    private final MeterRegistry meterRegistry;
+    private final ConcurrentMap<String, CallStats> callStats = new ConcurrentHashMap<>();
+
+    @Autowired
+    public ModulePorts(BeanFactory beanFactory, ObjectProvider<MeterRegistry> meterRegistry) {
+        this(beanFactory, meterRegistry.getIfAvailable());
+    }
+
+    /**
+     * @param meterRegistry registry to publish the call stats to, or null to only keep them in memory
+     */
+    public ModulePorts(BeanFactory beanFactory, MeterRegistry meterRegistry) {
+        this.beanFactory = beanFactory;
+        this.meterRegistry = meterRegistry;
+    }
+
+    public <P> Port<P> port(Class<P> portType) {
+        return new Port<>(portType);
+    }
+
+    /**
+     * @return call statistics keyed by "Port.operation", sorted by key
+     */
+    public Map<String, PortCallStats> getCallStats() {
+        Map<String, PortCallStats> snapshot = new TreeMap<>();
+        callStats.forEach((operation, stats) -> snapshot.put(operation, stats.snapshot()));
+        return snapshot;
+    }
+
+    /**
+     * Point-in-time statistics for one port operation.
+     */
+    public record PortCallStats(long calls, long errors, double meanMillis, double maxMillis) {}
+
+    /**
+     * Handle to a module port. Obtain one per caller and keep it in a field.
+     */
+    public final class Port<P> {
+        private final Class<P> portType;
+        private final ConcurrentMap<String, CallStats> statsByOperation = new ConcurrentHashMap<>();
+        private volatile P target;
+
+        private Port(Class<P> portType) {
+            this.portType = portType;
+        }
+
+        /**
+         * Calls an operation on the port, recording its latency and whether it threw.
+         *
+         * @param operation the operation name used in metrics, normally the port method name
+         */
+        public <R> R call(String operation, Function<P, R> call) {
+            CallStats stats = statsFor(operation);
+            long start = System.nanoTime();
+            boolean failed = true;
+            try {
+                R result = call.apply(target());
+                failed = false;
+                return result;
+            } finally {
+                stats.record(System.nanoTime() - start, failed);
+            }
+        }
+
+        /**
+         * Same as {@link #call(String, Function)} for operations without a result.
+         */
+        public void run(String operation, Consumer<P> call) {
+            call(operation, port -> {
+                call.accept(port);
+                return null;
+            });
+        }
+
+        private P target() {
+            P resolved = target;
+            if (resolved == null) {
+                resolved = beanFactory.getBean(portType);
+                target = resolved;
+            }
+            return resolved;
+        }
+
+        private CallStats statsFor(String operation) {
+            CallStats stats = statsByOperation.get(operation);
+            if (stats == null) {
+                stats = callStats.computeIfAbsent(portType.getSimpleName() + "." + operation,
+                        key -> register(portType.getSimpleName(), operation));
+                statsByOperation.putIfAbsent(operation, stats);
+            }
+            return stats;
+        }
+    }
+
+    private CallStats register(String portName, String operation) {
+        CallStats stats = new CallStats();
+        if (meterRegistry == null) {
+            return stats;
+        }
+        Tags tags = Tags.of("port", portName, "operation", operation);
+        FunctionTimer.builder("spawn.port.calls", stats, CallStats::calls, CallStats::totalNanos, TimeUnit.NANOSECONDS)
+                .tags(tags).register(meterRegistry);
+        FunctionCounter.builder("spawn.port.errors", stats, CallStats::errors)
+                .tags(tags).register(meterRegistry);
+        TimeGauge.builder("spawn.port.calls.max", stats, TimeUnit.NANOSECONDS, CallStats::maxNanos)
+                .tags(tags).register(meterRegistry);
+        return stats;
+    }
+
+    private static final class CallStats {
+        private final LongAdder calls = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0L);
+
+        private void record(long nanos, boolean failed) {
+            calls.increment();
+            totalNanos.add(nanos);
+            maxNanos.accumulate(nanos);
+            if (failed) {
+                errors.increment();
+            }
+        }
+
+        private long calls() {
+            return calls.sum();
+        }
+
+        private double totalNanos() {
+            return totalNanos.sum();
+        }
+
+        private double errors() {
+            return errors.sum();
+        }
+
+        private double maxNanos() {
+            return maxNanos.get();
+        }
+
+        private PortCallStats snapshot() {
+            long count = calls.sum();
+            double meanMillis = count == 0 ? 0 : totalNanos.sum() / (double) count / 1_000_000;
+            return new PortCallStats(count, errors.sum(), meanMillis, maxNanos.get() / 1_000_000.0);
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.danielagapov.spawn.shared.ports;
+
+import java.util.UUID;
+
+/**
+ * Simplified user data for cross-module communication.
+ * Avoids circular dependency by not using domain entities directly.
+ */
+public record UserData(
+    UUID id,
+    String username,
+    String profilePictureUrlString,
+    String name,
+    String bio,
+    String email,
+    String phoneNumber
+) {}
@@ -0,0 +1,26 @@
+package com.danielagapov.spawn.shared.ports;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Port of the User module for user and friendship data, used by the Social module.
+ * Implemented inside the User module and called directly through {@link ModulePorts}.
+ */
+public interface UserPort {
+
+    Optional<UserData> findUserById(UUID userId);
+
+    /**
+     * @return the users that exist, keyed by ID
+     */
+    Map<UUID, UserData> getUsersByIds(Collection<UUID> userIds);
+
+    boolean isUserFriendOfUser(UUID userAId, UUID userBId);
+
+    int getMutualFriendCount(UUID userAId, UUID userBId);
+
+    void saveFriendToUser(UUID userAId, UUID userBId);
+}
@@ -0,0 +1,24 @@
+package com.danielagapov.spawn.shared.ports;
+
+import com.danielagapov.spawn.shared.util.SearchedUserResult;
+import com.danielagapov.spawn.user.api.dto.BaseUserDTO;
+import com.danielagapov.spawn.user.api.dto.FriendUser.RecommendedFriendUserDTO;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Port of the User module for user search, used by other modules.
+ * Implemented inside the User module and called directly through {@link ModulePorts}.
+ */
+public interface UserSearchPort {
+
+    List<RecommendedFriendUserDTO> getLimitedRecommendedFriendsForUserId(UUID userId);
+
+    SearchedUserResult getRecommendedFriendsBySearch(UUID requestingUserId, String searchQuery);
+
+    List<BaseUserDTO> searchByQuery(String searchQuery, UUID requestingUserId);
+
+    Set<UUID> getExcludedUserIds(UUID userId);
+}
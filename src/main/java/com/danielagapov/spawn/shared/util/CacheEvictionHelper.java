@@ -1,12 +1,18 @@
 package com.danielagapov.spawn.shared.util;
 
+import com.danielagapov.spawn.shared.cache.CacheTags;
+import com.danielagapov.spawn.shared.cache.ICacheTagStore;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.UUID;
 
 /**
@@ -16,6 +22,7 @@ import java.util.UUID;
  * - Null-safe cache access
  * - Consistent error handling and logging
  * - Bulk eviction operations
+ * - Tag-based eviction, so a write only evicts the entries that depend on what it changed
  * - Reduces code duplication across services
  * 
  * All methods are best-effort: they log errors but never throw exceptions,
@@ -27,10 +34,12 @@ public class CacheEvictionHelper {
     private static final Logger logger = LoggerFactory.getLogger(CacheEvictionHelper.class);
     
     private final CacheManager cacheManager;
+    private final ICacheTagStore tagStore;
     
     @Autowired
-    public CacheEvictionHelper(CacheManager cacheManager) {
+    public CacheEvictionHelper(CacheManager cacheManager, ICacheTagStore tagStore) {
         this.cacheManager = cacheManager;
+        this.tagStore = tagStore;
     }
     
     /**
@@ -104,6 +113,58 @@ public class CacheEvictionHelper {
         }
     }
     
+    /**
+     * Records that a cache entry depends on the given tags (see CacheTags), so that a later
+     * evictTagged call for any of them evicts it. Call this from the method that computes the entry.
+     * 
+     * @param cacheName The name of the cache holding the entry
+     * @param key The entry's cache key, exactly as the cache annotation computes it
+     * @param tags The tags the entry depends on
+     */
+    public void tagEntry(String cacheName, Object key, Collection<String> tags) {
+        try {
+            tagStore.tag(cacheName, key, tags);
+        } catch (Exception e) {
+            logger.error("Error tagging cache '{}' entry {}: {}", cacheName, key, e.getMessage());
+            // Don't throw - an untagged entry is still bounded by its cache TTL
+        }
+    }
+    
+    /**
+     * Evicts every entry of the given caches that was tagged with the tag.
+     * 
+     * @param tag The tag whose entries should be evicted
+     * @param cacheNames The names of the caches to evict from
+     */
+    public void evictTagged(String tag, String... cacheNames) {
+        evictTagged(List.of(tag), cacheNames);
+    }
+    
+    /**
+     * Evicts every entry of the given caches that was tagged with any of the tags.
+     * Inside a transaction the eviction runs once it commits, so a read racing the write
+     * cannot cache the pre-commit state again after it was evicted.
+     * 
+     * @param tags The tags whose entries should be evicted
+     * @param cacheNames The names of the caches to evict from
+     */
+    public void evictTagged(Collection<String> tags, String... cacheNames) {
+        afterCommit(() -> {
+            for (String cacheName : cacheNames) {
+                for (String tag : tags) {
+                    try {
+                        Collection<Object> keys = tagStore.removeTag(cacheName, tag);
+                        keys.forEach(key -> evictCache(cacheName, key));
+                        logger.debug("Evicted {} entries tagged '{}' from cache '{}'", keys.size(), tag, cacheName);
+                    } catch (Exception e) {
+                        logger.error("Error evicting tag '{}' from cache '{}': {}", tag, cacheName, e.getMessage());
+                        // Don't throw - this is a best-effort operation
+                    }
+                }
+            }
+        });
+    }
+    
     /**
      * Safely clears an entire cache.
      * 
@@ -220,9 +281,20 @@ public class CacheEvictionHelper {
             CacheNames.FULL_ACTIVITIES_INVITED_TO,
             CacheNames.FULL_ACTIVITIES_PARTICIPATING_IN
         );
-        // Also clear caches that use composite keys
-        clearCache(CacheNames.FULL_ACTIVITY_BY_ID);
+        // Composite-key entries are found through the user's tag
+        evictTagged(CacheTags.user(userId), CacheNames.FULL_ACTIVITY_BY_ID, CacheNames.FEED_ACTIVITY_BY_ID);
+    }
+    
+    private static void afterCommit(Runnable eviction) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    eviction.run();
+                }
+            });
+        } else {
+            eviction.run();
+        }
     }
 }
-
-
@@ -18,6 +18,7 @@ public final class CacheNames {
     public static final String USER_INTERESTS = "userInterests";
     public static final String USER_SOCIAL_MEDIA = "userSocialMedia";
     public static final String USER_SOCIAL_MEDIA_BY_USER_ID = "userSocialMediaByUserId";
+    public static final String RELATIONSHIP_SEARCH_VIEWS = "relationshipSearchViews";
     
     // ========== Friend request caches ==========
     public static final String INCOMING_FRIEND_REQUESTS = "incomingFetchFriendRequests";
@@ -43,6 +44,7 @@ public final class CacheNames {
     public static final String ACTIVITY_INVITE_BY_ID = "ActivityInviteById";
     public static final String ACTIVITIES_BY_OWNER_ID = "ActivitiesByOwnerId";
     public static final String FEED_ACTIVITIES = "feedActivities";
+    public static final String FEED_ACTIVITY_BY_ID = "feedActivityById";
     public static final String ACTIVITIES_INVITED_TO = "ActivitiesInvitedTo";
     public static final String FULL_ACTIVITIES_INVITED_TO = "fullActivitiesInvitedTo";
     public static final String FULL_ACTIVITIES_PARTICIPATING_IN = "fullActivitiesParticipatingIn";
@@ -67,6 +69,7 @@ public final class CacheNames {
      */
     public static final String[] ALL_ACTIVITY_CACHES = {
         FEED_ACTIVITIES,
+        FEED_ACTIVITY_BY_ID,
         FULL_ACTIVITY_BY_ID,
         ACTIVITY_BY_ID,
         ACTIVITY_INVITE_BY_ID,
@@ -101,7 +104,8 @@ public final class CacheNames {
         USER_SOCIAL_MEDIA,
         USER_SOCIAL_MEDIA_BY_USER_ID,
         OTHER_PROFILES,
-        FRIENDS_LIST
+        FRIENDS_LIST,
+        RELATIONSHIP_SEARCH_VIEWS
     };
     
     /**
@@ -0,0 +1,39 @@
+package com.danielagapov.spawn.shared.util;
+
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * A result that is produced and handed over one chunk at a time, so a caller can write out a large
+ * result without the whole of it ever being in memory at once.
+ *
+ * Nothing is produced until {@link #forEachChunk(Consumer)} is called, and each chunk is only produced
+ * after the consumer has returned from the previous one.
+ */
+@FunctionalInterface
+public interface ChunkedResult<T> {
+
+    /**
+     * Produces the result in order, passing each non-empty chunk to the consumer.
+     */
+    void forEachChunk(Consumer<List<T>> consumer);
+
+    /**
+     * Splits the source into batches of at most batchSize and maps each batch only when it is reached.
+     * Batches that map to nothing are skipped.
+     */
+    static <S, T> ChunkedResult<T> mapInBatches(List<S> source, int batchSize, Function<List<S>, List<T>> mapper) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("batchSize must be positive");
+        }
+        return consumer -> {
+            for (int from = 0; from < source.size(); from += batchSize) {
+                List<T> chunk = mapper.apply(source.subList(from, Math.min(from + batchSize, source.size())));
+                if (!chunk.isEmpty()) {
+                    consumer.accept(chunk);
+                }
+            }
+        };
+    }
+}
@@ -0,0 +1,53 @@
+package com.danielagapov.spawn.shared.util;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * Writes a {@link ChunkedResult} to the response as one JSON array, serializing each element straight
+ * into the output stream as soon as its chunk has been produced.
+ *
+ * The generator is flushed after every chunk rather than after every element. Servlet output is blocking,
+ * so when the client reads slowly the flush blocks and the next chunk is not produced until it catches up;
+ * at most one chunk plus the connection's write buffer is held per request.
+ *
+ * The response status and headers are committed with the first chunk, so an error while producing a later
+ * chunk can only end the response early. Callers should do anything that may fail with a client error
+ * (lookups, validation) before handing the result over.
+ */
+public final class JsonArrayStreamer {
+
+    private JsonArrayStreamer() {
+    }
+
+    public static <T> StreamingResponseBody stream(ObjectMapper objectMapper, ChunkedResult<T> result) {
+        // Flushing after every element would turn each one into its own network write
+        ObjectWriter writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        return outputStream -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+                generator.writeStartArray();
+                try {
+                    result.forEachChunk(chunk -> {
+                        try {
+                            for (T element : chunk) {
+                                writer.writeValue(generator, element);
+                            }
+                            generator.flush();
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    });
+                } catch (UncheckedIOException e) {
+                    throw e.getCause();
+                }
+                generator.writeEndArray();
+            }
+        };
+    }
+}
@@ -20,7 +20,8 @@ import java.util.UUID;
         uniqueConstraints = @UniqueConstraint(columnNames = {"user_a_id", "user_b_id"}),
         indexes = {
                 @Index(name = "idx_user_a_id", columnList = "user_a_id"),
-                @Index(name = "idx_user_b_id", columnList = "user_b_id")
+                @Index(name = "idx_user_b_id", columnList = "user_b_id"),
+                @Index(name = "idx_friendship_created_at", columnList = "created_at")
         }
 )
 @NoArgsConstructor
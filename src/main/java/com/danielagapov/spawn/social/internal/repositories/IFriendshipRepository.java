@@ -2,8 +2,11 @@ package com.danielagapov.spawn.social.internal.repositories;
 
 import com.danielagapov.spawn.social.internal.domain.Friendship;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.UUID;
 
@@ -19,6 +22,22 @@ public interface IFriendshipRepository extends JpaRepository<Friendship, UUID> {
     List<Friendship> findByUserA_IdOrUserB_Id(UUID userId1, UUID userId2);
     void deleteByUserA_IdAndUserB_IdOrUserB_IdAndUserA_Id(UUID userAId, UUID userBId, UUID userBId2, UUID userAId2);
 
+    /**
+     * Every friendship as a pair of user IDs, for building the in-memory friend graph.
+     *
+     * @return List of Object[] containing [userAId, userBId]
+     */
+    @Query("SELECT f.userA.id, f.userB.id FROM Friendship f")
+    List<Object[]> findAllFriendshipPairs();
+
+    /**
+     * Friendships created after the given time, for keeping the in-memory friend graph current.
+     *
+     * @return List of Object[] containing [userAId, userBId]
+     */
+    @Query("SELECT f.userA.id, f.userB.id FROM Friendship f WHERE f.createdAt > :since")
+    List<Object[]> findFriendshipPairsCreatedSince(@Param("since") Instant since);
+
     // Convenience helpers
     default boolean existsBidirectionally(UUID userId1, UUID userId2) {
         return existsByUserA_IdAndUserB_IdOrUserB_IdAndUserA_Id(userId1, userId2, userId1, userId2);
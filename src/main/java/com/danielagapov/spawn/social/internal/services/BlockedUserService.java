@@ -13,8 +13,10 @@ import com.danielagapov.spawn.social.internal.services.IUserQueryService;
 import com.danielagapov.spawn.shared.util.LoggingUtils;
 import com.danielagapov.spawn.shared.util.CacheEvictionHelper;
 import com.danielagapov.spawn.shared.util.CacheNames;
+import com.danielagapov.spawn.shared.events.FriendshipEvents.FriendshipRemovedEvent;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataAccessException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -33,13 +35,15 @@ public class BlockedUserService implements IBlockedUserService {
     private final IFriendshipRepository friendshipRepository;
     private final ILogger logger;
     private final CacheEvictionHelper cacheEvictionHelper;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public BlockedUserService(IBlockedUserRepository repository, IUserQueryService userQueryService, IFriendshipRepository friendshipRepository, ILogger logger, CacheEvictionHelper cacheEvictionHelper) {
+    public BlockedUserService(IBlockedUserRepository repository, IUserQueryService userQueryService, IFriendshipRepository friendshipRepository, ILogger logger, CacheEvictionHelper cacheEvictionHelper, ApplicationEventPublisher eventPublisher) {
         this.repository = repository;
         this.userQueryService = userQueryService;
         this.friendshipRepository = friendshipRepository;
         this.logger = logger;
         this.cacheEvictionHelper = cacheEvictionHelper;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
@@ -49,7 +53,8 @@ public class BlockedUserService implements IBlockedUserService {
             CacheNames.BLOCKED_USER_IDS,
             CacheNames.RECOMMENDED_FRIENDS,
             CacheNames.OTHER_PROFILES,
-            CacheNames.FRIENDS_LIST
+            CacheNames.FRIENDS_LIST,
+            CacheNames.RELATIONSHIP_SEARCH_VIEWS
     }, key = "#blockerId")
     public void blockUser(UUID blockerId, UUID blockedId, String reason) {
         if (blockerId.equals(blockedId)) return;
@@ -131,7 +136,7 @@ public class BlockedUserService implements IBlockedUserService {
     }
 
     @Override
-    @Cacheable(value = "isBlocked", key = "#blockerId.toString() + ':' + #blockedId.toString()")
+    @Cacheable(value = "isBlocked", key = "#blockerId.toString() + ':' + #blockedId.toString()", sync = true)
     public boolean isBlocked(UUID blockerId, UUID blockedId) {
         try {
             logger.info("Checking if user " + LoggingUtils.formatUserIdInfo(blockedId) +
@@ -185,7 +190,7 @@ public class BlockedUserService implements IBlockedUserService {
     }
 
     @Override
-    @Cacheable(value = "blockedUserIds", key = "#blockerId")
+    @Cacheable(value = "blockedUserIds", key = "#blockerId", sync = true)
     public List<UUID> getBlockedUserIds(UUID blockerId) {
         try {
             List<UUID> blockedUserIds = repository.findAllByBlocker_Id(blockerId).stream()
@@ -212,6 +217,7 @@ public class BlockedUserService implements IBlockedUserService {
                     " and " + LoggingUtils.formatUserInfo(userB));
 
             friendshipRepository.deleteBidirectionally(userAId, userBId);
+            eventPublisher.publishEvent(new FriendshipRemovedEvent(userAId, userBId));
 
             logger.info("Successfully removed friendship between users: " + LoggingUtils.formatUserInfo(userA) +
                     " and " + LoggingUtils.formatUserInfo(userB));
@@ -232,7 +238,8 @@ public class BlockedUserService implements IBlockedUserService {
             CacheNames.OTHER_PROFILES,
             CacheNames.FRIENDS_LIST,
             CacheNames.BLOCKED_USERS,
-            CacheNames.BLOCKED_USER_IDS
+            CacheNames.BLOCKED_USER_IDS,
+            CacheNames.RELATIONSHIP_SEARCH_VIEWS
         );
     }
 
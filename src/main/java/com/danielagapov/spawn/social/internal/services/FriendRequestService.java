@@ -3,6 +3,7 @@ package com.danielagapov.spawn.social.internal.services;
 import com.danielagapov.spawn.social.api.dto.CreateFriendRequestDTO;
 import com.danielagapov.spawn.social.api.dto.FetchFriendRequestDTO;
 import com.danielagapov.spawn.social.api.dto.FetchSentFriendRequestDTO;
+import com.danielagapov.spawn.shared.events.ClientCacheEvents.FriendRequestChangedEvent;
 import com.danielagapov.spawn.shared.events.FriendRequestAcceptedNotificationEvent;
 import com.danielagapov.spawn.shared.events.FriendRequestNotificationEvent;
 import com.danielagapov.spawn.shared.exceptions.Base.BaseSaveException;
@@ -115,6 +116,7 @@ public class FriendRequestService implements IFriendRequestService {
 
             // Publish friend request notification Activity
             eventPublisher.publishEvent(new FriendRequestNotificationEvent(sender, receiverId));
+            eventPublisher.publishEvent(new FriendRequestChangedEvent(friendRequest.getId(), senderId, receiverId));
 
             // Return the saved friend request DTO
             return FriendRequestMapper.toDTO(friendRequest);
@@ -287,6 +289,7 @@ public class FriendRequestService implements IFriendRequestService {
                 cacheEvictionHelper.evictCacheForUsers(CacheNames.RECOMMENDED_FRIENDS, sender.getId(), receiver.getId());
                 
                 repository.deleteById(id);
+                eventPublisher.publishEvent(new FriendRequestChangedEvent(id, sender.getId(), receiver.getId()));
                 logger.info("Friend request deleted successfully");
             } else {
                 logger.info("Friend request with ID: " + id + " was already deleted or does not exist");
@@ -312,6 +315,7 @@ public class FriendRequestService implements IFriendRequestService {
             List<FriendRequest> requests = repository.findBySenderIdAndReceiverId(senderId, receiverId);
             for (FriendRequest fr : requests) {
                 repository.delete(fr);
+                eventPublisher.publishEvent(new FriendRequestChangedEvent(fr.getId(), senderId, receiverId));
             }
 
             // Evict recommended friends cache for both users since their recommendation status has changed
@@ -2,16 +2,18 @@ package com.danielagapov.spawn.social.internal.services;
 
 import com.danielagapov.spawn.user.internal.domain.User;
 
+import java.util.Collection;
+import java.util.Map;
 import java.util.UUID;
 
 /**
- * Interface for querying user data from the User module via events.
+ * Interface for querying user data from the User module through its port.
  * This breaks the circular dependency between Social and User modules.
  */
 public interface IUserQueryService {
     
     /**
-     * Get a user entity by ID via event query.
+     * Get a user entity by ID from the User module.
      * Returns a User domain object reconstructed from UserData.
      * 
      * @param userId The ID of the user to retrieve
@@ -21,7 +23,15 @@ public interface IUserQueryService {
     User getUserEntityById(UUID userId);
     
     /**
-     * Check if two users are friends via event query.
+     * Batch get user entities in a single call.
+     * 
+     * @param userIds The IDs of the users to retrieve
+     * @return Users that exist, keyed by ID, or empty map on error
+     */
+    Map<UUID, User> getUserEntitiesByIds(Collection<UUID> userIds);
+    
+    /**
+     * Check if two users are friends from the User module.
      * 
      * @param userAId First user ID
      * @param userBId Second user ID
@@ -30,7 +40,7 @@ public interface IUserQueryService {
     boolean isUserFriendOfUser(UUID userAId, UUID userBId);
     
     /**
-     * Get mutual friend count between two users via event query.
+     * Get mutual friend count between two users from the User module.
      * 
      * @param userAId First user ID
      * @param userBId Second user ID
@@ -39,7 +49,7 @@ public interface IUserQueryService {
     int getMutualFriendCount(UUID userAId, UUID userBId);
     
     /**
-     * Save a friendship between two users via event command.
+     * Save a friendship between two users.
      * 
      * @param userAId First user ID
      * @param userBId Second user ID
@@ -1,157 +1,108 @@
 package com.danielagapov.spawn.social.internal.services;
 
-import com.danielagapov.spawn.shared.events.UserEvents.*;
 import com.danielagapov.spawn.shared.exceptions.Base.BaseNotFoundException;
 import com.danielagapov.spawn.shared.exceptions.Logger.ILogger;
+import com.danielagapov.spawn.shared.ports.ModulePorts;
+import com.danielagapov.spawn.shared.ports.UserData;
+import com.danielagapov.spawn.shared.ports.UserPort;
 import com.danielagapov.spawn.shared.util.EntityType;
 import com.danielagapov.spawn.user.internal.domain.User;
-import org.springframework.context.ApplicationEventPublisher;
-import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
 
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.UUID;
-import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.TimeUnit;
-import java.util.concurrent.TimeoutException;
 
 /**
- * Service for querying user data from the User module via events.
+ * Service for querying user data from the User module through its {@link UserPort}.
  * This replaces the direct dependency on IUserService in Social module services,
  * breaking the circular dependency between Social and User modules.
  */
 @Service
 public class UserQueryService implements IUserQueryService {
     
-    private static final long QUERY_TIMEOUT_MS = 5000; // 5 second timeout
-    
-    private final ApplicationEventPublisher eventPublisher;
+    private final ModulePorts.Port<UserPort> userPort;
     private final ILogger logger;
     
-    // Pending query futures for async response matching
-    private final ConcurrentHashMap<UUID, CompletableFuture<UserData>> pendingUserQueries = new ConcurrentHashMap<>();
-    private final ConcurrentHashMap<UUID, CompletableFuture<Boolean>> pendingFriendCheckQueries = new ConcurrentHashMap<>();
-    private final ConcurrentHashMap<UUID, CompletableFuture<Integer>> pendingMutualCountQueries = new ConcurrentHashMap<>();
-    private final ConcurrentHashMap<UUID, CompletableFuture<Boolean>> pendingSaveFriendQueries = new ConcurrentHashMap<>();
-    
     public UserQueryService(
-            ApplicationEventPublisher eventPublisher,
+            ModulePorts modulePorts,
             ILogger logger) {
-        this.eventPublisher = eventPublisher;
+        this.userPort = modulePorts.port(UserPort.class);
         this.logger = logger;
     }
     
     /**
-     * Get a user entity by ID via event query.
+     * Get a user entity by ID.
      * Returns a User domain object reconstructed from UserData.
      */
     public User getUserEntityById(UUID userId) {
-        UUID requestId = UUID.randomUUID();
-        CompletableFuture<UserData> future = new CompletableFuture<>();
-        
-        pendingUserQueries.put(requestId, future);
-        
+        UserData userData;
         try {
-            // Publish query event
-            eventPublisher.publishEvent(new GetUserEntityQuery(userId, requestId));
-            
-            // Wait for response with timeout
-            UserData userData = future.get(QUERY_TIMEOUT_MS, TimeUnit.MILLISECONDS);
-            
-            if (userData == null) {
-                throw new BaseNotFoundException(EntityType.User, userId);
-            }
-            
-            // Convert UserData back to User entity
-            return convertToUser(userData);
-        } catch (TimeoutException e) {
-            logger.error("Timeout waiting for user entity for userId " + userId);
-            throw new BaseNotFoundException(EntityType.User, userId);
+            userData = userPort.call("findUserById", port -> port.findUserById(userId))
+                .orElseThrow(() -> new BaseNotFoundException(EntityType.User, userId));
         } catch (BaseNotFoundException e) {
             throw e;
         } catch (Exception e) {
             logger.error("Error getting user entity for userId " + userId + ": " + e.getMessage());
             throw new BaseNotFoundException(EntityType.User, userId);
-        } finally {
-            pendingUserQueries.remove(requestId);
         }
+        return convertToUser(userData);
     }
     
     /**
-     * Check if two users are friends via event query.
+     * Batch get user entities in a single call. Users that do not exist are left out.
      */
-    public boolean isUserFriendOfUser(UUID userAId, UUID userBId) {
-        UUID requestId = UUID.randomUUID();
-        CompletableFuture<Boolean> future = new CompletableFuture<>();
-        
-        pendingFriendCheckQueries.put(requestId, future);
+    public Map<UUID, User> getUserEntitiesByIds(Collection<UUID> userIds) {
+        if (userIds.isEmpty()) {
+            return Map.of();
+        }
         
         try {
-            // Publish query event
-            eventPublisher.publishEvent(new IsUserFriendQuery(userAId, userBId, requestId));
-            
-            // Wait for response with timeout
-            return future.get(QUERY_TIMEOUT_MS, TimeUnit.MILLISECONDS);
-        } catch (TimeoutException e) {
-            logger.warn("Timeout checking friendship status between " + userAId + " and " + userBId);
-            return false;
+            Map<UUID, User> usersById = new HashMap<>();
+            userPort.call("getUsersByIds", port -> port.getUsersByIds(userIds))
+                .forEach((id, data) -> usersById.put(id, convertToUser(data)));
+            return usersById;
+        } catch (Exception e) {
+            logger.error("Error getting user entities for " + userIds.size() + " users: " + e.getMessage());
+            return Map.of();
+        }
+    }
+    
+    /**
+     * Check if two users are friends.
+     */
+    public boolean isUserFriendOfUser(UUID userAId, UUID userBId) {
+        try {
+            return userPort.call("isUserFriendOfUser", port -> port.isUserFriendOfUser(userAId, userBId));
         } catch (Exception e) {
             logger.error("Error checking friendship status: " + e.getMessage());
             return false;
-        } finally {
-            pendingFriendCheckQueries.remove(requestId);
         }
     }
     
     /**
-     * Get mutual friend count between two users via event query.
+     * Get mutual friend count between two users.
      */
     public int getMutualFriendCount(UUID userAId, UUID userBId) {
-        UUID requestId = UUID.randomUUID();
-        CompletableFuture<Integer> future = new CompletableFuture<>();
-        
-        pendingMutualCountQueries.put(requestId, future);
-        
         try {
-            // Publish query event
-            eventPublisher.publishEvent(new GetMutualFriendCountQuery(userAId, userBId, requestId));
-            
-            // Wait for response with timeout
-            return future.get(QUERY_TIMEOUT_MS, TimeUnit.MILLISECONDS);
-        } catch (TimeoutException e) {
-            logger.warn("Timeout getting mutual friend count between " + userAId + " and " + userBId);
-            return 0;
+            return userPort.call("getMutualFriendCount", port -> port.getMutualFriendCount(userAId, userBId));
         } catch (Exception e) {
             logger.error("Error getting mutual friend count: " + e.getMessage());
             return 0;
-        } finally {
-            pendingMutualCountQueries.remove(requestId);
         }
     }
     
     /**
-     * Save a friendship between two users via event command.
+     * Save a friendship between two users.
      */
     public boolean saveFriendToUser(UUID userAId, UUID userBId) {
-        UUID requestId = UUID.randomUUID();
-        CompletableFuture<Boolean> future = new CompletableFuture<>();
-        
-        pendingSaveFriendQueries.put(requestId, future);
-        
         try {
-            // Publish command event
-            eventPublisher.publishEvent(new SaveFriendCommand(userAId, userBId, requestId));
-            
-            // Wait for response with timeout
-            return future.get(QUERY_TIMEOUT_MS, TimeUnit.MILLISECONDS);
-        } catch (TimeoutException e) {
-            logger.error("Timeout saving friendship between " + userAId + " and " + userBId);
-            return false;
+            userPort.run("saveFriendToUser", port -> port.saveFriendToUser(userAId, userBId));
+            return true;
         } catch (Exception e) {
             logger.error("Error saving friendship: " + e.getMessage());
             return false;
-        } finally {
-            pendingSaveFriendQueries.remove(requestId);
         }
     }
     
@@ -169,55 +120,4 @@ public class UserQueryService implements IUserQueryService {
         user.setPhoneNumber(data.phoneNumber());
         return user;
     }
-    
-    // ========== Event Listeners for Response Handling ==========
-    
-    /**
-     * Handle response for user entity query.
-     */
-    @EventListener
-    public void handleUserEntityResponse(UserEntityResponse response) {
-        CompletableFuture<UserData> future = pendingUserQueries.get(response.requestId());
-        if (future != null) {
-            if (response.found()) {
-                future.complete(response.userData());
-            } else {
-                future.complete(null);
-            }
-        }
-    }
-    
-    /**
-     * Handle response for friendship check query.
-     */
-    @EventListener
-    public void handleIsUserFriendResponse(IsUserFriendResponse response) {
-        CompletableFuture<Boolean> future = pendingFriendCheckQueries.get(response.requestId());
-        if (future != null) {
-            future.complete(response.areFriends());
-        }
-    }
-    
-    /**
-     * Handle response for mutual friend count query.
-     */
-    @EventListener
-    public void handleMutualFriendCountResponse(MutualFriendCountResponse response) {
-        CompletableFuture<Integer> future = pendingMutualCountQueries.get(response.requestId());
-        if (future != null) {
-            future.complete(response.count());
-        }
-    }
-    
-    /**
-     * Handle response for save friend command.
-     */
-    @EventListener
-    public void handleSaveFriendResponse(SaveFriendResponse response) {
-        CompletableFuture<Boolean> future = pendingSaveFriendQueries.get(response.requestId());
-        if (future != null) {
-            future.complete(response.success());
-        }
-    }
 }
-
@@ -31,7 +31,8 @@ import java.util.UUID;
                 @Index(name = "idx_name", columnList = "name"),
                 @Index(name = "idx_email", columnList = "email"),
                 @Index(name = "idx_username", columnList = "username"),
-                @Index(name = "idx_phone_number", columnList = "phoneNumber")
+                @Index(name = "idx_phone_number", columnList = "phoneNumber"),
+                @Index(name = "idx_user_last_updated", columnList = "last_updated")
         }
 )
 public class User implements Serializable {
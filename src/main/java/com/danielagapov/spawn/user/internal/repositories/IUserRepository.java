@@ -26,9 +26,27 @@ public interface IUserRepository extends JpaRepository<User, UUID> {
     @Query("SELECT u FROM User u WHERE u.status = :status")
     List<User> findAllUsersByStatus(UserStatus status);
 
+    List<User> findByStatusOrderByLastUpdatedDesc(UserStatus status, Limit limit);
+
     @Query("SELECT u FROM User u WHERE LOWER(u.name) LIKE CONCAT('%', :query, '%') OR LOWER(u.username) LIKE CONCAT('%', :query, '%')")
     List<User> findUsersWithPartialMatch(String query, Limit limit);
 
+    /**
+     * Name fields of every user, for building the in-memory user search index.
+     *
+     * @return List of Object[] containing [id, name, username, lastUpdated]
+     */
+    @Query("SELECT u.id, u.name, u.username, u.lastUpdated FROM User u")
+    List<Object[]> findAllSearchFields();
+
+    /**
+     * Name fields of the users updated after the given instant, for keeping the user search index current.
+     *
+     * @return List of Object[] containing [id, name, username, lastUpdated]
+     */
+    @Query("SELECT u.id, u.name, u.username, u.lastUpdated FROM User u WHERE u.lastUpdated > :since")
+    List<Object[]> findSearchFieldsUpdatedSince(@Param("since") Instant since);
+
     // Phone number queries
     /**
      * Find users by a list of phone numbers.
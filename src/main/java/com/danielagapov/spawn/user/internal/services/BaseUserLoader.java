@@ -0,0 +1,126 @@
+package com.danielagapov.spawn.user.internal.services;
+
+import com.danielagapov.spawn.shared.util.UserMapper;
+import com.danielagapov.spawn.user.api.dto.BaseUserDTO;
+import com.danielagapov.spawn.user.internal.domain.User;
+import com.danielagapov.spawn.user.internal.repositories.IUserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.*;
+
+/**
+ * Request-scoped identity map for BaseUserDTOs.
+ *
+ * The map lives in the current request's attributes rather than in a request-scoped bean,
+ * so the loader can also be called from code that runs without a request (it then falls back
+ * to a map that only lives for the single call).
+ */
+@Service
+public class BaseUserLoader implements IBaseUserLoader {
+
+    // Keeps IN lists well below database parameter limits
+    private static final int BATCH_SIZE = 500;
+    private static final String IDENTITY_MAP_ATTRIBUTE = BaseUserLoader.class.getName() + ".IDENTITY_MAP";
+
+    private final IUserRepository userRepository;
+
+    @Value("${ADMIN_USERNAME:admin}")
+    private String adminUsername;
+
+    @Autowired
+    public BaseUserLoader(IUserRepository userRepository) {
+        this.userRepository = userRepository;
+    }
+
+    @Override
+    public Map<UUID, BaseUserDTO> getBaseUsersByIds(Collection<UUID> userIds) {
+        IdentityMap identityMap = currentIdentityMap();
+
+        Set<UUID> unknownIds = new LinkedHashSet<>();
+        for (UUID userId : userIds) {
+            if (userId != null && !identityMap.isKnown(userId)) {
+                unknownIds.add(userId);
+            }
+        }
+        if (!unknownIds.isEmpty()) {
+            load(unknownIds, identityMap);
+        }
+
+        Map<UUID, BaseUserDTO> result = new HashMap<>();
+        for (UUID userId : userIds) {
+            BaseUserDTO user = userId != null ? identityMap.users.get(userId) : null;
+            if (user != null) {
+                result.put(userId, user);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public Map<UUID, BaseUserDTO> getVisibleBaseUsersByIds(Collection<UUID> userIds) {
+        Map<UUID, BaseUserDTO> users = getBaseUsersByIds(userIds);
+        users.values().removeIf(this::isAdminUser);
+        return users;
+    }
+
+    @Override
+    public void prime(Collection<User> users) {
+        IdentityMap identityMap = currentIdentityMap();
+        for (User user : users) {
+            if (user != null && user.getId() != null) {
+                identityMap.users.putIfAbsent(user.getId(), UserMapper.toDTO(user));
+                identityMap.missingIds.remove(user.getId());
+            }
+        }
+    }
+
+    private void load(Set<UUID> userIds, IdentityMap identityMap) {
+        List<UUID> pending = new ArrayList<>(userIds);
+        for (int from = 0; from < pending.size(); from += BATCH_SIZE) {
+            List<UUID> chunk = pending.subList(from, Math.min(from + BATCH_SIZE, pending.size()));
+            for (User user : userRepository.findAllById(chunk)) {
+                identityMap.users.putIfAbsent(user.getId(), UserMapper.toDTO(user));
+            }
+        }
+        // Remember IDs that do not exist so they are not queried again in this request
+        for (UUID userId : userIds) {
+            if (!identityMap.users.containsKey(userId)) {
+                identityMap.missingIds.add(userId);
+            }
+        }
+    }
+
+    private boolean isAdminUser(BaseUserDTO user) {
+        return adminUsername != null && adminUsername.equals(user.getUsername());
+    }
+
+    private static IdentityMap currentIdentityMap() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return new IdentityMap();
+        }
+        Object existing = attributes.getAttribute(IDENTITY_MAP_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (existing instanceof IdentityMap identityMap) {
+            return identityMap;
+        }
+        IdentityMap identityMap = new IdentityMap();
+        attributes.setAttribute(IDENTITY_MAP_ATTRIBUTE, identityMap, RequestAttributes.SCOPE_REQUEST);
+        return identityMap;
+    }
+
+    /**
+     * Users resolved so far in one request, plus the IDs known not to exist.
+     */
+    private static final class IdentityMap {
+        private final Map<UUID, BaseUserDTO> users = new HashMap<>();
+        private final Set<UUID> missingIds = new HashSet<>();
+
+        private boolean isKnown(UUID userId) {
+            return users.containsKey(userId) || missingIds.contains(userId);
+        }
+    }
+}
@@ -0,0 +1,286 @@
+package com.danielagapov.spawn.user.internal.services;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory friend graph as compact adjacency lists, for ranking a user's friends of friends by how
+ * many friends they have in common without a query per friend.
+ *
+ * Every user is given a small integer id and keeps their friends' ids in a sorted int array. The friends
+ * of friends of a user are counted by merging their friends' arrays: equal ids come out together, so
+ * each run's length is the number of mutual friends.
+ *
+ * Reads share a lock and writes take it exclusively; writes only happen when a friendship is created
+ * or removed.
+ */
+public class FriendGraph {
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<UUID, Integer> nodeIdByUserId = new HashMap<>();
+    // Indexed by node id; null for ids freed by a removal and not yet reused
+    private final List<UUID> userIds = new ArrayList<>();
+    private final List<Adjacency> adjacencies = new ArrayList<>();
+    private final Deque<Integer> freeNodeIds = new ArrayDeque<>();
+
+    /**
+     * A user who is not yet a friend, with the number of friends they have in common with the user.
+     */
+    public record MutualCandidate(UUID userId, int mutualFriendCount) {}
+
+    /**
+     * @return whether the friendship was not in the graph yet
+     */
+    public boolean addFriendship(UUID userAId, UUID userBId) {
+        if (userAId.equals(userBId)) {
+            return false;
+        }
+        lock.writeLock().lock();
+        try {
+            int a = nodeId(userAId);
+            int b = nodeId(userBId);
+            boolean added = adjacencies.get(a).add(b);
+            adjacencies.get(b).add(a);
+            return added;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @return whether the friendship was in the graph
+     */
+    public boolean removeFriendship(UUID userAId, UUID userBId) {
+        lock.writeLock().lock();
+        try {
+            Integer a = nodeIdByUserId.get(userAId);
+            Integer b = nodeIdByUserId.get(userBId);
+            if (a == null || b == null) {
+                return false;
+            }
+            boolean removed = adjacencies.get(a).remove(b);
+            adjacencies.get(b).remove(a);
+            releaseIfIsolated(a);
+            releaseIfIsolated(b);
+            return removed;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes the user and all their friendships.
+     */
+    public void removeUser(UUID userId) {
+        lock.writeLock().lock();
+        try {
+            Integer nodeId = nodeIdByUserId.get(userId);
+            if (nodeId == null) {
+                return;
+            }
+            Adjacency friends = adjacencies.get(nodeId);
+            for (int i = 0; i < friends.size(); i++) {
+                int friend = friends.get(i);
+                adjacencies.get(friend).remove(nodeId);
+                releaseIfIsolated(friend);
+            }
+            friends.clear();
+            releaseIfIsolated(nodeId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @return the ids of the user's friends, in no particular order
+     */
+    public List<UUID> friendsOf(UUID userId) {
+        lock.readLock().lock();
+        try {
+            Integer nodeId = nodeIdByUserId.get(userId);
+            if (nodeId == null) {
+                return List.of();
+            }
+            Adjacency friends = adjacencies.get(nodeId);
+            List<UUID> friendIds = new ArrayList<>(friends.size());
+            for (int i = 0; i < friends.size(); i++) {
+                friendIds.add(userIds.get(friends.get(i)));
+            }
+            return friendIds;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return up to limit friends of the user's friends who are not the user or their friends, most mutual friends first
+     */
+    public List<MutualCandidate> rankCandidates(UUID userId, int limit) {
+        if (limit <= 0) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            Integer nodeId = nodeIdByUserId.get(userId);
+            if (nodeId == null) {
+                return List.of();
+            }
+            Adjacency friends = adjacencies.get(nodeId);
+            // Min-heap of the best runs so far, keyed by length, so the weakest is replaced first
+            PriorityQueue<long[]> best = new PriorityQueue<>(Comparator.comparingLong(run -> run[1]));
+            mergeFriendsOfFriends(friends, (candidate, mutualFriendCount) -> {
+                if (candidate == nodeId || friends.contains(candidate)) {
+                    return;
+                }
+                if (best.size() < limit) {
+                    best.add(new long[]{candidate, mutualFriendCount});
+                } else if (mutualFriendCount > best.peek()[1]) {
+                    best.poll();
+                    best.add(new long[]{candidate, mutualFriendCount});
+                }
+            });
+
+            List<MutualCandidate> candidates = new ArrayList<>(best.size());
+            while (!best.isEmpty()) {
+                long[] run = best.poll();
+                candidates.add(new MutualCandidate(userIds.get((int) run[0]), (int) run[1]));
+            }
+            Collections.reverse(candidates);
+            return candidates;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return nodeIdByUserId.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private interface RunConsumer {
+        void accept(int nodeId, int length);
+    }
+
+    /**
+     * K-way merge of the friends' sorted adjacency arrays, reporting each distinct node id once with the
+     * number of arrays it occurs in.
+     */
+    private void mergeFriendsOfFriends(Adjacency friends, RunConsumer consumer) {
+        int lists = friends.size();
+        if (lists == 0) {
+            return;
+        }
+        Adjacency[] sources = new Adjacency[lists];
+        int[] positions = new int[lists];
+        // Heap of list indexes ordered by each list's current head
+        PriorityQueue<Integer> heads = new PriorityQueue<>(lists,
+                Comparator.comparingInt(list -> sources[list].get(positions[list])));
+        for (int i = 0; i < lists; i++) {
+            sources[i] = adjacencies.get(friends.get(i));
+            if (sources[i].size() > 0) {
+                heads.add(i);
+            }
+        }
+
+        int current = -1;
+        int length = 0;
+        while (!heads.isEmpty()) {
+            int list = heads.poll();
+            int nodeId = sources[list].get(positions[list]);
+            if (nodeId == current) {
+                length++;
+            } else {
+                if (length > 0) {
+                    consumer.accept(current, length);
+                }
+                current = nodeId;
+                length = 1;
+            }
+            if (++positions[list] < sources[list].size()) {
+                heads.add(list);
+            }
+        }
+        if (length > 0) {
+            consumer.accept(current, length);
+        }
+    }
+
+    private int nodeId(UUID userId) {
+        Integer nodeId = nodeIdByUserId.get(userId);
+        if (nodeId != null) {
+            return nodeId;
+        }
+        nodeId = freeNodeIds.isEmpty() ? userIds.size() : freeNodeIds.pop();
+        if (nodeId == userIds.size()) {
+            userIds.add(null);
+            adjacencies.add(new Adjacency());
+        }
+        userIds.set(nodeId, userId);
+        nodeIdByUserId.put(userId, nodeId);
+        return nodeId;
+    }
+
+    // Users without friends are dropped, so the graph only holds users with at least one friendship
+    private void releaseIfIsolated(int nodeId) {
+        UUID userId = userIds.get(nodeId);
+        if (userId != null && adjacencies.get(nodeId).size() == 0) {
+            nodeIdByUserId.remove(userId);
+            userIds.set(nodeId, null);
+            freeNodeIds.push(nodeId);
+        }
+    }
+
+    /**
+     * Sorted, growable list of node ids.
+     */
+    private static final class Adjacency {
+        private int[] ids = new int[4];
+        private int size;
+
+        int size() {
+            return size;
+        }
+
+        int get(int index) {
+            return ids[index];
+        }
+
+        boolean contains(int nodeId) {
+            return Arrays.binarySearch(ids, 0, size, nodeId) >= 0;
+        }
+
+        boolean add(int nodeId) {
+            int index = Arrays.binarySearch(ids, 0, size, nodeId);
+            if (index >= 0) {
+                return false;
+            }
+            int insertAt = -index - 1;
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            System.arraycopy(ids, insertAt, ids, insertAt + 1, size - insertAt);
+            ids[insertAt] = nodeId;
+            size++;
+            return true;
+        }
+
+        boolean remove(int nodeId) {
+            int index = Arrays.binarySearch(ids, 0, size, nodeId);
+            if (index < 0) {
+                return false;
+            }
+            System.arraycopy(ids, index + 1, ids, index, size - index - 1);
+            size--;
+            return true;
+        }
+
+        void clear() {
+            size = 0;
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package com.danielagapov.spawn.user.internal.services;
+
+import com.danielagapov.spawn.shared.events.FriendshipEvents.FriendshipCreatedEvent;
+import com.danielagapov.spawn.shared.events.FriendshipEvents.FriendshipRemovedEvent;
+import com.danielagapov.spawn.shared.events.UserLifecycleEvents.UserDeletingEvent;
+import com.danielagapov.spawn.social.internal.repositories.IFriendshipRepository;
+import com.danielagapov.spawn.user.internal.services.FriendGraph.MutualCandidate;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Service that keeps an in-memory {@link FriendGraph} of every friendship and stores each user's friends
+ * of friends ranked by mutual friend count, so recommendations don't query the friends of every friend.
+ *
+ * The graph is built on startup and rebuilt every hour. In between, this node's friendship changes are
+ * applied once they commit, and friendships created on other nodes are picked up by polling their creation
+ * time. A change drops the stored candidates of both users and of their friends, the only users whose
+ * friends of friends it affects; the rest are kept until they expire. Friendships removed on other nodes
+ * stay in the graph until the next rebuild, which only affects how candidates are ordered: callers still
+ * exclude the user's current friends and friend requests.
+ */
+@Service
+public class FriendGraphService {
+
+    private static final Logger logger = LoggerFactory.getLogger(FriendGraphService.class);
+    // Re-reads friendships created shortly before the last poll, to cover transactions that committed late
+    private static final Duration POLL_OVERLAP = Duration.ofSeconds(10);
+    // Candidates stored per user, enough to fill recommendations after excluding requested users
+    private static final int STORED_CANDIDATES = 100;
+
+    private final IFriendshipRepository friendshipRepository;
+    private final boolean enabled;
+    private final Cache<UUID, List<MutualCandidate>> rankedCandidates = Caffeine.newBuilder()
+            .maximumSize(50_000)
+            .expireAfterWrite(Duration.ofHours(1))
+            .build();
+    // Null until the first build completes
+    private volatile FriendGraph graph;
+    private volatile Instant lastPolled;
+
+    @Autowired
+    public FriendGraphService(IFriendshipRepository friendshipRepository,
+                              @Value("${friend-graph.enabled:true}") boolean enabled) {
+        this.friendshipRepository = friendshipRepository;
+        this.enabled = enabled;
+    }
+
+    /**
+     * @return up to 100 users who are friends of the user's friends but not the user or their friends,
+     * most mutual friends first; or empty when the graph is disabled or not built yet and callers should
+     * query the database instead
+     */
+    public Optional<List<MutualCandidate>> getRankedCandidates(UUID userId) {
+        FriendGraph current = graph;
+        if (!enabled || current == null) {
+            return Optional.empty();
+        }
+        return Optional.of(rankedCandidates.get(userId, id -> current.rankCandidates(id, STORED_CANDIDATES)));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void handleFriendshipCreatedEvent(FriendshipCreatedEvent event) {
+        FriendGraph current = graph;
+        if (current != null && current.addFriendship(event.userAId(), event.userBId())) {
+            invalidateAround(current, event.userAId(), event.userBId());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void handleFriendshipRemovedEvent(FriendshipRemovedEvent event) {
+        FriendGraph current = graph;
+        if (current != null) {
+            // Friends are read before the removal, as either user may leave the graph with it
+            Set<UUID> affected = affectedUsers(current, event.userAId(), event.userBId());
+            if (current.removeFriendship(event.userAId(), event.userBId())) {
+                rankedCandidates.invalidateAll(affected);
+            }
+        }
+    }
+
+    @EventListener
+    public void handleUserDeletingEvent(UserDeletingEvent event) {
+        FriendGraph current = graph;
+        if (current != null) {
+            Set<UUID> affected = affectedUsers(current, event.userId());
+            current.removeUser(event.userId());
+            rankedCandidates.invalidateAll(affected);
+        }
+    }
+
+    /**
+     * Builds a fresh graph from every friendship and swaps it in. Runs on startup and then every hour,
+     * which also drops friendships removed on other nodes.
+     */
+    @Scheduled(initialDelay = 0, fixedRate = 1, timeUnit = TimeUnit.HOURS)
+    public void rebuildGraph() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            long start = System.currentTimeMillis();
+            Instant startedAt = Instant.now();
+            FriendGraph rebuilt = new FriendGraph();
+            for (Object[] row : friendshipRepository.findAllFriendshipPairs()) {
+                rebuilt.addFriendship((UUID) row[0], (UUID) row[1]);
+            }
+            graph = rebuilt;
+            rankedCandidates.invalidateAll();
+            // Friendships applied to the old graph while building are re-read by the next poll
+            lastPolled = startedAt;
+            logger.info("Built friend graph of {} users in {} ms", rebuilt.size(), System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            logger.error("Error building friend graph: {}", e.getMessage(), e);
+            // Don't throw - recommendations fall back to the database until a build succeeds
+        }
+    }
+
+    /**
+     * Applies friendships created since the last poll, including those created on other nodes.
+     */
+    @Scheduled(initialDelay = 30, fixedDelay = 30, timeUnit = TimeUnit.SECONDS)
+    public void pollCreatedFriendships() {
+        FriendGraph current = graph;
+        Instant since = lastPolled;
+        if (!enabled || current == null) {
+            return;
+        }
+        try {
+            Instant startedAt = Instant.now();
+            for (Object[] row : friendshipRepository.findFriendshipPairsCreatedSince(since.minus(POLL_OVERLAP))) {
+                UUID userAId = (UUID) row[0];
+                UUID userBId = (UUID) row[1];
+                if (current.addFriendship(userAId, userBId)) {
+                    invalidateAround(current, userAId, userBId);
+                }
+            }
+            lastPolled = startedAt;
+        } catch (Exception e) {
+            logger.warn("Error polling created friendships for the friend graph: {}", e.getMessage());
+        }
+    }
+
+    private void invalidateAround(FriendGraph current, UUID... userIds) {
+        rankedCandidates.invalidateAll(affectedUsers(current, userIds));
+    }
+
+    // The users and their friends: the friends of friends of no one else go through these users
+    private static Set<UUID> affectedUsers(FriendGraph current, UUID... userIds) {
+        Set<UUID> affected = new HashSet<>();
+        for (UUID userId : userIds) {
+            affected.add(userId);
+            affected.addAll(current.friendsOf(userId));
+        }
+        return affected;
+    }
+}
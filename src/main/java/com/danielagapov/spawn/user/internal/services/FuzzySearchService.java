@@ -2,14 +2,17 @@ package com.danielagapov.spawn.user.internal.services;
 
 import com.danielagapov.spawn.shared.config.FuzzySearchConfig;
 import com.danielagapov.spawn.shared.exceptions.Logger.ILogger;
-import lombok.AllArgsConstructor;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import lombok.Data;
 import org.apache.commons.text.similarity.JaroWinklerDistance;
 import org.springframework.stereotype.Service;
 
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 /**
  * Enhanced fuzzy search service using Jaro-Winkler algorithm.
@@ -24,21 +27,104 @@ import java.util.stream.Collectors;
  * - Configurable similarity thresholds
  * - Weighted scoring for names vs usernames
  * - Prefix matching optimization
+ * - Top-K ranking that skips candidates which cannot make the results
  * - Performance monitoring and analytics
  * - Thread-safe operations
  * 
  * @param <T> The type of objects being searched (e.g., User, DTO)
  */
 @Service
-@AllArgsConstructor
 public class FuzzySearchService<T> implements IFuzzySearchService<T> {
     
+    // Scaling factor of the Winkler prefix adjustment, as used by JaroWinklerDistance
+    private static final double WINKLER_SCALING = 0.1;
+    // Absorbs rounding differences between the upper bound and the computed score
+    private static final double SCORE_EPSILON = 1e-9;
+    private static final int PARALLEL_CHUNK_SIZE = 512;
+    
     private final FuzzySearchConfig config;
     private final ILogger logger;
     private final JaroWinklerDistance jaroWinklerDistance;
     
-    // Cache for frequently used distance calculations
-    private final Map<String, Double> distanceCache = new ConcurrentHashMap<>();
+    // Cache for frequently used distance calculations; bounded, and evicts by frequency and recency (W-TinyLFU)
+    private final Cache<DistanceKey, Double> distanceCache;
+    
+    public FuzzySearchService(FuzzySearchConfig config, ILogger logger, JaroWinklerDistance jaroWinklerDistance) {
+        this.config = config;
+        this.logger = logger;
+        this.jaroWinklerDistance = jaroWinklerDistance;
+        this.distanceCache = Caffeine.newBuilder()
+                .maximumSize(config.getDistanceCacheSize())
+                .build();
+    }
+    
+    /**
+     * Key of a cached similarity, compared field by field instead of by a concatenated string.
+     */
+    private record DistanceKey(String query, String target) {}
+    
+    /**
+     * A scored item, before it is turned into a SearchResult; only the final results are.
+     */
+    private record Candidate<T>(T item, int index, double rawScore, String matchedField, boolean isPrefixMatch) {
+        
+        // Higher scores rank first; among equal scores, the item that came first in the input does
+        static <T> int compareRank(Candidate<T> left, Candidate<T> right) {
+            int byScore = Double.compare(right.rawScore, left.rawScore);
+            return byScore != 0 ? byScore : Integer.compare(left.index, right.index);
+        }
+        
+        SearchResult<T> toResult() {
+            // Normalize displayed score to ensure it doesn't exceed 1.0 after weight application
+            // But keep the raw score for ranking purposes
+            return new SearchResult<>(item, Math.min(rawScore, 1.0), matchedField, isPrefixMatch, rawScore);
+        }
+    }
+    
+    /**
+     * The best candidates seen so far, in a min-heap holding the weakest of them on top.
+     */
+    private static final class TopResults<T> {
+        private final int limit;
+        private final PriorityQueue<Candidate<T>> heap;
+        
+        TopResults(int limit) {
+            this.limit = limit;
+            Comparator<Candidate<T>> rank = Candidate::compareRank;
+            this.heap = new PriorityQueue<>(Math.max(1, limit), rank.reversed());
+        }
+        
+        boolean isFull() {
+            return heap.size() >= limit;
+        }
+        
+        double weakestScore() {
+            return heap.isEmpty() ? Double.NEGATIVE_INFINITY : heap.peek().rawScore();
+        }
+        
+        void offer(Candidate<T> candidate) {
+            if (limit <= 0) {
+                return;
+            }
+            if (heap.size() < limit) {
+                heap.add(candidate);
+            } else if (Candidate.compareRank(candidate, heap.peek()) < 0) {
+                heap.poll();
+                heap.add(candidate);
+            }
+        }
+        
+        TopResults<T> merge(TopResults<T> other) {
+            other.heap.forEach(this::offer);
+            return this;
+        }
+        
+        List<Candidate<T>> toSortedList() {
+            List<Candidate<T>> sorted = new ArrayList<>(heap);
+            sorted.sort(Candidate::compareRank);
+            return sorted;
+        }
+    }
     
     /**
      * Search result container with similarity score and metadata.
@@ -97,6 +183,12 @@ public class FuzzySearchService<T> implements IFuzzySearchService<T> {
     /**
      * Performs fuzzy search on a collection of items using Jaro-Winkler algorithm.
      * 
+     * Only the best maxFinalResults items are kept while scoring, in a min-heap whose weakest entry
+     * is the bar a candidate has to clear. Before running Jaro-Winkler on a candidate, an upper bound
+     * on its score computed from lengths and common prefixes alone is compared with that bar, so most
+     * candidates of a large collection are discarded without scoring. Collections of at least
+     * parallelScoringThreshold items are scored in chunks on the common fork-join pool.
+     * 
      * @param query The search query string
      * @param items Collection of items to search through
      * @param nameExtractor Function to extract name text from items
@@ -120,44 +212,87 @@ public class FuzzySearchService<T> implements IFuzzySearchService<T> {
             return performExactPrefixSearch(normalizedQuery, items, nameExtractor, usernameExtractor);
         }
         
-        List<SearchResult<T>> results = new ArrayList<>();
-        
-        // Compute similarity scores for all items
-        for (T item : items) {
-            SearchResult<T> result = computeSimilarity(normalizedQuery, item, nameExtractor, usernameExtractor);
-            if (result != null) {
-                results.add(result);
-            }
-        }
-        
-        // Filter results based on similarity threshold
-        List<SearchResult<T>> filteredResults = results.stream()
-                .filter(result -> result.getSimilarityScore() >= config.getSimilarityThreshold())
-                .collect(Collectors.toList());
-        
-        // If no results meet the threshold, fall back to top results
-        if (filteredResults.isEmpty() && !results.isEmpty()) {
-            filteredResults = results.stream()
-                    .sorted(Comparator.comparingDouble(SearchResult<T>::getRawScore).reversed())
-                    .limit(config.getMaxFinalResults())
-                    .collect(Collectors.toList());
+        List<T> candidates = items instanceof List<T> list && list instanceof RandomAccess ? list : new ArrayList<>(items);
+        int limit = config.getMaxFinalResults();
+        TopResults<T> top;
+        if (candidates.size() >= config.getParallelScoringThreshold() && limit > 0) {
+            int chunks = Math.min(ForkJoinPool.getCommonPoolParallelism() * 4,
+                    Math.max(1, candidates.size() / PARALLEL_CHUNK_SIZE));
+            int chunkSize = (candidates.size() + chunks - 1) / chunks;
+            top = IntStream.range(0, chunks)
+                    .parallel()
+                    .mapToObj(chunk -> score(normalizedQuery, candidates, chunk * chunkSize,
+                            Math.min(candidates.size(), (chunk + 1) * chunkSize), limit, nameExtractor, usernameExtractor))
+                    .reduce(TopResults::merge)
+                    .orElseGet(() -> new TopResults<>(limit));
+        } else {
+            top = score(normalizedQuery, candidates, 0, candidates.size(), limit, nameExtractor, usernameExtractor);
         }
         
-        // Sort by raw score (highest first) for proper ranking when weights are involved, then limit results
-        List<SearchResult<T>> finalResults = filteredResults.stream()
-                .sorted(Comparator.comparingDouble(SearchResult<T>::getRawScore).reversed())
-                .limit(config.getMaxFinalResults())
-                .collect(Collectors.toList());
+        List<SearchResult<T>> finalResults = toFinalResults(top);
         
         // Log analytics if enabled
         if (config.isEnableAnalytics()) {
-            logSearchAnalytics(query, items.size(), results.size(), finalResults.size(), 
+            logSearchAnalytics(query, items.size(), candidates.size(), finalResults.size(), 
                              System.currentTimeMillis() - startTime, finalResults);
         }
         
         return finalResults;
     }
     
+    /**
+     * Searches several groups of items in one pass: every item is scored once, against the top results
+     * of its own group, so each group gets the results search would give for its items alone.
+     * 
+     * @param query The search query string
+     * @param items Collection of items to search through
+     * @param nameExtractor Function to extract name text from items
+     * @param usernameExtractor Function to extract username text from items
+     * @param groupKey Function giving the group of an item
+     * @return Results of each group that has any, ordered by similarity score (highest first)
+     */
+    @Override
+    public <K> Map<K, List<SearchResult<T>>> searchGrouped(String query, Collection<T> items,
+                                                          TextExtractor<T> nameExtractor,
+                                                          TextExtractor<T> usernameExtractor,
+                                                          Function<T, K> groupKey) {
+        Map<K, List<SearchResult<T>>> grouped = new LinkedHashMap<>();
+        if (query == null || query.trim().isEmpty()) {
+            return grouped;
+        }
+        
+        String normalizedQuery = normalizeQuery(query);
+        int limit = config.getMaxFinalResults();
+        
+        if (normalizedQuery.length() < config.getMinQueryLength()) {
+            for (T item : items) {
+                K key = groupKey.apply(item);
+                if (grouped.getOrDefault(key, List.of()).size() >= limit) {
+                    continue;
+                }
+                SearchResult<T> match = exactPrefixMatch(normalizedQuery, item, nameExtractor, usernameExtractor);
+                if (match != null) {
+                    grouped.computeIfAbsent(key, k -> new ArrayList<>()).add(match);
+                }
+            }
+            return grouped;
+        }
+        
+        Map<K, TopResults<T>> topByGroup = new LinkedHashMap<>();
+        int index = 0;
+        for (T item : items) {
+            TopResults<T> top = topByGroup.computeIfAbsent(groupKey.apply(item), k -> new TopResults<>(limit));
+            scoreInto(top, normalizedQuery, item, index++, nameExtractor, usernameExtractor);
+        }
+        topByGroup.forEach((key, top) -> {
+            List<SearchResult<T>> results = toFinalResults(top);
+            if (!results.isEmpty()) {
+                grouped.put(key, results);
+            }
+        });
+        return grouped;
+    }
+    
     /**
      * Performs exact prefix search for very short queries.
      */
@@ -165,40 +300,120 @@ public class FuzzySearchService<T> implements IFuzzySearchService<T> {
                                                           TextExtractor<T> nameExtractor, 
                                                           TextExtractor<T> usernameExtractor) {
         
-        return items.stream()
-                .map(item -> {
-                    String name = normalizeText(nameExtractor.extract(item));
-                    String username = normalizeText(usernameExtractor.extract(item));
-                    
-                    boolean nameMatch = name != null && name.startsWith(query);
-                    boolean usernameMatch = username != null && username.startsWith(query);
-                    
-                    if (nameMatch) {
-                        return new SearchResult<>(item, 1.0, "name", true);
-                    } else if (usernameMatch) {
-                        return new SearchResult<>(item, 1.0, "username", true);
-                    }
-                    return null;
-                })
-                .filter(Objects::nonNull)
-                .sorted(Comparator.comparingDouble(SearchResult<T>::getRawScore).reversed())
-                .limit(config.getMaxFinalResults())
-                .collect(Collectors.toList());
+        // Every prefix match scores 1.0, so the first maxFinalResults of them are the result
+        List<SearchResult<T>> results = new ArrayList<>();
+        for (T item : items) {
+            if (results.size() >= config.getMaxFinalResults()) {
+                break;
+            }
+            SearchResult<T> match = exactPrefixMatch(query, item, nameExtractor, usernameExtractor);
+            if (match != null) {
+                results.add(match);
+            }
+        }
+        return results;
     }
     
     /**
-     * Computes similarity score for a single item against the query.
+     * @return the item as a prefix match of the query, or null if neither field starts with it
      */
-    private SearchResult<T> computeSimilarity(String query, T item, 
-                                            TextExtractor<T> nameExtractor, 
-                                            TextExtractor<T> usernameExtractor) {
+    private SearchResult<T> exactPrefixMatch(String query, T item,
+                                             TextExtractor<T> nameExtractor,
+                                             TextExtractor<T> usernameExtractor) {
+        String name = normalizeText(nameExtractor.extract(item));
+        String username = normalizeText(usernameExtractor.extract(item));
         
+        if (name != null && name.startsWith(query)) {
+            return new SearchResult<>(item, 1.0, "name", true);
+        } else if (username != null && username.startsWith(query)) {
+            return new SearchResult<>(item, 1.0, "username", true);
+        }
+        return null;
+    }
+    
+    /**
+     * Scores the candidates in [from, to) and keeps the best limit of them.
+     */
+    private TopResults<T> score(String query, List<T> candidates, int from, int to, int limit,
+                                TextExtractor<T> nameExtractor, TextExtractor<T> usernameExtractor) {
+        TopResults<T> top = new TopResults<>(limit);
+        for (int index = from; index < to; index++) {
+            scoreInto(top, query, candidates.get(index), index, nameExtractor, usernameExtractor);
+        }
+        return top;
+    }
+    
+    /**
+     * Scores the item and offers it to the top results, unless its upper bound shows it cannot make them.
+     */
+    private void scoreInto(TopResults<T> top, String query, T item, int index,
+                           TextExtractor<T> nameExtractor, TextExtractor<T> usernameExtractor) {
         String name = normalizeText(nameExtractor.extract(item));
         String username = normalizeText(usernameExtractor.extract(item));
         
+        if (top.isFull() && upperBound(query, name, username) + SCORE_EPSILON < top.weakestScore()) {
+            return;
+        }
+        top.offer(computeSimilarity(query, item, index, name, username));
+    }
+    
+    /**
+     * Turns the best candidates into results, keeping only those meeting the similarity threshold if any does.
+     */
+    private List<SearchResult<T>> toFinalResults(TopResults<T> top) {
+        // Results meeting the similarity threshold outrank every other result, so the best results
+        // overall are also the best ones meeting it; only if none meets it are the others returned
+        List<Candidate<T>> best = top.toSortedList();
+        double threshold = config.getSimilarityThreshold();
+        if (!best.isEmpty() && Math.min(best.get(0).rawScore(), 1.0) >= threshold) {
+            best = best.stream()
+                    .filter(candidate -> Math.min(candidate.rawScore(), 1.0) >= threshold)
+                    .collect(Collectors.toList());
+        }
+        return best.stream()
+                .map(Candidate::toResult)
+                .collect(Collectors.toList());
+    }
+    
+    /**
+     * Upper bound of the score computeSimilarity would give, from lengths and common prefixes only.
+     */
+    private double upperBound(String query, String name, String username) {
+        double nameBound = 0.0;
+        if (name != null && !name.isEmpty()) {
+            nameBound = jaroWinklerUpperBound(query, name)
+                    * (name.startsWith(query) ? config.getPrefixBoost() : 1.0) * config.getNameWeight();
+        }
+        double usernameBound = 0.0;
+        if (username != null && !username.isEmpty()) {
+            usernameBound = jaroWinklerUpperBound(query, username)
+                    * (username.startsWith(query) ? config.getPrefixBoost() : 1.0) * config.getUsernameWeight();
+        }
+        return Math.max(nameBound, usernameBound);
+    }
+    
+    /**
+     * Jaro similarity is highest when every character of the shorter string matches without
+     * transpositions, (min/|a| + min/|b| + 1) / 3; the Winkler adjustment then grows with the common prefix.
+     */
+    private static double jaroWinklerUpperBound(String left, String right) {
+        int shorter = Math.min(left.length(), right.length());
+        double jaro = ((double) shorter / left.length() + (double) shorter / right.length() + 1.0) / 3.0;
+        int prefix = 0;
+        while (prefix < shorter && left.charAt(prefix) == right.charAt(prefix)) {
+            prefix++;
+        }
+        return Math.min(1.0, jaro + WINKLER_SCALING * prefix * (1.0 - jaro));
+    }
+    
+    /**
+     * Computes similarity score for a single item against the query.
+     */
+    private Candidate<T> computeSimilarity(String query, T item, int index, String name, String username) {
+        
         double nameScore = 0.0;
         double usernameScore = 0.0;
-        String matchedField = null;
+        String matchedField;
         boolean isPrefixMatch = false;
         
         // Calculate name similarity
@@ -231,7 +446,6 @@ public class FuzzySearchService<T> implements IFuzzySearchService<T> {
         
         // Determine best match
         double rawScore;
-        double finalScore;
         if (nameScore >= usernameScore) {
             rawScore = nameScore;
             matchedField = "name";
@@ -240,40 +454,17 @@ public class FuzzySearchService<T> implements IFuzzySearchService<T> {
             matchedField = "username";
         }
         
-        // Normalize displayed score to ensure it doesn't exceed 1.0 after weight application
-        // But keep the raw score for ranking purposes
-        finalScore = Math.min(rawScore, 1.0);
-        
-        return new SearchResult<>(item, finalScore, matchedField, isPrefixMatch, rawScore);
+        return new Candidate<>(item, index, rawScore, matchedField, isPrefixMatch);
     }
     
     /**
      * Calculates Jaro-Winkler similarity with caching for performance.
      */
     private double calculateJaroWinklerSimilarity(String query, String target) {
-        // Create cache key
-        String cacheKey = query + "|" + target;
-        
-        // Check cache first
-        if (distanceCache.containsKey(cacheKey)) {
-            return distanceCache.get(cacheKey);
-        }
-        
         // Calculate distance and convert to similarity
         // JaroWinklerDistance.apply() returns distance (0.0 = identical, 1.0 = completely different)
         // We need similarity (1.0 = identical, 0.0 = completely different)
-        double distance = jaroWinklerDistance.apply(query, target);
-        double similarity = 1.0 - distance;
-        
-        // Cache the result
-        distanceCache.put(cacheKey, similarity);
-        
-        // Prevent cache from growing too large
-        if (distanceCache.size() > 10000) {
-            distanceCache.clear();
-        }
-        
-        return similarity;
+        return distanceCache.get(new DistanceKey(query, target), key -> 1.0 - jaroWinklerDistance.apply(query, target));
     }
     
     /**
@@ -340,7 +531,7 @@ public class FuzzySearchService<T> implements IFuzzySearchService<T> {
      */
     @Override
     public void clearCache() {
-        distanceCache.clear();
+        distanceCache.invalidateAll();
     }
     
     /**
@@ -348,6 +539,8 @@ public class FuzzySearchService<T> implements IFuzzySearchService<T> {
      */
     @Override
     public int getCacheSize() {
-        return distanceCache.size();
+        // Evictions happen asynchronously; apply pending ones so the size reflects the bound
+        distanceCache.cleanUp();
+        return (int) distanceCache.estimatedSize();
     }
 } 
\ No newline at end of file
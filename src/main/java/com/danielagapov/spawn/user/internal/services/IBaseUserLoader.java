@@ -0,0 +1,47 @@
+package com.danielagapov.spawn.user.internal.services;
+
+import com.danielagapov.spawn.user.api.dto.BaseUserDTO;
+import com.danielagapov.spawn.user.internal.domain.User;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Batched, deduplicating loader for BaseUserDTOs backed by a per-request identity map.
+ *
+ * Within one HTTP request every user row is read at most once: lookups are collected into
+ * chunked findAllById queries and served from the request's identity map afterwards, so the
+ * same user referenced by many activities, participants or chat messages resolves to one shared
+ * BaseUserDTO instance. Outside a request (scheduled jobs, async listeners) each call batches and
+ * dedupes its own IDs but nothing is shared between calls.
+ *
+ * Returned DTOs are shared and must be treated as read-only.
+ */
+public interface IBaseUserLoader {
+
+    /**
+     * Resolves users by ID, querying only those not already known to the current request.
+     *
+     * @param userIds the IDs to resolve; duplicates and nulls are ignored
+     * @return the users that exist, keyed by ID
+     */
+    Map<UUID, BaseUserDTO> getBaseUsersByIds(Collection<UUID> userIds);
+
+    /**
+     * Same as {@link #getBaseUsersByIds(Collection)}, but leaves out users hidden from the front-end
+     * (the admin user), matching IUserService.getBaseUserById.
+     *
+     * @param userIds the IDs to resolve; duplicates and nulls are ignored
+     * @return the visible users that exist, keyed by ID
+     */
+    Map<UUID, BaseUserDTO> getVisibleBaseUsersByIds(Collection<UUID> userIds);
+
+    /**
+     * Records users that the caller already loaded, e.g. through a join, so later lookups
+     * in the same request are served without a query.
+     *
+     * @param users user entities that were just read from the database
+     */
+    void prime(Collection<User> users);
+}
@@ -2,6 +2,8 @@ package com.danielagapov.spawn.user.internal.services;
 
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 
 /**
  * Interface for fuzzy search service to enable mocking in tests.
@@ -23,6 +25,21 @@ public interface IFuzzySearchService<T> {
                                                     FuzzySearchService.TextExtractor<T> nameExtractor, 
                                                     FuzzySearchService.TextExtractor<T> usernameExtractor);
     
+    /**
+     * Performs the same search on several groups of items in a single scoring pass.
+     * 
+     * @param query The search query string
+     * @param items Collection of items to search through
+     * @param nameExtractor Function to extract name text from items
+     * @param usernameExtractor Function to extract username text from items
+     * @param groupKey Function giving the group of an item
+     * @return For each group with matches, the results search would return for that group's items alone
+     */
+    <K> Map<K, List<FuzzySearchService.SearchResult<T>>> searchGrouped(String query, Collection<T> items,
+                                                                       FuzzySearchService.TextExtractor<T> nameExtractor,
+                                                                       FuzzySearchService.TextExtractor<T> usernameExtractor,
+                                                                       Function<T, K> groupKey);
+    
     /**
      * Clears the internal distance cache.
      */
@@ -5,6 +5,7 @@ import com.danielagapov.spawn.activity.api.dto.UserIdActivityTimeDTO;
 import com.danielagapov.spawn.shared.exceptions.Logger.ILogger;
 import com.danielagapov.spawn.shared.util.LoggingUtils;
 import com.danielagapov.spawn.shared.util.ParticipationStatus;
+import com.danielagapov.spawn.user.api.dto.BaseUserDTO;
 import com.danielagapov.spawn.user.api.dto.RecentlySpawnedUserDTO;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Limit;
@@ -12,6 +13,7 @@ import org.springframework.stereotype.Service;
 
 import java.time.OffsetDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
@@ -29,7 +31,7 @@ public class RecentlySpawnedService implements IRecentlySpawnedService {
     
     private final IActivityService activityService;
     private final IUserSearchQueryService userSearchQueryService;
-    private final IUserService userService;
+    private final IBaseUserLoader baseUserLoader;
     private final ILogger logger;
     
     private static final int ACTIVITY_LIMIT = 10;
@@ -39,11 +41,11 @@ public class RecentlySpawnedService implements IRecentlySpawnedService {
     public RecentlySpawnedService(
             IActivityService activityService,
             IUserSearchQueryService userSearchQueryService,
-            IUserService userService,
+            IBaseUserLoader baseUserLoader,
             ILogger logger) {
         this.activityService = activityService;
         this.userSearchQueryService = userSearchQueryService;
-        this.userService = userService;
+        this.baseUserLoader = baseUserLoader;
         this.logger = logger;
     }
     
@@ -71,11 +73,18 @@ public class RecentlySpawnedService implements IRecentlySpawnedService {
             // Get users to exclude (e.g., already friends, blocked)
             Set<UUID> excludedIds = userSearchQueryService.getExcludedUserIds(requestingUserId);
             
-            // Convert to DTOs, filtering excluded users
-            return pastActivityParticipantIds.stream()
+            // Filter excluded users, then resolve the remaining ones in a single batched lookup
+            List<UserIdActivityTimeDTO> candidates = pastActivityParticipantIds.stream()
                     .filter(e -> !excludedIds.contains(e.getUserId()))
+                    .collect(Collectors.toList());
+            Map<UUID, BaseUserDTO> usersById = baseUserLoader.getVisibleBaseUsersByIds(
+                    candidates.stream().map(UserIdActivityTimeDTO::getUserId).collect(Collectors.toList()));
+            
+            // Convert to DTOs, skipping users that no longer exist or are hidden
+            return candidates.stream()
+                    .filter(e -> usersById.containsKey(e.getUserId()))
                     .map(e -> new RecentlySpawnedUserDTO(
-                            userService.getBaseUserById(e.getUserId()), 
+                            usersById.get(e.getUserId()), 
                             e.getStartTime()
                     ))
                     .limit(USER_LIMIT)
@@ -0,0 +1,50 @@
+package com.danielagapov.spawn.user.internal.services;
+
+import com.danielagapov.spawn.shared.util.UserRelationshipType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Everyone a user has a relationship with - incoming and outgoing friend requests, recommended
+ * friends and friends - reduced to what searching them by name needs, so that a search session
+ * scores one cached list instead of reloading and converting each relationship list per keystroke.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RelationshipSearchView {
+    private List<Entry> entries = new ArrayList<>();
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Entry {
+        private UUID userId;
+        // Name and username as normalized by UserTrigramIndex.normalize
+        private String name;
+        private String username;
+        private UserRelationshipType relationshipType;
+        // The pending request, for incoming and outgoing friend request entries
+        private UUID friendRequestId;
+        // Only for recommended friend entries
+        private Integer mutualFriendCount;
+    }
+
+    /**
+     * @return the entries keyed by user id
+     */
+    public Map<UUID, Entry> indexByUserId() {
+        Map<UUID, Entry> byUserId = new HashMap<>();
+        for (Entry entry : entries) {
+            byUserId.putIfAbsent(entry.getUserId(), entry);
+        }
+        return byUserId;
+    }
+}
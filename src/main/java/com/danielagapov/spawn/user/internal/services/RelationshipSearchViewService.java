@@ -0,0 +1,141 @@
+package com.danielagapov.spawn.user.internal.services;
+
+import com.danielagapov.spawn.shared.events.ClientCacheEvents.FriendRequestChangedEvent;
+import com.danielagapov.spawn.shared.exceptions.Logger.ILogger;
+import com.danielagapov.spawn.shared.util.CacheEvictionHelper;
+import com.danielagapov.spawn.shared.util.CacheNames;
+import com.danielagapov.spawn.shared.util.UserRelationshipType;
+import com.danielagapov.spawn.social.api.dto.CreateFriendRequestDTO;
+import com.danielagapov.spawn.social.api.dto.FetchFriendRequestDTO;
+import com.danielagapov.spawn.social.internal.services.IFriendRequestService;
+import com.danielagapov.spawn.user.api.dto.BaseUserDTO;
+import com.danielagapov.spawn.user.api.dto.FriendUser.RecommendedFriendUserDTO;
+import com.danielagapov.spawn.user.internal.domain.User;
+import com.danielagapov.spawn.user.internal.repositories.IUserRepository;
+import com.danielagapov.spawn.user.internal.services.RelationshipSearchView.Entry;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Service that builds and caches each user's {@link RelationshipSearchView}, and searches it.
+ *
+ * A view is built on the first search of a session and kept in the relationshipSearchViews cache.
+ * Friend request changes evict the views of both users once they commit, which also covers friendships
+ * created by accepting a request; blocking evicts them together with the other friend caches.
+ */
+@Service
+public class RelationshipSearchViewService {
+
+    private final IFriendRequestService friendRequestService;
+    private final IUserFriendshipQueryService friendshipQueryService;
+    private final IUserService userService;
+    private final IUserRepository userRepository;
+    private final IFuzzySearchService<Entry> fuzzySearchService;
+    private final CacheManager cacheManager;
+    private final CacheEvictionHelper cacheEvictionHelper;
+    private final ILogger logger;
+
+    public RelationshipSearchViewService(IFriendRequestService friendRequestService,
+                                         IUserFriendshipQueryService friendshipQueryService,
+                                         IUserService userService,
+                                         IUserRepository userRepository,
+                                         IFuzzySearchService<Entry> fuzzySearchService,
+                                         CacheManager cacheManager,
+                                         CacheEvictionHelper cacheEvictionHelper,
+                                         ILogger logger) {
+        this.friendRequestService = friendRequestService;
+        this.friendshipQueryService = friendshipQueryService;
+        this.userService = userService;
+        this.userRepository = userRepository;
+        this.fuzzySearchService = fuzzySearchService;
+        this.cacheManager = cacheManager;
+        this.cacheEvictionHelper = cacheEvictionHelper;
+        this.logger = logger;
+    }
+
+    /**
+     * @return the user's cached view, built if there is none
+     */
+    public RelationshipSearchView getView(UUID userId) {
+        Cache cache = cacheManager.getCache(CacheNames.RELATIONSHIP_SEARCH_VIEWS);
+        if (cache == null) {
+            return buildView(userId);
+        }
+        return cache.get(userId, () -> buildView(userId));
+    }
+
+    /**
+     * Scores every entry of the view once and returns the matches of each relationship type,
+     * best first, as separate fuzzy searches of each type's entries would.
+     */
+    public Map<UserRelationshipType, List<Entry>> search(RelationshipSearchView view, String query) {
+        Map<UserRelationshipType, List<Entry>> matches = new EnumMap<>(UserRelationshipType.class);
+        fuzzySearchService.searchGrouped(
+                UserTrigramIndex.normalize(query),
+                view.getEntries(),
+                Entry::getName,
+                Entry::getUsername,
+                Entry::getRelationshipType
+        ).forEach((relationshipType, results) -> matches.put(relationshipType, results.stream()
+                .map(FuzzySearchService.SearchResult::getItem)
+                .collect(Collectors.toList())));
+        return matches;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void handleFriendRequestChangedEvent(FriendRequestChangedEvent event) {
+        cacheEvictionHelper.evictCacheForUsers(CacheNames.RELATIONSHIP_SEARCH_VIEWS, event.senderId(), event.receiverId());
+    }
+
+    private RelationshipSearchView buildView(UUID userId) {
+        long start = System.currentTimeMillis();
+        List<Entry> entries = new ArrayList<>();
+
+        for (FetchFriendRequestDTO request : friendRequestService.getIncomingFetchFriendRequestsByUserId(userId)) {
+            BaseUserDTO sender = request.getSenderUser();
+            entries.add(entry(sender.getId(), sender.getName(), sender.getUsername(),
+                    UserRelationshipType.INCOMING_FRIEND_REQUEST, request.getId(), null));
+        }
+
+        // Receivers are loaded together rather than one by one
+        List<CreateFriendRequestDTO> sentRequests = friendRequestService.getSentFriendRequestsByUserId(userId);
+        Map<UUID, User> receivers = userRepository.findAllById(sentRequests.stream()
+                        .map(CreateFriendRequestDTO::getReceiverUserId)
+                        .collect(Collectors.toSet()))
+                .stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+        for (CreateFriendRequestDTO request : sentRequests) {
+            User receiver = receivers.get(request.getReceiverUserId());
+            if (receiver != null) {
+                entries.add(entry(receiver.getId(), receiver.getName(), receiver.getUsername(),
+                        UserRelationshipType.OUTGOING_FRIEND_REQUEST, request.getId(), null));
+            }
+        }
+
+        for (RecommendedFriendUserDTO recommended : userService.getLimitedRecommendedFriendsForUserId(userId)) {
+            entries.add(entry(recommended.getId(), recommended.getName(), recommended.getUsername(),
+                    UserRelationshipType.RECOMMENDED_FRIEND, null, recommended.getMutualFriendCount()));
+        }
+
+        for (User friend : friendshipQueryService.getFriendUsersByUserId(userId)) {
+            entries.add(entry(friend.getId(), friend.getName(), friend.getUsername(),
+                    UserRelationshipType.FRIEND, null, null));
+        }
+
+        logger.info("Built relationship search view of " + entries.size() + " users for user " + userId
+                + " in " + (System.currentTimeMillis() - start) + " ms");
+        return new RelationshipSearchView(entries);
+    }
+
+    private static Entry entry(UUID userId, String name, String username, UserRelationshipType relationshipType,
+                               UUID friendRequestId, Integer mutualFriendCount) {
+        return new Entry(userId, UserTrigramIndex.normalize(name), UserTrigramIndex.normalize(username),
+                relationshipType, friendRequestId, mutualFriendCount);
+    }
+}
@@ -0,0 +1,74 @@
+package com.danielagapov.spawn.user.internal.services;
+
+import com.danielagapov.spawn.shared.exceptions.Base.BaseNotFoundException;
+import com.danielagapov.spawn.shared.ports.UserData;
+import com.danielagapov.spawn.shared.ports.UserPort;
+import com.danielagapov.spawn.user.internal.domain.User;
+import com.danielagapov.spawn.user.internal.repositories.IUserRepository;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+
+/**
+ * User module implementation of {@link UserPort}.
+ * Serves user and friendship lookups from other modules (primarily Social) by calling the user services directly.
+ */
+@Service
+public class UserPortAdapter implements UserPort {
+
+    private final IUserService userService;
+    private final IUserRepository userRepository;
+
+    public UserPortAdapter(IUserService userService, IUserRepository userRepository) {
+        this.userService = userService;
+        this.userRepository = userRepository;
+    }
+
+    @Override
+    public Optional<UserData> findUserById(UUID userId) {
+        try {
+            return Optional.of(toUserData(userService.getUserEntityById(userId)));
+        } catch (BaseNotFoundException e) {
+            return Optional.empty();
+        }
+    }
+
+    @Override
+    public Map<UUID, UserData> getUsersByIds(Collection<UUID> userIds) {
+        if (userIds.isEmpty()) {
+            return Map.of();
+        }
+        Map<UUID, UserData> usersById = new HashMap<>();
+        for (User user : userRepository.findAllById(new HashSet<>(userIds))) {
+            usersById.put(user.getId(), toUserData(user));
+        }
+        return usersById;
+    }
+
+    @Override
+    public boolean isUserFriendOfUser(UUID userAId, UUID userBId) {
+        return userService.isUserFriendOfUser(userAId, userBId);
+    }
+
+    @Override
+    public int getMutualFriendCount(UUID userAId, UUID userBId) {
+        return userService.getMutualFriendCount(userAId, userBId);
+    }
+
+    @Override
+    public void saveFriendToUser(UUID userAId, UUID userBId) {
+        userService.saveFriendToUser(userAId, userBId);
+    }
+
+    private static UserData toUserData(User user) {
+        return new UserData(
+                user.getId(),
+                user.getUsername(),
+                user.getProfilePictureUrlString(),
+                user.getName(),
+                user.getBio(),
+                user.getEmail(),
+                user.getPhoneNumber()
+        );
+    }
+}
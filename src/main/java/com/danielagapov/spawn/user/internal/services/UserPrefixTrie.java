@@ -0,0 +1,319 @@
+package com.danielagapov.spawn.user.internal.services;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Radix tree of users' normalized usernames, full names and name words, for typeahead.
+ *
+ * Every node whose subtree holds more than k keys keeps the k best distinct users below it, ranked
+ * by a score given on insert (the user's last update time, so recently active users come first). A
+ * prefix lookup therefore walks at most the prefix's length and returns the precomputed list; smaller
+ * subtrees hold at most k keys and are simply collected. A user's score is the same for each of their
+ * keys, so the k best of a node always come from the k best of its children.
+ *
+ * Writes recompute the lists along the paths they touch, bottom-up, under an exclusive lock; reads
+ * share the lock. Removing a key unlinks emptied nodes but does not merge the edges around them,
+ * which the periodic rebuild of the search index takes care of.
+ */
+public class UserPrefixTrie {
+    private final int k;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Node root = new Node("");
+    private final Map<UUID, Indexed> indexedByUserId = new HashMap<>();
+
+    private record Ranked(UUID userId, long score) {}
+
+    private record Indexed(Ranked entry, Set<String> keys) {}
+
+    private static final Comparator<Ranked> BEST_FIRST = Comparator.comparingLong(Ranked::score).reversed()
+            .thenComparing(Ranked::userId);
+
+    private static final class Node {
+        // Characters of the edge leading to this node
+        private String label;
+        private char[] firstChars = new char[0];
+        private Node[] children = new Node[0];
+        // Users with a key ending exactly at this node
+        private final List<Ranked> terminals = new ArrayList<>(1);
+        // Number of keys in this subtree
+        private int size;
+        // Best k distinct users of this subtree, only kept when it holds more than k keys
+        private Ranked[] best;
+
+        private Node(String label) {
+            this.label = label;
+        }
+
+        private int childIndex(char c) {
+            return Arrays.binarySearch(firstChars, c);
+        }
+
+        private void addChild(Node child) {
+            int insertAt = -childIndex(child.label.charAt(0)) - 1;
+            char[] chars = new char[firstChars.length + 1];
+            Node[] nodes = new Node[children.length + 1];
+            System.arraycopy(firstChars, 0, chars, 0, insertAt);
+            System.arraycopy(children, 0, nodes, 0, insertAt);
+            chars[insertAt] = child.label.charAt(0);
+            nodes[insertAt] = child;
+            System.arraycopy(firstChars, insertAt, chars, insertAt + 1, firstChars.length - insertAt);
+            System.arraycopy(children, insertAt, nodes, insertAt + 1, children.length - insertAt);
+            firstChars = chars;
+            children = nodes;
+        }
+
+        private void removeChild(int index) {
+            char[] chars = new char[firstChars.length - 1];
+            Node[] nodes = new Node[children.length - 1];
+            System.arraycopy(firstChars, 0, chars, 0, index);
+            System.arraycopy(children, 0, nodes, 0, index);
+            System.arraycopy(firstChars, index + 1, chars, index, chars.length - index);
+            System.arraycopy(children, index + 1, nodes, index, nodes.length - index);
+            firstChars = chars;
+            children = nodes;
+        }
+    }
+
+    /**
+     * @param k how many best users each node keeps, i.e. the most a lookup returns
+     */
+    public UserPrefixTrie(int k) {
+        this.k = k;
+    }
+
+    /**
+     * Adds the user, or replaces their keys and score.
+     */
+    public void upsert(UUID userId, String name, String username, long score) {
+        Set<String> keys = keys(name, username);
+        Ranked entry = new Ranked(userId, score);
+        lock.writeLock().lock();
+        try {
+            Indexed previous = indexedByUserId.remove(userId);
+            if (previous != null) {
+                previous.keys().forEach(key -> remove(key, userId));
+            }
+            keys.forEach(key -> insert(key, entry));
+            indexedByUserId.put(userId, new Indexed(entry, keys));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(UUID userId) {
+        lock.writeLock().lock();
+        try {
+            Indexed previous = indexedByUserId.remove(userId);
+            if (previous != null) {
+                previous.keys().forEach(key -> remove(key, userId));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @return up to min(limit, k) ids of the best-ranked users with a key starting with the prefix, best first
+     */
+    public List<UUID> search(String prefix, int limit) {
+        String normalized = UserTrigramIndex.normalize(prefix).trim();
+        if (normalized.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            Node node = find(normalized);
+            if (node == null) {
+                return List.of();
+            }
+            List<Ranked> ranked = node.best != null ? Arrays.asList(node.best) : best(collect(node, new ArrayList<>()));
+            List<UUID> userIds = new ArrayList<>(Math.min(limit, ranked.size()));
+            for (int i = 0; i < ranked.size() && userIds.size() < limit; i++) {
+                userIds.add(ranked.get(i).userId());
+            }
+            return userIds;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return indexedByUserId.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Username, full name and each word of the name, so "joh" finds "Alice Johnson".
+     */
+    private static Set<String> keys(String name, String username) {
+        Set<String> keys = new HashSet<>();
+        String normalizedUsername = UserTrigramIndex.normalize(username).trim();
+        if (!normalizedUsername.isEmpty()) {
+            keys.add(normalizedUsername);
+        }
+        String normalizedName = UserTrigramIndex.normalize(name).trim();
+        if (!normalizedName.isEmpty()) {
+            keys.add(normalizedName);
+            for (String word : normalizedName.split("\\s+")) {
+                if (!word.isEmpty()) {
+                    keys.add(word);
+                }
+            }
+        }
+        return keys;
+    }
+
+    /**
+     * @return the node whose subtree holds exactly the keys starting with the prefix, or null if there are none
+     */
+    private Node find(String prefix) {
+        Node node = root;
+        int i = 0;
+        while (i < prefix.length()) {
+            int index = node.childIndex(prefix.charAt(i));
+            if (index < 0) {
+                return null;
+            }
+            Node child = node.children[index];
+            int common = commonPrefix(child.label, prefix, i);
+            if (i + common == prefix.length()) {
+                return child;
+            }
+            if (common < child.label.length()) {
+                return null;
+            }
+            node = child;
+            i += common;
+        }
+        return node;
+    }
+
+    private void insert(String key, Ranked entry) {
+        List<Node> path = new ArrayList<>();
+        Node node = root;
+        path.add(node);
+        int i = 0;
+        while (i < key.length()) {
+            int index = node.childIndex(key.charAt(i));
+            if (index < 0) {
+                Node leaf = new Node(key.substring(i));
+                node.addChild(leaf);
+                node = leaf;
+                path.add(node);
+                break;
+            }
+            Node child = node.children[index];
+            int common = commonPrefix(child.label, key, i);
+            if (common < child.label.length()) {
+                // The key leaves this edge part way: split it at the divergence
+                Node middle = new Node(child.label.substring(0, common));
+                child.label = child.label.substring(common);
+                middle.addChild(child);
+                refresh(middle);
+                node.children[index] = middle;
+                child = middle;
+            }
+            node = child;
+            path.add(node);
+            i += common;
+        }
+        node.terminals.add(entry);
+        for (int p = path.size() - 1; p >= 0; p--) {
+            refresh(path.get(p));
+        }
+    }
+
+    private void remove(String key, UUID userId) {
+        List<Node> path = new ArrayList<>();
+        Node node = root;
+        path.add(node);
+        int i = 0;
+        while (i < key.length()) {
+            int index = node.childIndex(key.charAt(i));
+            if (index < 0) {
+                return;
+            }
+            Node child = node.children[index];
+            int common = commonPrefix(child.label, key, i);
+            if (common < child.label.length()) {
+                return;
+            }
+            node = child;
+            path.add(node);
+            i += common;
+        }
+        if (!node.terminals.removeIf(ranked -> ranked.userId().equals(userId))) {
+            return;
+        }
+        for (int p = path.size() - 1; p >= 0; p--) {
+            Node current = path.get(p);
+            refresh(current);
+            if (current.size == 0 && p > 0) {
+                Node parent = path.get(p - 1);
+                parent.removeChild(parent.childIndex(current.label.charAt(0)));
+            }
+        }
+    }
+
+    private void refresh(Node node) {
+        int size = node.terminals.size();
+        for (Node child : node.children) {
+            size += child.size;
+        }
+        node.size = size;
+        if (size <= k) {
+            node.best = null;
+            return;
+        }
+        List<Ranked> candidates = new ArrayList<>(node.terminals);
+        for (Node child : node.children) {
+            if (child.best != null) {
+                candidates.addAll(Arrays.asList(child.best));
+            } else {
+                collect(child, candidates);
+            }
+        }
+        node.best = best(candidates).toArray(new Ranked[0]);
+    }
+
+    private static List<Ranked> collect(Node node, List<Ranked> into) {
+        into.addAll(node.terminals);
+        for (Node child : node.children) {
+            collect(child, into);
+        }
+        return into;
+    }
+
+    /**
+     * @return the best k distinct users among the candidates, best first
+     */
+    private List<Ranked> best(List<Ranked> candidates) {
+        candidates.sort(BEST_FIRST);
+        List<Ranked> best = new ArrayList<>(Math.min(k, candidates.size()));
+        Set<UUID> seen = new HashSet<>();
+        for (Ranked candidate : candidates) {
+            if (best.size() == k) {
+                break;
+            }
+            if (seen.add(candidate.userId())) {
+                best.add(candidate);
+            }
+        }
+        return best;
+    }
+
+    private static int commonPrefix(String label, String key, int offset) {
+        int max = Math.min(label.length(), key.length() - offset);
+        int common = 0;
+        while (common < max && label.charAt(common) == key.charAt(offset + common)) {
+            common++;
+        }
+        return common;
+    }
+}
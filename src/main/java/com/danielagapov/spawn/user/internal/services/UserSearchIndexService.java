@@ -0,0 +1,147 @@
+package com.danielagapov.spawn.user.internal.services;
+
+import com.danielagapov.spawn.shared.events.UserLifecycleEvents.UserDeletingEvent;
+import com.danielagapov.spawn.shared.events.UserLifecycleEvents.UserSavedEvent;
+import com.danielagapov.spawn.user.internal.repositories.IUserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Service that keeps an in-memory {@link UserTrigramIndex} of every user's name and username, so user
+ * search finds its candidates without a LIKE '%q%' scan of the users table, and a {@link UserPrefixTrie}
+ * of the same fields whose most recently updated matches lead the candidates of typeahead queries.
+ *
+ * The index is built on startup and rebuilt every few hours. In between, this node's user saves and
+ * deletions are applied as they are published, and users updated on other nodes are picked up by
+ * polling their last-updated time. Users deleted on other nodes stay in the index until the next
+ * rebuild, which is harmless: candidates are loaded from the database, where they no longer exist.
+ */
+@Service
+public class UserSearchIndexService {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserSearchIndexService.class);
+    // Re-reads users updated shortly before the last poll, to cover transactions that committed late
+    private static final Duration POLL_OVERLAP = Duration.ofSeconds(10);
+    // Best prefix matches kept per trie node, and put ahead of the substring matches
+    private static final int PREFIX_MATCHES = 20;
+
+    private final IUserRepository userRepository;
+    private final boolean enabled;
+    // Null until the first build completes
+    private volatile Indexes index;
+    private volatile Instant lastPolled;
+
+    private record Indexes(UserTrigramIndex trigrams, UserPrefixTrie prefixes) {
+
+        void upsert(UUID userId, String name, String username, Instant lastUpdated) {
+            trigrams.upsert(userId, name, username);
+            prefixes.upsert(userId, name, username, lastUpdated == null ? 0 : lastUpdated.toEpochMilli());
+        }
+
+        void remove(UUID userId) {
+            trigrams.remove(userId);
+            prefixes.remove(userId);
+        }
+    }
+
+    @Autowired
+    public UserSearchIndexService(IUserRepository userRepository,
+                                  @Value("${user-search-index.enabled:true}") boolean enabled) {
+        this.userRepository = userRepository;
+        this.enabled = enabled;
+    }
+
+    /**
+     * @return up to limit ids of users whose name or username contains the query, those with a name,
+     * name word or username starting with it first, most recently updated first; or empty when the index
+     * is disabled or not built yet and callers should query the database instead
+     */
+    public Optional<List<UUID>> findCandidates(String query, int limit) {
+        Indexes current = index;
+        if (!enabled || current == null) {
+            return Optional.empty();
+        }
+        Set<UUID> candidates = new LinkedHashSet<>(current.prefixes().search(query, Math.min(limit, PREFIX_MATCHES)));
+        for (UUID userId : current.trigrams().search(query, limit)) {
+            if (candidates.size() >= limit) {
+                break;
+            }
+            candidates.add(userId);
+        }
+        return Optional.of(new ArrayList<>(candidates));
+    }
+
+    @EventListener
+    public void handleUserSavedEvent(UserSavedEvent event) {
+        Indexes current = index;
+        if (current != null) {
+            current.upsert(event.userId(), event.name(), event.username(), Instant.now());
+        }
+    }
+
+    @EventListener
+    public void handleUserDeletingEvent(UserDeletingEvent event) {
+        Indexes current = index;
+        if (current != null) {
+            current.remove(event.userId());
+        }
+    }
+
+    /**
+     * Builds a fresh index from every user and swaps it in. Runs on startup and then every 6 hours,
+     * which also drops users deleted on other nodes.
+     */
+    @Scheduled(initialDelay = 0, fixedRate = 6, timeUnit = TimeUnit.HOURS)
+    public void rebuildIndex() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            long start = System.currentTimeMillis();
+            Instant startedAt = Instant.now();
+            Indexes rebuilt = new Indexes(new UserTrigramIndex(), new UserPrefixTrie(PREFIX_MATCHES));
+            for (Object[] row : userRepository.findAllSearchFields()) {
+                rebuilt.upsert((UUID) row[0], (String) row[1], (String) row[2], (Instant) row[3]);
+            }
+            index = rebuilt;
+            // Saves applied to the old index while building are re-read by the next poll
+            lastPolled = startedAt;
+            logger.info("Built user search index of {} users in {} ms", rebuilt.trigrams().size(), System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            logger.error("Error building user search index: {}", e.getMessage(), e);
+            // Don't throw - searches fall back to the database until a build succeeds
+        }
+    }
+
+    /**
+     * Applies users updated since the last poll, including those saved on other nodes.
+     */
+    @Scheduled(initialDelay = 30, fixedDelay = 30, timeUnit = TimeUnit.SECONDS)
+    public void pollUpdatedUsers() {
+        Indexes current = index;
+        Instant since = lastPolled;
+        if (!enabled || current == null) {
+            return;
+        }
+        try {
+            Instant startedAt = Instant.now();
+            List<Object[]> updated = userRepository.findSearchFieldsUpdatedSince(since.minus(POLL_OVERLAP));
+            for (Object[] row : updated) {
+                current.upsert((UUID) row[0], (String) row[1], (String) row[2], (Instant) row[3]);
+            }
+            lastPolled = startedAt;
+        } catch (Exception e) {
+            logger.warn("Error polling updated users for the search index: {}", e.getMessage());
+        }
+    }
+}
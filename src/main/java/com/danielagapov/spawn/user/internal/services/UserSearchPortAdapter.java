@@ -0,0 +1,44 @@
+package com.danielagapov.spawn.user.internal.services;
+
+import com.danielagapov.spawn.shared.ports.UserSearchPort;
+import com.danielagapov.spawn.shared.util.SearchedUserResult;
+import com.danielagapov.spawn.user.api.dto.BaseUserDTO;
+import com.danielagapov.spawn.user.api.dto.FriendUser.RecommendedFriendUserDTO;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * User module implementation of {@link UserSearchPort}, delegating to the user search service.
+ */
+@Service
+public class UserSearchPortAdapter implements UserSearchPort {
+
+    private final IUserSearchService userSearchService;
+
+    public UserSearchPortAdapter(IUserSearchService userSearchService) {
+        this.userSearchService = userSearchService;
+    }
+
+    @Override
+    public List<RecommendedFriendUserDTO> getLimitedRecommendedFriendsForUserId(UUID userId) {
+        return userSearchService.getLimitedRecommendedFriendsForUserId(userId);
+    }
+
+    @Override
+    public SearchedUserResult getRecommendedFriendsBySearch(UUID requestingUserId, String searchQuery) {
+        return userSearchService.getRecommendedFriendsBySearch(requestingUserId, searchQuery);
+    }
+
+    @Override
+    public List<BaseUserDTO> searchByQuery(String searchQuery, UUID requestingUserId) {
+        return userSearchService.searchByQuery(searchQuery, requestingUserId);
+    }
+
+    @Override
+    public Set<UUID> getExcludedUserIds(UUID userId) {
+        return userSearchService.getExcludedUserIds(userId);
+    }
+}
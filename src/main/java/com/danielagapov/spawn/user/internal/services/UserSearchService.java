@@ -13,6 +13,7 @@ import com.danielagapov.spawn.shared.exceptions.Logger.ILogger;
 import com.danielagapov.spawn.shared.util.FriendUserMapper;
 import com.danielagapov.spawn.shared.util.UserMapper;
 import com.danielagapov.spawn.user.internal.domain.User;
+import com.danielagapov.spawn.user.internal.services.FriendGraph.MutualCandidate;
 import com.danielagapov.spawn.activity.api.IActivityService;
 import com.danielagapov.spawn.user.internal.repositories.IUserRepository;
 import com.danielagapov.spawn.analytics.internal.services.SearchAnalyticsService;
@@ -44,6 +45,9 @@ public class UserSearchService implements IUserSearchService {
      */
     private static final long recommendedFriendLimit = 15L;
 
+    // Candidates handed to fuzzy ranking for a search query
+    private static final int searchCandidateLimit = 100;
+
     private final IFriendRequestService friendRequestService;
     private final IUserService userService;
     private final IUserFriendshipQueryService friendshipQueryService;
@@ -51,6 +55,9 @@ public class UserSearchService implements IUserSearchService {
     private final IBlockedUserService blockedUserService;
     private final IActivityService activityService;
     private final IFuzzySearchService<User> fuzzySearchService;
+    private final UserSearchIndexService userSearchIndexService;
+    private final RelationshipSearchViewService relationshipSearchViewService;
+    private final FriendGraphService friendGraphService;
     private final SearchAnalyticsService searchAnalyticsService;
     private final ILogger logger;
 
@@ -64,6 +71,9 @@ public class UserSearchService implements IUserSearchService {
                            IBlockedUserService blockedUserService,
                            IActivityService activityService,
                            IFuzzySearchService<User> fuzzySearchService,
+                           UserSearchIndexService userSearchIndexService,
+                           RelationshipSearchViewService relationshipSearchViewService,
+                           FriendGraphService friendGraphService,
                            SearchAnalyticsService searchAnalyticsService,
                            ILogger logger) {
         this.friendRequestService = friendRequestService;
@@ -73,6 +83,9 @@ public class UserSearchService implements IUserSearchService {
         this.blockedUserService = blockedUserService;
         this.activityService = activityService;
         this.fuzzySearchService = fuzzySearchService;
+        this.userSearchIndexService = userSearchIndexService;
+        this.relationshipSearchViewService = relationshipSearchViewService;
+        this.friendGraphService = friendGraphService;
         this.searchAnalyticsService = searchAnalyticsService;
         this.logger = logger;
     }
@@ -81,16 +94,15 @@ public class UserSearchService implements IUserSearchService {
     @Override
     public SearchedUserResult getRecommendedFriendsBySearch(UUID requestingUserId, String searchQuery) {
         try {
+            if (!searchQuery.isEmpty()) {
+                return searchRelationships(requestingUserId, searchQuery);
+            }
+
             List<SearchResultUserDTO> allUsers = new ArrayList<>();
 
             // Get incoming friend requests
             List<FetchFriendRequestDTO> incomingFriendRequests = friendRequestService.getIncomingFetchFriendRequestsByUserId(requestingUserId);
             
-            // Filter using fuzzy search if query is provided
-            if (!searchQuery.isEmpty()) {
-                incomingFriendRequests = fuzzyFilterFriendRequests(incomingFriendRequests, searchQuery, true);
-            }
-            
             for (FetchFriendRequestDTO request : incomingFriendRequests) {
                 allUsers.add(new SearchResultUserDTO(
                     request.getSenderUser(),
@@ -113,61 +125,17 @@ public class UserSearchService implements IUserSearchService {
                     receiverUser.getBio(),
                     receiverUser.getProfilePictureUrlString()
                 );
-                
-                // Use fuzzy search for filtering if query is provided
-                if (searchQuery.isEmpty() || fuzzyMatchUser(receiverUserDTO, searchQuery)) {
-                    allUsers.add(new SearchResultUserDTO(
-                        receiverUserDTO,
-                        UserRelationshipType.OUTGOING_FRIEND_REQUEST,
-                        null,
-                        request.getId()
-                    ));
-                }
+                allUsers.add(new SearchResultUserDTO(
+                    receiverUserDTO,
+                    UserRelationshipType.OUTGOING_FRIEND_REQUEST,
+                    null,
+                    request.getId()
+                ));
             }
 
-            List<RecommendedFriendUserDTO> recommendedFriends;
-            List<FullFriendUserDTO> friends;
-
-            // If searchQuery is empty, return all recommended friends and friends
-            if (searchQuery.isEmpty()) {
-                recommendedFriends = userService.getLimitedRecommendedFriendsForUserId(requestingUserId);
-                friends = userService.getFullFriendUsersByUserId(requestingUserId);
-            } else {
-                // First search with fuzzy search query
-                List<User> users = searchUsersByQuery(searchQuery);
-                Set<UUID> seen = users.stream().map(User::getId).collect(Collectors.toSet());
-                recommendedFriends = users.stream().map(user -> {
-                    UserRelationshipType relationshipStatus = determineRelationshipStatus(requestingUserId, user.getId());
-                    UUID pendingFriendRequestId = getPendingFriendRequestId(requestingUserId, user.getId(), relationshipStatus);
-                    return FriendUserMapper.toDTO(user, 0, 0, relationshipStatus, pendingFriendRequestId);
-                }).collect(Collectors.toList());
-
-                if (recommendedFriends.size() < recommendedFriendLimit) {
-                    // Get recommended mutual friends and filter with fuzzy search
-                    List<RecommendedFriendUserDTO> mutualFriends = getRecommendedMutuals(requestingUserId);
-                    List<RecommendedFriendUserDTO> filteredMutuals = fuzzyFilterRecommendedFriends(mutualFriends, searchQuery)
-                            .stream()
-                            .filter(entry -> !seen.contains(entry.getId()))
-                            .collect(Collectors.toList());
-                    
-                    recommendedFriends.addAll(filteredMutuals);
-                }
-
-                // If not enough mutual friends, supplement with random recommendations using fuzzy search
-                if (recommendedFriends.size() < recommendedFriendLimit) {
-                    List<RecommendedFriendUserDTO> randomRecommendations = getRandomRecommendations(requestingUserId);
-                    List<RecommendedFriendUserDTO> filteredRandom = fuzzyFilterRecommendedFriends(randomRecommendations, searchQuery)
-                            .stream()
-                            .limit(recommendedFriendLimit - recommendedFriends.size())
-                            .collect(Collectors.toList());
-
-                    recommendedFriends.addAll(filteredRandom);
-                }
-
-                // Get friends who match the search query using fuzzy search
-                List<FullFriendUserDTO> allFriends = userService.getFullFriendUsersByUserId(requestingUserId);
-                friends = fuzzyFilterFriends(allFriends, searchQuery);
-            }
+            // With no query, return all recommended friends and friends
+            List<RecommendedFriendUserDTO> recommendedFriends = userService.getLimitedRecommendedFriendsForUserId(requestingUserId);
+            List<FullFriendUserDTO> friends = userService.getFullFriendUsersByUserId(requestingUserId);
 
             // Add recommended friends to the unified list
             for (RecommendedFriendUserDTO recommended : recommendedFriends) {
@@ -212,6 +180,72 @@ public class UserSearchService implements IUserSearchService {
         }
     }
 
+    /*
+     * Searches everyone the requesting user has a relationship with in a single scoring pass over
+     * their cached relationship search view, which yields the incoming request, outgoing request,
+     * recommended friend and friend matches at once. Recommended friends are led by the global user
+     * search, leaving out users who belong to another bucket, and topped up from the view's
+     * recommendations. Only the users that end up in the result are loaded.
+     */
+    private SearchedUserResult searchRelationships(UUID requestingUserId, String searchQuery) {
+        RelationshipSearchView view = relationshipSearchViewService.getView(requestingUserId);
+        Map<UserRelationshipType, List<RelationshipSearchView.Entry>> matches = relationshipSearchViewService.search(view, searchQuery);
+        Map<UUID, RelationshipSearchView.Entry> relationships = view.indexByUserId();
+
+        List<SearchResultUserDTO> recommendedFriends = new ArrayList<>();
+        Set<UUID> seen = new HashSet<>();
+        for (User user : searchUsersByQuery(searchQuery)) {
+            RelationshipSearchView.Entry relationship = relationships.get(user.getId());
+            boolean listedElsewhere = relationship != null && relationship.getRelationshipType() != UserRelationshipType.RECOMMENDED_FRIEND;
+            if (listedElsewhere || user.getId().equals(requestingUserId) || !seen.add(user.getId())) {
+                continue;
+            }
+            Integer mutualFriendCount = relationship != null ? relationship.getMutualFriendCount() : Integer.valueOf(0);
+            recommendedFriends.add(new SearchResultUserDTO(UserMapper.toDTO(user), UserRelationshipType.RECOMMENDED_FRIEND, mutualFriendCount, null));
+        }
+
+        List<RelationshipSearchView.Entry> recommendedMatches = new ArrayList<>();
+        for (RelationshipSearchView.Entry entry : matches.getOrDefault(UserRelationshipType.RECOMMENDED_FRIEND, List.of())) {
+            if (recommendedFriends.size() + recommendedMatches.size() >= recommendedFriendLimit) {
+                break;
+            }
+            if (seen.add(entry.getUserId())) {
+                recommendedMatches.add(entry);
+            }
+        }
+
+        List<RelationshipSearchView.Entry> incoming = matches.getOrDefault(UserRelationshipType.INCOMING_FRIEND_REQUEST, List.of());
+        List<RelationshipSearchView.Entry> outgoing = matches.getOrDefault(UserRelationshipType.OUTGOING_FRIEND_REQUEST, List.of());
+        List<RelationshipSearchView.Entry> friends = matches.getOrDefault(UserRelationshipType.FRIEND, List.of());
+
+        // Load the matched users of the view in one query
+        Set<UUID> matchedUserIds = new HashSet<>();
+        for (List<RelationshipSearchView.Entry> bucket : List.of(incoming, outgoing, recommendedMatches, friends)) {
+            bucket.forEach(entry -> matchedUserIds.add(entry.getUserId()));
+        }
+        Map<UUID, BaseUserDTO> matchedUsers = matchedUserIds.isEmpty() ? Map.of() : userRepository.findAllById(matchedUserIds)
+                .stream()
+                .collect(Collectors.toMap(User::getId, UserMapper::toDTO));
+
+        List<SearchResultUserDTO> allUsers = new ArrayList<>();
+        addMatches(allUsers, incoming, matchedUsers);
+        addMatches(allUsers, outgoing, matchedUsers);
+        allUsers.addAll(recommendedFriends);
+        addMatches(allUsers, recommendedMatches, matchedUsers);
+        addMatches(allUsers, friends, matchedUsers);
+        return new SearchedUserResult(allUsers);
+    }
+
+    private void addMatches(List<SearchResultUserDTO> allUsers, List<RelationshipSearchView.Entry> entries, Map<UUID, BaseUserDTO> users) {
+        for (RelationshipSearchView.Entry entry : entries) {
+            BaseUserDTO user = users.get(entry.getUserId());
+            // Users deleted since the view was built are skipped
+            if (user != null) {
+                allUsers.add(new SearchResultUserDTO(user, entry.getRelationshipType(), entry.getMutualFriendCount(), entry.getFriendRequestId()));
+            }
+        }
+    }
+
     @Override
     public List<RecommendedFriendUserDTO> getLimitedRecommendedFriendsForUserId(UUID userId) {
         try {
@@ -293,30 +327,25 @@ public class UserSearchService implements IUserSearchService {
      * @return List of recommended friends sorted by composite score (highest first)
      */
     public List<RecommendedFriendUserDTO> getRecommendedMutuals(UUID userId) {
-        // Fetch the requesting user's friends
-        List<UUID> requestingUserFriendIds = friendshipQueryService.getFriendUserIdsByUserId(userId);
-
         Set<UUID> excludedUserIds = getExcludedUserIds(userId);
 
-        // Collect friends of friends (excluding already existing friends, sent/received requests, and self)
-        Map<UUID, Integer> mutualFriendCounts = getMutualFriendCounts(requestingUserFriendIds, excludedUserIds);
+        // Collect friends of friends (excluding already existing friends, sent/received requests, and self),
+        // from the friend graph's stored ranking unless it isn't built yet
+        Map<UUID, Integer> mutualFriendCounts = friendGraphService.getRankedCandidates(userId)
+                .map(candidates -> getStoredMutualFriendCounts(candidates, excludedUserIds))
+                .orElseGet(() -> getMutualFriendCounts(friendshipQueryService.getFriendUserIdsByUserId(userId), excludedUserIds));
+        if (mutualFriendCounts.isEmpty()) {
+            return new ArrayList<>();
+        }
 
-        // Map mutual friends to RecommendedFriendUserDTO with enhanced scoring
-        return mutualFriendCounts.entrySet().stream()
-                .map(entry -> {
-                    UUID potentialFriendId = entry.getKey();
-                    int mutualFriendCount = entry.getValue();
-                    
-                    // Calculate shared activities count for this potential friend
-                    int sharedActivitiesCount = getSharedActivitiesCount(userId, potentialFriendId);
-                    
-                    // Determine relationship status and pending friend request ID
-                    UserRelationshipType relationshipStatus = determineRelationshipStatus(userId, potentialFriendId);
-                    UUID pendingFriendRequestId = getPendingFriendRequestId(userId, potentialFriendId, relationshipStatus);
-                    
-                    User user = friendshipQueryService.getUserEntityById(potentialFriendId);
-                    return FriendUserMapper.toDTO(user, mutualFriendCount, sharedActivitiesCount, relationshipStatus, pendingFriendRequestId);
-                })
+        // Shared activities and users are loaded for all candidates at once
+        Map<UUID, Integer> sharedActivitiesCounts = getSharedActivitiesCounts(userId, mutualFriendCounts.keySet());
+
+        // Map mutual friends to RecommendedFriendUserDTO with enhanced scoring. Every existing relationship
+        // was excluded, so none of them has a pending friend request
+        return userRepository.findAllById(mutualFriendCounts.keySet()).stream()
+                .map(user -> FriendUserMapper.toDTO(user, mutualFriendCounts.get(user.getId()),
+                        sharedActivitiesCounts.getOrDefault(user.getId(), 0), UserRelationshipType.RECOMMENDED_FRIEND, null))
                 .sorted((friend1, friend2) -> {
                     // Calculate composite scores for sorting
                     // Formula: (mutualFriends * 3) + (sharedActivities * 2)
@@ -353,6 +382,17 @@ public class UserSearchService implements IUserSearchService {
         return recommendedFriends;
     }
 
+    private Map<UUID, Integer> getStoredMutualFriendCounts(List<MutualCandidate> rankedCandidates, Set<UUID> excludedUserIds) {
+        Map<UUID, Integer> mutualFriendCounts = new HashMap<>();
+        for (MutualCandidate candidate : rankedCandidates) {
+            if (!excludedUserIds.contains(candidate.userId())) {
+                mutualFriendCounts.put(candidate.userId(), candidate.mutualFriendCount());
+            }
+        }
+        return mutualFriendCounts;
+    }
+
+    // Used until the friend graph is built: one query per friend
     private Map<UUID, Integer> getMutualFriendCounts(List<UUID> requestingUserFriendIds, Set<UUID> excludedUserIds) {
         Map<UUID, Integer> mutualFriendCounts = new HashMap<>();
         for (UUID friendId : requestingUserFriendIds) {
@@ -370,14 +410,12 @@ public class UserSearchService implements IUserSearchService {
     /*
      * SHARED ACTIVITIES CALCULATION METHOD
      * 
-     * This method calculates how many activities two users have participated in together.
-     * It's used as a key metric in the recommendation algorithm because users who have
+     * This method calculates how many activities the requesting user has participated in together with
+     * each potential friend. It's used as a key metric in the recommendation algorithm because users who have
      * "spawned" (participated in activities) together are likely to be good friend recommendations.
      * 
-     * Algorithm:
-     * 1. Get all activities where the requesting user has participated (status = PARTICIPATING)
-     * 2. For each activity, check if the potential friend also participated
-     * 3. Count the number of shared activities
+     * The counts of all potential friends come from a single grouped query, rather than loading
+     * both users' activities for every potential friend.
      * 
      * Why this matters:
      * - Users who frequently attend activities together likely have shared interests
@@ -385,148 +423,19 @@ public class UserSearchService implements IUserSearchService {
      * - This metric complements mutual friends to provide more accurate recommendations
      * 
      * @param requestingUserId The ID of the user requesting recommendations
-     * @param potentialFriendId The ID of the potential friend to check shared activities with
-     * @return The number of activities both users have participated in together
+     * @param potentialFriendIds The IDs of the potential friends to check shared activities with
+     * @return The number of activities the requesting user has participated in with each potential friend;
+     *         potential friends without any are absent
      */
-    private int getSharedActivitiesCount(UUID requestingUserId, UUID potentialFriendId) {
+    private Map<UUID, Integer> getSharedActivitiesCounts(UUID requestingUserId, Set<UUID> potentialFriendIds) {
         try {
-            // Use the IActivityService to get shared activities count
-            return activityService.getSharedActivitiesCount(requestingUserId, potentialFriendId, ParticipationStatus.participating);
+            return activityService.getSharedActivitiesCounts(requestingUserId, potentialFriendIds, ParticipationStatus.participating);
         } catch (Exception e) {
-            logger.error("Error calculating shared activities between users " + requestingUserId + " and " + potentialFriendId + ": " + e.getMessage());
-            return 0;
+            logger.error("Error calculating shared activities of user " + requestingUserId + ": " + e.getMessage());
+            return Map.of();
         }
     }
 
-    /**
-     * Helper method to filter a list of FullFriendUserDTO objects using fuzzy search
-     */
-    private List<FullFriendUserDTO> fuzzyFilterFriends(List<FullFriendUserDTO> friends, String searchQuery) {
-        if (searchQuery.isEmpty()) return friends;
-        
-        // Convert to User objects for fuzzy search
-        List<User> userObjects = friends.stream()
-                .map(friend -> {
-                    User user = new User();
-                    user.setId(friend.getId());
-                    user.setName(friend.getName());
-                    user.setUsername(friend.getUsername());
-                    return user;
-                })
-                .collect(Collectors.toList());
-        
-        // Use fuzzy search service
-        List<FuzzySearchService.SearchResult<User>> searchResults = fuzzySearchService.search(
-                searchQuery,
-                userObjects,
-                User::getName,
-                User::getUsername
-        );
-        
-        // Convert back to FullFriendUserDTO, maintaining the original objects
-        Set<UUID> matchedUserIds = searchResults.stream()
-                .map(result -> result.getItem().getId())
-                .collect(Collectors.toSet());
-        
-        return friends.stream()
-                .filter(friend -> matchedUserIds.contains(friend.getId()))
-                .collect(Collectors.toList());
-    }
-    
-    /**
-     * Helper method to filter a list of RecommendedFriendUserDTO objects using fuzzy search
-     */
-    private List<RecommendedFriendUserDTO> fuzzyFilterRecommendedFriends(List<RecommendedFriendUserDTO> recommendedFriends, String searchQuery) {
-        if (searchQuery.isEmpty()) return recommendedFriends;
-        
-        // Convert to User objects for fuzzy search
-        List<User> userObjects = recommendedFriends.stream()
-                .map(recommended -> {
-                    User user = new User();
-                    user.setId(recommended.getId());
-                    user.setName(recommended.getName());
-                    user.setUsername(recommended.getUsername());
-                    return user;
-                })
-                .collect(Collectors.toList());
-        
-        // Use fuzzy search service
-        List<FuzzySearchService.SearchResult<User>> searchResults = fuzzySearchService.search(
-                searchQuery,
-                userObjects,
-                User::getName,
-                User::getUsername
-        );
-        
-        // Convert back to RecommendedFriendUserDTO, maintaining the original objects
-        Set<UUID> matchedUserIds = searchResults.stream()
-                .map(result -> result.getItem().getId())
-                .collect(Collectors.toSet());
-        
-        return recommendedFriends.stream()
-                .filter(recommended -> matchedUserIds.contains(recommended.getId()))
-                .collect(Collectors.toList());
-    }
-    
-    /**
-     * Helper method to filter a list of FetchFriendRequestDTO objects using fuzzy search
-     */
-    private List<FetchFriendRequestDTO> fuzzyFilterFriendRequests(List<FetchFriendRequestDTO> friendRequests, String searchQuery, boolean isSenderUser) {
-        if (searchQuery.isEmpty()) return friendRequests;
-        
-        // Convert to User objects for fuzzy search
-        List<User> userObjects = friendRequests.stream()
-                .map(request -> {
-                    BaseUserDTO userDTO = request.getSenderUser();
-                    User user = new User();
-                    user.setId(userDTO.getId());
-                    user.setName(userDTO.getName());
-                    user.setUsername(userDTO.getUsername());
-                    return user;
-                })
-                .collect(Collectors.toList());
-        
-        // Use fuzzy search service
-        List<FuzzySearchService.SearchResult<User>> searchResults = fuzzySearchService.search(
-                searchQuery,
-                userObjects,
-                User::getName,
-                User::getUsername
-        );
-        
-        // Convert back to FetchFriendRequestDTO, maintaining the original objects
-        Set<UUID> matchedUserIds = searchResults.stream()
-                .map(result -> result.getItem().getId())
-                .collect(Collectors.toSet());
-        
-        return friendRequests.stream()
-                .filter(request -> matchedUserIds.contains(request.getSenderUser().getId()))
-                .collect(Collectors.toList());
-    }
-    
-    /**
-     * Helper method to check if a single user matches the search query using fuzzy search
-     */
-    private boolean fuzzyMatchUser(BaseUserDTO user, String searchQuery) {
-        if (searchQuery.isEmpty()) return true;
-        
-        // Convert to User object for fuzzy search
-        User userObject = new User();
-        userObject.setId(user.getId());
-        userObject.setName(user.getName());
-        userObject.setUsername(user.getUsername());
-        
-        // Use fuzzy search service
-        List<FuzzySearchService.SearchResult<User>> searchResults = fuzzySearchService.search(
-                searchQuery,
-                List.of(userObject),
-                User::getName,
-                User::getUsername
-        );
-        
-        return !searchResults.isEmpty();
-    }
-
     // Create a set of the requesting user's friends, users they've sent requests to, users they've received requests from, and self for quick lookup
     public Set<UUID> getExcludedUserIds(UUID userId) {
         // Fetch the requesting user's friends
@@ -601,7 +510,10 @@ public class UserSearchService implements IUserSearchService {
 
         // First get users that contain the search query anywhere in their name or username
         // This is more flexible than just using the first character
-        List<User> users = userRepository.findUsersWithPartialMatch(searchQuery.toLowerCase(), Limit.of(100));
+        // The in-memory index answers this without a table scan; the database is only asked while it is being built
+        List<User> users = userSearchIndexService.findCandidates(searchQuery, searchCandidateLimit)
+                .map(userRepository::findAllById)
+                .orElseGet(() -> userRepository.findUsersWithPartialMatch(searchQuery.toLowerCase(), Limit.of(searchCandidateLimit)));
 
         // If no results were returned, then return early with empty list
         if (users.isEmpty()) return Collections.emptyList();
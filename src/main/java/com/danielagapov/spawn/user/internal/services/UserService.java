@@ -21,6 +21,9 @@ import com.danielagapov.spawn.social.internal.repositories.IFriendshipRepository
 import com.danielagapov.spawn.auth.internal.repositories.IUserIdExternalIdMapRepository;
 import com.danielagapov.spawn.user.internal.repositories.IUserRepository;
 import com.danielagapov.spawn.shared.events.UserActivityTypeEvents.UserCreatedEvent;
+import com.danielagapov.spawn.shared.events.FriendshipEvents.FriendshipCreatedEvent;
+import com.danielagapov.spawn.shared.events.UserLifecycleEvents.UserDeletingEvent;
+import com.danielagapov.spawn.shared.events.UserLifecycleEvents.UserSavedEvent;
 import com.danielagapov.spawn.media.internal.services.IS3Service;
 import com.danielagapov.spawn.shared.util.LoggingUtils;
 import com.danielagapov.spawn.shared.util.PhoneNumberMatchingUtil;
@@ -165,6 +168,7 @@ public class UserService implements IUserService {
             logger.info("Saving user with username: " + user.getUsername());
             User userEntity = UserMapper.toEntity(user);
             userEntity = repository.save(userEntity);
+            publishSaved(userEntity);
             logger.info("User saved successfully: " + LoggingUtils.formatUserInfo(userEntity));
             return UserMapper.toDTO(userEntity, List.of());
         } catch (DataAccessException e) {
@@ -194,6 +198,9 @@ public class UserService implements IUserService {
             // OAuth mappings will be automatically deleted by database cascade deletion
             // Removing explicit deletion to avoid race conditions during concurrent OAuth operations
 
+            // Let other modules release data derived from the user while their rows still exist
+            eventPublisher.publishEvent(new UserDeletingEvent(id));
+
             repository.deleteById(id);
             s3Service.deleteObjectByURL(user.getProfilePictureUrlString());
         } catch (Exception e) {
@@ -205,7 +212,9 @@ public class UserService implements IUserService {
     @Override
     public User saveEntity(User user) {
         try {
-            return repository.save(user);
+            User savedUser = repository.save(user);
+            publishSaved(savedUser);
+            return savedUser;
         } catch (Exception e) {
             logger.error(e.getMessage());
             throw e;
@@ -256,6 +265,7 @@ public class UserService implements IUserService {
     public User createAndSaveUser(User user) {
         // Save the user first so it has a valid ID for foreign key relationships
         user = repository.save(user);
+        publishSaved(user);
         
         // Publish event for Activity module to initialize default activity types
         // This breaks the circular dependency between User and ActivityType
@@ -267,6 +277,13 @@ public class UserService implements IUserService {
         return user;
     }
 
+    /**
+     * Lets modules that index users by name (e.g. the user search index) pick up the saved fields.
+     */
+    private void publishSaved(User user) {
+        eventPublisher.publishEvent(new UserSavedEvent(user.getId(), user.getName(), user.getUsername()));
+    }
+
     // Friend-tag based methods removed in friendship refactor
 
     private List<UserDTO> getUserDTOs() {
@@ -320,6 +337,7 @@ public class UserService implements IUserService {
             friendship.setUserA(userA);
             friendship.setUserB(userB);
             friendshipRepository.save(friendship);
+            eventPublisher.publishEvent(new FriendshipCreatedEvent(aId, bId));
 
         } catch (Exception e) {
             logger.error(e.getMessage());
@@ -577,6 +595,7 @@ public class UserService implements IUserService {
             }
 
             user = repository.save(user);
+            publishSaved(user);
 
             return UserMapper.toDTO(user);
         } catch (Exception e) {
@@ -661,6 +680,7 @@ public class UserService implements IUserService {
             user.setProfilePictureUrlString(s3Service.uploadProfilePicture(optionalDetailsDTO.getProfilePictureData(), user.getId()));
             user.setStatus(UserStatus.NAME_AND_PHOTO);
             user = repository.save(user);
+            publishSaved(user);
             return UserMapper.toDTO(user);
         } catch (Exception e) {
             logger.error("Error setting optional details: " + LoggingUtils.formatUserIdInfo(userId) + ": " + e.getMessage());
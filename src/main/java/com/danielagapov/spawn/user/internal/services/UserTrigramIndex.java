@@ -0,0 +1,238 @@
+package com.danielagapov.spawn.user.internal.services;
+
+import java.text.Normalizer;
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * Inverted trigram index over users' names and usernames, answering "contains" queries the way
+ * LOWER(name) LIKE '%q%' OR LOWER(username) LIKE '%q%' does, without scanning every user.
+ *
+ * Both fields are normalized (lower-cased, accents stripped) and every three-character substring
+ * maps to a sorted list of the small integer ids given to users. A query of three or more characters
+ * intersects the lists of its trigrams, smallest first, and checks each surviving user's fields for the
+ * whole query. Shorter queries have no trigram and fall back to a scan of the normalized fields, which
+ * ends as soon as enough matches are found.
+ *
+ * Reads share a lock and writes take it exclusively; writes only happen when a user's name or
+ * username changes, so searches almost never wait.
+ */
+public class UserTrigramIndex {
+    private static final int GRAM = 3;
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<UUID, Integer> docIdByUserId = new HashMap<>();
+    // Indexed by doc id; null for ids freed by a removal and not yet reused
+    private final List<Entry> entries = new ArrayList<>();
+    private final Deque<Integer> freeDocIds = new ArrayDeque<>();
+    private final Map<String, Postings> postings = new HashMap<>();
+
+    private record Entry(UUID userId, String name, String username) {
+        boolean contains(String query) {
+            return name.contains(query) || username.contains(query);
+        }
+    }
+
+    /**
+     * Lower-cases the text and strips accents, so that "José" is found by "jose" as it is by the database collation.
+     */
+    public static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+        return COMBINING_MARKS.matcher(decomposed).replaceAll("").toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Adds the user, or replaces their indexed name and username.
+     */
+    public void upsert(UUID userId, String name, String username) {
+        Entry entry = new Entry(userId, normalize(name), normalize(username));
+        lock.writeLock().lock();
+        try {
+            Integer docId = docIdByUserId.get(userId);
+            if (docId != null) {
+                Entry previous = entries.get(docId);
+                if (previous.name().equals(entry.name()) && previous.username().equals(entry.username())) {
+                    return;
+                }
+                unindex(docId, previous);
+            } else {
+                docId = freeDocIds.isEmpty() ? entries.size() : freeDocIds.pop();
+                if (docId == entries.size()) {
+                    entries.add(null);
+                }
+                docIdByUserId.put(userId, docId);
+            }
+            entries.set(docId, entry);
+            for (String trigram : trigrams(entry)) {
+                postings.computeIfAbsent(trigram, key -> new Postings()).add(docId);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(UUID userId) {
+        lock.writeLock().lock();
+        try {
+            Integer docId = docIdByUserId.remove(userId);
+            if (docId != null) {
+                unindex(docId, entries.get(docId));
+                entries.set(docId, null);
+                freeDocIds.push(docId);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @return up to limit ids of users whose name or username contains the query, in no particular order
+     */
+    public List<UUID> search(String query, int limit) {
+        String normalized = normalize(query);
+        if (normalized.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            return normalized.length() < GRAM ? scan(normalized, limit) : lookup(normalized, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return docIdByUserId.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private List<UUID> lookup(String query, int limit) {
+        List<Postings> lists = new ArrayList<>();
+        for (String trigram : trigrams(query)) {
+            Postings list = postings.get(trigram);
+            if (list == null) {
+                return List.of();
+            }
+            lists.add(list);
+        }
+        lists.sort(Comparator.comparingInt(Postings::size));
+
+        List<UUID> matches = new ArrayList<>();
+        Postings smallest = lists.get(0);
+        for (int i = 0; i < smallest.size() && matches.size() < limit; i++) {
+            int docId = smallest.get(i);
+            if (inAll(lists, docId)) {
+                // Every trigram occurring somewhere in the two fields doesn't mean the query does
+                Entry entry = entries.get(docId);
+                if (entry.contains(query)) {
+                    matches.add(entry.userId());
+                }
+            }
+        }
+        return matches;
+    }
+
+    private List<UUID> scan(String query, int limit) {
+        List<UUID> matches = new ArrayList<>();
+        for (Entry entry : entries) {
+            if (entry != null && entry.contains(query)) {
+                matches.add(entry.userId());
+                if (matches.size() == limit) {
+                    break;
+                }
+            }
+        }
+        return matches;
+    }
+
+    private static boolean inAll(List<Postings> lists, int docId) {
+        for (int i = 1; i < lists.size(); i++) {
+            if (!lists.get(i).contains(docId)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void unindex(int docId, Entry entry) {
+        for (String trigram : trigrams(entry)) {
+            Postings list = postings.get(trigram);
+            if (list != null && list.remove(docId) && list.size() == 0) {
+                postings.remove(trigram);
+            }
+        }
+    }
+
+    private static Set<String> trigrams(Entry entry) {
+        Set<String> trigrams = new HashSet<>();
+        addTrigrams(entry.name(), trigrams);
+        addTrigrams(entry.username(), trigrams);
+        return trigrams;
+    }
+
+    private static Set<String> trigrams(String text) {
+        Set<String> trigrams = new HashSet<>();
+        addTrigrams(text, trigrams);
+        return trigrams;
+    }
+
+    private static void addTrigrams(String text, Set<String> trigrams) {
+        for (int i = 0; i + GRAM <= text.length(); i++) {
+            trigrams.add(text.substring(i, i + GRAM));
+        }
+    }
+
+    /**
+     * Sorted, growable list of doc ids.
+     */
+    private static final class Postings {
+        private int[] ids = new int[4];
+        private int size;
+
+        int size() {
+            return size;
+        }
+
+        int get(int index) {
+            return ids[index];
+        }
+
+        boolean contains(int docId) {
+            return Arrays.binarySearch(ids, 0, size, docId) >= 0;
+        }
+
+        void add(int docId) {
+            int index = Arrays.binarySearch(ids, 0, size, docId);
+            if (index >= 0) {
+                return;
+            }
+            int insertAt = -index - 1;
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            System.arraycopy(ids, insertAt, ids, insertAt + 1, size - insertAt);
+            ids[insertAt] = docId;
+            size++;
+        }
+
+        boolean remove(int docId) {
+            int index = Arrays.binarySearch(ids, 0, size, docId);
+            if (index < 0) {
+                return false;
+            }
+            System.arraycopy(ids, index + 1, ids, index, size - index - 1);
+            size--;
+            return true;
+        }
+    }
+}
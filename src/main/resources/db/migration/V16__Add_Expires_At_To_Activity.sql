@@ -0,0 +1,9 @@
+-- Add expires_at column to activity table
+-- Stores the epoch millis at which the activity expires, computed by the application whenever the
+-- activity is written, so expiration checks compare a single number instead of re-deriving it.
+-- Existing rows are left NULL; the application computes their expiry on read until they are next written.
+
+ALTER TABLE activity 
+ADD COLUMN expires_at BIGINT;
+
+CREATE INDEX idx_activity_expires_at ON activity (expires_at);
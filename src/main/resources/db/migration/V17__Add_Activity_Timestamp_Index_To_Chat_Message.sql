@@ -0,0 +1,5 @@
+-- Add a composite index on chat_message (activity_id, timestamp)
+-- Serves the per-activity latest-messages window used for feed chat previews, and the
+-- newest-first keyset pagination of an activity's chat history, without sorting every message.
+
+CREATE INDEX idx_chat_message_activity_timestamp ON chat_message (activity_id, timestamp);
@@ -0,0 +1,13 @@
+-- Add denormalized member counts to the activity table
+-- participant_count and invited_count mirror the number of activity_user rows per status, so counts and
+-- the participant limit check read one row instead of scanning memberships. The application keeps them in
+-- sync with single-row conditional updates; joining only succeeds while participant_count < participant_limit.
+
+ALTER TABLE activity
+ADD COLUMN participant_count INT NOT NULL DEFAULT 0,
+ADD COLUMN invited_count INT NOT NULL DEFAULT 0;
+
+-- Backfill from existing memberships
+UPDATE activity a
+SET a.participant_count = (SELECT COUNT(*) FROM activity_user au WHERE au.activity_id = a.id AND au.status = 'participating'),
+    a.invited_count = (SELECT COUNT(*) FROM activity_user au WHERE au.activity_id = a.id AND au.status = 'invited');
@@ -0,0 +1,5 @@
+-- Add an index on user (last_updated)
+-- Serves the user search index's poll for users updated since its last poll, which every node runs
+-- every 30 seconds, without scanning the user table.
+
+CREATE INDEX idx_user_last_updated ON user (last_updated);
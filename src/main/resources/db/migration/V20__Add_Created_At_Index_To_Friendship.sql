@@ -0,0 +1,5 @@
+-- Add an index on friendship (created_at)
+-- Serves the friend graph's poll for friendships created since its last poll, which every node runs
+-- every 30 seconds, without scanning the friendship table.
+
+CREATE INDEX idx_friendship_created_at ON friendship (created_at);
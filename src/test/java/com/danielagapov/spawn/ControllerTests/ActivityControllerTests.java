@@ -3,6 +3,7 @@ package com.danielagapov.spawn.ControllerTests;
 import com.danielagapov.spawn.activity.api.ActivityController;
 import com.danielagapov.spawn.activity.api.dto.*;
 import com.danielagapov.spawn.user.api.dto.BaseUserDTO;
+import com.danielagapov.spawn.shared.util.ChunkedResult;
 import com.danielagapov.spawn.shared.util.EntityType;
 import com.danielagapov.spawn.shared.util.ParticipationStatus;
 import com.danielagapov.spawn.shared.exceptions.ActivityFullException;
@@ -16,7 +17,6 @@ import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
@@ -24,6 +24,7 @@ import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
 import java.time.Instant;
@@ -32,6 +33,7 @@ import java.util.*;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -50,7 +52,6 @@ class ActivityControllerTests {
     @Mock
     private ILogger logger;
 
-    @InjectMocks
     private ActivityController activityController;
 
     private MockMvc mockMvc;
@@ -66,6 +67,7 @@ class ActivityControllerTests {
     void setUp() {
         objectMapper = new ObjectMapper();
         objectMapper.registerModule(new JavaTimeModule());
+        activityController = new ActivityController(activityService, logger, objectMapper);
         
         mockMvc = MockMvcBuilders.standaloneSetup(activityController)
                 .setMessageConverters(new MappingJackson2HttpMessageConverter(objectMapper))
@@ -155,16 +157,20 @@ class ActivityControllerTests {
         );
         List<ProfileActivityDTO> activities = List.of(profileActivity);
         
-        when(activityService.getProfileActivities(profileUserId, requestingUserId)).thenReturn(activities);
+        when(activityService.streamProfileActivities(profileUserId, requestingUserId)).thenReturn(consumer -> consumer.accept(activities));
 
-        mockMvc.perform(get("/api/v1/activities/profile/{profileUserId}", profileUserId)
+        MvcResult result = mockMvc.perform(get("/api/v1/activities/profile/{profileUserId}", profileUserId)
                 .param("requestingUserId", requestingUserId.toString()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
                 .andExpect(status().isOk())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
                 .andExpect(jsonPath("$.length()").value(1))
                 .andExpect(jsonPath("$[0].id").value(activityId.toString()));
 
-        verify(activityService, times(1)).getProfileActivities(profileUserId, requestingUserId);
+        verify(activityService, times(1)).streamProfileActivities(profileUserId, requestingUserId);
     }
 
     @Test
@@ -174,7 +180,7 @@ class ActivityControllerTests {
         mockMvc.perform(get("/api/v1/activities/profile/{profileUserId}", profileUserId))
                 .andExpect(status().isBadRequest());
 
-        verify(activityService, never()).getProfileActivities(any(), any());
+        verify(activityService, never()).streamProfileActivities(any(), any());
     }
 
     @Test
@@ -182,7 +188,7 @@ class ActivityControllerTests {
         UUID profileUserId = UUID.randomUUID();
         UUID requestingUserId = UUID.randomUUID();
         
-        when(activityService.getProfileActivities(profileUserId, requestingUserId))
+        when(activityService.streamProfileActivities(profileUserId, requestingUserId))
                 .thenThrow(new BaseNotFoundException(EntityType.User, profileUserId));
 
         mockMvc.perform(get("/api/v1/activities/profile/{profileUserId}", profileUserId)
@@ -396,20 +402,48 @@ class ActivityControllerTests {
     @Test
     void getFeedActivities_ShouldReturnActivities_WhenValidRequest() throws Exception {
         List<FullFeedActivityDTO> feedActivities = List.of(fullFeedActivityDTO);
-        when(activityService.getFeedActivities(userId)).thenReturn(feedActivities);
+        when(activityService.streamFeedActivities(userId)).thenReturn(consumer -> consumer.accept(feedActivities));
 
-        mockMvc.perform(get("/api/v1/activities/feed-activities/{requestingUserId}", userId))
+        MvcResult result = mockMvc.perform(get("/api/v1/activities/feed-activities/{requestingUserId}", userId))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
                 .andExpect(status().isOk())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
                 .andExpect(jsonPath("$.length()").value(1))
                 .andExpect(jsonPath("$[0].id").value(activityId.toString()));
 
-        verify(activityService, times(1)).getFeedActivities(userId);
+        verify(activityService, times(1)).streamFeedActivities(userId);
+        verify(activityService, never()).getFeedActivities(any());
+    }
+
+    @Test
+    void getFeedActivities_ShouldWriteEveryChunkAsOneArray_WhenStreamedInChunks() throws Exception {
+        UUID secondActivityId = UUID.randomUUID();
+        FullFeedActivityDTO secondActivity = new FullFeedActivityDTO(
+            secondActivityId, "Second Activity", OffsetDateTime.now().plusDays(2), OffsetDateTime.now().plusDays(2).plusHours(1),
+            locationDTO, null, "Second note", "🍕", 5, fullFeedActivityDTO.getCreatorUser(),
+            List.of(), List.of(), List.of(), ParticipationStatus.invited, false, Instant.now(), false, "America/New_York"
+        );
+        List<FullFeedActivityDTO> feedActivities = List.of(fullFeedActivityDTO, secondActivity);
+        when(activityService.streamFeedActivities(userId))
+                .thenReturn(ChunkedResult.mapInBatches(feedActivities, 1, chunk -> chunk));
+
+        MvcResult result = mockMvc.perform(get("/api/v1/activities/feed-activities/{requestingUserId}", userId))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].id").value(activityId.toString()))
+                .andExpect(jsonPath("$[1].id").value(secondActivityId.toString()));
     }
 
     @Test
     void getFeedActivities_ShouldReturnEmptyList_WhenNoActivitiesFound() throws Exception {
-        when(activityService.getFeedActivities(userId))
+        when(activityService.streamFeedActivities(userId))
                 .thenThrow(new BasesNotFoundException(EntityType.Activity));
 
         mockMvc.perform(get("/api/v1/activities/feed-activities/{requestingUserId}", userId))
@@ -417,12 +451,12 @@ class ActivityControllerTests {
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
                 .andExpect(jsonPath("$.length()").value(0));
 
-        verify(activityService, times(1)).getFeedActivities(userId);
+        verify(activityService, times(1)).streamFeedActivities(userId);
     }
 
     @Test
     void getFeedActivities_ShouldReturnNotFound_WhenUserNotFound() throws Exception {
-        when(activityService.getFeedActivities(userId))
+        when(activityService.streamFeedActivities(userId))
                 .thenThrow(new BaseNotFoundException(EntityType.User, userId));
 
         mockMvc.perform(get("/api/v1/activities/feed-activities/{requestingUserId}", userId))
@@ -431,6 +465,31 @@ class ActivityControllerTests {
         verify(logger, times(1)).error(contains("User not found for feed activities"));
     }
 
+    @Test
+    void getFeedActivitiesPage_ShouldReturnPageWithCursor_WhenValidRequest() throws Exception {
+        when(activityService.getFeedActivitiesPage(userId, "abc", 10))
+                .thenReturn(new FeedActivitiesPageDTO(List.of(fullFeedActivityDTO), "next", true));
+
+        mockMvc.perform(get("/api/v1/activities/feed-activities/{requestingUserId}/page", userId)
+                .param("cursor", "abc")
+                .param("limit", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.activities.length()").value(1))
+                .andExpect(jsonPath("$.activities[0].id").value(activityId.toString()))
+                .andExpect(jsonPath("$.nextCursor").value("next"))
+                .andExpect(jsonPath("$.hasMore").value(true));
+    }
+
+    @Test
+    void getFeedActivitiesPage_ShouldReturnBadRequest_WhenCursorIsInvalid() throws Exception {
+        when(activityService.getFeedActivitiesPage(userId, "garbage", 20))
+                .thenThrow(new IllegalArgumentException("Invalid feed cursor: garbage"));
+
+        mockMvc.perform(get("/api/v1/activities/feed-activities/{requestingUserId}/page", userId)
+                .param("cursor", "garbage"))
+                .andExpect(status().isBadRequest());
+    }
+
     // MARK: - GET Full Activity By ID Tests
 
     @Test
@@ -536,6 +595,28 @@ class ActivityControllerTests {
         verify(logger, times(1)).error(contains("Error getting chat messages"));
     }
 
+    @Test
+    void getChatMessagesForActivity_ShouldReturnPage_WhenLimitGiven() throws Exception {
+        when(activityService.getChatMessagesPage(activityId, null, 20))
+                .thenReturn(new ChatMessagesPageDTO(List.of(), "next", true));
+
+        mockMvc.perform(get("/api/v1/activities/{activityId}/chats", activityId).param("limit", "20"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.nextCursor").value("next"))
+                .andExpect(jsonPath("$.hasMore").value(true));
+
+        verify(activityService, never()).getChatMessagesByActivityId(any());
+    }
+
+    @Test
+    void getChatMessagesForActivity_ShouldReturnBadRequest_WhenCursorInvalid() throws Exception {
+        when(activityService.getChatMessagesPage(eq(activityId), eq("garbage"), anyInt()))
+                .thenThrow(new IllegalArgumentException("Invalid chat cursor: garbage"));
+
+        mockMvc.perform(get("/api/v1/activities/{activityId}/chats", activityId).param("cursor", "garbage"))
+                .andExpect(status().isBadRequest());
+    }
+
     // MARK: - Direct Controller Method Tests
 
     @Test
@@ -566,13 +647,13 @@ class ActivityControllerTests {
     @Test
     void getFeedActivities_DirectCall_ShouldReturnOk_WhenSuccessful() {
         List<FullFeedActivityDTO> feedActivities = List.of(fullFeedActivityDTO);
-        when(activityService.getFeedActivities(userId)).thenReturn(feedActivities);
+        when(activityService.streamFeedActivities(userId)).thenReturn(consumer -> consumer.accept(feedActivities));
 
         ResponseEntity<?> response = activityController.getFeedActivities(userId);
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertNotNull(response.getBody());
-        verify(activityService, times(1)).getFeedActivities(userId);
+        verify(activityService, times(1)).streamFeedActivities(userId);
     }
 
     // MARK: - Edge Case Tests
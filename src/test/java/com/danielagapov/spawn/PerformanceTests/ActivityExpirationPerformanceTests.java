@@ -0,0 +1,144 @@
+package com.danielagapov.spawn.PerformanceTests;
+
+import com.danielagapov.spawn.activity.internal.domain.Activity;
+import com.danielagapov.spawn.activity.internal.services.ActivityExpirationService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.springframework.util.StopWatch;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Performance tests for activity expiration checks over feed-sized batches.
+ * Compares the epoch-millis evaluator against the previous per-call java.time derivation
+ * (ZoneId.of, LocalDate and OffsetDateTime.now on every check) on the same mixed workload.
+ */
+class ActivityExpirationPerformanceTests {
+
+    private static final int ACTIVITY_COUNT = 10_000;
+    private static final int ROUNDS = 20;
+    private static final String[] TIMEZONES = {
+            "America/New_York", "America/Los_Angeles", "Europe/London", "Asia/Tokyo", "Australia/Sydney", null
+    };
+
+    private ActivityExpirationService expirationService;
+    private List<Activity> activities;
+
+    @BeforeEach
+    void setUp() {
+        expirationService = new ActivityExpirationService();
+        activities = createMixedActivities(ACTIVITY_COUNT);
+    }
+
+    @Test
+    void batchEvaluation_ShouldAgreeWithPerCallDerivation() {
+        long nowMillis = System.currentTimeMillis();
+        OffsetDateTime now = OffsetDateTime.ofInstant(Instant.ofEpochMilli(nowMillis), ZoneOffset.UTC);
+
+        for (Activity activity : activities) {
+            assertEquals(legacyIsExpired(activity, now), expirationService.isActivityExpired(activity, nowMillis),
+                    "Mismatch for activity created at " + activity.getCreatedAt() + " in " + activity.getClientTimezone());
+        }
+    }
+
+    @Test
+    @Timeout(value = 30, unit = TimeUnit.SECONDS)
+    void batchEvaluation_ShouldReportCostAgainstPerCallDerivation() {
+        // Warm up both paths so the comparison is not dominated by class loading and JIT
+        runLegacy(ROUNDS);
+        runPrecomputed(ROUNDS);
+
+        StopWatch stopWatch = new StopWatch();
+        stopWatch.start("legacy");
+        int legacyExpired = runLegacy(ROUNDS);
+        stopWatch.stop();
+        long legacyNanos = stopWatch.getLastTaskTimeNanos();
+
+        stopWatch.start("precomputed");
+        int precomputedExpired = runPrecomputed(ROUNDS);
+        stopWatch.stop();
+        long precomputedNanos = stopWatch.getLastTaskTimeNanos();
+
+        long checks = (long) ACTIVITY_COUNT * ROUNDS;
+        System.out.println("Expiration checks: legacy " + legacyNanos / checks + " ns/op, precomputed "
+                + precomputedNanos / checks + " ns/op over " + checks + " checks");
+
+        // Timings are reported rather than compared, since a single run on a shared machine is too noisy to gate on
+        assertEquals(legacyExpired, precomputedExpired);
+    }
+
+    private int runLegacy(int rounds) {
+        int expired = 0;
+        for (int round = 0; round < rounds; round++) {
+            for (Activity activity : activities) {
+                if (legacyIsExpired(activity, OffsetDateTime.now(ZoneOffset.UTC))) {
+                    expired++;
+                }
+            }
+        }
+        return expired;
+    }
+
+    private int runPrecomputed(int rounds) {
+        int expired = 0;
+        for (int round = 0; round < rounds; round++) {
+            long nowMillis = System.currentTimeMillis();
+            for (Activity activity : activities) {
+                if (expirationService.isActivityExpired(activity, nowMillis)) {
+                    expired++;
+                }
+            }
+        }
+        return expired;
+    }
+
+    /**
+     * The expiration check as it was before expiries were precomputed.
+     */
+    private static boolean legacyIsExpired(Activity activity, OffsetDateTime now) {
+        if (activity.getEndTime() != null) {
+            return activity.getEndTime().withOffsetSameInstant(ZoneOffset.UTC).isBefore(now);
+        }
+        if (activity.getCreatedAt() == null) {
+            return false;
+        }
+        ZoneId zone = ZoneOffset.UTC;
+        if (activity.getClientTimezone() != null) {
+            zone = ZoneId.of(activity.getClientTimezone());
+        }
+        LocalDate createdDate = activity.getCreatedAt().atZone(zone).toLocalDate();
+        OffsetDateTime endOfCreationDay = createdDate.plusDays(1).atStartOfDay(zone).toOffsetDateTime();
+        return now.isAfter(endOfCreationDay);
+    }
+
+    private static List<Activity> createMixedActivities(int count) {
+        Random random = new Random(42);
+        Instant base = Instant.now().truncatedTo(ChronoUnit.MINUTES);
+        List<Activity> result = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Activity activity = new Activity();
+            activity.setCreatedAt(base.minus(random.nextInt(72 * 60), ChronoUnit.MINUTES));
+            activity.setClientTimezone(TIMEZONES[random.nextInt(TIMEZONES.length)]);
+            if (random.nextBoolean()) {
+                activity.setEndTime(OffsetDateTime.ofInstant(base, ZoneOffset.UTC)
+                        .plusMinutes(random.nextInt(48 * 60) - 24 * 60));
+            }
+            // Stored expiry as written by the entity's persist callback
+            activity.prePersist();
+            result.add(activity);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,163 @@
+package com.danielagapov.spawn.PerformanceTests;
+
+import com.danielagapov.spawn.activity.api.dto.ActivityDTO;
+import com.danielagapov.spawn.activity.api.dto.ActivityTypeDTO;
+import com.danielagapov.spawn.activity.api.dto.FullFeedActivityDTO;
+import com.danielagapov.spawn.activity.api.dto.LocationDTO;
+import com.danielagapov.spawn.chat.api.dto.FullActivityChatMessageDTO;
+import com.danielagapov.spawn.shared.cache.VersionedCacheSerializer;
+import com.danielagapov.spawn.shared.util.CacheNames;
+import com.danielagapov.spawn.shared.util.ParticipationStatus;
+import com.danielagapov.spawn.user.api.dto.BaseUserDTO;
+import com.danielagapov.spawn.user.api.dto.FriendUser.MinimalFriendDTO;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Benchmark of the Redis cache value encodings: payload size and serialize/deserialize time of
+ * JSON versus Smile for a representative value of each hot cache.
+ */
+class CacheSerializerPerformanceTests {
+
+    private static final int ROUNDS = 2_000;
+    private static final int WARMUP_ROUNDS = 500;
+
+    private final VersionedCacheSerializer json = new VersionedCacheSerializer(VersionedCacheSerializer.Format.JSON);
+    private final VersionedCacheSerializer smile = new VersionedCacheSerializer(VersionedCacheSerializer.Format.SMILE);
+    private final Random random = new Random(42);
+
+    @Test
+    void smile_ShouldRoundTripEveryCacheValue() {
+        for (Map.Entry<String, Object> sample : samples().entrySet()) {
+            byte[] bytes = smile.serialize(sample.getValue());
+            // Re-encoding what was read must give the same bytes, i.e. nothing was lost on the way
+            assertArrayEquals(bytes, smile.serialize(smile.deserialize(bytes)), "Round trip changed " + sample.getKey());
+        }
+    }
+
+    @Test
+    @Timeout(value = 60, unit = TimeUnit.SECONDS)
+    void smile_ShouldBeSmallerThanJsonForEveryCache() {
+        System.out.println(String.format("%-28s %10s %10s %8s %12s %12s %12s %12s", "cache", "json B", "smile B",
+                "ratio", "json ser ns", "smile ser ns", "json de ns", "smile de ns"));
+
+        for (Map.Entry<String, Object> sample : samples().entrySet()) {
+            Object value = sample.getValue();
+            byte[] jsonBytes = json.serialize(value);
+            byte[] smileBytes = smile.serialize(value);
+
+            measure(json, value, WARMUP_ROUNDS);
+            measure(smile, value, WARMUP_ROUNDS);
+            long[] jsonNanos = measure(json, value, ROUNDS);
+            long[] smileNanos = measure(smile, value, ROUNDS);
+
+            System.out.println(String.format("%-28s %10d %10d %8.2f %12d %12d %12d %12d", sample.getKey(),
+                    jsonBytes.length, smileBytes.length, smileBytes.length / (double) jsonBytes.length,
+                    jsonNanos[0] / ROUNDS, smileNanos[0] / ROUNDS, jsonNanos[1] / ROUNDS, smileNanos[1] / ROUNDS));
+
+            assertTrue(smileBytes.length <= jsonBytes.length,
+                    sample.getKey() + ": Smile took " + smileBytes.length + " bytes vs " + jsonBytes.length + " for JSON");
+        }
+    }
+
+    /**
+     * @return total serialize and deserialize nanos over the given number of rounds
+     */
+    private static long[] measure(VersionedCacheSerializer serializer, Object value, int rounds) {
+        byte[] bytes = serializer.serialize(value);
+        long serializeStart = System.nanoTime();
+        for (int i = 0; i < rounds; i++) {
+            bytes = serializer.serialize(value);
+        }
+        long serializeNanos = System.nanoTime() - serializeStart;
+
+        long deserializeStart = System.nanoTime();
+        for (int i = 0; i < rounds; i++) {
+            assertNotNull(serializer.deserialize(bytes));
+        }
+        return new long[]{serializeNanos, System.nanoTime() - deserializeStart};
+    }
+
+    private Map<String, Object> samples() {
+        Map<String, Object> samples = new LinkedHashMap<>();
+        List<FullFeedActivityDTO> feed = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            feed.add(fullActivity(5, 3, 3));
+        }
+        samples.put(CacheNames.FEED_ACTIVITIES, feed);
+        samples.put(CacheNames.FULL_ACTIVITY_BY_ID, fullActivity(8, 5, 10));
+        samples.put(CacheNames.ACTIVITY_BY_ID, activity());
+
+        List<ActivityTypeDTO> activityTypes = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            List<MinimalFriendDTO> friends = new ArrayList<>();
+            for (int j = 0; j < 6; j++) {
+                BaseUserDTO user = user();
+                friends.add(new MinimalFriendDTO(user.getId(), user.getUsername(), user.getName(), user.getProfilePicture()));
+            }
+            activityTypes.add(new ActivityTypeDTO(UUID.randomUUID(), "Type " + i, friends, "⭐️", i, UUID.randomUUID(), i < 4));
+        }
+        samples.put(CacheNames.ACTIVITY_TYPES_BY_USER_ID, activityTypes);
+
+        List<UUID> blockedUserIds = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            blockedUserIds.add(UUID.randomUUID());
+        }
+        samples.put(CacheNames.BLOCKED_USER_IDS, blockedUserIds);
+        samples.put(CacheNames.IS_BLOCKED, Boolean.FALSE);
+        return samples;
+    }
+
+    private FullFeedActivityDTO fullActivity(int participants, int invited, int chatMessages) {
+        List<BaseUserDTO> participantUsers = new ArrayList<>();
+        for (int i = 0; i < participants; i++) {
+            participantUsers.add(user());
+        }
+        List<BaseUserDTO> invitedUsers = new ArrayList<>();
+        for (int i = 0; i < invited; i++) {
+            invitedUsers.add(user());
+        }
+        UUID activityId = UUID.randomUUID();
+        List<FullActivityChatMessageDTO> messages = new ArrayList<>();
+        for (int i = 0; i < chatMessages; i++) {
+            messages.add(new FullActivityChatMessageDTO(UUID.randomUUID(), "Message number " + i + " 🎉",
+                    Instant.parse("2026-04-30T12:00:00Z").plusSeconds(i * 60L), participantUsers.get(i % participants),
+                    activityId, new ArrayList<>(participantUsers.subList(0, i % participants))));
+        }
+        OffsetDateTime start = OffsetDateTime.of(2026, 5, 1, 18, 0, 0, 0, ZoneOffset.UTC).plusHours(random.nextInt(48));
+        return new FullFeedActivityDTO(activityId, "Activity " + random.nextInt(1000), start, start.plusHours(2),
+                new LocationDTO(UUID.randomUUID(), "Central Park", 40.7812, -73.9665), UUID.randomUUID(),
+                "Bring snacks and a frisbee", "🏀", 10, user(), participantUsers, invitedUsers, messages,
+                ParticipationStatus.participating, false, Instant.parse("2026-04-30T12:00:00Z"), false, "America/New_York");
+    }
+
+    private ActivityDTO activity() {
+        List<UUID> participantIds = new ArrayList<>();
+        List<UUID> invitedIds = new ArrayList<>();
+        List<UUID> chatMessageIds = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            participantIds.add(UUID.randomUUID());
+            invitedIds.add(UUID.randomUUID());
+            chatMessageIds.add(UUID.randomUUID());
+        }
+        OffsetDateTime start = OffsetDateTime.of(2026, 5, 1, 18, 0, 0, 0, ZoneOffset.UTC);
+        return new ActivityDTO(UUID.randomUUID(), "Pickup basketball", start, start.plusHours(2),
+                new LocationDTO(UUID.randomUUID(), "Central Park", 40.7812, -73.9665), UUID.randomUUID(),
+                "Bring water", "🏀", 10, UUID.randomUUID(), participantIds, invitedIds, chatMessageIds,
+                Instant.parse("2026-04-30T12:00:00Z"), false, "America/New_York");
+    }
+
+    private BaseUserDTO user() {
+        int n = random.nextInt(100_000);
+        return new BaseUserDTO(UUID.randomUUID(), "User " + n, "user" + n + "@email.com", "user" + n,
+                "Just here for the activities", "https://cdn.example.com/profile/" + n + ".jpg", true, "google");
+    }
+}
@@ -381,5 +381,42 @@ class ActivityRepositoryTests {
 
         assertNotEquals(first.getId(), secondSaved.getId());
     }
-}
 
+    // MARK: - Member Count Tests
+
+    @Test
+    void tryAddParticipant_ShouldStopAtParticipantLimit() {
+        testActivity.setParticipantLimit(2);
+        Activity saved = activityRepository.saveAndFlush(testActivity);
+
+        assertEquals(1, activityRepository.tryAddParticipant(saved.getId(), 0));
+        assertEquals(1, activityRepository.tryAddParticipant(saved.getId(), 0));
+        assertEquals(0, activityRepository.tryAddParticipant(saved.getId(), 0));
+
+        assertEquals(Optional.of(2), activityRepository.findParticipantCountById(saved.getId()));
+    }
+
+    @Test
+    void tryAddParticipant_ShouldMoveInvitedUserIntoParticipants_WhenUnlimited() {
+        Activity saved = activityRepository.saveAndFlush(testActivity);
+        activityRepository.setMemberCounts(saved.getId(), 0, 3);
+
+        assertEquals(1, activityRepository.tryAddParticipant(saved.getId(), 1));
+
+        assertEquals(Optional.of(1), activityRepository.findParticipantCountById(saved.getId()));
+        assertEquals(Optional.of(2), activityRepository.findInvitedCountById(saved.getId()));
+    }
+
+    @Test
+    void save_ShouldNotOverwriteMemberCounts_WhenEntityIsStale() {
+        Activity saved = activityRepository.saveAndFlush(testActivity);
+        activityRepository.adjustMemberCounts(saved.getId(), 1, 2);
+
+        // The entity still holds the counts it was loaded with
+        saved.setTitle("Renamed Activity");
+        activityRepository.saveAndFlush(saved);
+
+        assertEquals(Optional.of(1), activityRepository.findParticipantCountById(saved.getId()));
+        assertEquals(Optional.of(2), activityRepository.findInvitedCountById(saved.getId()));
+    }
+}
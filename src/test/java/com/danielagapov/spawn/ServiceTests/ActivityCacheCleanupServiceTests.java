@@ -0,0 +1,110 @@
+package com.danielagapov.spawn.ServiceTests;
+
+import com.danielagapov.spawn.activity.internal.domain.Activity;
+import com.danielagapov.spawn.activity.internal.domain.Location;
+import com.danielagapov.spawn.activity.internal.repositories.IActivityRepository;
+import com.danielagapov.spawn.activity.internal.repositories.IActivityUserRepository;
+import com.danielagapov.spawn.activity.internal.services.ActivityCacheCleanupService;
+import com.danielagapov.spawn.activity.internal.services.ActivityExpirationService;
+import com.danielagapov.spawn.activity.internal.services.ActivityExpiryIndex;
+import com.danielagapov.spawn.shared.cache.CacheTags;
+import com.danielagapov.spawn.shared.util.CacheEvictionHelper;
+import com.danielagapov.spawn.shared.util.CacheNames;
+import com.danielagapov.spawn.user.internal.domain.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for ActivityCacheCleanupService and its time-bucketed expiry index
+ */
+@ExtendWith(MockitoExtension.class)
+class ActivityCacheCleanupServiceTests {
+
+    @Mock
+    private IActivityRepository activityRepository;
+
+    @Mock
+    private IActivityUserRepository activityUserRepository;
+
+    @Mock
+    private CacheEvictionHelper cacheEvictionHelper;
+
+    private ActivityCacheCleanupService cleanupService;
+    private User creator;
+
+    @BeforeEach
+    void setUp() {
+        cleanupService = new ActivityCacheCleanupService(activityRepository, activityUserRepository,
+                new ActivityExpirationService(), cacheEvictionHelper);
+        creator = new User(UUID.randomUUID(), "creator", "pic.jpg", "Creator", "bio", "creator@email.com");
+    }
+
+    private Activity activityEndingAt(OffsetDateTime endTime) {
+        return new Activity(UUID.randomUUID(), "Activity", endTime.minusHours(1), endTime,
+                new Location(UUID.randomUUID(), "Park", 40.7128, -74.0060), "note", creator, "icon");
+    }
+
+    @Test
+    void cleanupExpiredActivityCaches_ShouldOnlyEvictEntriesOfExpiredActivitiesAndTheirUsers() {
+        Activity expired = activityEndingAt(OffsetDateTime.now().minusMinutes(3));
+        Activity upcoming = activityEndingAt(OffsetDateTime.now().plusHours(2));
+        UUID participantId = UUID.randomUUID();
+        cleanupService.trackExpiry(expired);
+        cleanupService.trackExpiry(upcoming);
+
+        when(activityRepository.findCreatorIdsByActivityIds(List.of(expired.getId())))
+                .thenReturn(List.<Object[]>of(new Object[]{expired.getId(), creator.getId()}));
+        when(activityUserRepository.findUserIdsByActivityIds(List.of(expired.getId())))
+                .thenReturn(List.<Object[]>of(new Object[]{expired.getId(), participantId}));
+
+        cleanupService.cleanupExpiredActivityCaches();
+
+        verify(cacheEvictionHelper).evictCaches(expired.getId(), CacheNames.ACTIVITY_BY_ID, CacheNames.ACTIVITY_INVITE_BY_ID);
+        verify(cacheEvictionHelper).evictTagged(CacheTags.activity(expired.getId()),
+                CacheNames.FULL_ACTIVITY_BY_ID, CacheNames.FEED_ACTIVITY_BY_ID);
+        verify(cacheEvictionHelper).evictCaches(participantId, CacheNames.FEED_ACTIVITIES, CacheNames.ACTIVITIES_INVITED_TO,
+                CacheNames.FULL_ACTIVITIES_INVITED_TO, CacheNames.FULL_ACTIVITIES_PARTICIPATING_IN);
+        verify(cacheEvictionHelper).evictCache(CacheNames.ACTIVITIES_BY_OWNER_ID, creator.getId());
+        verify(cacheEvictionHelper, never()).evictCaches(eq(upcoming.getId()), any(String[].class));
+        verify(cacheEvictionHelper, never()).clearCache(any());
+    }
+
+    @Test
+    void cleanupExpiredActivityCaches_ShouldDoNothing_WhenNoActivityIsDue() {
+        cleanupService.trackExpiry(activityEndingAt(OffsetDateTime.now().plusHours(1)));
+
+        cleanupService.cleanupExpiredActivityCaches();
+
+        verifyNoInteractions(activityRepository, activityUserRepository, cacheEvictionHelper);
+    }
+
+    @Test
+    void expiryIndex_ShouldMoveRescheduledActivityAndDropCancelledOnes() {
+        ActivityExpiryIndex index = new ActivityExpiryIndex(Duration.ofMinutes(1));
+        UUID rescheduled = UUID.randomUUID();
+        UUID cancelled = UUID.randomUUID();
+        long now = System.currentTimeMillis();
+
+        index.schedule(rescheduled, now - Duration.ofMinutes(5).toMillis());
+        index.schedule(rescheduled, now + Duration.ofMinutes(5).toMillis());
+        index.schedule(cancelled, now - Duration.ofMinutes(5).toMillis());
+        index.cancel(cancelled);
+
+        assertTrue(index.drainDue(now).isEmpty());
+        assertEquals(List.of(rescheduled), index.drainDue(now + Duration.ofMinutes(10).toMillis()));
+        assertEquals(0, index.size());
+    }
+}
@@ -1,5 +1,7 @@
 package com.danielagapov.spawn.ServiceTests;
 
+import com.danielagapov.spawn.activity.internal.domain.Activity;
+import com.danielagapov.spawn.activity.internal.domain.ActivityExpiry;
 import com.danielagapov.spawn.activity.internal.services.ActivityExpirationService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -98,4 +100,67 @@ public class ActivityExpirationServiceTimezoneTests {
         // Should be in the future (end of day in LA timezone)
         assertTrue(expiration.isAfter(OffsetDateTime.now(ZoneOffset.UTC)));
     }
+
+    @Test
+    void testExpirationMillis_NewYorkMidnightAfterCreationDay() {
+        // 2PM EST on Jan 15 is 7PM UTC; the activity expires at midnight EST, i.e. 5AM UTC on Jan 16
+        Instant createdAt = Instant.parse("2025-01-15T19:00:00Z");
+
+        long expiresAt = expirationService.calculateActivityExpirationMillis(null, null, createdAt, "America/New_York");
+
+        assertEquals(Instant.parse("2025-01-16T05:00:00Z").toEpochMilli(), expiresAt);
+        assertFalse(expirationService.isActivityExpired(null, null, createdAt, "America/New_York", expiresAt));
+        assertTrue(expirationService.isActivityExpired(null, null, createdAt, "America/New_York", expiresAt + 1));
+    }
+
+    @Test
+    void testExpirationMillis_MidnightInsideDstGap() {
+        // Santiago skipped from midnight to 1AM on 2024-09-08, so the end of 2024-09-07 is 1AM local (04:00 UTC)
+        Instant createdAt = Instant.parse("2024-09-07T15:00:00Z");
+
+        long expiresAt = expirationService.calculateActivityExpirationMillis(null, null, createdAt, "America/Santiago");
+
+        assertEquals(Instant.parse("2024-09-08T04:00:00Z").toEpochMilli(), expiresAt);
+    }
+
+    @Test
+    void testExpirationMillis_InvalidAndBlankTimezonesFallBackToUtc() {
+        Instant createdAt = Instant.parse("2025-01-15T19:00:00Z");
+        long utcMidnight = Instant.parse("2025-01-16T00:00:00Z").toEpochMilli();
+
+        assertEquals(utcMidnight, expirationService.calculateActivityExpirationMillis(null, null, createdAt, "Invalid/Timezone"));
+        assertEquals(utcMidnight, expirationService.calculateActivityExpirationMillis(null, null, createdAt, " "));
+        assertEquals(utcMidnight, expirationService.calculateActivityExpirationMillis(null, null, createdAt, null));
+    }
+
+    @Test
+    void testExpirationMillis_MatchesCalculateActivityExpiration() {
+        Instant createdAt = Instant.parse("2025-03-30T22:30:00Z");
+        OffsetDateTime endTime = OffsetDateTime.parse("2025-03-31T10:15:30.250+02:00");
+
+        for (String zone : new String[]{"Europe/London", "Asia/Kolkata", "Pacific/Kiritimati", "+05:30", null}) {
+            assertEquals(expirationService.calculateActivityExpiration(null, null, createdAt, zone).toInstant().toEpochMilli(),
+                    expirationService.calculateActivityExpirationMillis(null, null, createdAt, zone));
+            assertEquals(endTime.toInstant().toEpochMilli(),
+                    expirationService.calculateActivityExpirationMillis(null, endTime, createdAt, zone));
+        }
+        assertEquals(ActivityExpiry.NEVER, expirationService.calculateActivityExpirationMillis(null, null, null, "Europe/London"));
+    }
+
+    @Test
+    void testEntityExpiry_RecomputedAfterTimesChange() {
+        Activity activity = new Activity();
+        activity.setCreatedAt(Instant.parse("2025-01-15T19:00:00Z"));
+        activity.setClientTimezone("America/New_York");
+        activity.prePersist();
+        assertEquals(Instant.parse("2025-01-16T05:00:00Z").toEpochMilli(), activity.getExpiresAt());
+
+        OffsetDateTime endTime = OffsetDateTime.parse("2025-01-20T12:00:00Z");
+        activity.setEndTime(endTime);
+
+        // The stale stored value is dropped as soon as the end time changes, before the next flush
+        assertNull(activity.getExpiresAt());
+        assertEquals(endTime.toInstant().toEpochMilli(), activity.resolveExpiresAt());
+        assertTrue(expirationService.isActivityExpired(activity, endTime.toInstant().toEpochMilli() + 1));
+    }
 }
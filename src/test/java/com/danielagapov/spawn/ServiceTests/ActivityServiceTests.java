@@ -3,13 +3,19 @@ package com.danielagapov.spawn.ServiceTests;
 import com.danielagapov.spawn.activity.api.dto.ActivityDTO;
 import com.danielagapov.spawn.activity.api.dto.ActivityInviteDTO;
 import com.danielagapov.spawn.activity.api.dto.ActivityPartialUpdateDTO;
+import com.danielagapov.spawn.activity.api.dto.ChatMessagesPageDTO;
+import com.danielagapov.spawn.activity.api.dto.FeedActivitiesPageDTO;
 import com.danielagapov.spawn.activity.api.dto.FullFeedActivityDTO;
 import com.danielagapov.spawn.activity.api.dto.LocationDTO;
 import com.danielagapov.spawn.user.api.dto.BaseUserDTO;
 import com.danielagapov.spawn.user.api.dto.UserDTO;
+import com.danielagapov.spawn.chat.api.dto.FullActivityChatMessageDTO;
+import com.danielagapov.spawn.shared.ports.ChatMessageData;
+import com.danielagapov.spawn.shared.ports.ChatPreviewData;
 
 import com.danielagapov.spawn.shared.util.EntityType;
 import com.danielagapov.spawn.shared.util.ParticipationStatus;
+import com.danielagapov.spawn.shared.exceptions.ActivityFullException;
 import com.danielagapov.spawn.shared.exceptions.ApplicationException;
 import com.danielagapov.spawn.shared.exceptions.Base.BaseNotFoundException;
 import com.danielagapov.spawn.shared.exceptions.Base.BaseSaveException;
@@ -28,8 +34,18 @@ import com.danielagapov.spawn.user.internal.repositories.IUserRepository;
 import com.danielagapov.spawn.activity.internal.services.IChatQueryService;
 import com.danielagapov.spawn.activity.internal.services.IActivityTypeService;
 import com.danielagapov.spawn.activity.internal.services.ActivityService;
+import com.danielagapov.spawn.activity.internal.services.ActivityCacheCleanupService;
 import com.danielagapov.spawn.activity.internal.services.ActivityExpirationService;
+import com.danielagapov.spawn.activity.internal.services.ChatCursor;
+import com.danielagapov.spawn.activity.internal.services.FeedCursor;
+import com.danielagapov.spawn.activity.internal.services.FeedIndexEntry;
+import com.danielagapov.spawn.shared.cache.CacheTags;
+import com.danielagapov.spawn.shared.util.CacheEvictionHelper;
+import com.danielagapov.spawn.shared.util.CacheNames;
+import com.danielagapov.spawn.shared.util.ChunkedResult;
+import com.danielagapov.spawn.activity.internal.services.IFeedIndexService;
 import com.danielagapov.spawn.activity.internal.services.ILocationService;
+import com.danielagapov.spawn.user.internal.services.BaseUserLoader;
 import com.danielagapov.spawn.user.internal.services.IUserService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Order;
@@ -40,8 +56,12 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataAccessException;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.time.Instant;
 import java.time.OffsetDateTime;
@@ -50,6 +70,8 @@ import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
@@ -93,12 +115,26 @@ public class ActivityServiceTests {
     @Mock
     private IActivityTypeService activityTypeService;
 
+    @Mock
+    private IFeedIndexService feedIndexService;
+
+    @Mock
+    private ActivityCacheCleanupService cacheCleanupService;
+
+    @Mock
+    private CacheEvictionHelper cacheEvictionHelper;
+
+    @Mock
+    private CacheManager cacheManager;
+
     @InjectMocks
     private ActivityService ActivityService;
 
     @BeforeEach
     void setup() {
         MockitoAnnotations.openMocks(this);
+        // Resolve users through the real loader so tests can stub the repository as before
+        ReflectionTestUtils.setField(ActivityService, "baseUserLoader", new BaseUserLoader(userRepository));
         
         // Setup default mock behavior for ActivityExpirationService
         when(activityExpirationService.isActivityExpired(any(OffsetDateTime.class), any(OffsetDateTime.class), any(Instant.class)))
@@ -264,6 +300,22 @@ public class ActivityServiceTests {
         verify(ActivityRepository, times(1)).deleteById(ActivityId);
     }
 
+    @Test
+    void deleteActivityById_ShouldEvictOnlyCacheEntriesDependingOnActivity() {
+        UUID ActivityId = UUID.randomUUID();
+        UUID memberId = UUID.randomUUID();
+        when(ActivityRepository.existsById(ActivityId)).thenReturn(true);
+        when(feedIndexService.getFeedUserIds(ActivityId)).thenReturn(Set.of(memberId));
+
+        assertTrue(ActivityService.deleteActivityById(ActivityId));
+
+        verify(cacheEvictionHelper).evictTagged(List.of(CacheTags.activity(ActivityId)),
+                CacheNames.FULL_ACTIVITY_BY_ID, CacheNames.FEED_ACTIVITY_BY_ID);
+        verify(cacheEvictionHelper).evictTagged(List.of(CacheTags.activity(ActivityId), CacheTags.user(memberId)),
+                CacheNames.FEED_ACTIVITIES);
+        verify(cacheEvictionHelper, never()).clearCache(any());
+    }
+
     @Test
     void deleteActivityById_ShouldReturnFalse_WhenDatabaseErrorOccurs() {
         UUID ActivityId = UUID.randomUUID();
@@ -328,6 +380,8 @@ public class ActivityServiceTests {
         // Verify core Activity was saved
         verify(ActivityRepository, times(1)).save(any(Activity.class));
         verify(activityUserRepository, times(1)).save(any(ActivityUser.class));
+        verify(feedIndexService, times(1)).onActivityCreated(activity, List.of(explicitInviteId));
+        verify(cacheCleanupService, times(1)).trackExpiry(activity);
 
         // Don't verify the Activity publisher - the service uses it correctly based on the logs
         // and the verification isn't working well in tests
@@ -701,6 +755,55 @@ public class ActivityServiceTests {
         assertEquals("Test Activity", result.getTitle());
     }
 
+    @Test
+    void getFullActivityByActivity_ShouldIncludeFullChat() {
+        UUID ActivityId = UUID.randomUUID();
+        ActivityDTO ActivityDTO = dummyActivityDTO(ActivityId, "Test Activity");
+        UserDTO creator = new UserDTO(ActivityDTO.getCreatorUserId(), List.of(), "testuser", "pic.jpg", "Test User", "bio", "test@email.com");
+        when(userService.getUserById(ActivityDTO.getCreatorUserId())).thenReturn(creator);
+        when(activityUserRepository.findByActivity_IdAndStatus(any(UUID.class), any(ParticipationStatus.class))).thenReturn(List.of());
+
+        List<FullActivityChatMessageDTO> chat = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            chat.add(new FullActivityChatMessageDTO(UUID.randomUUID(), "message " + i, Instant.now(), null, ActivityId, List.of()));
+        }
+        when(chatQueryService.getFullChatMessagesByActivityId(ActivityId)).thenReturn(chat);
+
+        FullFeedActivityDTO result = ActivityService.getFullActivityByActivity(ActivityDTO, UUID.randomUUID(), new HashSet<>());
+
+        assertNotNull(result);
+        assertEquals(5, result.getChatMessageCount());
+        assertEquals(chat, result.getChatMessages());
+        verify(chatQueryService, never()).getChatPreviewsByActivityIds(any(), anyInt());
+    }
+
+    @Test
+    void getChatMessagesPage_ShouldReturnCursorOfLastMessage_WhenMoreMessagesExist() {
+        UUID ActivityId = UUID.randomUUID();
+        User sender = new User(UUID.randomUUID(), "sender", "pic.jpg", "Sender", "bio", "sender@email.com");
+        Instant now = Instant.now();
+        List<ChatMessageData> messages = List.of(
+                new ChatMessageData(UUID.randomUUID(), "3", now, sender.getId(), ActivityId, List.of()),
+                new ChatMessageData(UUID.randomUUID(), "2", now.minusSeconds(1), sender.getId(), ActivityId, List.of()),
+                new ChatMessageData(UUID.randomUUID(), "1", now.minusSeconds(2), sender.getId(), ActivityId, List.of()));
+        when(chatQueryService.getChatMessageDataBefore(ActivityId, ChatCursor.START.timestamp(), ChatCursor.START.messageId(), 3))
+                .thenReturn(messages);
+        when(userRepository.findAllById(any())).thenReturn(List.of(sender));
+
+        ChatMessagesPageDTO page = ActivityService.getChatMessagesPage(ActivityId, null, 2);
+
+        assertTrue(page.isHasMore());
+        assertEquals(List.of("3", "2"), page.getMessages().stream().map(FullActivityChatMessageDTO::getContent).toList());
+        ChatCursor next = ChatCursor.decode(page.getNextCursor());
+        assertEquals(messages.get(1).timestamp(), next.timestamp());
+        assertEquals(messages.get(1).id(), next.messageId());
+    }
+
+    @Test
+    void getChatMessagesPage_ShouldRejectMalformedCursor() {
+        assertThrows(IllegalArgumentException.class, () -> ActivityService.getChatMessagesPage(UUID.randomUUID(), "not-a-cursor", 10));
+    }
+
     @Test
     void getFullActivityByActivity_ShouldReturnNull_WhenLocationNotFound() {
         UUID ActivityId = UUID.randomUUID();
@@ -773,4 +876,293 @@ public class ActivityServiceTests {
         assertNull(result.getLocationId());
         verify(ActivityRepository, times(1)).findById(activityId);
     }
+
+    @Test
+    void getFeedActivities_ShouldHydrateWholeFeedFromBatchedQueries() {
+        UUID requestingUserId = UUID.randomUUID();
+        User requestingUser = new User(requestingUserId, "requester", "pic.jpg", "Requester", "bio", "requester@email.com");
+        User participant = new User(UUID.randomUUID(), "friend", "pic.jpg", "Friend", "bio", "friend@email.com");
+
+        Activity ownedActivity = createDummyActivity(UUID.randomUUID(), "Owned", OffsetDateTime.now().plusHours(1),
+                OffsetDateTime.now().plusHours(2));
+        ownedActivity.setCreator(requestingUser);
+        Activity invitedActivity = createDummyActivity(UUID.randomUUID(), "Invited", OffsetDateTime.now().plusHours(3),
+                OffsetDateTime.now().plusHours(4));
+
+        when(feedIndexService.getLiveEntries(requestingUserId)).thenReturn(List.of(
+                new FeedIndexEntry(ownedActivity.getId(), FeedIndexEntry.Role.OWNED, 1L, Long.MAX_VALUE),
+                new FeedIndexEntry(invitedActivity.getId(), FeedIndexEntry.Role.INVITED, 2L, Long.MAX_VALUE)
+        ));
+        when(ActivityRepository.findAllWithDetailsByIdIn(any())).thenReturn(List.of(invitedActivity, ownedActivity));
+        when(activityUserRepository.findUsersAndStatusesByActivityIds(any())).thenReturn(List.of(
+                new Object[]{ownedActivity.getId(), participant, ParticipationStatus.participating},
+                new Object[]{invitedActivity.getId(), requestingUser, ParticipationStatus.invited}
+        ));
+        when(userRepository.findAllById(any())).thenReturn(List.of(invitedActivity.getCreator()));
+
+        List<FullFeedActivityDTO> feed = ActivityService.getFeedActivities(requestingUserId);
+
+        assertEquals(2, feed.size());
+        assertEquals(ownedActivity.getId(), feed.get(0).getId());
+        assertTrue(feed.get(0).isSelfOwned());
+        assertEquals(1, feed.get(0).getParticipantUsers().size());
+        assertEquals(participant.getId(), feed.get(0).getParticipantUsers().get(0).getId());
+        assertEquals(invitedActivity.getId(), feed.get(1).getId());
+        assertEquals(ParticipationStatus.invited, feed.get(1).getParticipationStatus());
+        assertEquals(invitedActivity.getCreator().getId(), feed.get(1).getCreatorUser().getId());
+
+        // The feed comes from the index range scan, and all users from the batched queries rather than per-user lookups
+        verify(ActivityRepository, never()).findByCreatorId(any());
+        verify(activityUserRepository, times(1)).findUsersAndStatusesByActivityIds(any());
+        verify(chatQueryService, times(1)).getChatMessageIdsByActivityIds(any());
+        verify(userRepository, times(1)).findAllById(any());
+        verify(userRepository, never()).findById(any());
+        verify(userService, never()).getUserById(any());
+    }
+
+    @Test
+    void getFeedActivities_ShouldSkipIndexedActivitiesThatNoLongerExist() {
+        UUID requestingUserId = UUID.randomUUID();
+        Activity invitedActivity = createDummyActivity(UUID.randomUUID(), "Invited", OffsetDateTime.now().plusHours(1),
+                OffsetDateTime.now().plusHours(2));
+
+        when(feedIndexService.getLiveEntries(requestingUserId)).thenReturn(List.of(
+                new FeedIndexEntry(UUID.randomUUID(), FeedIndexEntry.Role.OWNED, 1L, Long.MAX_VALUE),
+                new FeedIndexEntry(invitedActivity.getId(), FeedIndexEntry.Role.INVITED, 2L, Long.MAX_VALUE)
+        ));
+        when(ActivityRepository.findAllWithDetailsByIdIn(any())).thenReturn(List.of(invitedActivity));
+        when(userRepository.findAllById(any())).thenReturn(List.of(invitedActivity.getCreator()));
+
+        List<FullFeedActivityDTO> feed = ActivityService.getFeedActivities(requestingUserId);
+
+        assertEquals(1, feed.size());
+        assertEquals(invitedActivity.getId(), feed.get(0).getId());
+    }
+
+    @Test
+    void streamFeedActivities_ShouldDeferLoadingUntilConsumedAndKeepFeedOrder() {
+        UUID requestingUserId = UUID.randomUUID();
+        User requestingUser = new User(requestingUserId, "requester", "pic.jpg", "Requester", "bio", "requester@email.com");
+        Activity invitedActivity = createDummyActivity(UUID.randomUUID(), "Invited", OffsetDateTime.now().plusHours(1),
+                OffsetDateTime.now().plusHours(2));
+        Activity ownedActivity = createDummyActivity(UUID.randomUUID(), "Owned", OffsetDateTime.now().plusHours(3),
+                OffsetDateTime.now().plusHours(4));
+        ownedActivity.setCreator(requestingUser);
+
+        // The index lists the invited activity first because it starts sooner
+        when(feedIndexService.getLiveEntries(requestingUserId)).thenReturn(List.of(
+                new FeedIndexEntry(invitedActivity.getId(), FeedIndexEntry.Role.INVITED, 1L, Long.MAX_VALUE),
+                new FeedIndexEntry(ownedActivity.getId(), FeedIndexEntry.Role.OWNED, 2L, Long.MAX_VALUE)
+        ));
+        when(ActivityRepository.findAllWithDetailsByIdIn(any())).thenReturn(List.of(invitedActivity, ownedActivity));
+        when(userRepository.findAllById(any())).thenReturn(List.of(invitedActivity.getCreator(), requestingUser));
+
+        ChunkedResult<FullFeedActivityDTO> result = ActivityService.streamFeedActivities(requestingUserId);
+        verify(ActivityRepository, never()).findAllWithDetailsByIdIn(any());
+
+        List<FullFeedActivityDTO> feed = new ArrayList<>();
+        result.forEachChunk(feed::addAll);
+
+        assertEquals(2, feed.size());
+        assertEquals(ownedActivity.getId(), feed.get(0).getId());
+        assertEquals(invitedActivity.getId(), feed.get(1).getId());
+        verify(ActivityRepository, times(1)).findAllWithDetailsByIdIn(List.of(ownedActivity.getId(), invitedActivity.getId()));
+    }
+
+    @Test
+    void streamFeedActivities_ShouldServeCachedCardsAndHydrateOnlyMisses() {
+        UUID requestingUserId = UUID.randomUUID();
+        Activity invitedActivity = createDummyActivity(UUID.randomUUID(), "Invited", OffsetDateTime.now().plusHours(1),
+                OffsetDateTime.now().plusHours(2));
+        Activity participatingActivity = createDummyActivity(UUID.randomUUID(), "Participating", OffsetDateTime.now().plusHours(3),
+                OffsetDateTime.now().plusHours(4));
+        Cache cards = new ConcurrentMapCache(CacheNames.FEED_ACTIVITY_BY_ID);
+        when(cacheManager.getCache(CacheNames.FEED_ACTIVITY_BY_ID)).thenReturn(cards);
+        when(feedIndexService.getLiveEntries(requestingUserId)).thenReturn(List.of(
+                new FeedIndexEntry(invitedActivity.getId(), FeedIndexEntry.Role.INVITED, 1L, Long.MAX_VALUE),
+                new FeedIndexEntry(participatingActivity.getId(), FeedIndexEntry.Role.PARTICIPATING, 2L, Long.MAX_VALUE)
+        ));
+        when(ActivityRepository.findAllWithDetailsByIdIn(any())).thenReturn(List.of(invitedActivity, participatingActivity));
+        when(userRepository.findAllById(any())).thenReturn(List.of(invitedActivity.getCreator(), participatingActivity.getCreator()));
+
+        // First read hydrates both cards and caches them under their activity and user tags
+        List<FullFeedActivityDTO> firstFeed = new ArrayList<>();
+        ActivityService.streamFeedActivities(requestingUserId).forEachChunk(firstFeed::addAll);
+        String invitedKey = invitedActivity.getId() + ":" + requestingUserId;
+        verify(cacheEvictionHelper).tagEntry(CacheNames.FEED_ACTIVITY_BY_ID, invitedKey,
+                List.of(CacheTags.activity(invitedActivity.getId()), CacheTags.user(requestingUserId)));
+        assertNotNull(cards.get(invitedKey));
+
+        // After one card is evicted, only that card is loaded again
+        cards.evict(invitedKey);
+        List<FullFeedActivityDTO> secondFeed = new ArrayList<>();
+        ActivityService.streamFeedActivities(requestingUserId).forEachChunk(secondFeed::addAll);
+
+        assertEquals(List.of(invitedActivity.getId(), participatingActivity.getId()),
+                secondFeed.stream().map(FullFeedActivityDTO::getId).toList());
+        verify(ActivityRepository).findAllWithDetailsByIdIn(List.of(invitedActivity.getId(), participatingActivity.getId()));
+        verify(ActivityRepository).findAllWithDetailsByIdIn(List.of(invitedActivity.getId()));
+        verify(ActivityRepository, times(2)).findAllWithDetailsByIdIn(any());
+    }
+
+    @Test
+    void toggleParticipation_ShouldReportNewStatusToFeedIndex() {
+        UUID userId = UUID.randomUUID();
+        Activity activity = createDummyActivity(UUID.randomUUID(), "Activity", OffsetDateTime.now().plusHours(1),
+                OffsetDateTime.now().plusHours(2));
+        User user = new User(userId, "friend", "pic.jpg", "Friend", "bio", "friend@email.com");
+        ActivityUser membership = new ActivityUser(new ActivityUsersId(activity.getId(), userId),
+                activity, user, ParticipationStatus.invited);
+
+        when(activityUserRepository.findByActivity_IdAndUser_Id(activity.getId(), userId)).thenReturn(Optional.of(membership));
+        when(ActivityRepository.findById(activity.getId())).thenReturn(Optional.of(activity));
+        when(ActivityRepository.tryAddParticipant(activity.getId(), 1)).thenReturn(1);
+        when(activityUserRepository.updateStatusIfCurrent(activity.getId(), userId,
+                ParticipationStatus.invited, ParticipationStatus.participating)).thenReturn(1);
+
+        try {
+            ActivityService.toggleParticipation(activity.getId(), userId);
+        } catch (Exception ignored) {
+            // Only the index delta matters here, not how the returned DTO is assembled
+        }
+
+        verify(feedIndexService, times(1)).onParticipationChanged(activity, userId, ParticipationStatus.participating);
+        // Every member's cached view lists the participants, so they are evicted by tag, not just the acting user's
+        verify(cacheEvictionHelper).evictTagged(List.of(CacheTags.activity(activity.getId())),
+                CacheNames.FULL_ACTIVITY_BY_ID, CacheNames.FEED_ACTIVITY_BY_ID);
+        verify(cacheEvictionHelper).evictTagged(List.of(CacheTags.activity(activity.getId()), CacheTags.user(userId)),
+                CacheNames.FEED_ACTIVITIES);
+    }
+
+    @Test
+    void toggleParticipation_ShouldThrowAndLeaveMembership_WhenNoSpotIsFree() {
+        UUID userId = UUID.randomUUID();
+        Activity activity = createDummyActivity(UUID.randomUUID(), "Activity", OffsetDateTime.now().plusHours(1),
+                OffsetDateTime.now().plusHours(2));
+        activity.setParticipantLimit(2);
+        User user = new User(userId, "friend", "pic.jpg", "Friend", "bio", "friend@email.com");
+        ActivityUser membership = new ActivityUser(new ActivityUsersId(activity.getId(), userId),
+                activity, user, ParticipationStatus.invited);
+
+        when(activityUserRepository.findByActivity_IdAndUser_Id(activity.getId(), userId)).thenReturn(Optional.of(membership));
+        when(ActivityRepository.tryAddParticipant(activity.getId(), 1)).thenReturn(0);
+
+        ActivityFullException exception = assertThrows(ActivityFullException.class,
+                () -> ActivityService.toggleParticipation(activity.getId(), userId));
+
+        assertEquals(2, exception.getParticipantLimit());
+        verify(activityUserRepository, never()).updateStatusIfCurrent(any(), any(), any(), any());
+        verify(activityUserRepository, never()).findByActivity_IdAndStatus(any(), any());
+        verify(feedIndexService, never()).onParticipationChanged(any(), any(), any());
+    }
+
+    @Test
+    void toggleParticipation_ShouldReturnSpot_WhenMembershipChangedConcurrently() {
+        UUID userId = UUID.randomUUID();
+        Activity activity = createDummyActivity(UUID.randomUUID(), "Activity", OffsetDateTime.now().plusHours(1),
+                OffsetDateTime.now().plusHours(2));
+        User user = new User(userId, "friend", "pic.jpg", "Friend", "bio", "friend@email.com");
+        ActivityUser membership = new ActivityUser(new ActivityUsersId(activity.getId(), userId),
+                activity, user, ParticipationStatus.invited);
+
+        when(activityUserRepository.findByActivity_IdAndUser_Id(activity.getId(), userId)).thenReturn(Optional.of(membership));
+        when(ActivityRepository.tryAddParticipant(activity.getId(), 1)).thenReturn(1);
+        when(activityUserRepository.updateStatusIfCurrent(activity.getId(), userId,
+                ParticipationStatus.invited, ParticipationStatus.participating)).thenReturn(0);
+
+        try {
+            ActivityService.toggleParticipation(activity.getId(), userId);
+        } catch (Exception ignored) {
+            // Only the counter bookkeeping matters here
+        }
+
+        verify(ActivityRepository, times(1)).adjustMemberCounts(activity.getId(), -1, 1);
+        verify(feedIndexService, never()).onParticipationChanged(any(), any(), any());
+    }
+
+    @Test
+    void toggleParticipation_ShouldFreeSpot_WhenLeaving() {
+        UUID userId = UUID.randomUUID();
+        Activity activity = createDummyActivity(UUID.randomUUID(), "Activity", OffsetDateTime.now().plusHours(1),
+                OffsetDateTime.now().plusHours(2));
+        User user = new User(userId, "friend", "pic.jpg", "Friend", "bio", "friend@email.com");
+        ActivityUser membership = new ActivityUser(new ActivityUsersId(activity.getId(), userId),
+                activity, user, ParticipationStatus.participating);
+
+        when(activityUserRepository.findByActivity_IdAndUser_Id(activity.getId(), userId)).thenReturn(Optional.of(membership));
+        when(activityUserRepository.updateStatusIfCurrent(activity.getId(), userId,
+                ParticipationStatus.participating, ParticipationStatus.invited)).thenReturn(1);
+
+        try {
+            ActivityService.toggleParticipation(activity.getId(), userId);
+        } catch (Exception ignored) {
+            // Only the counter bookkeeping matters here
+        }
+
+        verify(ActivityRepository, times(1)).adjustMemberCounts(activity.getId(), -1, 1);
+        verify(ActivityRepository, never()).tryAddParticipant(any(), anyInt());
+        verify(feedIndexService, times(1)).onParticipationChanged(activity, userId, ParticipationStatus.invited);
+    }
+
+    @Test
+    void autoJoinUserToActivity_ShouldThrow_WhenNewParticipantFindsActivityFull() {
+        UUID userId = UUID.randomUUID();
+        Activity activity = createDummyActivity(UUID.randomUUID(), "Activity", OffsetDateTime.now().plusHours(1),
+                OffsetDateTime.now().plusHours(2));
+        activity.setParticipantLimit(1);
+        User user = new User(userId, "friend", "pic.jpg", "Friend", "bio", "friend@email.com");
+
+        when(activityUserRepository.findById(new ActivityUsersId(activity.getId(), userId))).thenReturn(Optional.empty());
+        when(userRepository.findById(userId)).thenReturn(Optional.of(user));
+        when(ActivityRepository.findById(activity.getId())).thenReturn(Optional.of(activity));
+        when(ActivityRepository.tryAddParticipant(activity.getId(), 0)).thenReturn(0);
+
+        assertThrows(ActivityFullException.class, () -> ActivityService.autoJoinUserToActivity(activity.getId(), userId));
+
+        verify(activityUserRepository, never()).save(any());
+    }
+
+    @Test
+    void getParticipantCountByStatus_ShouldReadCounterWithoutLoadingMemberships() {
+        UUID activityId = UUID.randomUUID();
+        when(ActivityRepository.findParticipantCountById(activityId)).thenReturn(Optional.of(7));
+        when(ActivityRepository.findInvitedCountById(activityId)).thenReturn(Optional.of(3));
+
+        assertEquals(7, ActivityService.getParticipantCountByStatus(activityId, ParticipationStatus.participating));
+        assertEquals(3, ActivityService.getParticipantCountByStatus(activityId, ParticipationStatus.invited));
+        verify(activityUserRepository, never()).findByActivity_IdAndStatus(any(), any());
+    }
+
+    @Test
+    void getFeedActivitiesPage_ShouldMergeSourcesInStartTimeOrderAndReturnCursor() {
+        UUID requestingUserId = UUID.randomUUID();
+        User requestingUser = new User(requestingUserId, "requester", "pic.jpg", "Requester", "bio", "requester@email.com");
+        OffsetDateTime now = OffsetDateTime.now();
+
+        Activity owned = createDummyActivity(UUID.randomUUID(), "Owned", now.plusHours(2), now.plusHours(3));
+        owned.setCreator(requestingUser);
+        Activity invitedFirst = createDummyActivity(UUID.randomUUID(), "Invited first", now.plusHours(1), now.plusHours(2));
+        Activity invitedLast = createDummyActivity(UUID.randomUUID(), "Invited last", now.plusHours(3), now.plusHours(4));
+
+        when(activityUserRepository.findLiveByUserIdAfterCursor(eq(requestingUserId), any(), any(), any(), any(), any(), anyBoolean(), any()))
+                .thenReturn(List.of(
+                        new ActivityUser(new ActivityUsersId(invitedFirst.getId(), requestingUserId), invitedFirst, requestingUser, ParticipationStatus.invited),
+                        new ActivityUser(new ActivityUsersId(invitedLast.getId(), requestingUserId), invitedLast, requestingUser, ParticipationStatus.invited)));
+        when(ActivityRepository.findLiveByCreatorIdAfterCursor(eq(requestingUserId), any(), any(), any(), any(), anyBoolean(), any()))
+                .thenReturn(List.of(owned));
+        when(userRepository.findAllById(any())).thenReturn(List.of(requestingUser, invitedFirst.getCreator(), invitedLast.getCreator()));
+
+        FeedActivitiesPageDTO page = ActivityService.getFeedActivitiesPage(requestingUserId, null, 2);
+
+        assertEquals(List.of(invitedFirst.getId(), owned.getId()),
+                page.getActivities().stream().map(FullFeedActivityDTO::getId).toList());
+        assertTrue(page.isHasMore());
+        assertEquals(new FeedCursor(owned.getStartTime(), owned.getId()).encode(), page.getNextCursor());
+    }
+
+    @Test
+    void getFeedActivitiesPage_ShouldRejectMalformedCursor() {
+        assertThrows(IllegalArgumentException.class,
+                () -> ActivityService.getFeedActivitiesPage(UUID.randomUUID(), "not-a-cursor", 10));
+    }
 }
@@ -0,0 +1,116 @@
+package com.danielagapov.spawn.ServiceTests;
+
+import com.danielagapov.spawn.user.api.dto.BaseUserDTO;
+import com.danielagapov.spawn.user.internal.domain.User;
+import com.danielagapov.spawn.user.internal.repositories.IUserRepository;
+import com.danielagapov.spawn.user.internal.services.BaseUserLoader;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.*;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for BaseUserLoader's batching and per-request identity map
+ */
+@ExtendWith(MockitoExtension.class)
+class BaseUserLoaderTests {
+
+    @Mock
+    private IUserRepository userRepository;
+
+    private BaseUserLoader loader;
+
+    @BeforeEach
+    void setUp() {
+        loader = new BaseUserLoader(userRepository);
+        ReflectionTestUtils.setField(loader, "adminUsername", "admin");
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    private static User user(String username) {
+        return new User(UUID.randomUUID(), username, "pic.jpg", username, "bio", username + "@email.com");
+    }
+
+    @Test
+    void getBaseUsersByIds_ShouldDedupeIdsIntoOneQueryAndSkipMissingUsers() {
+        User alice = user("alice");
+        UUID missingId = UUID.randomUUID();
+        when(userRepository.findAllById(any())).thenReturn(List.of(alice));
+
+        Map<UUID, BaseUserDTO> users = loader.getBaseUsersByIds(Arrays.asList(alice.getId(), alice.getId(), missingId, null));
+
+        assertEquals(Set.of(alice.getId()), users.keySet());
+        assertEquals("alice", users.get(alice.getId()).getUsername());
+        verify(userRepository, times(1)).findAllById(List.of(alice.getId(), missingId));
+    }
+
+    @Test
+    void getBaseUsersByIds_ShouldReuseRequestIdentityMapAcrossCalls() {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        User alice = user("alice");
+        User bob = user("bob");
+        UUID missingId = UUID.randomUUID();
+        when(userRepository.findAllById(any())).thenReturn(List.of(alice)).thenReturn(List.of(bob));
+
+        BaseUserDTO first = loader.getBaseUsersByIds(List.of(alice.getId(), missingId)).get(alice.getId());
+        Map<UUID, BaseUserDTO> second = loader.getBaseUsersByIds(List.of(alice.getId(), bob.getId(), missingId));
+
+        // Alice is served from the identity map as the same instance, and the missing ID is not queried again
+        assertSame(first, second.get(alice.getId()));
+        assertEquals(Set.of(alice.getId(), bob.getId()), second.keySet());
+        verify(userRepository).findAllById(List.of(alice.getId(), missingId));
+        verify(userRepository).findAllById(List.of(bob.getId()));
+        verifyNoMoreInteractions(userRepository);
+    }
+
+    @Test
+    void prime_ShouldServePrimedUsersWithoutQuerying() {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        User alice = user("alice");
+
+        loader.prime(List.of(alice));
+        Map<UUID, BaseUserDTO> users = loader.getBaseUsersByIds(List.of(alice.getId()));
+
+        assertEquals("alice", users.get(alice.getId()).getUsername());
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void getVisibleBaseUsersByIds_ShouldHideAdminUser() {
+        User alice = user("alice");
+        User admin = user("admin");
+        when(userRepository.findAllById(any())).thenReturn(List.of(alice, admin));
+
+        Map<UUID, BaseUserDTO> users = loader.getVisibleBaseUsersByIds(List.of(alice.getId(), admin.getId()));
+
+        assertEquals(Set.of(alice.getId()), users.keySet());
+    }
+
+    @Test
+    void getBaseUsersByIds_ShouldSplitLargeLookupsIntoChunks() {
+        List<UUID> userIds = IntStream.range(0, 1200).mapToObj(i -> UUID.randomUUID()).toList();
+        when(userRepository.findAllById(anyList())).thenReturn(List.of());
+
+        loader.getBaseUsersByIds(userIds);
+
+        verify(userRepository, times(3)).findAllById(anyList());
+    }
+}
@@ -17,6 +17,7 @@ import com.danielagapov.spawn.shared.util.CacheEvictionHelper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.*;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataAccessException;
 
 import java.util.*;
@@ -32,6 +33,7 @@ public class BlockedUserServiceTests {
     @Mock private IFriendshipRepository friendshipRepository;
     @Mock private ILogger logger;
     @Mock private CacheEvictionHelper cacheEvictionHelper;
+    @Mock private ApplicationEventPublisher eventPublisher;
 
     @InjectMocks private BlockedUserService blockedUserService;
 
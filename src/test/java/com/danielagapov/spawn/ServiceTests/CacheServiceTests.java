@@ -5,8 +5,12 @@ import com.danielagapov.spawn.activity.api.IActivityService;
 import com.danielagapov.spawn.activity.internal.services.IActivityTypeService;
 import com.danielagapov.spawn.analytics.internal.services.CacheService;
 import com.danielagapov.spawn.analytics.internal.services.CacheType;
+import com.danielagapov.spawn.analytics.internal.services.IClientCacheVersionStore;
+import com.danielagapov.spawn.analytics.internal.services.IClientCacheVersionStore.CategoryVersion;
 import com.danielagapov.spawn.shared.config.CacheValidationResponseDTO;
+import com.danielagapov.spawn.shared.util.CacheEvictionHelper;
 import com.danielagapov.spawn.shared.util.UserStatus;
+import com.danielagapov.spawn.social.api.dto.FetchFriendRequestDTO;
 import com.danielagapov.spawn.social.internal.services.IFriendRequestService;
 import com.danielagapov.spawn.user.internal.domain.User;
 import com.danielagapov.spawn.user.internal.repositories.IUserRepository;
@@ -25,10 +29,13 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
 
+import java.time.Duration;
 import java.time.Instant;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -73,9 +80,15 @@ class CacheServiceTests {
     @Mock
     private Cache cache;
 
+    @Mock
+    private CacheEvictionHelper cacheEvictionHelper;
+
     @Mock
     private IRecentlySpawnedService recentlySpawnedService;
 
+    @Mock
+    private IClientCacheVersionStore versionStore;
+
     private CacheService cacheService;
     private ObjectMapper objectMapper;
     private User testUser;
@@ -95,7 +108,11 @@ class CacheServiceTests {
             userInterestService,
             userSocialMediaService,
             cacheManager,
-            recentlySpawnedService
+            cacheEvictionHelper,
+            recentlySpawnedService,
+            versionStore,
+            Runnable::run,
+            Duration.ofSeconds(2)
         );
 
         testUserId = UUID.randomUUID();
@@ -410,6 +427,146 @@ class CacheServiceTests {
         }
     }
 
+    @Nested
+    @DisplayName("Versioned Cache Validation Tests")
+    class VersionedCacheValidationTests {
+
+        private final String category = CacheType.FRIEND_REQUESTS.getKey();
+
+        @Test
+        @DisplayName("Should not invalidate when the client is at the server version")
+        void shouldNotInvalidateWhenVersionsMatch() {
+            // Given
+            when(userRepository.findById(testUserId)).thenReturn(Optional.of(testUser));
+            when(versionStore.getVersions(eq(testUserId), any()))
+                .thenReturn(Map.of(category, new CategoryVersion(42L, 10L)));
+
+            // When
+            Map<String, CacheValidationResponseDTO> response =
+                cacheService.validateCache(testUserId, null, Map.of(category, 42L));
+
+            // Then
+            CacheValidationResponseDTO validation = response.get(category);
+            assertThat(validation.isInvalidate()).isFalse();
+            assertThat(validation.getVersion()).isEqualTo(42L);
+            verify(friendRequestService, never()).getIncomingFetchFriendRequestsByUserId(any());
+        }
+
+        @Test
+        @DisplayName("Should return only changed items and removed IDs when the log covers the client version")
+        void shouldReturnDeltaWhenLogCoversClientVersion() throws Exception {
+            // Given
+            UUID changedId = UUID.randomUUID();
+            UUID unchangedId = UUID.randomUUID();
+            UUID removedId = UUID.randomUUID();
+            when(userRepository.findById(testUserId)).thenReturn(Optional.of(testUser));
+            when(versionStore.getVersions(eq(testUserId), any()))
+                .thenReturn(Map.of(category, new CategoryVersion(45L, 10L)));
+            when(versionStore.getChangedSince(testUserId, category, 42L))
+                .thenReturn(Set.of(changedId, removedId));
+            when(friendRequestService.getIncomingFetchFriendRequestsByUserId(testUserId)).thenReturn(List.of(
+                new FetchFriendRequestDTO(changedId, null, 0),
+                new FetchFriendRequestDTO(unchangedId, null, 0)));
+
+            // When
+            Map<String, CacheValidationResponseDTO> response =
+                cacheService.validateCache(testUserId, null, Map.of(category, 42L));
+
+            // Then
+            CacheValidationResponseDTO validation = response.get(category);
+            assertThat(validation.isInvalidate()).isTrue();
+            assertThat(validation.isDelta()).isTrue();
+            assertThat(validation.getVersion()).isEqualTo(45L);
+            assertThat(validation.getRemovedIds()).containsExactly(removedId);
+            List<?> items = objectMapper.readValue(validation.getUpdatedItems(), List.class);
+            assertThat(items).hasSize(1);
+            assertThat(((Map<?, ?>) items.get(0)).get("id")).isEqualTo(changedId.toString());
+        }
+
+        @Test
+        @DisplayName("Should return the whole category when the client version is below the log floor")
+        void shouldReturnFullPayloadBelowFloor() throws Exception {
+            // Given
+            when(userRepository.findById(testUserId)).thenReturn(Optional.of(testUser));
+            when(versionStore.getVersions(eq(testUserId), any()))
+                .thenReturn(Map.of(category, new CategoryVersion(45L, 20L)));
+            when(friendRequestService.getIncomingFetchFriendRequestsByUserId(testUserId)).thenReturn(List.of(
+                new FetchFriendRequestDTO(UUID.randomUUID(), null, 0),
+                new FetchFriendRequestDTO(UUID.randomUUID(), null, 0)));
+
+            // When
+            Map<String, CacheValidationResponseDTO> response =
+                cacheService.validateCache(testUserId, null, Map.of(category, 12L));
+
+            // Then
+            CacheValidationResponseDTO validation = response.get(category);
+            assertThat(validation.isInvalidate()).isTrue();
+            assertThat(validation.isDelta()).isFalse();
+            assertThat(validation.getVersion()).isEqualTo(45L);
+            assertThat(objectMapper.readValue(validation.getUpdatedItems(), List.class)).hasSize(2);
+            verify(versionStore, never()).getChangedSince(any(), anyString(), anyLong());
+        }
+
+        @Test
+        @DisplayName("Should attach the server version to timestamp answers of versioned categories")
+        void shouldAttachVersionToTimestampAnswers() {
+            // Given
+            when(userRepository.findById(testUserId)).thenReturn(Optional.of(testUser));
+            when(versionStore.getVersions(eq(testUserId), any()))
+                .thenReturn(Map.of(category, new CategoryVersion(7L, 0L)));
+            when(friendRequestService.getLatestFriendRequestTimestamp(testUserId)).thenReturn(null);
+            Map<String, String> timestamps = new HashMap<>();
+            timestamps.put(category, getTimestamp(Instant.now()));
+
+            // When
+            Map<String, CacheValidationResponseDTO> response = cacheService.validateCache(testUserId, timestamps, null);
+
+            // Then
+            assertThat(response.get(category).isInvalidate()).isFalse();
+            assertThat(response.get(category).getVersion()).isEqualTo(7L);
+        }
+    }
+
+    @Nested
+    @DisplayName("Parallel Validation Tests")
+    class ParallelValidationTests {
+
+        @Test
+        @DisplayName("Should answer a category that misses its deadline with invalidate and no data")
+        void shouldAnswerSlowCategoryWithoutData() {
+            ExecutorService executor = Executors.newFixedThreadPool(4);
+            try {
+                // Given
+                CacheService parallelCacheService = new CacheService(userRepository, userService, activityService,
+                    activityTypeService, friendRequestService, objectMapper, userStatsService, userInterestService,
+                    userSocialMediaService, cacheManager, cacheEvictionHelper, recentlySpawnedService, versionStore, executor,
+                    Duration.ofMillis(100));
+                when(userRepository.findById(testUserId)).thenReturn(Optional.of(testUser));
+                when(friendRequestService.getLatestFriendRequestTimestamp(testUserId)).thenAnswer(invocation -> {
+                    Thread.sleep(2_000);
+                    return null;
+                });
+                Map<String, String> timestamps = new HashMap<>();
+                timestamps.put(CacheType.FRIEND_REQUESTS.getKey(), getTimestamp(Instant.now()));
+                timestamps.put(CacheType.PROFILE_PICTURE.getKey(), getTimestamp(Instant.now()));
+
+                // When
+                long start = System.nanoTime();
+                Map<String, CacheValidationResponseDTO> response = parallelCacheService.validateCache(testUserId, timestamps);
+                long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+                // Then
+                assertThat(elapsedMillis).isLessThan(1_000);
+                CacheValidationResponseDTO slow = response.get(CacheType.FRIEND_REQUESTS.getKey());
+                assertThat(slow.isInvalidate()).isTrue();
+                assertThat(slow.getUpdatedItems()).isNull();
+                assertThat(response.get(CacheType.PROFILE_PICTURE.getKey()).isInvalidate()).isFalse();
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+    }
+
     @Nested
     @DisplayName("Profile Stats Cache Validation Tests")
     class ProfileStatsCacheValidationTests {
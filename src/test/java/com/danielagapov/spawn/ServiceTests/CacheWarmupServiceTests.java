@@ -0,0 +1,137 @@
+package com.danielagapov.spawn.ServiceTests;
+
+import com.danielagapov.spawn.activity.api.IActivityService;
+import com.danielagapov.spawn.activity.internal.services.IActivityTypeService;
+import com.danielagapov.spawn.analytics.internal.services.CacheWarmupService;
+import com.danielagapov.spawn.analytics.internal.services.InMemoryRecentSessionStore;
+import com.danielagapov.spawn.shared.config.CacheWarmupConfig;
+import com.danielagapov.spawn.shared.events.UserLifecycleEvents.UserSessionStartedEvent;
+import com.danielagapov.spawn.shared.util.UserStatus;
+import com.danielagapov.spawn.user.internal.domain.User;
+import com.danielagapov.spawn.user.internal.repositories.IUserRepository;
+import com.danielagapov.spawn.user.internal.services.IUserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for CacheWarmupService's session and startup warm-ups
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Cache Warmup Service Tests")
+class CacheWarmupServiceTests {
+
+    @Mock
+    private IActivityService activityService;
+
+    @Mock
+    private IActivityTypeService activityTypeService;
+
+    @Mock
+    private IUserService userService;
+
+    @Mock
+    private IUserRepository userRepository;
+
+    private InMemoryRecentSessionStore sessionStore;
+    private CacheWarmupConfig config;
+    private CacheWarmupService cacheWarmupService;
+
+    @BeforeEach
+    void setUp() {
+        sessionStore = new InMemoryRecentSessionStore();
+        config = new CacheWarmupConfig();
+        config.setUsersPerSecond(1_000);
+        cacheWarmupService = new CacheWarmupService(activityService, activityTypeService, userService,
+                userRepository, sessionStore, config);
+        lenient().when(activityService.streamFeedActivities(any())).thenReturn(consumer -> { });
+    }
+
+    private static User user(UUID id) {
+        User user = new User();
+        user.setId(id);
+        return user;
+    }
+
+    @Test
+    @DisplayName("Should warm a user's hot caches once per session interval")
+    void shouldWarmOncePerSessionInterval() {
+        UUID userId = UUID.randomUUID();
+        when(userService.getUserEntityByUsername("alice")).thenReturn(user(userId));
+
+        cacheWarmupService.handleUserSessionStartedEvent(new UserSessionStartedEvent("alice"));
+        cacheWarmupService.handleUserSessionStartedEvent(new UserSessionStartedEvent("alice"));
+
+        verify(activityService, times(1)).streamFeedActivities(userId);
+        verify(activityTypeService, times(1)).getActivityTypesByUserId(userId);
+        verify(userService, times(1)).getLimitedRecommendedFriendsForUserId(userId);
+        assertThat(sessionStore.getMostRecent(10)).containsExactly(userId);
+    }
+
+    @Test
+    @DisplayName("Should resolve email subjects of users without a username")
+    void shouldResolveEmailSubjects() {
+        UUID userId = UUID.randomUUID();
+        when(userService.getUserByEmail("alice@example.com")).thenReturn(user(userId));
+
+        cacheWarmupService.handleUserSessionStartedEvent(new UserSessionStartedEvent("alice@example.com"));
+
+        verify(activityService).streamFeedActivities(userId);
+        verify(userService, never()).getUserEntityByUsername(any());
+    }
+
+    @Test
+    @DisplayName("Should keep warming after one user's caches fail to load")
+    void shouldWarmRecentSessionsOnStartupDespiteFailures() {
+        UUID older = UUID.randomUUID();
+        UUID newer = UUID.randomUUID();
+        sessionStore.recordSession(older, Instant.now().minusSeconds(60));
+        sessionStore.recordSession(newer, Instant.now());
+        when(activityService.streamFeedActivities(newer)).thenThrow(new RuntimeException("db down"));
+
+        cacheWarmupService.warmRecentlyActiveUsers();
+
+        InOrder inOrder = inOrder(activityService);
+        inOrder.verify(activityService).streamFeedActivities(newer);
+        inOrder.verify(activityService).streamFeedActivities(older);
+        verify(activityTypeService).getActivityTypesByUserId(older);
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    @DisplayName("Should fall back to recently updated users when no sessions are recorded")
+    void shouldFallBackToRecentlyUpdatedUsers() {
+        UUID userId = UUID.randomUUID();
+        config.setStartupUsers(20);
+        when(userRepository.findByStatusOrderByLastUpdatedDesc(UserStatus.ACTIVE, Limit.of(20)))
+                .thenReturn(List.of(user(userId)));
+
+        cacheWarmupService.warmRecentlyActiveUsers();
+
+        verify(activityService).streamFeedActivities(userId);
+    }
+
+    @Test
+    @DisplayName("Should do nothing when disabled")
+    void shouldDoNothingWhenDisabled() {
+        config.setEnabled(false);
+
+        cacheWarmupService.handleUserSessionStartedEvent(new UserSessionStartedEvent("alice"));
+        cacheWarmupService.warmRecentlyActiveUsers();
+
+        verifyNoInteractions(activityService, activityTypeService, userService, userRepository);
+    }
+}
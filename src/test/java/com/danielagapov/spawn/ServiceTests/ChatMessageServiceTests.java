@@ -1,6 +1,7 @@
 package com.danielagapov.spawn.ServiceTests;
 
 import com.danielagapov.spawn.chat.api.dto.ChatMessageDTO;
+import com.danielagapov.spawn.chat.api.dto.ChatPreviewDTO;
 import com.danielagapov.spawn.chat.api.dto.FullActivityChatMessageDTO;
 import com.danielagapov.spawn.user.api.dto.BaseUserDTO;
 import com.danielagapov.spawn.user.api.dto.UserDTO;
@@ -20,6 +21,7 @@ import com.danielagapov.spawn.user.internal.repositories.IUserRepository;
 import com.danielagapov.spawn.chat.internal.services.ChatMessageService;
 import com.danielagapov.spawn.activity.api.IActivityService;
 import com.danielagapov.spawn.user.internal.services.IUserService;
+import com.danielagapov.spawn.shared.util.CacheEvictionHelper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Order;
 import org.junit.jupiter.api.Test;
@@ -66,6 +68,9 @@ public class ChatMessageServiceTests {
     @Mock
     private ApplicationEventPublisher eventPublisher;
 
+    @Mock
+    private CacheEvictionHelper cacheEvictionHelper;
+
     @InjectMocks
     private ChatMessageService chatMessageService;
 
@@ -554,4 +559,41 @@ public class ChatMessageServiceTests {
         assertEquals(ActivityId, fullDto.getActivityId());
         assertEquals(baseUserDTO, fullDto.getSenderUser());
     }
+
+    @Test
+    void getChatPreviewsByActivityIds_ShouldGroupWindowedRowsWithTotalsAndLikes() {
+        UUID activityA = UUID.randomUUID();
+        UUID activityB = UUID.randomUUID();
+        UUID senderId = UUID.randomUUID();
+        UUID likerId = UUID.randomUUID();
+        UUID newestA = UUID.randomUUID();
+        UUID olderA = UUID.randomUUID();
+        UUID onlyB = UUID.randomUUID();
+        Instant now = Instant.now();
+        List<UUID> activityIds = List.of(activityA, activityB);
+
+        when(chatMessageRepository.findLatestChatMessageRowsByActivityIds(activityIds, 2)).thenReturn(List.of(
+                new Object[]{newestA, "newest", now, senderId, activityA, 7L},
+                new Object[]{olderA, "older", now.minusSeconds(5), senderId, activityA, 7L},
+                new Object[]{onlyB, "only", now, senderId, activityB, 1L}));
+        when(chatMessageLikesRepository.findUserIdsByChatMessageIds(List.of(newestA, olderA, onlyB)))
+                .thenReturn(List.<Object[]>of(new Object[]{newestA, likerId}));
+
+        List<ChatPreviewDTO> previews = chatMessageService.getChatPreviewsByActivityIds(activityIds, 2);
+
+        assertEquals(2, previews.size());
+        ChatPreviewDTO previewA = previews.get(0);
+        assertEquals(activityA, previewA.getActivityId());
+        assertEquals(7, previewA.getTotalMessageCount());
+        assertEquals(List.of(newestA, olderA), previewA.getLatestMessages().stream().map(ChatMessageDTO::getId).toList());
+        assertEquals(List.of(likerId), previewA.getLatestMessages().get(0).getLikedByUserIds());
+        assertEquals(1, previews.get(1).getTotalMessageCount());
+        verify(chatMessageRepository, never()).findChatMessageRowsByActivityIds(any());
+    }
+
+    @Test
+    void getChatPreviewsByActivityIds_ShouldSkipQueries_WhenNoActivities() {
+        assertTrue(chatMessageService.getChatPreviewsByActivityIds(List.of(), 3).isEmpty());
+        verifyNoInteractions(chatMessageRepository, chatMessageLikesRepository);
+    }
 }
@@ -0,0 +1,177 @@
+package com.danielagapov.spawn.ServiceTests;
+
+import com.danielagapov.spawn.activity.internal.domain.Activity;
+import com.danielagapov.spawn.activity.internal.domain.ActivityUser;
+import com.danielagapov.spawn.activity.internal.domain.ActivityUsersId;
+import com.danielagapov.spawn.activity.internal.domain.Location;
+import com.danielagapov.spawn.activity.internal.repositories.IActivityRepository;
+import com.danielagapov.spawn.activity.internal.repositories.IActivityUserRepository;
+import com.danielagapov.spawn.activity.internal.services.FeedIndexEntry;
+import com.danielagapov.spawn.activity.internal.services.FeedIndexService;
+import com.danielagapov.spawn.activity.internal.services.InMemoryFeedIndexStore;
+import com.danielagapov.spawn.shared.exceptions.Logger.ILogger;
+import com.danielagapov.spawn.shared.util.ParticipationStatus;
+import com.danielagapov.spawn.user.internal.domain.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for FeedIndexService, run against the in-memory index store
+ * so deltas and range scans are exercised end to end.
+ */
+@ExtendWith(MockitoExtension.class)
+class FeedIndexServiceTests {
+
+    @Mock
+    private IActivityRepository activityRepository;
+
+    @Mock
+    private IActivityUserRepository activityUserRepository;
+
+    @Mock
+    private ILogger logger;
+
+    private InMemoryFeedIndexStore store;
+    private FeedIndexService feedIndexService;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        store = new InMemoryFeedIndexStore();
+        feedIndexService = new FeedIndexService(store, activityRepository,
+                activityUserRepository, logger);
+        user = new User(UUID.randomUUID(), "user", "pic.jpg", "User", "bio", "user@email.com");
+    }
+
+    private Activity activity(User creator, OffsetDateTime start, OffsetDateTime end) {
+        return new Activity(UUID.randomUUID(), "Activity", start, end,
+                new Location(UUID.randomUUID(), "Park", 40.7128, -74.0060), "note", creator, "icon");
+    }
+
+    private User otherUser() {
+        return new User(UUID.randomUUID(), "other", "pic.jpg", "Other", "bio", "other@email.com");
+    }
+
+    @Test
+    void getLiveEntries_ShouldBuildIndexOnceAndDropExpiredActivities() {
+        OffsetDateTime now = OffsetDateTime.now();
+        Activity later = activity(user, now.plusHours(5), now.plusHours(6));
+        Activity expired = activity(user, now.minusHours(3), now.minusHours(2));
+        Activity invited = activity(otherUser(), now.plusHours(1), now.plusHours(2));
+        ActivityUser membership = new ActivityUser(new ActivityUsersId(invited.getId(), user.getId()),
+                invited, user, ParticipationStatus.invited);
+
+        when(activityRepository.findByCreatorId(user.getId())).thenReturn(List.of(later, expired));
+        when(activityUserRepository.findByUserIdAndStatusInWithActivity(eq(user.getId()), any())).thenReturn(List.of(membership));
+
+        List<FeedIndexEntry> first = feedIndexService.getLiveEntries(user.getId());
+        List<FeedIndexEntry> second = feedIndexService.getLiveEntries(user.getId());
+
+        assertEquals(List.of(invited.getId(), later.getId()), first.stream().map(FeedIndexEntry::activityId).toList());
+        assertEquals(FeedIndexEntry.Role.INVITED, first.get(0).role());
+        assertEquals(FeedIndexEntry.Role.OWNED, first.get(1).role());
+        assertEquals(first, second);
+        verify(activityRepository, times(1)).findByCreatorId(user.getId());
+    }
+
+    @Test
+    void onActivityCreated_ShouldAddEntryToIndexedCreatorAndInvitees() {
+        User invitee = otherUser();
+        OffsetDateTime now = OffsetDateTime.now();
+        Activity created = activity(user, now.plusHours(1), now.plusHours(2));
+
+        // Build empty indexes for both users first
+        feedIndexService.getLiveEntries(user.getId());
+        feedIndexService.getLiveEntries(invitee.getId());
+
+        feedIndexService.onActivityCreated(created, List.of(invitee.getId()));
+
+        assertEquals(FeedIndexEntry.Role.OWNED, feedIndexService.getLiveEntries(user.getId()).get(0).role());
+        assertEquals(FeedIndexEntry.Role.INVITED, feedIndexService.getLiveEntries(invitee.getId()).get(0).role());
+    }
+
+    @Test
+    void onParticipationChanged_ShouldMoveAndRemoveEntries() {
+        OffsetDateTime now = OffsetDateTime.now();
+        Activity activity = activity(otherUser(), now.plusHours(1), now.plusHours(2));
+        feedIndexService.getLiveEntries(user.getId());
+
+        feedIndexService.onParticipationChanged(activity, user.getId(), ParticipationStatus.invited);
+        feedIndexService.onParticipationChanged(activity, user.getId(), ParticipationStatus.participating);
+
+        List<FeedIndexEntry> entries = feedIndexService.getLiveEntries(user.getId());
+        assertEquals(1, entries.size());
+        assertEquals(FeedIndexEntry.Role.PARTICIPATING, entries.get(0).role());
+
+        feedIndexService.onParticipationChanged(activity, user.getId(), ParticipationStatus.notInvited);
+
+        assertTrue(feedIndexService.getLiveEntries(user.getId()).isEmpty());
+    }
+
+    @Test
+    void onActivityUpdated_ShouldReorderEntriesByNewStartTime() {
+        OffsetDateTime now = OffsetDateTime.now();
+        Activity first = activity(user, now.plusHours(1), now.plusHours(2));
+        Activity second = activity(user, now.plusHours(3), now.plusHours(4));
+        when(activityRepository.findByCreatorId(user.getId())).thenReturn(List.of(first, second));
+        feedIndexService.getLiveEntries(user.getId());
+
+        first.setStartTime(now.plusHours(5));
+        first.setEndTime(now.plusHours(6));
+        feedIndexService.onActivityUpdated(first, List.of());
+
+        assertEquals(List.of(second.getId(), first.getId()),
+                feedIndexService.getLiveEntries(user.getId()).stream().map(FeedIndexEntry::activityId).toList());
+    }
+
+    @Test
+    void onActivityDeleted_ShouldRemoveEntryForAffectedUsers() {
+        OffsetDateTime now = OffsetDateTime.now();
+        Activity activity = activity(user, now.plusHours(1), now.plusHours(2));
+        when(activityRepository.findByCreatorId(user.getId())).thenReturn(List.of(activity));
+        when(activityRepository.findById(activity.getId())).thenReturn(Optional.of(activity));
+        feedIndexService.getLiveEntries(user.getId());
+
+        Set<UUID> feedUserIds = feedIndexService.getFeedUserIds(activity.getId());
+        feedIndexService.onActivityDeleted(activity.getId(), feedUserIds);
+
+        assertEquals(Set.of(user.getId()), feedUserIds);
+        assertTrue(feedIndexService.getLiveEntries(user.getId()).isEmpty());
+    }
+
+    @Test
+    void getLiveEntries_ShouldNotStoreIndexLoadedBeforeAConcurrentDelta() {
+        OffsetDateTime now = OffsetDateTime.now();
+        Activity invited = activity(otherUser(), now.plusHours(1), now.plusHours(2));
+        // The invite commits, and its delta runs, while the index is being loaded without it
+        when(activityRepository.findByCreatorId(user.getId())).thenAnswer(invocation -> {
+            feedIndexService.onParticipationChanged(invited, user.getId(), ParticipationStatus.invited);
+            return List.of();
+        }).thenReturn(List.of());
+        when(activityUserRepository.findByUserIdAndStatusInWithActivity(eq(user.getId()), any()))
+                .thenReturn(List.of())
+                .thenReturn(List.of(new ActivityUser(new ActivityUsersId(invited.getId(), user.getId()),
+                        invited, user, ParticipationStatus.invited)));
+
+        assertTrue(feedIndexService.getLiveEntries(user.getId()).isEmpty());
+        assertTrue(store.range(user.getId(), System.currentTimeMillis()).isEmpty());
+
+        assertEquals(List.of(invited.getId()),
+                feedIndexService.getLiveEntries(user.getId()).stream().map(FeedIndexEntry::activityId).toList());
+        assertTrue(store.range(user.getId(), System.currentTimeMillis()).isPresent());
+    }
+}
@@ -0,0 +1,152 @@
+package com.danielagapov.spawn.ServiceTests;
+
+import com.danielagapov.spawn.shared.events.FriendshipEvents.FriendshipCreatedEvent;
+import com.danielagapov.spawn.shared.events.FriendshipEvents.FriendshipRemovedEvent;
+import com.danielagapov.spawn.shared.events.UserLifecycleEvents.UserDeletingEvent;
+import com.danielagapov.spawn.social.internal.repositories.IFriendshipRepository;
+import com.danielagapov.spawn.user.internal.services.FriendGraph;
+import com.danielagapov.spawn.user.internal.services.FriendGraph.MutualCandidate;
+import com.danielagapov.spawn.user.internal.services.FriendGraphService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the in-memory friend graph and how FriendGraphService keeps its ranked candidates current
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Friend Graph Service Tests")
+class FriendGraphServiceTests {
+
+    @Mock
+    private IFriendshipRepository friendshipRepository;
+
+    private FriendGraphService friendGraphService;
+
+    private final UUID userId = UUID.randomUUID();
+    private final UUID friend1 = UUID.randomUUID();
+    private final UUID friend2 = UUID.randomUUID();
+    private final UUID friend3 = UUID.randomUUID();
+    private final UUID sharedByAll = UUID.randomUUID();
+    private final UUID sharedByTwo = UUID.randomUUID();
+    private final UUID sharedByOne = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        friendGraphService = new FriendGraphService(friendshipRepository, true);
+    }
+
+    private static Object[] pair(UUID userAId, UUID userBId) {
+        return new Object[]{userAId, userBId};
+    }
+
+    private void buildGraph() {
+        List<Object[]> rows = new ArrayList<>();
+        rows.add(pair(userId, friend1));
+        rows.add(pair(friend2, userId));
+        rows.add(pair(userId, friend3));
+        rows.add(pair(friend1, friend2));
+        rows.add(pair(friend1, sharedByAll));
+        rows.add(pair(friend2, sharedByAll));
+        rows.add(pair(sharedByAll, friend3));
+        rows.add(pair(friend1, sharedByTwo));
+        rows.add(pair(friend3, sharedByTwo));
+        rows.add(pair(friend2, sharedByOne));
+        when(friendshipRepository.findAllFriendshipPairs()).thenReturn(rows);
+        friendGraphService.rebuildGraph();
+    }
+
+    private List<MutualCandidate> candidates(UUID id) {
+        return friendGraphService.getRankedCandidates(id).orElseThrow();
+    }
+
+    @Test
+    @DisplayName("Should defer to the database until the graph is built")
+    void shouldReturnEmptyBeforeBuild() {
+        assertThat(friendGraphService.getRankedCandidates(userId)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should rank friends of friends by mutual friends, leaving out the user and their friends")
+    void shouldRankFriendsOfFriends() {
+        buildGraph();
+
+        assertThat(candidates(userId)).containsExactly(
+                new MutualCandidate(sharedByAll, 3),
+                new MutualCandidate(sharedByTwo, 2),
+                new MutualCandidate(sharedByOne, 1));
+    }
+
+    @Test
+    @DisplayName("Should keep only the best candidates when limited")
+    void shouldKeepBestCandidates() {
+        FriendGraph graph = new FriendGraph();
+        graph.addFriendship(userId, friend1);
+        graph.addFriendship(userId, friend2);
+        graph.addFriendship(friend1, sharedByOne);
+        graph.addFriendship(friend1, sharedByTwo);
+        graph.addFriendship(friend2, sharedByTwo);
+
+        assertThat(graph.rankCandidates(userId, 1)).containsExactly(new MutualCandidate(sharedByTwo, 2));
+        assertThat(graph.friendsOf(userId)).containsExactlyInAnyOrder(friend1, friend2);
+    }
+
+    @Test
+    @DisplayName("Should refresh the stored candidates of everyone a friendship change affects")
+    void shouldRefreshCandidatesOnFriendshipEvents() {
+        buildGraph();
+        assertThat(candidates(userId)).hasSize(3);
+        assertThat(candidates(sharedByOne)).extracting(MutualCandidate::userId).containsExactlyInAnyOrder(userId, friend1, sharedByAll);
+
+        // A new friend is no longer a candidate
+        friendGraphService.handleFriendshipCreatedEvent(new FriendshipCreatedEvent(userId, sharedByAll));
+        assertThat(candidates(userId)).extracting(MutualCandidate::userId).containsExactly(sharedByTwo, sharedByOne);
+
+        friendGraphService.handleFriendshipRemovedEvent(new FriendshipRemovedEvent(friend1, userId));
+        assertThat(candidates(userId)).extracting(MutualCandidate::userId).containsExactlyInAnyOrder(friend1, sharedByTwo, sharedByOne);
+
+        friendGraphService.handleUserDeletingEvent(new UserDeletingEvent(friend2));
+        assertThat(candidates(userId)).containsExactlyInAnyOrder(
+                new MutualCandidate(sharedByTwo, 1),
+                new MutualCandidate(friend1, 1));
+    }
+
+    @Test
+    @DisplayName("Should pick up friendships created on other nodes by polling")
+    void shouldPollCreatedFriendships() {
+        buildGraph();
+        UUID newFriend = UUID.randomUUID();
+        assertThat(candidates(newFriend)).isEmpty();
+        List<Object[]> created = new ArrayList<>();
+        created.add(pair(newFriend, friend3));
+        when(friendshipRepository.findFriendshipPairsCreatedSince(any(Instant.class))).thenReturn(created);
+
+        friendGraphService.pollCreatedFriendships();
+
+        assertThat(candidates(newFriend)).extracting(MutualCandidate::userId).containsExactlyInAnyOrder(userId, sharedByAll, sharedByTwo);
+        assertThat(candidates(userId)).extracting(MutualCandidate::userId).contains(newFriend);
+    }
+
+    @Test
+    @DisplayName("Should leave recommendations to the database when disabled")
+    void shouldDoNothingWhenDisabled() {
+        friendGraphService = new FriendGraphService(friendshipRepository, false);
+
+        friendGraphService.rebuildGraph();
+
+        assertThat(friendGraphService.getRankedCandidates(userId)).isEmpty();
+        verifyNoInteractions(friendshipRepository);
+    }
+}
@@ -2,6 +2,9 @@ package com.danielagapov.spawn.ServiceTests;
 
 import com.danielagapov.spawn.social.api.dto.CreateFriendRequestDTO;
 import com.danielagapov.spawn.social.api.dto.FetchFriendRequestDTO;
+import com.danielagapov.spawn.shared.events.ClientCacheEvents.FriendRequestChangedEvent;
+import com.danielagapov.spawn.shared.events.FriendRequestAcceptedNotificationEvent;
+import com.danielagapov.spawn.shared.events.FriendRequestNotificationEvent;
 import com.danielagapov.spawn.shared.exceptions.Base.BaseNotFoundException;
 import com.danielagapov.spawn.shared.exceptions.Base.BaseSaveException;
 import com.danielagapov.spawn.shared.exceptions.Logger.ILogger;
@@ -308,7 +311,10 @@ class FriendRequestServiceTests {
         verify(repository).deleteById(reverseRequestId);
 
         // Verify: Two notifications were published (both should be FriendRequestAcceptedNotificationEvent)
-        verify(eventPublisher, times(2)).publishEvent(any(Object.class));
+        verify(eventPublisher, times(2)).publishEvent(any(FriendRequestAcceptedNotificationEvent.class));
+
+        // Verify: Removing the accepted reverse request bumps both users' cached request lists
+        verify(eventPublisher).publishEvent(new FriendRequestChangedEvent(reverseRequestId, receiverId, senderId));
 
         // Verify: No new request was saved since we auto-accepted existing one
         verify(repository, never()).save(any(FriendRequest.class));
@@ -343,7 +349,10 @@ class FriendRequestServiceTests {
         verify(repository).save(any(FriendRequest.class));
 
         // Verify: Friend request notification was published (not acceptance notification)
-        verify(eventPublisher).publishEvent(any(Object.class));
+        verify(eventPublisher).publishEvent(any(FriendRequestNotificationEvent.class));
+
+        // Verify: The new request bumps both users' cached request lists
+        verify(eventPublisher).publishEvent(any(FriendRequestChangedEvent.class));
 
         // Verify: Recommended friends cache was evicted via helper
         verify(cacheEvictionHelper, times(1)).evictCacheForUsers(any(), any(), any()); // For both sender and receiver
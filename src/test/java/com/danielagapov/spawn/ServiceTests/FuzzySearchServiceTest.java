@@ -10,9 +10,13 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Function;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -360,4 +364,101 @@ public class FuzzySearchServiceTest {
         assertFalse(results3.isEmpty());
         assertTrue(results3.get(0).getSimilarityScore() > 0.7);
     }
-} 
\ No newline at end of file
+
+    @Test
+    void testTopResultsMatchFullRanking() {
+        // Keeping only the best results while scoring must give the head of the full ranking
+        List<TestUser> users = randomUsers(1_000);
+        config.setSimilarityThreshold(0.0);
+        config.setMaxFinalResults(users.size());
+        List<FuzzySearchService.SearchResult<TestUser>> fullRanking = fuzzySearchService.search(
+                "marta", users, TestUser::getName, TestUser::getUsername
+        );
+
+        config.setMaxFinalResults(10);
+        FuzzySearchService<TestUser> topTenService = new FuzzySearchService<>(config, logger, new JaroWinklerDistance());
+        List<FuzzySearchService.SearchResult<TestUser>> topTen = topTenService.search(
+                "marta", users, TestUser::getName, TestUser::getUsername
+        );
+
+        assertEquals(10, topTen.size());
+        for (int i = 0; i < topTen.size(); i++) {
+            assertSame(fullRanking.get(i).getItem(), topTen.get(i).getItem());
+            assertEquals(fullRanking.get(i).getRawScore(), topTen.get(i).getRawScore(), 1e-12);
+        }
+    }
+
+    @Test
+    void testParallelScoringMatchesSequential() {
+        List<TestUser> users = randomUsers(5_000);
+        config.setMaxFinalResults(25);
+        config.setParallelScoringThreshold(Integer.MAX_VALUE);
+        List<FuzzySearchService.SearchResult<TestUser>> sequential = fuzzySearchService.search(
+                "danil", users, TestUser::getName, TestUser::getUsername
+        );
+
+        config.setParallelScoringThreshold(100);
+        List<FuzzySearchService.SearchResult<TestUser>> parallel = fuzzySearchService.search(
+                "danil", users, TestUser::getName, TestUser::getUsername
+        );
+
+        assertEquals(sequential.size(), parallel.size());
+        for (int i = 0; i < sequential.size(); i++) {
+            assertSame(sequential.get(i).getItem(), parallel.get(i).getItem());
+        }
+    }
+
+    @Test
+    void testCacheIsBounded() {
+        config.setDistanceCacheSize(100);
+        FuzzySearchService<TestUser> boundedService = new FuzzySearchService<>(config, logger, new JaroWinklerDistance());
+
+        config.setMaxFinalResults(1_000);
+        boundedService.search("john", randomUsers(1_000), TestUser::getName, TestUser::getUsername);
+
+        assertTrue(boundedService.getCacheSize() > 0);
+        assertTrue(boundedService.getCacheSize() <= 100);
+    }
+
+    @Test
+    void testGroupedSearchMatchesSearchOfEachGroup() {
+        List<TestUser> users = randomUsers(600);
+        config.setMaxFinalResults(15);
+        Function<TestUser, Integer> group = user -> Math.floorMod(user.getUsername().hashCode(), 4);
+
+        for (String query : List.of("marta", "dan", "m")) {
+            Map<Integer, List<FuzzySearchService.SearchResult<TestUser>>> grouped = fuzzySearchService.searchGrouped(
+                    query, users, TestUser::getName, TestUser::getUsername, group
+            );
+
+            for (int key = 0; key < 4; key++) {
+                int groupKey = key;
+                List<TestUser> groupUsers = users.stream().filter(user -> group.apply(user) == groupKey).toList();
+                List<FuzzySearchService.SearchResult<TestUser>> separate = fuzzySearchService.search(
+                        query, groupUsers, TestUser::getName, TestUser::getUsername
+                );
+                List<FuzzySearchService.SearchResult<TestUser>> together = grouped.getOrDefault(key, List.of());
+
+                assertEquals(separate.size(), together.size());
+                for (int i = 0; i < separate.size(); i++) {
+                    assertSame(separate.get(i).getItem(), together.get(i).getItem());
+                    assertEquals(separate.get(i).getRawScore(), together.get(i).getRawScore(), 1e-12);
+                }
+            }
+        }
+    }
+
+    private static List<TestUser> randomUsers(int count) {
+        String[] first = {"Martha", "Marta", "Daniel", "Danielle", "Dan", "Maria", "Mark", "Martin", "Dana", "Mario"};
+        String[] last = {"Smith", "Agapov", "Jones", "Martinez", "Daniels", "Marsh", "Dunn", "Moore"};
+        Random random = new Random(7);
+        List<TestUser> users = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            String firstName = first[random.nextInt(first.length)];
+            String lastName = last[random.nextInt(last.length)];
+            users.add(new TestUser(firstName + " " + lastName,
+                    (firstName.charAt(0) + lastName + random.nextInt(1000)).toLowerCase()));
+        }
+        return users;
+    }
+}
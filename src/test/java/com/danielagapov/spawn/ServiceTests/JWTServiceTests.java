@@ -2,6 +2,7 @@ package com.danielagapov.spawn.ServiceTests;
 
 import com.danielagapov.spawn.auth.internal.services.IJWTService;
 import com.danielagapov.spawn.auth.internal.services.JWTService;
+import com.danielagapov.spawn.shared.events.UserLifecycleEvents.UserSessionStartedEvent;
 import com.danielagapov.spawn.shared.exceptions.Logger.ILogger;
 import com.danielagapov.spawn.shared.exceptions.Token.BadTokenException;
 import com.danielagapov.spawn.shared.exceptions.Token.TokenNotFoundException;
@@ -13,6 +14,7 @@ import org.junit.jupiter.api.*;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.core.userdetails.UserDetails;
 
 import static org.assertj.core.api.Assertions.*;
@@ -44,6 +46,9 @@ class JWTServiceTests {
     @Mock
     private HttpServletRequest httpServletRequest;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     private IJWTService jwtService;
 
     private static final String TEST_USERNAME = "testuser";
@@ -58,7 +63,7 @@ class JWTServiceTests {
         lenient().doNothing().when(logger).warn(anyString());
         lenient().doNothing().when(logger).error(anyString());
         
-        jwtService = new JWTService(logger, userService, TEST_SIGNING_SECRET);
+        jwtService = new JWTService(logger, userService, eventPublisher, TEST_SIGNING_SECRET);
     }
 
     @Nested
@@ -325,6 +330,9 @@ class JWTServiceTests {
             // Verify the new token is for the same user
             String extractedUsername = jwtService.extractUsername(newAccessToken);
             assertThat(extractedUsername).isEqualTo(TEST_USERNAME);
+
+            // The refresh starts a session, which warms the user's caches
+            verify(eventPublisher).publishEvent(new UserSessionStartedEvent(TEST_USERNAME));
         }
 
         @Test
@@ -0,0 +1,109 @@
+package com.danielagapov.spawn.ServiceTests;
+
+import com.danielagapov.spawn.shared.ports.ChatPort;
+import com.danielagapov.spawn.shared.ports.ModulePorts;
+import com.danielagapov.spawn.shared.ports.ModulePorts.PortCallStats;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.BeanFactory;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for ModulePorts' lazy port resolution and per-operation call stats
+ */
+@ExtendWith(MockitoExtension.class)
+class ModulePortsTests {
+
+    @Mock
+    private BeanFactory beanFactory;
+
+    @Mock
+    private ChatPort chatPort;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private ModulePorts modulePorts;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        modulePorts = new ModulePorts(beanFactory, meterRegistry);
+    }
+
+    @Test
+    void port_ShouldResolveImplementationLazilyAndOnlyOnce() {
+        UUID activityId = UUID.randomUUID();
+        when(beanFactory.getBean(ChatPort.class)).thenReturn(chatPort);
+        when(chatPort.getChatMessageIdsByActivityIds(anyCollection())).thenReturn(Map.of(activityId, List.of()));
+
+        ModulePorts.Port<ChatPort> port = modulePorts.port(ChatPort.class);
+        verifyNoInteractions(beanFactory);
+
+        port.call("getChatMessageIdsByActivityIds", p -> p.getChatMessageIdsByActivityIds(List.of(activityId)));
+        port.call("getChatMessageIdsByActivityIds", p -> p.getChatMessageIdsByActivityIds(List.of(activityId)));
+
+        verify(beanFactory, times(1)).getBean(ChatPort.class);
+        verify(chatPort, times(2)).getChatMessageIdsByActivityIds(List.of(activityId));
+    }
+
+    @Test
+    void call_ShouldCountCallsAndErrorsPerOperation() {
+        when(beanFactory.getBean(ChatPort.class)).thenReturn(chatPort);
+        when(chatPort.getChatMessagesByActivityIds(anyCollection()))
+                .thenReturn(List.of())
+                .thenThrow(new IllegalStateException("boom"));
+
+        ModulePorts.Port<ChatPort> port = modulePorts.port(ChatPort.class);
+        port.call("getChatMessagesByActivityIds", p -> p.getChatMessagesByActivityIds(List.of(UUID.randomUUID())));
+        assertThrows(IllegalStateException.class,
+                () -> port.call("getChatMessagesByActivityIds", p -> p.getChatMessagesByActivityIds(List.of(UUID.randomUUID()))));
+
+        PortCallStats stats = modulePorts.getCallStats().get("ChatPort.getChatMessagesByActivityIds");
+        assertNotNull(stats);
+        assertEquals(2, stats.calls());
+        assertEquals(1, stats.errors());
+        assertTrue(stats.maxMillis() >= stats.meanMillis());
+    }
+
+    @Test
+    void getCallStats_ShouldShareStatsAcrossHandlesForTheSamePort() {
+        when(beanFactory.getBean(ChatPort.class)).thenReturn(chatPort);
+
+        modulePorts.port(ChatPort.class).call("getChatMessagesByActivityIds", p -> p.getChatMessagesByActivityIds(List.of()));
+        modulePorts.port(ChatPort.class).call("getChatMessagesByActivityIds", p -> p.getChatMessagesByActivityIds(List.of()));
+
+        assertEquals(2, modulePorts.getCallStats().get("ChatPort.getChatMessagesByActivityIds").calls());
+    }
+
+    @Test
+    void call_ShouldPublishStatsAsMeters() {
+        when(beanFactory.getBean(ChatPort.class)).thenReturn(chatPort);
+        when(chatPort.getChatMessagesByActivityIds(anyCollection()))
+                .thenReturn(List.of())
+                .thenThrow(new IllegalStateException("boom"));
+
+        ModulePorts.Port<ChatPort> port = modulePorts.port(ChatPort.class);
+        port.call("getChatMessagesByActivityIds", p -> p.getChatMessagesByActivityIds(List.of()));
+        assertThrows(IllegalStateException.class,
+                () -> port.call("getChatMessagesByActivityIds", p -> p.getChatMessagesByActivityIds(List.of())));
+
+        FunctionTimer calls = meterRegistry.get("spawn.port.calls")
+                .tags("port", "ChatPort", "operation", "getChatMessagesByActivityIds").functionTimer();
+        assertEquals(2, calls.count());
+        assertEquals(1, meterRegistry.get("spawn.port.errors")
+                .tags("port", "ChatPort", "operation", "getChatMessagesByActivityIds").functionCounter().count());
+        assertNotNull(meterRegistry.get("spawn.port.calls.max").timeGauge());
+    }
+}
@@ -0,0 +1,140 @@
+package com.danielagapov.spawn.ServiceTests;
+
+import com.danielagapov.spawn.shared.config.FuzzySearchConfig;
+import com.danielagapov.spawn.shared.events.ClientCacheEvents.FriendRequestChangedEvent;
+import com.danielagapov.spawn.shared.exceptions.Logger.ILogger;
+import com.danielagapov.spawn.shared.util.CacheEvictionHelper;
+import com.danielagapov.spawn.shared.util.CacheNames;
+import com.danielagapov.spawn.shared.util.UserRelationshipType;
+import com.danielagapov.spawn.social.api.dto.CreateFriendRequestDTO;
+import com.danielagapov.spawn.social.api.dto.FetchFriendRequestDTO;
+import com.danielagapov.spawn.social.internal.services.IFriendRequestService;
+import com.danielagapov.spawn.user.api.dto.BaseUserDTO;
+import com.danielagapov.spawn.user.api.dto.FriendUser.RecommendedFriendUserDTO;
+import com.danielagapov.spawn.user.internal.domain.User;
+import com.danielagapov.spawn.user.internal.repositories.IUserRepository;
+import com.danielagapov.spawn.user.internal.services.FuzzySearchService;
+import com.danielagapov.spawn.user.internal.services.IUserFriendshipQueryService;
+import com.danielagapov.spawn.user.internal.services.IUserService;
+import com.danielagapov.spawn.user.internal.services.RelationshipSearchView;
+import com.danielagapov.spawn.user.internal.services.RelationshipSearchViewService;
+import org.apache.commons.text.similarity.JaroWinklerDistance;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for building, caching and searching users' relationship search views
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Relationship Search View Service Tests")
+class RelationshipSearchViewServiceTests {
+
+    @Mock
+    private IFriendRequestService friendRequestService;
+
+    @Mock
+    private IUserFriendshipQueryService friendshipQueryService;
+
+    @Mock
+    private IUserService userService;
+
+    @Mock
+    private IUserRepository userRepository;
+
+    @Mock
+    private CacheEvictionHelper cacheEvictionHelper;
+
+    @Mock
+    private ILogger logger;
+
+    private RelationshipSearchViewService relationshipSearchViewService;
+
+    private final UUID userId = UUID.randomUUID();
+    private final UUID requestId = UUID.randomUUID();
+    private final UUID sentRequestId = UUID.randomUUID();
+    private final User sender = new User(UUID.randomUUID(), "marta_s", null, "Márta Smith", "Bio", "marta@example.com");
+    private final User receiver = new User(UUID.randomUUID(), "danny", null, "Daniel Jones", "Bio", "daniel@example.com");
+    private final User recommended = new User(UUID.randomUUID(), "martin99", null, "Martin Moore", "Bio", "martin@example.com");
+    private final User friend = new User(UUID.randomUUID(), "mart", null, "Marta Dunn", "Bio", "dunn@example.com");
+
+    @BeforeEach
+    void setUp() {
+        FuzzySearchService<RelationshipSearchView.Entry> fuzzySearchService =
+                new FuzzySearchService<>(new FuzzySearchConfig(), logger, new JaroWinklerDistance());
+        relationshipSearchViewService = new RelationshipSearchViewService(friendRequestService, friendshipQueryService,
+                userService, userRepository, fuzzySearchService,
+                new ConcurrentMapCacheManager(CacheNames.RELATIONSHIP_SEARCH_VIEWS), cacheEvictionHelper, logger);
+    }
+
+    private void stubRelationships() {
+        BaseUserDTO senderDTO = new BaseUserDTO(sender.getId(), sender.getName(), sender.getEmail(), sender.getUsername(), sender.getBio(), null);
+        when(friendRequestService.getIncomingFetchFriendRequestsByUserId(userId))
+                .thenReturn(List.of(new FetchFriendRequestDTO(requestId, senderDTO, 0)));
+        when(friendRequestService.getSentFriendRequestsByUserId(userId))
+                .thenReturn(List.of(new CreateFriendRequestDTO(sentRequestId, userId, receiver.getId())));
+        when(userRepository.findAllById(any())).thenReturn(List.of(receiver));
+        when(userService.getLimitedRecommendedFriendsForUserId(userId)).thenReturn(List.of(new RecommendedFriendUserDTO(
+                recommended.getId(), recommended.getName(), recommended.getEmail(), recommended.getUsername(), recommended.getBio(), null, 3)));
+        when(friendshipQueryService.getFriendUsersByUserId(userId)).thenReturn(List.of(friend));
+    }
+
+    @Test
+    @DisplayName("Should build one normalized entry per relationship and reuse it for the session")
+    void shouldBuildAndCacheView() {
+        stubRelationships();
+
+        RelationshipSearchView view = relationshipSearchViewService.getView(userId);
+        RelationshipSearchView again = relationshipSearchViewService.getView(userId);
+
+        assertThat(again).isSameAs(view);
+        assertThat(view.getEntries()).extracting(RelationshipSearchView.Entry::getRelationshipType).containsExactly(
+                UserRelationshipType.INCOMING_FRIEND_REQUEST, UserRelationshipType.OUTGOING_FRIEND_REQUEST,
+                UserRelationshipType.RECOMMENDED_FRIEND, UserRelationshipType.FRIEND);
+        Map<UUID, RelationshipSearchView.Entry> byUserId = view.indexByUserId();
+        assertThat(byUserId.get(sender.getId()).getName()).isEqualTo("marta smith");
+        assertThat(byUserId.get(sender.getId()).getFriendRequestId()).isEqualTo(requestId);
+        assertThat(byUserId.get(receiver.getId()).getFriendRequestId()).isEqualTo(sentRequestId);
+        assertThat(byUserId.get(recommended.getId()).getMutualFriendCount()).isEqualTo(3);
+        verify(friendshipQueryService, times(1)).getFriendUsersByUserId(userId);
+        verify(friendshipQueryService, never()).getUserEntityById(any());
+    }
+
+    @Test
+    @DisplayName("Should split the matches of a single pass by relationship type")
+    void shouldSearchAllRelationshipsAtOnce() {
+        stubRelationships();
+        RelationshipSearchView view = relationshipSearchViewService.getView(userId);
+
+        Map<UserRelationshipType, List<RelationshipSearchView.Entry>> matches = relationshipSearchViewService.search(view, "Marta");
+
+        assertThat(matches.get(UserRelationshipType.INCOMING_FRIEND_REQUEST))
+                .extracting(RelationshipSearchView.Entry::getUserId).containsExactly(sender.getId());
+        assertThat(matches.get(UserRelationshipType.FRIEND))
+                .extracting(RelationshipSearchView.Entry::getUserId).containsExactly(friend.getId());
+        assertThat(matches.get(UserRelationshipType.RECOMMENDED_FRIEND))
+                .extracting(RelationshipSearchView.Entry::getUserId).containsExactly(recommended.getId());
+    }
+
+    @Test
+    @DisplayName("Should evict both users' views when a friend request changes")
+    void shouldEvictViewsOnFriendRequestChange() {
+        UUID otherUserId = UUID.randomUUID();
+
+        relationshipSearchViewService.handleFriendRequestChangedEvent(new FriendRequestChangedEvent(requestId, otherUserId, userId));
+
+        verify(cacheEvictionHelper).evictCacheForUsers(CacheNames.RELATIONSHIP_SEARCH_VIEWS, otherUserId, userId);
+    }
+}
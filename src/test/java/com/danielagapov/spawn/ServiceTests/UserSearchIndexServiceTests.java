@@ -0,0 +1,169 @@
+package com.danielagapov.spawn.ServiceTests;
+
+import com.danielagapov.spawn.shared.events.UserLifecycleEvents.UserDeletingEvent;
+import com.danielagapov.spawn.shared.events.UserLifecycleEvents.UserSavedEvent;
+import com.danielagapov.spawn.user.internal.repositories.IUserRepository;
+import com.danielagapov.spawn.user.internal.services.UserSearchIndexService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the in-memory user search index and how UserSearchIndexService keeps it current
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("User Search Index Service Tests")
+class UserSearchIndexServiceTests {
+
+    @Mock
+    private IUserRepository userRepository;
+
+    private UserSearchIndexService userSearchIndexService;
+
+    private final UUID aliceId = UUID.randomUUID();
+    private final UUID aliciaId = UUID.randomUUID();
+    private final UUID joseId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        userSearchIndexService = new UserSearchIndexService(userRepository, true);
+    }
+
+    private void buildIndex() {
+        List<Object[]> rows = new ArrayList<>();
+        rows.add(new Object[]{aliceId, "Alice Johnson", "alicej", Instant.parse("2026-01-01T00:00:00Z")});
+        rows.add(new Object[]{aliciaId, "Alicia Jameson", "alicia123", Instant.parse("2026-02-01T00:00:00Z")});
+        rows.add(new Object[]{joseId, "José Núñez", null, null});
+        when(userRepository.findAllSearchFields()).thenReturn(rows);
+        userSearchIndexService.rebuildIndex();
+    }
+
+    private List<UUID> search(String query) {
+        return userSearchIndexService.findCandidates(query, 100).orElseThrow();
+    }
+
+    @Test
+    @DisplayName("Should defer to the database until the index is built")
+    void shouldReturnEmptyBeforeBuild() {
+        assertThat(userSearchIndexService.findCandidates("ali", 100)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should find users containing the query in their name or username")
+    void shouldFindSubstringMatches() {
+        buildIndex();
+
+        assertThat(search("ALI")).containsExactlyInAnyOrder(aliceId, aliciaId);
+        assertThat(search("son")).containsExactlyInAnyOrder(aliceId, aliciaId);
+        assertThat(search("a123")).containsExactly(aliciaId);
+        assertThat(search("cej")).containsExactly(aliceId);
+    }
+
+    @Test
+    @DisplayName("Should require the whole query in one field, not just each trigram somewhere")
+    void shouldVerifyWholeQuery() {
+        buildIndex();
+
+        // "ali" and "lic" occur in both users but "alice" only in Alice's fields
+        assertThat(search("alice")).containsExactly(aliceId);
+        assertThat(search("alicexyz")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should match regardless of accents and answer short queries by scanning")
+    void shouldNormalizeAndScanShortQueries() {
+        buildIndex();
+
+        assertThat(search("jose nu")).containsExactly(joseId);
+        assertThat(search("ú")).containsExactly(joseId);
+        assertThat(search("al")).containsExactlyInAnyOrder(aliceId, aliciaId);
+        assertThat(userSearchIndexService.findCandidates("al", 1).orElseThrow()).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("Should apply saves and deletions published on this node")
+    void shouldApplyEvents() {
+        buildIndex();
+
+        userSearchIndexService.handleUserSavedEvent(new UserSavedEvent(aliceId, "Alexandra Johnson", "alexj"));
+        userSearchIndexService.handleUserDeletingEvent(new UserDeletingEvent(aliciaId));
+
+        assertThat(search("alice")).isEmpty();
+        assertThat(search("alexa")).containsExactly(aliceId);
+        assertThat(search("jameson")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should pick up users updated on other nodes by polling")
+    void shouldPollUpdatedUsers() {
+        buildIndex();
+        UUID newUserId = UUID.randomUUID();
+        List<Object[]> updated = new ArrayList<>();
+        updated.add(new Object[]{newUserId, "Bob Smith", "bob99", Instant.now()});
+        when(userRepository.findSearchFieldsUpdatedSince(any(Instant.class))).thenReturn(updated);
+
+        userSearchIndexService.pollUpdatedUsers();
+
+        assertThat(search("smith")).containsExactly(newUserId);
+    }
+
+    @Test
+    @DisplayName("Should put the most recently updated prefix matches ahead of other matches")
+    void shouldRankPrefixMatchesFirst() {
+        List<Object[]> rows = new ArrayList<>();
+        List<UUID> samIds = new ArrayList<>();
+        Instant base = Instant.parse("2026-01-01T00:00:00Z");
+        for (int i = 0; i < 40; i++) {
+            UUID id = UUID.randomUUID();
+            samIds.add(id);
+            rows.add(new Object[]{id, "Sam Number" + i, "sam" + i, base.plusSeconds(i)});
+        }
+        UUID isamId = UUID.randomUUID();
+        rows.add(new Object[]{isamId, "Isam Latest", "isam", base.plusSeconds(1_000)});
+        when(userRepository.findAllSearchFields()).thenReturn(rows);
+        userSearchIndexService.rebuildIndex();
+
+        List<UUID> candidates = userSearchIndexService.findCandidates("sam", 5).orElseThrow();
+
+        // "isam" only contains the query, so the most recently updated users starting with it come first
+        assertThat(candidates).containsExactly(samIds.get(39), samIds.get(38), samIds.get(37), samIds.get(36), samIds.get(35));
+        assertThat(search("sam")).hasSize(41).startsWith(samIds.get(39)).endsWith(isamId);
+    }
+
+    @Test
+    @DisplayName("Should find prefixes of any name word and forget removed users' words")
+    void shouldMatchNameWordPrefixes() {
+        buildIndex();
+
+        assertThat(userSearchIndexService.findCandidates("jam", 1).orElseThrow()).containsExactly(aliciaId);
+        assertThat(userSearchIndexService.findCandidates("joh", 1).orElseThrow()).containsExactly(aliceId);
+
+        userSearchIndexService.handleUserSavedEvent(new UserSavedEvent(aliciaId, "Alicia Brown", "alicia123"));
+
+        assertThat(search("jam")).isEmpty();
+        assertThat(userSearchIndexService.findCandidates("bro", 1).orElseThrow()).containsExactly(aliciaId);
+    }
+
+    @Test
+    @DisplayName("Should leave searches to the database when disabled")
+    void shouldDoNothingWhenDisabled() {
+        userSearchIndexService = new UserSearchIndexService(userRepository, false);
+
+        userSearchIndexService.rebuildIndex();
+
+        assertThat(userSearchIndexService.findCandidates("ali", 100)).isEmpty();
+        verifyNoInteractions(userRepository);
+    }
+}
@@ -1,10 +1,13 @@
 package com.danielagapov.spawn.ServiceTests;
 
+import com.danielagapov.spawn.activity.api.IActivityService;
+import com.danielagapov.spawn.social.api.dto.CreateFriendRequestDTO;
 import com.danielagapov.spawn.social.api.dto.FetchFriendRequestDTO;
 
 import com.danielagapov.spawn.user.api.dto.BaseUserDTO;
 import com.danielagapov.spawn.user.api.dto.FriendUser.FullFriendUserDTO;
 import com.danielagapov.spawn.user.api.dto.FriendUser.RecommendedFriendUserDTO;
+import com.danielagapov.spawn.shared.util.ParticipationStatus;
 import com.danielagapov.spawn.shared.util.UserRelationshipType;
 import com.danielagapov.spawn.shared.util.UserStatus;
 import com.danielagapov.spawn.shared.exceptions.Logger.ILogger;
@@ -14,9 +17,14 @@ import com.danielagapov.spawn.user.internal.repositories.IUserRepository;
 import com.danielagapov.spawn.analytics.internal.services.SearchAnalyticsService;
 import com.danielagapov.spawn.social.internal.services.IBlockedUserService;
 import com.danielagapov.spawn.social.internal.services.IFriendRequestService;
+import com.danielagapov.spawn.user.internal.services.FriendGraph.MutualCandidate;
+import com.danielagapov.spawn.user.internal.services.FriendGraphService;
 import com.danielagapov.spawn.user.internal.services.FuzzySearchService;
 import com.danielagapov.spawn.user.internal.services.IFuzzySearchService;
 import com.danielagapov.spawn.user.internal.services.IUserService;
+import com.danielagapov.spawn.user.internal.services.RelationshipSearchView;
+import com.danielagapov.spawn.user.internal.services.RelationshipSearchViewService;
+import com.danielagapov.spawn.user.internal.services.UserSearchIndexService;
 import com.danielagapov.spawn.user.internal.services.UserSearchService;
 import com.danielagapov.spawn.shared.util.SearchedUserResult;
 import org.junit.jupiter.api.BeforeEach;
@@ -27,11 +35,16 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Limit;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static org.mockito.Mockito.lenient;
@@ -60,6 +73,18 @@ class UserSearchServiceTests {
     @Mock
     private IFuzzySearchService<User> fuzzySearchService;
 
+    @Mock
+    private UserSearchIndexService userSearchIndexService;
+
+    @Mock
+    private RelationshipSearchViewService relationshipSearchViewService;
+
+    @Mock
+    private FriendGraphService friendGraphService;
+
+    @Mock
+    private IActivityService activityService;
+
     @Mock
     private SearchAnalyticsService searchAnalyticsService;
 
@@ -180,6 +205,26 @@ class UserSearchServiceTests {
         assertEquals("Alicia Jameson", result.get(1).getName());
     }
 
+    private RelationshipSearchView.Entry viewEntry(BaseUserDTO user, UserRelationshipType relationshipType,
+                                                   UUID friendRequestId, Integer mutualFriendCount) {
+        return new RelationshipSearchView.Entry(user.getId(), user.getName().toLowerCase(), user.getUsername().toLowerCase(),
+                relationshipType, friendRequestId, mutualFriendCount);
+    }
+
+    private User toUser(BaseUserDTO user) {
+        return new User(user.getId(), user.getUsername(), user.getProfilePicture(), user.getName(), user.getBio(), user.getEmail());
+    }
+
+    // Stubs the user's relationship search view and the matches its single scoring pass finds for the query
+    private void stubRelationshipSearch(UUID userId, String query, List<RelationshipSearchView.Entry> entries,
+                                        List<RelationshipSearchView.Entry> matched) {
+        RelationshipSearchView view = new RelationshipSearchView(new ArrayList<>(entries));
+        Map<UserRelationshipType, List<RelationshipSearchView.Entry>> matches = matched.stream()
+                .collect(Collectors.groupingBy(RelationshipSearchView.Entry::getRelationshipType));
+        when(relationshipSearchViewService.getView(userId)).thenReturn(view);
+        when(relationshipSearchViewService.search(view, query)).thenReturn(matches);
+    }
+
     @Test
     void getRecommendedFriendsBySearch_ShouldReturnFilteredRecommendations_WhenSearchQueryIsProvided() {
         // Arrange
@@ -188,26 +233,16 @@ class UserSearchServiceTests {
         RecommendedFriendUserDTO friend2 = new RecommendedFriendUserDTO(UUID.randomUUID(), "bob", "profile.jpg", "Bob Johnson", "Bio", "bob@example.com", 1);
         RecommendedFriendUserDTO friend3 = new RecommendedFriendUserDTO(UUID.randomUUID(), "charlie", "profile.jpg", "Charlie Brown", "Bio", "charlie@example.com", 1);
 
-        // Mock all required friend request service methods
-        when(friendRequestService.getIncomingFetchFriendRequestsByUserId(userId)).thenReturn(List.of());
-        when(friendRequestService.getIncomingCreateFriendRequestsByUserId(userId)).thenReturn(List.of());
-        when(friendRequestService.getSentFriendRequestsByUserId(userId)).thenReturn(List.of());
-
-        // Mock fuzzy search service to return Alice Smith as a match for "Alice"
-        User userObject = new User();
-        userObject.setId(friend1.getId());
-        userObject.setName(friend1.getName());
-        userObject.setUsername(friend1.getUsername());
-        FuzzySearchService.SearchResult<User> searchResult = new FuzzySearchService.SearchResult<>(userObject, 0.95, "name", false);
-        when(fuzzySearchService.search(eq("Alice"), any(), any(), any())).thenReturn(List.of(searchResult));
-
-        // Use spy to isolate the test from internal implementations
-        UserSearchService spyUserSearchService = spy(userSearchService);
-        doReturn(List.of(friend1, friend2, friend3)).when(spyUserSearchService).getRecommendedMutuals(userId);
-        lenient().when(friendshipQueryService.getFullFriendUsersByUserId(userId)).thenReturn(List.of());
+        // The relationship search view matches Alice Smith for "Alice"
+        RelationshipSearchView.Entry aliceEntry = viewEntry(friend1, UserRelationshipType.RECOMMENDED_FRIEND, null, 1);
+        stubRelationshipSearch(userId, "Alice",
+                List.of(aliceEntry, viewEntry(friend2, UserRelationshipType.RECOMMENDED_FRIEND, null, 1),
+                        viewEntry(friend3, UserRelationshipType.RECOMMENDED_FRIEND, null, 1)),
+                List.of(aliceEntry));
+        when(userRepository.findAllById(any())).thenReturn(List.of(toUser(friend1)));
 
         // Act
-        SearchedUserResult result = spyUserSearchService.getRecommendedFriendsBySearch(userId, "Alice");
+        SearchedUserResult result = userSearchService.getRecommendedFriendsBySearch(userId, "Alice");
 
         // Assert
         assertEquals(1, result.getUsers().size()); // Only Alice should be returned
@@ -220,6 +255,34 @@ class UserSearchServiceTests {
         assertEquals(friend1.getMutualFriendCount(), searchResultUser.getMutualFriendCount());
     }
 
+    @Test
+    void getRecommendedFriendsBySearch_ShouldListGlobalMatchesUnderTheirRelationship() {
+        // Arrange
+        UUID userId = UUID.randomUUID();
+        FullFriendUserDTO friend = new FullFriendUserDTO(user1.getId(), user1.getUsername(), null, user1.getName(), user1.getBio(), user1.getEmail());
+        RelationshipSearchView.Entry friendEntry = viewEntry(friend, UserRelationshipType.FRIEND, null, null);
+        stubRelationshipSearch(userId, "ali", List.of(friendEntry), List.of(friendEntry));
+
+        // The global search finds the friend as well as a stranger
+        when(userRepository.findUsersWithPartialMatch(eq("ali"), any(Limit.class))).thenReturn(List.of(user1, user2));
+        when(fuzzySearchService.search(eq("ali"), any(), any(), any())).thenReturn(List.of(
+                new FuzzySearchService.SearchResult<>(user1, 0.95, "name", true),
+                new FuzzySearchService.SearchResult<>(user2, 0.90, "name", true)
+        ));
+        when(userRepository.findAllById(any())).thenReturn(List.of(user1));
+
+        // Act
+        SearchedUserResult result = userSearchService.getRecommendedFriendsBySearch(userId, "ali");
+
+        // Assert
+        assertEquals(2, result.getUsers().size());
+        assertEquals(user2.getId(), result.getUsers().get(0).getUser().getId());
+        assertEquals(UserRelationshipType.RECOMMENDED_FRIEND, result.getUsers().get(0).getRelationshipType());
+        assertEquals(user1.getId(), result.getUsers().get(1).getUser().getId());
+        assertEquals(UserRelationshipType.FRIEND, result.getUsers().get(1).getRelationshipType());
+        verify(friendRequestService, never()).getSentFriendRequestsByUserId(any());
+    }
+
     @Test
     void getRecommendedFriendsBySearch_ShouldReturnAllRecommendations_WhenSearchQueryIsEmpty() {
         // Arrange
@@ -261,18 +324,13 @@ class UserSearchServiceTests {
         RecommendedFriendUserDTO friend1 = new RecommendedFriendUserDTO(UUID.randomUUID(), "alice", "profile.jpg", "Alice Smith", "Bio", "alice@example.com", 1);
         RecommendedFriendUserDTO friend2 = new RecommendedFriendUserDTO(UUID.randomUUID(), "bob", "profile.jpg", "Bob Johnson", "Bio", "bob@example.com", 1);
 
-        // Mock the friend request service methods
-        when(friendRequestService.getIncomingFetchFriendRequestsByUserId(userId)).thenReturn(List.of());
-        when(friendRequestService.getIncomingCreateFriendRequestsByUserId(userId)).thenReturn(List.of());
-        when(friendRequestService.getSentFriendRequestsByUserId(userId)).thenReturn(List.of());
-
-        // Use spy to isolate the test from internal implementations
-        UserSearchService spyUserSearchService = spy(userSearchService);
-        doReturn(List.of(friend1, friend2)).when(spyUserSearchService).getRecommendedMutuals(userId);
-        lenient().doReturn(List.of()).when(friendshipQueryService).getFullFriendUsersByUserId(userId);
+        stubRelationshipSearch(userId, "Charlie",
+                List.of(viewEntry(friend1, UserRelationshipType.RECOMMENDED_FRIEND, null, 1),
+                        viewEntry(friend2, UserRelationshipType.RECOMMENDED_FRIEND, null, 1)),
+                List.of());
 
         // Act
-        SearchedUserResult result = spyUserSearchService.getRecommendedFriendsBySearch(userId, "Charlie");
+        SearchedUserResult result = userSearchService.getRecommendedFriendsBySearch(userId, "Charlie");
 
         // Assert
         assertEquals(0, result.getUsers().size()); // No recommendations should match
@@ -280,7 +338,6 @@ class UserSearchServiceTests {
 
     @Test
     void getRecommendedFriendsBySearch_ShouldWorkWithQueryFullRecommendationsAndFriends() {
-        UserSearchService spyUserSearchService = spy(userSearchService);
         UUID user1Id = UUID.randomUUID();
         UUID user2Id = UUID.randomUUID();
         UUID user3Id = UUID.randomUUID();
@@ -292,28 +349,16 @@ class UserSearchServiceTests {
 
         FullFriendUserDTO user5Full = new FullFriendUserDTO(user5Id, "thatPerson", "profile.jpg", "That Person", "A bio", "thatPerson@email.com");
 
-        // Mock fuzzy search service to return both user3Full and user5Full as matches for "person"
-        User userObject3 = new User();
-        userObject3.setId(user3Full.getId());
-        userObject3.setName(user3Full.getName());
-        userObject3.setUsername(user3Full.getUsername());
-        FuzzySearchService.SearchResult<User> searchResult3 = new FuzzySearchService.SearchResult<>(userObject3, 0.95, "username", false);
-        
-        User userObject5 = new User();
-        userObject5.setId(user5Full.getId());
-        userObject5.setName(user5Full.getName());
-        userObject5.setUsername(user5Full.getUsername());
-        FuzzySearchService.SearchResult<User> searchResult5 = new FuzzySearchService.SearchResult<>(userObject5, 0.85, "name", false);
-        
-        when(fuzzySearchService.search(eq("person"), any(), any(), any())).thenReturn(List.of(searchResult3, searchResult5));
-
-        when(friendRequestService.getIncomingFetchFriendRequestsByUserId(user1Id)).thenReturn(List.of());
-        when(friendRequestService.getIncomingCreateFriendRequestsByUserId(user1Id)).thenReturn(List.of());
-        when(friendRequestService.getSentFriendRequestsByUserId(user1Id)).thenReturn(List.of());
-        doReturn(List.of(user2Full, user3Full, user4Full)).when(spyUserSearchService).getRecommendedMutuals(user1Id);
-        when(userService.getFullFriendUsersByUserId(user1Id)).thenReturn(List.of(user5Full));
+        // The single pass over the view matches both user3Full and user5Full for "person"
+        RelationshipSearchView.Entry user3Entry = viewEntry(user3Full, UserRelationshipType.RECOMMENDED_FRIEND, null, 1);
+        RelationshipSearchView.Entry user5Entry = viewEntry(user5Full, UserRelationshipType.FRIEND, null, null);
+        stubRelationshipSearch(user1Id, "person",
+                List.of(viewEntry(user2Full, UserRelationshipType.RECOMMENDED_FRIEND, null, 1), user3Entry,
+                        viewEntry(user4Full, UserRelationshipType.RECOMMENDED_FRIEND, null, 1), user5Entry),
+                List.of(user3Entry, user5Entry));
+        when(userRepository.findAllById(any())).thenReturn(List.of(toUser(user3Full), toUser(user5Full)));
 
-        SearchedUserResult res = spyUserSearchService.getRecommendedFriendsBySearch(user1Id, "person");
+        SearchedUserResult res = userSearchService.getRecommendedFriendsBySearch(user1Id, "person");
         
         // Verify that we get the expected users in the results
         assertEquals(2, res.getUsers().size());
@@ -332,7 +377,6 @@ class UserSearchServiceTests {
 
     @Test
     void getRecommendedFriendsBySearch_ShouldWorkWithQueryFullRecommendations() {
-        UserSearchService spyUserSearchService = spy(userSearchService);
         UUID user1Id = UUID.randomUUID();
         UUID user2Id = UUID.randomUUID();
         UUID user3Id = UUID.randomUUID();
@@ -341,21 +385,15 @@ class UserSearchServiceTests {
         RecommendedFriendUserDTO user3Full = new RecommendedFriendUserDTO(user3Id, "person", "profile.jpg", "Lorem Ipsum", "A bio", "email@e.com", 1);
         RecommendedFriendUserDTO user4Full = new RecommendedFriendUserDTO(user4Id, "LaurenIbson", "profile.jpg", "Lauren Ibson", "A bio", "lauren_ibson@e.ca", 1);
 
-        // Mock fuzzy search service to return user3Full as a match for "person"
-        User userObject = new User();
-        userObject.setId(user3Full.getId());
-        userObject.setName(user3Full.getName());
-        userObject.setUsername(user3Full.getUsername());
-        FuzzySearchService.SearchResult<User> searchResult = new FuzzySearchService.SearchResult<>(userObject, 0.95, "username", false);
-        when(fuzzySearchService.search(eq("person"), any(), any(), any())).thenReturn(List.of(searchResult));
-
-        lenient().when(friendRequestService.getIncomingFetchFriendRequestsByUserId(user1Id)).thenReturn(List.of());
-        lenient().when(friendRequestService.getIncomingCreateFriendRequestsByUserId(user1Id)).thenReturn(List.of());
-        lenient().when(friendRequestService.getSentFriendRequestsByUserId(user1Id)).thenReturn(List.of());
-        doReturn(List.of(user2Full, user3Full, user4Full)).when(spyUserSearchService).getRecommendedMutuals(user1Id);
-        lenient().when(friendshipQueryService.getFullFriendUsersByUserId(user1Id)).thenReturn(List.of());
-
-        SearchedUserResult res = spyUserSearchService.getRecommendedFriendsBySearch(user1Id, "person");
+        // The view matches user3Full for "person"
+        RelationshipSearchView.Entry user3Entry = viewEntry(user3Full, UserRelationshipType.RECOMMENDED_FRIEND, null, 1);
+        stubRelationshipSearch(user1Id, "person",
+                List.of(viewEntry(user2Full, UserRelationshipType.RECOMMENDED_FRIEND, null, 1), user3Entry,
+                        viewEntry(user4Full, UserRelationshipType.RECOMMENDED_FRIEND, null, 1)),
+                List.of(user3Entry));
+        when(userRepository.findAllById(any())).thenReturn(List.of(toUser(user3Full)));
+
+        SearchedUserResult res = userSearchService.getRecommendedFriendsBySearch(user1Id, "person");
         
         // Verify that we get the expected user in the results
         assertEquals(1, res.getUsers().size());
@@ -398,16 +436,10 @@ class UserSearchServiceTests {
         // Arrange
         UUID userId = UUID.randomUUID();
 
-        lenient().when(friendRequestService.getIncomingFetchFriendRequestsByUserId(userId)).thenReturn(List.of());
-        lenient().when(friendRequestService.getIncomingCreateFriendRequestsByUserId(userId)).thenReturn(List.of());
-        lenient().when(friendRequestService.getSentFriendRequestsByUserId(userId)).thenReturn(List.of());
-
-        UserSearchService spyUserSearchService = spy(userSearchService);
-        doReturn(List.of()).when(spyUserSearchService).getRecommendedMutuals(userId);
-        lenient().doReturn(List.of()).when(friendshipQueryService).getFullFriendUsersByUserId(userId);
+        stubRelationshipSearch(userId, "%^&*", List.of(), List.of());
 
         // Act & Assert - Should not throw exceptions for unusual search terms
-        assertDoesNotThrow(() -> spyUserSearchService.getRecommendedFriendsBySearch(userId, "%^&*"));
+        assertDoesNotThrow(() -> userSearchService.getRecommendedFriendsBySearch(userId, "%^&*"));
     }
 
     @Test
@@ -417,30 +449,15 @@ class UserSearchServiceTests {
         UUID requesterId = UUID.randomUUID();
 
         BaseUserDTO requesterInfo = new BaseUserDTO(requesterId, "David Search", "dsearch@example.com", "davidsearch", "Bio", "profile.jpg");
-        FetchFriendRequestDTO friendRequest = mock(FetchFriendRequestDTO.class);
         UUID friendRequestId = UUID.randomUUID();
-        when(friendRequest.getSenderUser()).thenReturn(requesterInfo);
-        when(friendRequest.getId()).thenReturn(friendRequestId);
-
-        // Mock fuzzy search service to return requesterInfo as a match for "search"
-        User userObject = new User();
-        userObject.setId(requesterInfo.getId());
-        userObject.setName(requesterInfo.getName());
-        userObject.setUsername(requesterInfo.getUsername());
-        FuzzySearchService.SearchResult<User> searchResult = new FuzzySearchService.SearchResult<>(userObject, 0.95, "name", false);
-        when(fuzzySearchService.search(eq("search"), any(), any(), any())).thenReturn(List.of(searchResult));
-
-        // Mock services
-        when(friendRequestService.getIncomingFetchFriendRequestsByUserId(userId)).thenReturn(List.of(friendRequest));
-        when(friendRequestService.getIncomingCreateFriendRequestsByUserId(userId)).thenReturn(List.of());
-        when(friendRequestService.getSentFriendRequestsByUserId(userId)).thenReturn(List.of());
-
-        UserSearchService spyUserSearchService = spy(userSearchService);
-        doReturn(List.of()).when(spyUserSearchService).getRecommendedMutuals(userId);
-        when(userService.getFullFriendUsersByUserId(userId)).thenReturn(List.of());
+
+        // The view matches the request's sender for "search"
+        RelationshipSearchView.Entry requestEntry = viewEntry(requesterInfo, UserRelationshipType.INCOMING_FRIEND_REQUEST, friendRequestId, null);
+        stubRelationshipSearch(userId, "search", List.of(requestEntry), List.of(requestEntry));
+        when(userRepository.findAllById(any())).thenReturn(List.of(toUser(requesterInfo)));
 
         // Act
-        SearchedUserResult result = spyUserSearchService.getRecommendedFriendsBySearch(userId, "search");
+        SearchedUserResult result = userSearchService.getRecommendedFriendsBySearch(userId, "search");
 
         // Assert
         assertEquals(1, result.getUsers().size());
@@ -478,6 +495,26 @@ class UserSearchServiceTests {
         verify(userRepository).findUsersWithPartialMatch(eq(searchQuery.toLowerCase()), any(Limit.class));
     }
 
+    @Test
+    void testSearchByQuery_UsesSearchIndexCandidatesWhenBuilt() {
+        // Arrange
+        String searchQuery = "ali";
+        List<UUID> candidateIds = List.of(user1.getId(), user2.getId());
+        List<User> mockUsers = List.of(user1, user2);
+        when(userSearchIndexService.findCandidates(eq(searchQuery), anyInt())).thenReturn(Optional.of(candidateIds));
+        when(userRepository.findAllById(candidateIds)).thenReturn(mockUsers);
+        when(fuzzySearchService.search(eq(searchQuery), eq(mockUsers), any(), any()))
+                .thenReturn(List.of(new FuzzySearchService.SearchResult<>(user1, 0.85, "name", false)));
+
+        // Act
+        List<BaseUserDTO> result = userSearchService.searchByQuery(searchQuery, UUID.randomUUID());
+
+        // Assert
+        assertEquals(1, result.size());
+        assertEquals("Alice Johnson", result.get(0).getName());
+        verify(userRepository, never()).findUsersWithPartialMatch(any(), any());
+    }
+
     @Test
     void testSearchByQuery_HandlesEmptyQuery() {
         // Arrange
@@ -507,4 +544,56 @@ class UserSearchServiceTests {
         // Verify that the repository was not called for blank query
         verify(userRepository, never()).findUsersWithPartialMatch(any(), any());
     }
+
+    @Test
+    void getRecommendedMutuals_ShouldRankStoredCandidatesWithoutPerCandidateQueries() {
+        // Arrange
+        UUID userId = UUID.randomUUID();
+        when(friendRequestService.getSentFriendRequestsByUserId(userId))
+                .thenReturn(List.of(new CreateFriendRequestDTO(UUID.randomUUID(), userId, user4.getId())));
+        when(friendGraphService.getRankedCandidates(userId)).thenReturn(Optional.of(List.of(
+                new MutualCandidate(user4.getId(), 5),
+                new MutualCandidate(user3.getId(), 2),
+                new MutualCandidate(user2.getId(), 1))));
+        when(activityService.getSharedActivitiesCounts(eq(userId), any(), eq(ParticipationStatus.participating)))
+                .thenReturn(Map.of(user2.getId(), 3));
+        when(userRepository.findAllById(any())).thenReturn(List.of(user3, user2));
+
+        // Act
+        List<RecommendedFriendUserDTO> result = userSearchService.getRecommendedMutuals(userId);
+
+        // Assert - user4 already has a request; user2 scores 1*3 + 3*2 = 9 against user3's 2*3 = 6
+        assertEquals(List.of(user2.getId(), user3.getId()),
+                result.stream().map(RecommendedFriendUserDTO::getId).collect(Collectors.toList()));
+        assertEquals(1, result.get(0).getMutualFriendCount());
+        assertEquals(3, result.get(0).getSharedActivitiesCount());
+        assertEquals(2, result.get(1).getMutualFriendCount());
+        assertEquals(0, result.get(1).getSharedActivitiesCount());
+        assertTrue(result.stream().allMatch(friend -> friend.getRelationshipStatus() == UserRelationshipType.RECOMMENDED_FRIEND
+                && friend.getPendingFriendRequestId() == null));
+        // Only the requesting user's own friends are queried, for the exclusions
+        verify(friendshipQueryService, times(1)).getFriendUserIdsByUserId(any());
+        verify(friendshipQueryService, never()).getUserEntityById(any());
+        verify(activityService, never()).getSharedActivitiesCount(any(), any(), any());
+    }
+
+    @Test
+    void getRecommendedMutuals_ShouldCountFriendsOfFriendsUntilGraphIsBuilt() {
+        // Arrange
+        UUID userId = UUID.randomUUID();
+        when(friendGraphService.getRankedCandidates(userId)).thenReturn(Optional.empty());
+        when(friendshipQueryService.getFriendUserIdsByUserId(userId)).thenReturn(List.of(user1.getId(), user5.getId()));
+        when(friendshipQueryService.getFriendUserIdsByUserId(user1.getId())).thenReturn(List.of(userId, user2.getId(), user3.getId()));
+        when(friendshipQueryService.getFriendUserIdsByUserId(user5.getId())).thenReturn(List.of(userId, user3.getId(), user1.getId()));
+        when(userRepository.findAllById(any())).thenReturn(List.of(user2, user3));
+
+        // Act
+        List<RecommendedFriendUserDTO> result = userSearchService.getRecommendedMutuals(userId);
+
+        // Assert
+        assertEquals(List.of(user3.getId(), user2.getId()),
+                result.stream().map(RecommendedFriendUserDTO::getId).collect(Collectors.toList()));
+        assertEquals(2, result.get(0).getMutualFriendCount());
+        assertEquals(1, result.get(1).getMutualFriendCount());
+    }
 }
@@ -0,0 +1,113 @@
+package com.danielagapov.spawn.UtilityTests;
+
+import com.danielagapov.spawn.shared.cache.BudgetedCacheManager;
+import com.danielagapov.spawn.shared.cache.CacheMemoryBudget;
+import com.danielagapov.spawn.shared.cache.CacheStatistics;
+import com.danielagapov.spawn.shared.config.CacheBudgetConfig;
+import com.danielagapov.spawn.shared.config.CacheStatsDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.util.unit.DataSize;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for entry size admission and memory budgets applied by BudgetedCacheManager
+ */
+@DisplayName("Budgeted Cache Tests")
+class BudgetedCacheTests {
+
+    private SerializingCacheManager backingCacheManager;
+    private CacheMemoryBudget budget;
+    private CacheStatistics statistics;
+    private BudgetedCacheManager cacheManager;
+
+    @BeforeEach
+    void setUp() {
+        backingCacheManager = new SerializingCacheManager();
+        budget = mock(CacheMemoryBudget.class);
+        when(budget.recordWrite(anyString(), anyString(), anyLong(), anyLong())).thenReturn(List.of());
+        statistics = new CacheStatistics(new SimpleMeterRegistry());
+
+        CacheBudgetConfig.CacheSpec spec = new CacheBudgetConfig.CacheSpec();
+        spec.setMaxEntrySize(DataSize.ofBytes(10));
+        spec.setMemoryBudget(DataSize.ofBytes(100));
+        CacheBudgetConfig config = new CacheBudgetConfig();
+        config.getCaches().put("feedActivities", spec);
+
+        cacheManager = new BudgetedCacheManager(backingCacheManager, config, budget, statistics,
+                backingCacheManager.getSerializer());
+    }
+
+    @Test
+    @DisplayName("Should refuse an oversized value and evict the entry it would have replaced")
+    void shouldRejectOversizedValues() {
+        Cache cache = cacheManager.getCache("feedActivities");
+        cache.put("user-1", "short");
+
+        cache.put("user-1", "far too long for the limit");
+
+        assertThat(backingCacheManager.getCache("feedActivities").get("user-1")).isNull();
+        verify(budget).forget("feedActivities", "user-1");
+        CacheStatsDTO stats = statistics.snapshot("feedActivities");
+        assertThat(stats.getOversizeRejections()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should record accepted writes and evict the entries trimmed to stay within budget")
+    void shouldEvictTrimmedEntries() {
+        Cache cache = cacheManager.getCache("feedActivities");
+        cache.put("user-1", "one");
+        cache.put("user-2", "two");
+        when(budget.recordWrite("feedActivities", "user-3", 5L, 100L)).thenReturn(List.of("user-1", "user-2"));
+
+        cache.put("user-3", "three");
+
+        Cache backingCache = backingCacheManager.getCache("feedActivities");
+        assertThat(backingCache.get("user-1")).isNull();
+        assertThat(backingCache.get("user-2")).isNull();
+        assertThat(backingCache.get("user-3").get()).isEqualTo("three");
+        assertThat(statistics.snapshot("feedActivities").getBudgetTrims()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should measure values loaded through the cache")
+    void shouldMeasureLoadedValues() {
+        Cache cache = cacheManager.getCache("feedActivities");
+
+        assertThat(cache.get("user-1", () -> "loaded")).isEqualTo("loaded");
+        assertThat(cache.get("user-2", () -> "loaded but oversized")).isEqualTo("loaded but oversized");
+
+        verify(budget).recordWrite("feedActivities", "user-1", 6L, 100L);
+        assertThat(backingCacheManager.getCache("feedActivities").get("user-2")).isNull();
+    }
+
+    @Test
+    @DisplayName("Should refuse an oversized value that was not cached yet through putIfAbsent")
+    void shouldRejectOversizedPutIfAbsent() {
+        Cache cache = cacheManager.getCache("feedActivities");
+
+        assertThat(cache.putIfAbsent("user-1", "far too long for the limit")).isNull();
+
+        assertThat(backingCacheManager.getCache("feedActivities").get("user-1")).isNull();
+        verify(budget, never()).recordWrite(anyString(), anyString(), anyLong(), anyLong());
+        assertThat(statistics.snapshot("feedActivities").getOversizeRejections()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should leave caches without a budget alone")
+    void shouldNotWrapUnlistedCaches() {
+        Cache cache = cacheManager.getCache("ActivityById");
+        cache.put("activity-1", "a value well over ten bytes");
+
+        assertThat(cache.get("activity-1").get()).isEqualTo("a value well over ten bytes");
+        verifyNoInteractions(budget);
+    }
+}
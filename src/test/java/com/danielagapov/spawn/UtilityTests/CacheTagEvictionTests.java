@@ -0,0 +1,85 @@
+package com.danielagapov.spawn.UtilityTests;
+
+import com.danielagapov.spawn.shared.cache.CacheTags;
+import com.danielagapov.spawn.shared.cache.InMemoryCacheTagStore;
+import com.danielagapov.spawn.shared.util.CacheEvictionHelper;
+import com.danielagapov.spawn.shared.util.CacheNames;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for tag-based eviction through CacheEvictionHelper
+ */
+@DisplayName("Cache Tag Eviction Tests")
+class CacheTagEvictionTests {
+
+    private ConcurrentMapCacheManager cacheManager;
+    private CacheEvictionHelper helper;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager = new ConcurrentMapCacheManager();
+        helper = new CacheEvictionHelper(cacheManager, new InMemoryCacheTagStore());
+    }
+
+    @Test
+    @DisplayName("Should evict only the entries tagged with the written activity")
+    void shouldEvictOnlyTaggedEntries() {
+        UUID editedActivity = UUID.randomUUID();
+        UUID otherActivity = UUID.randomUUID();
+        UUID alice = UUID.randomUUID();
+        UUID bob = UUID.randomUUID();
+        Cache feeds = cacheManager.getCache(CacheNames.FEED_ACTIVITIES);
+        feeds.put(alice, "alice feed");
+        feeds.put(bob, "bob feed");
+        helper.tagEntry(CacheNames.FEED_ACTIVITIES, alice, List.of(CacheTags.user(alice), CacheTags.activity(editedActivity)));
+        helper.tagEntry(CacheNames.FEED_ACTIVITIES, bob, List.of(CacheTags.user(bob), CacheTags.activity(otherActivity)));
+
+        helper.evictTagged(CacheTags.activity(editedActivity), CacheNames.FEED_ACTIVITIES);
+
+        assertThat(feeds.get(alice)).isNull();
+        assertThat(feeds.get(bob, String.class)).isEqualTo("bob feed");
+    }
+
+    @Test
+    @DisplayName("Should evict entries tagged with any of several tags across caches")
+    void shouldEvictAnyOfSeveralTagsAcrossCaches() {
+        UUID activityId = UUID.randomUUID();
+        UUID alice = UUID.randomUUID();
+        String fullKey = activityId + ":" + alice;
+        cacheManager.getCache(CacheNames.FULL_ACTIVITY_BY_ID).put(fullKey, "full activity");
+        cacheManager.getCache(CacheNames.FEED_ACTIVITIES).put(alice, "alice feed");
+        helper.tagEntry(CacheNames.FULL_ACTIVITY_BY_ID, fullKey, List.of(CacheTags.activity(activityId), CacheTags.user(alice)));
+        helper.tagEntry(CacheNames.FEED_ACTIVITIES, alice, List.of(CacheTags.user(alice)));
+
+        helper.evictTagged(List.of(CacheTags.activity(activityId), CacheTags.user(alice)),
+                CacheNames.FULL_ACTIVITY_BY_ID, CacheNames.FEED_ACTIVITIES);
+
+        assertThat(cacheManager.getCache(CacheNames.FULL_ACTIVITY_BY_ID).get(fullKey)).isNull();
+        assertThat(cacheManager.getCache(CacheNames.FEED_ACTIVITIES).get(alice)).isNull();
+    }
+
+    @Test
+    @DisplayName("Should consume a tag so a repeated eviction does nothing")
+    void shouldConsumeTagOnEviction() {
+        UUID activityId = UUID.randomUUID();
+        Cache fullActivities = cacheManager.getCache(CacheNames.FULL_ACTIVITY_BY_ID);
+        fullActivities.put("key", "value");
+        helper.tagEntry(CacheNames.FULL_ACTIVITY_BY_ID, "key", List.of(CacheTags.activity(activityId)));
+        helper.evictTagged(CacheTags.activity(activityId), CacheNames.FULL_ACTIVITY_BY_ID);
+
+        // Re-cached without a tag, e.g. computed before the write committed
+        fullActivities.put("key", "value");
+        helper.evictTagged(CacheTags.activity(activityId), CacheNames.FULL_ACTIVITY_BY_ID);
+
+        assertThat(fullActivities.get("key", String.class)).isEqualTo("value");
+    }
+}
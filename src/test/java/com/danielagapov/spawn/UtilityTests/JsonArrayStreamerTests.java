@@ -0,0 +1,86 @@
+package com.danielagapov.spawn.UtilityTests;
+
+import com.danielagapov.spawn.shared.util.ChunkedResult;
+import com.danielagapov.spawn.shared.util.JsonArrayStreamer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for JsonArrayStreamer and ChunkedResult
+ */
+@DisplayName("Json Array Streamer Tests")
+class JsonArrayStreamerTests {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    @DisplayName("Should write all chunks as a single JSON array")
+    void shouldWriteAllChunksAsSingleArray() throws IOException {
+        ChunkedResult<Map<String, Integer>> result = ChunkedResult.mapInBatches(List.of(1, 2, 3), 2,
+                numbers -> numbers.stream().map(number -> Map.of("n", number)).toList());
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        JsonArrayStreamer.stream(objectMapper, result).writeTo(output);
+
+        assertThat(output.toString(StandardCharsets.UTF_8)).isEqualTo("[{\"n\":1},{\"n\":2},{\"n\":3}]");
+    }
+
+    @Test
+    @DisplayName("Should write an empty array when there are no chunks")
+    void shouldWriteEmptyArray_WhenNoChunks() throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        JsonArrayStreamer.stream(objectMapper, ChunkedResult.mapInBatches(List.of(), 10, batch -> batch)).writeTo(output);
+
+        assertThat(output.toString(StandardCharsets.UTF_8)).isEqualTo("[]");
+    }
+
+    @Test
+    @DisplayName("Should flush each chunk before producing the next one")
+    void shouldFlushEachChunkBeforeProducingNext() throws IOException {
+        List<String> events = new ArrayList<>();
+        ChunkedResult<Integer> result = ChunkedResult.mapInBatches(List.of(1, 2, 3, 4), 2, batch -> {
+            events.add("produce " + batch);
+            return batch;
+        });
+        OutputStream output = new ByteArrayOutputStream() {
+            @Override
+            public void flush() {
+                events.add("flush " + toString(StandardCharsets.UTF_8));
+            }
+        };
+
+        JsonArrayStreamer.stream(objectMapper, result).writeTo(output);
+
+        assertThat(events).startsWith("produce [1, 2]", "flush [1,2", "produce [3, 4]", "flush [1,2,3,4");
+    }
+
+    @Test
+    @DisplayName("Should skip batches that map to nothing")
+    void shouldSkipEmptyBatches() {
+        List<List<Integer>> chunks = new ArrayList<>();
+
+        ChunkedResult.mapInBatches(List.of(1, 2, 3), 1, batch -> batch.get(0) == 2 ? List.<Integer>of() : batch)
+                .forEachChunk(chunks::add);
+
+        assertThat(chunks).containsExactly(List.of(1), List.of(3));
+    }
+
+    @Test
+    @DisplayName("Should reject a non-positive batch size")
+    void shouldRejectNonPositiveBatchSize() {
+        assertThatThrownBy(() -> ChunkedResult.mapInBatches(List.of(1), 0, batch -> batch))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,101 @@
+package com.danielagapov.spawn.UtilityTests;
+
+import com.danielagapov.spawn.shared.cache.CacheStatistics;
+import com.danielagapov.spawn.shared.cache.MeteredCacheManager;
+import com.danielagapov.spawn.shared.config.CacheStatsDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for per-cache statistics recorded through MeteredCacheManager
+ */
+@DisplayName("Metered Cache Tests")
+class MeteredCacheTests {
+
+    private SimpleMeterRegistry meterRegistry;
+    private CacheStatistics statistics;
+    private Cache cache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        statistics = new CacheStatistics(meterRegistry);
+        SerializingCacheManager backingCacheManager = new SerializingCacheManager();
+        MeteredCacheManager cacheManager = new MeteredCacheManager(backingCacheManager, statistics,
+                backingCacheManager.getSerializer());
+        cache = cacheManager.getCache("feedActivities");
+    }
+
+    @Test
+    @DisplayName("Should count a loader run as a miss and a later read as a hit")
+    void shouldCountLoadsAsMissesAndReadsAsHits() {
+        cache.get("user-1", () -> "feed");
+        cache.get("user-1", () -> "feed");
+        cache.get("user-1", String.class);
+        cache.get("user-2");
+
+        CacheStatsDTO stats = statistics.snapshot("feedActivities");
+        assertThat(stats.getHits()).isEqualTo(2);
+        assertThat(stats.getMisses()).isEqualTo(2);
+        assertThat(stats.getLoads()).isEqualTo(1);
+        assertThat(stats.getHitRatio()).isEqualTo(0.5);
+    }
+
+    @Test
+    @DisplayName("Should record failed loads")
+    void shouldRecordFailedLoads() {
+        assertThatThrownBy(() -> cache.get("user-1", () -> {
+            throw new IllegalStateException("database unavailable");
+        })).isInstanceOf(Cache.ValueRetrievalException.class);
+
+        CacheStatsDTO stats = statistics.snapshot("feedActivities");
+        assertThat(stats.getLoads()).isEqualTo(1);
+        assertThat(stats.getLoadFailures()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should count writes, evictions and clears and sample payload sizes")
+    void shouldCountWrites() {
+        cache.put("user-1", "0123456789");
+        cache.putIfAbsent("user-2", "01234");
+        cache.evict("user-1");
+        cache.evictIfPresent("user-2");
+        cache.clear();
+
+        CacheStatsDTO stats = statistics.snapshot("feedActivities");
+        assertThat(stats.getPuts()).isEqualTo(2);
+        assertThat(stats.getEvictions()).isEqualTo(2);
+        assertThat(stats.getClears()).isEqualTo(1);
+        // Only the first of every 16 writes is measured
+        assertThat(stats.getAveragePayloadBytes()).isEqualTo(10);
+    }
+
+    @Test
+    @DisplayName("Should publish the counters to Micrometer tagged with the cache name")
+    void shouldPublishToMicrometer() {
+        cache.get("user-1", () -> "feed");
+        cache.get("user-1");
+
+        assertThat(meterRegistry.get("spawn.cache.gets").tags("cache", "feedActivities", "result", "hit")
+                .functionCounter().count()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("spawn.cache.gets").tags("cache", "feedActivities", "result", "miss")
+                .functionCounter().count()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("spawn.cache.loads").tag("cache", "feedActivities")
+                .functionTimer().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Should list every cache used so far ordered by name")
+    void shouldListCachesByName() {
+        cache.get("user-1");
+        statistics.forCache("ActivityById");
+
+        assertThat(statistics.snapshot()).extracting(CacheStatsDTO::getCacheName)
+                .containsExactly("ActivityById", "feedActivities");
+    }
+}
@@ -0,0 +1,202 @@
+package com.danielagapov.spawn.UtilityTests;
+
+import com.danielagapov.spawn.shared.cache.RefreshAheadCache;
+import com.danielagapov.spawn.shared.cache.RefreshAheadEntry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for stale-while-revalidate through RefreshAheadCache
+ */
+@DisplayName("Refresh Ahead Cache Tests")
+class RefreshAheadCacheTests {
+
+    private static final Duration SOFT_TTL = Duration.ofMinutes(5);
+
+    private MutableClock clock;
+    private ConcurrentMapCache target;
+    private List<Runnable> scheduled;
+    private RefreshAheadCache cache;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock();
+        target = new ConcurrentMapCache("feedActivities", false);
+        scheduled = new ArrayList<>();
+        cache = new RefreshAheadCache(target, SOFT_TTL, 1.0, scheduled::add, clock);
+    }
+
+    @Test
+    @DisplayName("Should load a missing key in the foreground and store it with its timing")
+    void shouldLoadMissInForeground() {
+        assertThat(cache.get("user-1", () -> "feed v1")).isEqualTo("feed v1");
+
+        assertThat(target.get("user-1").get()).isInstanceOf(RefreshAheadEntry.class);
+        assertThat(cache.get("user-1", String.class)).isEqualTo("feed v1");
+        assertThat(scheduled).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should serve a stale entry immediately and rebuild it in the background")
+    void shouldServeStaleWhileRefreshing() {
+        cache.get("user-1", () -> "feed v1");
+        clock.advance(SOFT_TTL.plusSeconds(1));
+
+        assertThat(cache.get("user-1", () -> "feed v2")).isEqualTo("feed v1");
+        assertThat(scheduled).hasSize(1);
+        assertThat(cache.isRefreshing("user-1")).isTrue();
+
+        scheduled.get(0).run();
+
+        assertThat(cache.isRefreshing("user-1")).isFalse();
+        assertThat(cache.get("user-1", String.class)).isEqualTo("feed v2");
+    }
+
+    @Test
+    @DisplayName("Should run only one refresh per key at a time")
+    void shouldRefreshKeyOnce() {
+        cache.get("user-1", () -> "feed v1");
+        clock.advance(SOFT_TTL.plusSeconds(1));
+
+        for (int i = 0; i < 10; i++) {
+            cache.get("user-1", () -> "feed v2");
+        }
+
+        assertThat(scheduled).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("Should not refresh a fresh entry that was cheap to compute")
+    void shouldNotRefreshFreshCheapEntry() {
+        target.put("user-1", new RefreshAheadEntry("feed v1", clock.millis(), 0));
+        clock.advance(Duration.ofMinutes(1));
+
+        cache.get("user-1", () -> "feed v2");
+
+        assertThat(scheduled).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should refresh expensive entries before their soft TTL more often than cheap ones")
+    void shouldRefreshExpensiveEntriesEarlier() {
+        long now = clock.millis();
+        // 30 seconds before soft expiry
+        RefreshAheadEntry cheap = new RefreshAheadEntry("cheap", now - SOFT_TTL.toMillis() + 30_000, 10);
+        RefreshAheadEntry expensive = new RefreshAheadEntry("expensive", now - SOFT_TTL.toMillis() + 30_000, 20_000);
+        AtomicInteger cheapRefreshes = new AtomicInteger();
+        AtomicInteger expensiveRefreshes = new AtomicInteger();
+
+        for (int i = 0; i < 1_000; i++) {
+            target.put("cheap", cheap);
+            target.put("expensive", expensive);
+            scheduled.clear();
+            cache.get("cheap", () -> "cheap");
+            if (!scheduled.isEmpty()) {
+                cheapRefreshes.incrementAndGet();
+                scheduled.get(0).run();
+            }
+            scheduled.clear();
+            cache.get("expensive", () -> "expensive");
+            if (!scheduled.isEmpty()) {
+                expensiveRefreshes.incrementAndGet();
+                scheduled.get(0).run();
+            }
+        }
+
+        assertThat(cheapRefreshes.get()).isZero();
+        assertThat(expensiveRefreshes.get()).isBetween(100, 900);
+    }
+
+    @Test
+    @DisplayName("Should keep serving the stale entry when the background refresh fails")
+    void shouldKeepStaleEntryWhenRefreshFails() {
+        cache.get("user-1", () -> "feed v1");
+        clock.advance(SOFT_TTL.plusSeconds(1));
+
+        cache.get("user-1", () -> {
+            throw new IllegalStateException("database unavailable");
+        });
+        scheduled.get(0).run();
+
+        assertThat(cache.isRefreshing("user-1")).isFalse();
+        assertThat(cache.get("user-1", String.class)).isEqualTo("feed v1");
+    }
+
+    @Test
+    @DisplayName("Should drop a background refresh when the key is evicted while it loads")
+    void shouldNotResurrectEntryEvictedDuringRefresh() {
+        cache.get("user-1", () -> "feed v1");
+        clock.advance(SOFT_TTL.plusSeconds(1));
+
+        cache.get("user-1", () -> {
+            // A tag eviction lands while the refresh is reading the old data
+            cache.evict("user-1");
+            return "feed v2 (stale)";
+        });
+        scheduled.get(0).run();
+
+        assertThat(cache.isRefreshing("user-1")).isFalse();
+        assertThat(target.get("user-1")).isNull();
+        assertThat(cache.get("user-1", () -> "feed v3")).isEqualTo("feed v3");
+    }
+
+    @Test
+    @DisplayName("Should drop a background refresh when the cache is cleared while it loads")
+    void shouldNotResurrectEntryClearedDuringRefresh() {
+        cache.get("user-1", () -> "feed v1");
+        clock.advance(SOFT_TTL.plusSeconds(1));
+
+        cache.get("user-1", () -> {
+            cache.clear();
+            return "feed v2 (stale)";
+        });
+        scheduled.get(0).run();
+
+        assertThat(target.get("user-1")).isNull();
+    }
+
+    @Test
+    @DisplayName("Should serve entries written without refresh metadata as they are")
+    void shouldServeLegacyEntries() {
+        target.put("user-1", "legacy feed");
+
+        assertThat(cache.get("user-1", () -> "feed v2")).isEqualTo("legacy feed");
+        assertThat(scheduled).isEmpty();
+    }
+
+    private static class MutableClock extends Clock {
+        private Instant now = Instant.parse("2026-05-01T12:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.danielagapov.spawn.UtilityTests;
+
+import com.danielagapov.spawn.shared.cache.MeasuringCacheSerializer;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * In-memory cache manager whose caches serialize every value they store on the calling thread, as
+ * Redis caches do, so cache decorators that size values through a {@link MeasuringCacheSerializer}
+ * can be tested without Redis. Values serialize to their string form, so tests can pick sizes exactly.
+ */
+class SerializingCacheManager extends ConcurrentMapCacheManager {
+
+    private final MeasuringCacheSerializer serializer = new MeasuringCacheSerializer(new RedisSerializer<>() {
+        @Override
+        public byte[] serialize(Object value) {
+            return value.toString().getBytes(StandardCharsets.UTF_8);
+        }
+
+        @Override
+        public Object deserialize(byte[] bytes) {
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+    });
+
+    MeasuringCacheSerializer getSerializer() {
+        return serializer;
+    }
+
+    @Override
+    protected Cache createConcurrentMapCache(String name) {
+        return new ConcurrentMapCache(name, false) {
+            @Override
+            public void put(Object key, Object value) {
+                serializer.serialize(value);
+                super.put(key, value);
+            }
+
+            @Override
+            public ValueWrapper putIfAbsent(Object key, Object value) {
+                serializer.serialize(value);
+                return super.putIfAbsent(key, value);
+            }
+        };
+    }
+}
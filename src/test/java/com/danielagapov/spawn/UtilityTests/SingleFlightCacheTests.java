@@ -0,0 +1,177 @@
+package com.danielagapov.spawn.UtilityTests;
+
+import com.danielagapov.spawn.shared.cache.SingleFlightCache;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for coalescing concurrent cache misses through SingleFlightCache
+ */
+@DisplayName("Single Flight Cache Tests")
+class SingleFlightCacheTests {
+
+    private static final int CALLERS = 16;
+
+    private ConcurrentMapCache target;
+    private SingleFlightCache cache;
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        target = new ConcurrentMapCache("feedActivities", false);
+        cache = new SingleFlightCache(target, null);
+        executor = Executors.newFixedThreadPool(CALLERS);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Should load a missing key once for all concurrent callers")
+    void shouldLoadOnceForConcurrentMisses() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        Callable<String> loader = () -> {
+            loads.incrementAndGet();
+            release.await(5, TimeUnit.SECONDS);
+            return "feed";
+        };
+
+        List<Future<String>> results = callConcurrently(() -> cache.get("user-1", loader));
+        // Give every caller time to miss and join the flight before the load finishes
+        while (cache.inFlightCount() == 0) {
+            Thread.sleep(1);
+        }
+        Thread.sleep(50);
+        release.countDown();
+
+        for (Future<String> result : results) {
+            assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("feed");
+        }
+        assertThat(loads).hasValue(1);
+        assertThat(target.get("user-1", String.class)).isEqualTo("feed");
+        assertThat(cache.inFlightCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should hand the loader's failure to every waiting caller and not cache it")
+    void shouldPropagateFailureToWaiters() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        Callable<String> loader = () -> {
+            release.await(5, TimeUnit.SECONDS);
+            throw new IllegalStateException("database unavailable");
+        };
+
+        List<Future<String>> results = callConcurrently(() -> cache.get("user-1", loader));
+        while (cache.inFlightCount() == 0) {
+            Thread.sleep(1);
+        }
+        Thread.sleep(50);
+        release.countDown();
+
+        for (Future<String> result : results) {
+            assertThatThrownBy(() -> result.get(5, TimeUnit.SECONDS))
+                    .hasCauseInstanceOf(Cache.ValueRetrievalException.class)
+                    .hasRootCauseMessage("database unavailable");
+        }
+        assertThat(target.get("user-1")).isNull();
+        assertThat(cache.get("user-1", () -> "feed")).isEqualTo("feed");
+    }
+
+    @Test
+    @DisplayName("Should return a cached value without calling the loader")
+    void shouldSkipLoaderOnHit() {
+        target.put("user-1", "cached feed");
+
+        String value = cache.get("user-1", () -> {
+            throw new AssertionError("loader should not run on a hit");
+        });
+
+        assertThat(value).isEqualTo("cached feed");
+    }
+
+    @Test
+    @DisplayName("Should not make misses for different keys wait on each other")
+    void shouldNotBlockOtherKeys() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        Future<String> slow = executor.submit(() -> cache.get("slow", () -> {
+            release.await(5, TimeUnit.SECONDS);
+            return "slow";
+        }));
+        while (cache.inFlightCount() == 0) {
+            Thread.sleep(1);
+        }
+
+        assertThat(cache.get("fast", () -> "fast")).isEqualTo("fast");
+
+        release.countDown();
+        assertThat(slow.get(5, TimeUnit.SECONDS)).isEqualTo("slow");
+    }
+
+    @Test
+    @DisplayName("Should not cache a value whose key was evicted while it loaded")
+    void shouldNotCacheValueEvictedDuringLoad() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        Future<String> stale = executor.submit(() -> cache.get("user-1", () -> {
+            release.await(5, TimeUnit.SECONDS);
+            return "stale feed";
+        }));
+        while (cache.inFlightCount() == 0) {
+            Thread.sleep(1);
+        }
+
+        cache.evict("user-1");
+        release.countDown();
+
+        assertThat(stale.get(5, TimeUnit.SECONDS)).isEqualTo("stale feed");
+        assertThat(target.get("user-1")).isNull();
+    }
+
+    @Test
+    @DisplayName("Should start a fresh load for misses after an eviction instead of joining the stale one")
+    void shouldNotJoinFlightStartedBeforeEviction() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        Future<String> stale = executor.submit(() -> cache.get("user-1", () -> {
+            release.await(5, TimeUnit.SECONDS);
+            return "stale feed";
+        }));
+        while (cache.inFlightCount() == 0) {
+            Thread.sleep(1);
+        }
+
+        cache.clear();
+
+        assertThat(cache.get("user-1", () -> "fresh feed")).isEqualTo("fresh feed");
+        release.countDown();
+        assertThat(stale.get(5, TimeUnit.SECONDS)).isEqualTo("stale feed");
+        assertThat(target.get("user-1", String.class)).isEqualTo("fresh feed");
+    }
+
+    @Test
+    @DisplayName("Should not cache null results")
+    void shouldNotCacheNull() {
+        assertThat(cache.get("user-1", () -> null)).isNull();
+        assertThat(target.get("user-1")).isNull();
+    }
+
+    private List<Future<String>> callConcurrently(Callable<String> call) {
+        List<Future<String>> results = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            results.add(executor.submit(call));
+        }
+        return results;
+    }
+}
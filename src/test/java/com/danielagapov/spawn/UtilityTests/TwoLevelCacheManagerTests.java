@@ -0,0 +1,133 @@
+package com.danielagapov.spawn.UtilityTests;
+
+import com.danielagapov.spawn.shared.cache.TwoLevelCache;
+import com.danielagapov.spawn.shared.cache.TwoLevelCacheManager;
+import com.danielagapov.spawn.shared.config.NearCacheConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the near cache: two managers share one L2 and stand in for two nodes
+ */
+@DisplayName("Two Level Cache Manager Tests")
+class TwoLevelCacheManagerTests {
+
+    private static final String CHANNEL = "spawn:cache:invalidation";
+
+    private ConcurrentMapCacheManager sharedL2;
+    private StringRedisTemplate redisTemplateA;
+    private StringRedisTemplate redisTemplateB;
+    private TwoLevelCacheManager nodeA;
+    private TwoLevelCacheManager nodeB;
+
+    @BeforeEach
+    void setUp() {
+        NearCacheConfig config = new NearCacheConfig();
+        NearCacheConfig.CacheSpec spec = new NearCacheConfig.CacheSpec();
+        spec.setMaxSize(100);
+        spec.setTtl(Duration.ofMinutes(1));
+        config.getCaches().put("ActivityById", spec);
+
+        sharedL2 = new ConcurrentMapCacheManager();
+        redisTemplateA = mock(StringRedisTemplate.class);
+        redisTemplateB = mock(StringRedisTemplate.class);
+        nodeA = new TwoLevelCacheManager(sharedL2, config, redisTemplateA);
+        nodeB = new TwoLevelCacheManager(sharedL2, config, redisTemplateB);
+    }
+
+    @Test
+    @DisplayName("Should serve repeat reads from L1 without touching L2")
+    void shouldServeRepeatReadsFromL1() {
+        Cache cache = nodeA.getCache("ActivityById");
+        sharedL2.getCache("ActivityById").put("id-1", "activity");
+
+        assertThat(cache).isInstanceOf(TwoLevelCache.class);
+        assertThat(cache.get("id-1", String.class)).isEqualTo("activity");
+
+        // Removing the entry behind the near cache's back shows the second read never reached L2
+        sharedL2.getCache("ActivityById").evict("id-1");
+        assertThat(cache.get("id-1", String.class)).isEqualTo("activity");
+    }
+
+    @Test
+    @DisplayName("Should leave caches without an L1 configuration as plain L2 caches")
+    void shouldPassThroughUnconfiguredCaches() {
+        Cache cache = nodeA.getCache("feedActivities");
+
+        assertThat(cache).isNotInstanceOf(TwoLevelCache.class);
+        assertThat(cache).isSameAs(sharedL2.getCache("feedActivities"));
+    }
+
+    @Test
+    @DisplayName("Should drop another node's L1 entry when a value is evicted")
+    void shouldInvalidateOtherNodesOnEvict() {
+        sharedL2.getCache("ActivityById").put("id-1", "old");
+        Cache cacheA = nodeA.getCache("ActivityById");
+        Cache cacheB = nodeB.getCache("ActivityById");
+        assertThat(cacheB.get("id-1", String.class)).isEqualTo("old");
+
+        cacheA.evict("id-1");
+        sharedL2.getCache("ActivityById").put("id-1", "new");
+        deliver(redisTemplateA, nodeB);
+
+        assertThat(cacheB.get("id-1", String.class)).isEqualTo("new");
+    }
+
+    @Test
+    @DisplayName("Should clear another node's L1 when a cache is cleared")
+    void shouldClearOtherNodesOnClear() {
+        Cache cacheB = nodeB.getCache("ActivityById");
+        cacheB.put("id-1", "value");
+
+        nodeA.getCache("ActivityById").clear();
+        deliver(redisTemplateA, nodeB);
+
+        assertThat(((TwoLevelCache) cacheB).localSize()).isZero();
+        assertThat(cacheB.get("id-1")).isNull();
+    }
+
+    @Test
+    @DisplayName("Should ignore invalidations published by the same node")
+    void shouldIgnoreOwnInvalidations() {
+        Cache cacheA = nodeA.getCache("ActivityById");
+        cacheA.put("id-1", "value");
+        sharedL2.getCache("ActivityById").evict("id-1");
+
+        deliver(redisTemplateA, nodeA);
+
+        assertThat(cacheA.get("id-1", String.class)).isEqualTo("value");
+    }
+
+    @Test
+    @DisplayName("Should keep serving writes when publishing an invalidation fails")
+    void shouldTolerateFailedPublish() {
+        doThrow(new RuntimeException("redis down")).when(redisTemplateA).convertAndSend(anyString(), anyString());
+        Cache cacheA = nodeA.getCache("ActivityById");
+
+        assertThatCode(() -> cacheA.put("id-1", "value")).doesNotThrowAnyException();
+        assertThat(cacheA.get("id-1", String.class)).isEqualTo("value");
+    }
+
+    private static void deliver(StringRedisTemplate publisher, TwoLevelCacheManager receiver) {
+        ArgumentCaptor<String> payload = ArgumentCaptor.forClass(String.class);
+        verify(publisher, atLeastOnce()).convertAndSend(eq(CHANNEL), payload.capture());
+        for (String body : payload.getAllValues()) {
+            receiver.onMessage(new DefaultMessage(CHANNEL.getBytes(StandardCharsets.UTF_8),
+                    body.getBytes(StandardCharsets.UTF_8)), null);
+        }
+    }
+}
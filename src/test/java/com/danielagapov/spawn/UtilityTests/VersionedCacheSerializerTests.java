@@ -0,0 +1,147 @@
+package com.danielagapov.spawn.UtilityTests;
+
+import com.danielagapov.spawn.activity.api.dto.FullFeedActivityDTO;
+import com.danielagapov.spawn.activity.api.dto.LocationDTO;
+import com.danielagapov.spawn.shared.cache.VersionedCacheSerializer;
+import com.danielagapov.spawn.shared.util.ParticipationStatus;
+import com.danielagapov.spawn.user.api.dto.BaseUserDTO;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for VersionedCacheSerializer's Smile encoding and JSON fallback
+ */
+@DisplayName("Versioned Cache Serializer Tests")
+class VersionedCacheSerializerTests {
+
+    private final VersionedCacheSerializer smile = new VersionedCacheSerializer(VersionedCacheSerializer.Format.SMILE);
+    private final VersionedCacheSerializer json = new VersionedCacheSerializer(VersionedCacheSerializer.Format.JSON);
+
+    private static FullFeedActivityDTO activity(String title) {
+        BaseUserDTO creator = new BaseUserDTO(UUID.randomUUID(), "Creator", "creator@email.com", "creator", "bio", "pic.jpg");
+        return new FullFeedActivityDTO(UUID.randomUUID(), title,
+                OffsetDateTime.of(2026, 5, 1, 18, 0, 0, 0, ZoneOffset.UTC),
+                OffsetDateTime.of(2026, 5, 1, 20, 0, 0, 0, ZoneOffset.UTC),
+                new LocationDTO(UUID.randomUUID(), "Park", 40.7128, -74.0060), null, "note", "🎉", 10,
+                creator, new ArrayList<>(List.of(creator)), new ArrayList<>(), new ArrayList<>(),
+                ParticipationStatus.participating, false, Instant.parse("2026-04-30T12:00:00Z"), false, "America/New_York");
+    }
+
+    @Test
+    @DisplayName("Should round-trip a feed through Smile behind a versioned header")
+    void shouldRoundTripFeedThroughSmile() {
+        List<FullFeedActivityDTO> feed = new ArrayList<>(List.of(activity("Dinner"), activity("Hike")));
+
+        byte[] bytes = smile.serialize(feed);
+        Object read = smile.deserialize(bytes);
+
+        assertThat(bytes[0]).isEqualTo((byte) 0xFE);
+        assertThat(bytes[1]).isEqualTo((byte) 1);
+        assertThat(read).isInstanceOf(List.class);
+        List<?> readFeed = (List<?>) read;
+        assertThat(readFeed).hasSize(2);
+        FullFeedActivityDTO first = (FullFeedActivityDTO) readFeed.get(0);
+        assertThat(first.getTitle()).isEqualTo("Dinner");
+        assertThat(first.getIcon()).isEqualTo("🎉");
+        assertThat(first.getStartTime().toInstant()).isEqualTo(feed.get(0).getStartTime().toInstant());
+        assertThat(first.getCreatorUser().getUsername()).isEqualTo("creator");
+        assertThat(first.getParticipationStatus()).isEqualTo(ParticipationStatus.participating);
+    }
+
+    @Test
+    @DisplayName("Should be smaller than the JSON encoding of the same value")
+    void shouldBeSmallerThanJson() {
+        List<FullFeedActivityDTO> feed = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            feed.add(activity("Activity " + i));
+        }
+
+        assertThat(smile.serialize(feed).length).isLessThan(json.serialize(feed).length);
+    }
+
+    @Test
+    @DisplayName("Should read headerless JSON entries and write them back as Smile")
+    void shouldReadJsonEntries() {
+        byte[] jsonEntry = json.serialize(activity("Dinner"));
+
+        Object read = smile.deserialize(jsonEntry);
+
+        assertThat(jsonEntry[0]).isEqualTo((byte) '{');
+        assertThat(((FullFeedActivityDTO) read).getTitle()).isEqualTo("Dinner");
+        assertThat(smile.serialize(read)[0]).isEqualTo((byte) 0xFE);
+    }
+
+    @Test
+    @DisplayName("Should read scalar JSON entries written before the header existed")
+    void shouldReadLegacyScalarEntries() {
+        assertThat(smile.deserialize("true".getBytes(StandardCharsets.UTF_8))).isEqualTo(Boolean.TRUE);
+        assertThat(smile.deserialize("\"value\"".getBytes(StandardCharsets.UTF_8))).isEqualTo("value");
+    }
+
+    @Test
+    @DisplayName("Should let JSON-configured nodes read Smile entries during a rollback")
+    void shouldReadSmileWhenWritingJson() {
+        List<FullFeedActivityDTO> feed = new ArrayList<>(List.of(activity("Dinner")));
+
+        Object read = json.deserialize(smile.serialize(feed));
+
+        assertThat(((FullFeedActivityDTO) ((List<?>) read).get(0)).getTitle()).isEqualTo("Dinner");
+    }
+
+    @Test
+    @DisplayName("Should deflate large Smile payloads and read them back")
+    void shouldDeflateLargePayloads() {
+        VersionedCacheSerializer compressing = new VersionedCacheSerializer(VersionedCacheSerializer.Format.SMILE, 1024);
+        List<FullFeedActivityDTO> feed = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            feed.add(activity("Activity " + i));
+        }
+
+        byte[] bytes = compressing.serialize(feed);
+        Object read = smile.deserialize(bytes);
+
+        assertThat(bytes[1]).isEqualTo((byte) 2);
+        assertThat(bytes.length).isLessThan(smile.serialize(feed).length);
+        assertThat((List<?>) read).hasSize(50);
+        assertThat(((FullFeedActivityDTO) ((List<?>) read).get(49)).getTitle()).isEqualTo("Activity 49");
+    }
+
+    @Test
+    @DisplayName("Should leave payloads under the compression threshold as plain Smile")
+    void shouldNotDeflateSmallPayloads() {
+        VersionedCacheSerializer compressing = new VersionedCacheSerializer(VersionedCacheSerializer.Format.SMILE, 1024);
+
+        byte[] bytes = compressing.serialize(activity("Dinner"));
+
+        assertThat(bytes[1]).isEqualTo((byte) 1);
+        assertThat(((FullFeedActivityDTO) compressing.deserialize(bytes)).getTitle()).isEqualTo("Dinner");
+    }
+
+    @Test
+    @DisplayName("Should reject entries with an unknown format version")
+    void shouldRejectUnknownVersion() {
+        byte[] bytes = smile.serialize("value");
+        bytes[1] = 99;
+
+        assertThatThrownBy(() -> smile.deserialize(bytes)).isInstanceOf(SerializationException.class);
+    }
+
+    @Test
+    @DisplayName("Should map null to an empty payload and back")
+    void shouldHandleNull() {
+        assertThat(smile.serialize(null)).isEmpty();
+        assertThat(smile.deserialize(new byte[0])).isNull();
+        assertThat(smile.deserialize(null)).isNull();
+    }
+}